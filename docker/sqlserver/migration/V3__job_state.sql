@@ -0,0 +1,26 @@
+-- V3__job_state.sql
+-- Durable status and progress of delivery and retry jobs
+
+IF OBJECT_ID('dbo.job_state', 'U') IS NOT NULL
+    DROP TABLE dbo.job_state;
+GO
+
+CREATE TABLE dbo.job_state (
+    job_id VARCHAR(100) NOT NULL,
+    processing_date DATE NULL,
+    status VARCHAR(20) NOT NULL,
+    total_batches INT NOT NULL DEFAULT 0,
+    completed_batches INT NOT NULL DEFAULT 0,
+    total_events BIGINT NOT NULL DEFAULT 0,
+    success_count BIGINT NOT NULL DEFAULT 0,
+    failure_count BIGINT NOT NULL DEFAULT 0,
+    started_at DATETIMEOFFSET NULL,
+    updated_at DATETIMEOFFSET NULL,
+    finished_at DATETIMEOFFSET NULL,
+    message VARCHAR(1000) NULL,
+    CONSTRAINT PK_job_state PRIMARY KEY (job_id)
+);
+GO
+
+CREATE INDEX IX_job_state_processing_date ON dbo.job_state (processing_date);
+GO
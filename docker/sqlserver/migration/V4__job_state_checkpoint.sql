@@ -0,0 +1,7 @@
+-- V4__job_state_checkpoint.sql
+-- Per-job checkpoint used to resume an interrupted processing run
+
+ALTER TABLE dbo.job_state ADD
+    checkpoint_batch INT NOT NULL CONSTRAINT DF_job_state_checkpoint_batch DEFAULT 0,
+    checkpoint_uabs_event_id BIGINT NULL;
+GO
@@ -0,0 +1,15 @@
+-- V5__run_lease.sql
+-- Leases that keep two instances from running the same processing date at once
+
+IF OBJECT_ID('dbo.run_lease', 'U') IS NOT NULL
+    DROP TABLE dbo.run_lease;
+GO
+
+CREATE TABLE dbo.run_lease (
+    lease_key VARCHAR(100) NOT NULL,
+    owner VARCHAR(200) NOT NULL,
+    acquired_at DATETIMEOFFSET NOT NULL,
+    expires_at DATETIMEOFFSET NOT NULL,
+    CONSTRAINT PK_run_lease PRIMARY KEY (lease_key)
+);
+GO
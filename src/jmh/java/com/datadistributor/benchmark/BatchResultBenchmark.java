@@ -0,0 +1,48 @@
+package com.datadistributor.benchmark;
+
+import com.datadistributor.domain.job.BatchResult;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link BatchResult#fromBooleans(Iterable)} over the per-event outcomes of one batch, with one
+ * failure in every ten events.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BatchResultBenchmark {
+
+  @Param({"100", "1000", "10000"})
+  private int batchSize;
+
+  private List<Boolean> outcomes;
+
+  @Setup
+  public void setup() {
+    outcomes = new ArrayList<>(batchSize);
+    for (int i = 0; i < batchSize; i++) {
+      outcomes.add(i % 10 != 0);
+    }
+  }
+
+  @Benchmark
+  public BatchResult fromBooleans() {
+    return BatchResult.fromBooleans(outcomes);
+  }
+}
@@ -0,0 +1,230 @@
+package com.datadistributor.benchmark;
+
+import com.datadistributor.domain.Signal;
+import com.datadistributor.domain.SignalEvent;
+import com.datadistributor.domain.outport.InitialCehMappingPort;
+import com.datadistributor.domain.outport.SignalAuditQueryPort;
+import com.datadistributor.domain.outport.SignalEventPort;
+import com.datadistributor.domain.outport.SignalPort;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Synthetic data set for one processing date held in maps, exposed through the outbound ports the
+ * domain services use. Every signal has one event on the date, so {@code events} is also the
+ * number of signals. The mix is fixed by the signal index so runs are repeatable:
+ * <ul>
+ *   <li>start dates spread over the 20 days before the date, so about three quarters are overdue;</li>
+ *   <li>every 4th event breaches the balance threshold, every 10th closes the signal;</li>
+ *   <li>every 3rd signal already has an initial CEH id, every 5th earliest OVERLIMIT event is PASS.</li>
+ * </ul>
+ * The bulk methods are overridden with map lookups, like the set-based queries of the JPA adapters.
+ */
+final class InMemorySignalStore {
+
+  static final long BALANCE_THRESHOLD = 250L;
+  static final long DAYS_OPEN_THRESHOLD = 5L;
+  static final long CONSUMER_ID = 1L;
+
+  private final LocalDate date;
+  private final List<SignalEvent> todaysEvents;
+  private final Map<Long, Signal> signals;
+  private final Map<Long, SignalEvent> earliestOverlimit;
+  private final Map<Long, String> initialCehIds;
+  private final Set<Long> passedEvents;
+
+  InMemorySignalStore(LocalDate date, int events) {
+    this.date = date;
+    this.todaysEvents = new ArrayList<>(events);
+    this.signals = new HashMap<>(events * 2);
+    this.earliestOverlimit = new HashMap<>(events * 2);
+    this.initialCehIds = new HashMap<>();
+    this.passedEvents = new HashSet<>();
+    for (int i = 1; i <= events; i++) {
+      long signalId = i;
+      LocalDate start = date.minusDays(i % 20);
+
+      Signal signal = new Signal();
+      signal.setSignalId(signalId);
+      signal.setAgreementId(100_000L + i);
+      signal.setSignalStartDate(start);
+      signals.put(signalId, signal);
+
+      SignalEvent overlimit = event(events + (long) i, signalId, start.atTime(8, 0), 120L, "OVERLIMIT_SIGNAL");
+      earliestOverlimit.put(signalId, overlimit);
+      if (i % 3 == 0) {
+        initialCehIds.put(signalId, "ceh-" + i);
+      }
+      if (i % 5 == 0) {
+        passedEvents.add(overlimit.getUabsEventId());
+      }
+
+      long balance = i % 10 == 0 ? 0L : i % 4 == 0 ? 300L : 50L;
+      todaysEvents.add(event(i, signalId, date.atTime(6 + i % 12, i % 60), balance, "FINANCIAL_UPDATE"));
+    }
+  }
+
+  LocalDate date() {
+    return date;
+  }
+
+  List<SignalEvent> todaysEvents() {
+    return todaysEvents;
+  }
+
+  SignalEventPort signalEventPort() {
+    return new SignalEventPort() {
+      @Override
+      public List<SignalEvent> getAllSignalEventsOfThisDate(LocalDate day) {
+        return day.equals(date) ? todaysEvents : List.of();
+      }
+
+      @Override
+      public List<SignalEvent> getSignalEventsForCEH(LocalDate day, int page, int size) {
+        return page(day, (long) page * size, size);
+      }
+
+      @Override
+      public List<SignalEvent> getSignalEventsForCEHAfter(LocalDate day, Long afterUabsEventId, int size) {
+        return page(day, afterUabsEventId == null ? 0 : afterUabsEventId, size);
+      }
+
+      @Override
+      public long countSignalEventsForCEH(LocalDate day) {
+        return day.equals(date) ? todaysEvents.size() : 0;
+      }
+
+      @Override
+      public Optional<SignalEvent> getPreviousEvent(Long signalId, LocalDateTime before) {
+        return Optional.ofNullable(earliestOverlimit.get(signalId));
+      }
+
+      @Override
+      public Optional<SignalEvent> getEarliestOverlimitEvent(Long signalId) {
+        return Optional.ofNullable(earliestOverlimit.get(signalId));
+      }
+
+      @Override
+      public Map<Long, SignalEvent> getEarliestOverlimitEvents(Collection<Long> signalIds) {
+        Map<Long, SignalEvent> result = new LinkedHashMap<>();
+        for (Long signalId : signalIds) {
+          SignalEvent event = earliestOverlimit.get(signalId);
+          if (event != null) {
+            result.put(signalId, event);
+          }
+        }
+        return result;
+      }
+
+      @Override
+      public List<SignalEvent> findByUabsEventIdIn(List<Long> uabsEventIds) {
+        return uabsEventIds.stream()
+            .filter(id -> id >= 1 && id <= todaysEvents.size())
+            .map(id -> todaysEvents.get((int) (id - 1)))
+            .toList();
+      }
+    };
+  }
+
+  SignalPort signalPort() {
+    return new SignalPort() {
+      @Override
+      public Optional<Signal> findBySignalId(Long signalId) {
+        return Optional.ofNullable(signals.get(signalId));
+      }
+
+      @Override
+      public Optional<Signal> getOpenSignalOfAgreement(Long agreementId) {
+        return Optional.empty();
+      }
+
+      @Override
+      public List<Signal> findByStartDateBefore(LocalDate cutoff) {
+        return signals.values().stream()
+            .filter(signal -> signal.getSignalStartDate().isBefore(cutoff))
+            .toList();
+      }
+
+      @Override
+      public List<Signal> findBySignalIdIn(Collection<Long> signalIds) {
+        return signalIds.stream().map(signals::get).filter(signal -> signal != null).toList();
+      }
+    };
+  }
+
+  SignalAuditQueryPort auditQueryPort() {
+    return new SignalAuditQueryPort() {
+      @Override
+      public boolean isEventSuccessful(Long uabsEventId, long consumerId) {
+        return passedEvents.contains(uabsEventId);
+      }
+
+      @Override
+      public List<Long> findFailedEventIdsForDate(LocalDate day) {
+        return List.of();
+      }
+
+      @Override
+      public Optional<String> getLatestAuditStatusForEvent(Long uabsEventId, long consumerId) {
+        return passedEvents.contains(uabsEventId) ? Optional.of("PASS") : Optional.empty();
+      }
+    };
+  }
+
+  InitialCehMappingPort initialCehMappingPort() {
+    return new InitialCehMappingPort() {
+      @Override
+      public void saveInitialCehMapping(Long signalId, long cehId) {
+        initialCehIds.put(signalId, String.valueOf(cehId));
+      }
+
+      @Override
+      public Optional<String> findInitialCehId(Long signalId) {
+        return Optional.ofNullable(initialCehIds.get(signalId));
+      }
+
+      @Override
+      public Map<Long, String> findInitialCehIds(Collection<Long> signalIds) {
+        Map<Long, String> result = new LinkedHashMap<>();
+        for (Long signalId : signalIds) {
+          String cehId = initialCehIds.get(signalId);
+          if (cehId != null) {
+            result.put(signalId, cehId);
+          }
+        }
+        return result;
+      }
+    };
+  }
+
+  /** Events are stored with uabsEventId == position + 1, so keyset pages are sublists. */
+  private List<SignalEvent> page(LocalDate day, long after, int size) {
+    if (!day.equals(date) || after >= todaysEvents.size()) {
+      return List.of();
+    }
+    int from = (int) Math.max(0, after);
+    return todaysEvents.subList(from, Math.min(todaysEvents.size(), from + size));
+  }
+
+  static SignalEvent event(long uabsEventId, long signalId, LocalDateTime recordedAt, long balance, String status) {
+    SignalEvent event = new SignalEvent();
+    event.setUabsEventId(uabsEventId);
+    event.setSignalId(signalId);
+    event.setAgreementId(100_000L + signalId);
+    event.setEventRecordDateTime(recordedAt);
+    event.setUnauthorizedDebitBalance(balance);
+    event.setEventStatus(status);
+    event.setEventType(status);
+    event.setBookDate(recordedAt.toLocalDate());
+    return event;
+  }
+}
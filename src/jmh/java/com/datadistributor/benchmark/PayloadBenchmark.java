@@ -0,0 +1,100 @@
+package com.datadistributor.benchmark;
+
+import com.datadistributor.application.config.DataDistributorProperties;
+import com.datadistributor.domain.AccountBalance;
+import com.datadistributor.domain.SignalEvent;
+import com.datadistributor.domain.inport.AccountBalanceUseCase;
+import com.datadistributor.domain.inport.InitialCehQueryUseCase;
+import com.datadistributor.outadapter.web.PayloadEnrichmentCache;
+import com.datadistributor.outadapter.web.SignalEventPayload;
+import com.datadistributor.outadapter.web.SignalEventPayloadFactory;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Per-event cost of preparing a CEH request: {@link SignalEventPayloadFactory#buildPayload} with
+ * the enrichment cache on and off, and Jackson serialization of the resulting
+ * {@link SignalEventPayload}. Enrichment lookups are map reads, so with the cache off the numbers
+ * show the cache overhead rather than the database round trips it saves.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PayloadBenchmark {
+
+  private static final int EVENTS = 10_000;
+
+  @Param({"true", "false"})
+  private boolean cacheEnabled;
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private SignalEventPayloadFactory factory;
+  private List<SignalEvent> events;
+  private List<SignalEventPayload> payloads;
+  private int next;
+
+  @Setup
+  public void setup() {
+    events = new InMemorySignalStore(LocalDate.of(2024, 12, 3), EVENTS).todaysEvents();
+    DataDistributorProperties properties = new DataDistributorProperties();
+    properties.getPayloadCache().setEnabled(cacheEnabled);
+    InitialCehQueryUseCase initialCeh = signalId -> signalId % 3 == 0 ? Optional.of("ceh-" + signalId) : Optional.empty();
+    AccountBalanceUseCase balances = new AccountBalanceUseCase() {
+      @Override
+      public Optional<Long> findBcNumberByAgreementId(Long agreementId) {
+        return Optional.of(agreementId * 7);
+      }
+
+      @Override
+      public Optional<AccountBalance> getAccountBalanceOfAgreement(Long agreementId) {
+        return Optional.empty();
+      }
+    };
+    PayloadEnrichmentCache cache = new PayloadEnrichmentCache(initialCeh, balances, properties, Clock.systemUTC());
+    cache.warmUp(events);
+    factory = new SignalEventPayloadFactory(cache, properties);
+    payloads = new ArrayList<>(EVENTS);
+    events.forEach(event -> payloads.add(factory.buildPayload(event)));
+  }
+
+  @Benchmark
+  public SignalEventPayload buildPayload() {
+    return factory.buildPayload(events.get(nextIndex()));
+  }
+
+  @Benchmark
+  public byte[] serializePayload() throws JsonProcessingException {
+    return objectMapper.writeValueAsBytes(payloads.get(nextIndex()));
+  }
+
+  @Benchmark
+  public byte[] buildAndSerialize() throws JsonProcessingException {
+    return objectMapper.writeValueAsBytes(factory.buildPayload(events.get(nextIndex())));
+  }
+
+  private int nextIndex() {
+    int index = next;
+    next = index + 1 == EVENTS ? 0 : index + 1;
+    return index;
+  }
+}
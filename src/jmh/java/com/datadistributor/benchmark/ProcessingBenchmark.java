@@ -0,0 +1,75 @@
+package com.datadistributor.benchmark;
+
+import com.datadistributor.domain.SignalEvent;
+import com.datadistributor.domain.job.BatchResult;
+import com.datadistributor.domain.job.JobProgressTracker;
+import com.datadistributor.domain.job.JobResult;
+import com.datadistributor.domain.outport.DeliveryMetricsPort;
+import com.datadistributor.domain.outport.SignalEventBatchPort;
+import com.datadistributor.domain.service.SignalEventProcessingDomainService;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Chunking, submission and result aggregation of
+ * {@link SignalEventProcessingDomainService#processEventsForDate(String, LocalDate)} for an already
+ * selected day. The batch port completes every batch at once and the date has no prior events to
+ * check, so the run is the service's own work: slicing, lanes, in-flight accounting and joins.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ProcessingBenchmark {
+
+  private static final LocalDate DATE = LocalDate.of(2024, 12, 3);
+  private static final int BATCH_SIZE = 100;
+  private static final int MAX_IN_FLIGHT_BATCHES = 20;
+
+  @Param({"10000", "100000", "1000000"})
+  private int events;
+
+  @Param({"0", "20"})
+  private int orderedLanes;
+
+  private SignalEventProcessingDomainService service;
+
+  @Setup
+  public void setup() {
+    List<SignalEvent> selected = new InMemorySignalStore(DATE, events).todaysEvents();
+    InMemorySignalStore emptyDay = new InMemorySignalStore(DATE, 0);
+    SignalEventBatchPort batchPort = batch -> CompletableFuture.completedFuture(new BatchResult(batch.size(), 0));
+    service = new SignalEventProcessingDomainService(
+        emptyDay.signalEventPort(),
+        batchPort,
+        emptyDay.auditQueryPort(),
+        date -> selected,
+        BATCH_SIZE,
+        new JobProgressTracker(),
+        null,
+        true,
+        MAX_IN_FLIGHT_BATCHES,
+        DeliveryMetricsPort.noop(),
+        orderedLanes);
+  }
+
+  @Benchmark
+  public JobResult processEventsForDate() {
+    return service.processEventsForDate(null, DATE);
+  }
+}
@@ -0,0 +1,61 @@
+package com.datadistributor.benchmark;
+
+import com.datadistributor.domain.SignalEvent;
+import com.datadistributor.domain.service.SignalDispatchDomainSelector;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link SignalDispatchDomainSelector#selectEventsToSend(LocalDate)} over a whole day held in
+ * {@link InMemorySignalStore}, with per-signal lookups and with the bulk prefetch. Port calls cost
+ * a map lookup here, so the numbers are the selection rules themselves, not the database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class SelectorBenchmark {
+
+  private static final LocalDate DATE = LocalDate.of(2024, 12, 3);
+
+  @Param({"10000", "100000", "1000000"})
+  private int events;
+
+  @Param({"false", "true"})
+  private boolean bulkPrefetch;
+
+  private SignalDispatchDomainSelector selector;
+
+  @Setup
+  public void setup() {
+    InMemorySignalStore store = new InMemorySignalStore(DATE, events);
+    selector = new SignalDispatchDomainSelector(
+        store.signalEventPort(),
+        store.signalPort(),
+        store.auditQueryPort(),
+        store.initialCehMappingPort(),
+        InMemorySignalStore.BALANCE_THRESHOLD,
+        InMemorySignalStore.DAYS_OPEN_THRESHOLD,
+        InMemorySignalStore.CONSUMER_ID,
+        bulkPrefetch);
+  }
+
+  @Benchmark
+  public List<SignalEvent> selectEventsToSend() {
+    return selector.selectEventsToSend(DATE);
+  }
+}
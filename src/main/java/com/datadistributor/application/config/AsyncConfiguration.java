@@ -1,5 +1,7 @@
 package com.datadistributor.application.config;
 
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ThreadPoolExecutor;
 import lombok.RequiredArgsConstructor;
@@ -10,6 +12,8 @@ import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.core.task.TaskExecutor;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 
 /**
  * Defines the shared async executors used by schedulers and outbound calls.
@@ -35,6 +39,35 @@ public class AsyncConfiguration {
     return executor;
   }
 
+  /**
+   * Exposes how many batches are waiting for a free thread of {@code dataDistributorTaskExecutor}
+   * and how many are being sent right now.
+   */
+  @Bean
+  public MeterBinder dataDistributorTaskExecutorMetrics(
+      @Qualifier("dataDistributorTaskExecutor") ThreadPoolTaskExecutor dataDistributorTaskExecutor) {
+    return registry -> {
+      Gauge.builder("data.distributor.executor.queue.depth", dataDistributorTaskExecutor,
+              executor -> executor.getThreadPoolExecutor().getQueue().size())
+          .description("Batches queued on the dispatch executor")
+          .register(registry);
+      Gauge.builder("data.distributor.executor.active", dataDistributorTaskExecutor,
+              ThreadPoolTaskExecutor::getActiveCount)
+          .description("Dispatch executor threads currently running a batch")
+          .register(registry);
+    };
+  }
+
+  /**
+   * Bounded scheduler for the blocking database calls made while sending events, so they run off
+   * the reactor-netty event loops that carry the HTTP traffic.
+   */
+  @Bean(name = "sendPathJdbcScheduler", destroyMethod = "dispose")
+  public Scheduler sendPathJdbcScheduler() {
+    DataDistributorProperties.Async async = properties.getAsync();
+    return Schedulers.newBoundedElastic(async.getJdbcThreads(), async.getJdbcQueueCapacity(), "send-jdbc");
+  }
+
   @Bean
   public Executor rateLimitedExecutor(@Qualifier("dataDistributorTaskExecutor") TaskExecutor dataDistributorTaskExecutor) {
     return dataDistributorTaskExecutor;
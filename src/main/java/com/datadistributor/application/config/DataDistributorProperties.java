@@ -14,11 +14,16 @@ public class DataDistributorProperties {
   private ExternalApi externalApi = new ExternalApi();
   private Processing processing = new Processing();
   private Audit audit = new Audit();
+  private PayloadCache payloadCache = new PayloadCache();
   private Http http = new Http();
   private Azure azure = new Azure();
   private Storage storage = new Storage();
   private Scheduler scheduler = new Scheduler();
   private Async async = new Async();
+  private JobState jobState = new JobState();
+  private DeliveredSet deliveredSet = new DeliveredSet();
+  private RunLock runLock = new RunLock();
+  private Persistence persistence = new Persistence();
 
   @Data
   public static class ExternalApi {
@@ -33,6 +38,17 @@ public class DataDistributorProperties {
      * When true, use Feign (blocking) client; otherwise WebClient.
      */
     private boolean useBlockingClient = false;
+    /**
+     * Contracted CEH request rate shared by batch and retry sends, including client-side retry
+     * attempts; 0 disables the token bucket.
+     */
+    @Min(0)
+    private double requestsPerSecond = 0;
+    /**
+     * Calls allowed back to back when the bucket is full; 0 means one second worth of requests.
+     */
+    @Min(0)
+    private int burst = 0;
     private Retry retry = new Retry();
 
     @Data
@@ -58,11 +74,191 @@ public class DataDistributorProperties {
     private long minUnauthorizedDebitBalance = 250;
     @Min(0)
     private int bookDateLookbackDays = 5;
+    /**
+     * When true, the dispatch selector prefetches signals, OVERLIMIT events, initial CEH mappings
+     * and audit outcomes with set-based queries instead of querying per signal.
+     */
+    private boolean bulkSelectorEnabled = true;
+    /**
+     * When true, the prior-event prerequisite check resolves previous events and their latest audit
+     * statuses for the whole day with set-based queries instead of two queries per event.
+     */
+    private boolean bulkPrerequisiteCheckEnabled = true;
+    /**
+     * Upper bound on batches handed to the outbound sender at once; the job waits for a batch to
+     * finish before reading and submitting the next one.
+     */
+    @Min(1)
+    private int maxInFlightBatches = 20;
+    /**
+     * When true, the retry job re-sends failed events through the batched sender in
+     * signal-ordered waves instead of one blocking call at a time.
+     */
+    private boolean batchedRetryEnabled = true;
+    /**
+     * Retry batches of one wave that may be in flight at once.
+     */
+    @Min(1)
+    private int retryConcurrency = 4;
+    /**
+     * Number of per-signal lanes the daily job dispatches through; the events of one signal are
+     * sent in {@code eventRecordDateTime} order while lanes run in parallel. Each lane sends one
+     * batch at a time, so keep this at least {@code maxInFlightBatches} to use the whole window.
+     * 0 disables the lanes.
+     */
+    @Min(0)
+    private int orderedLanes = 20;
+    /**
+     * Number of signal shards the daily run is split into; replicas triggered by the same schedule
+     * each lease and process whole shards. 1 keeps the run on a single instance.
+     */
+    @Min(1)
+    private int shards = 1;
+    /**
+     * How long a completed shard counts as done for its date; a later trigger of the date processes
+     * it again. Must exceed the duration of a full run.
+     */
+    @Min(1)
+    private long shardWindowMinutes = 360;
+    /**
+     * Rows the JDBC driver fetches per round trip when the events of a day are streamed through a
+     * forward-only cursor (selector and prerequisite check).
+     */
+    @Min(1)
+    private int streamFetchSize = 500;
+    /**
+     * When true, initial CEH mappings are kept in memory per job and written with one batched
+     * MERGE at the end of every sent batch instead of a lookup, delete and insert per mapping.
+     */
+    private boolean batchedInitialCehMappingEnabled = true;
+    private AdaptiveConcurrency adaptiveConcurrency = new AdaptiveConcurrency();
+  }
+
+  /**
+   * Global AIMD limit on concurrent CEH calls across all batches. When disabled, every batch is
+   * capped at {@code processing.rate-limit} on its own.
+   */
+  @Data
+  public static class AdaptiveConcurrency {
+    private boolean enabled = true;
+    /**
+     * Starting limit; 0 means start at {@code processing.rate-limit}.
+     */
+    @Min(0)
+    private int initialLimit = 0;
+    @Min(1)
+    private int minLimit = 2;
+    @Min(1)
+    private int maxLimit = 100;
+    /**
+     * Factor applied to the limit on a 429, 5xx, timeout or transient I/O failure.
+     */
+    private double backoffRatio = 0.9;
+    /**
+     * A success only grows the limit when its latency is within this multiple of the smoothed
+     * baseline latency.
+     */
+    private double latencyTolerance = 2.0;
   }
 
   @Data
   public static class Audit {
     private long consumerId = 1;
+    /**
+     * When true, audit rows are buffered and written in JDBC batches instead of one insert per
+     * delivery attempt. Pending rows are flushed at the end of every batch and on shutdown.
+     */
+    private boolean writeBehindEnabled = true;
+    @Min(1)
+    private int writeBehindBatchSize = 200;
+    @Min(1)
+    private long writeBehindFlushIntervalMs = 500;
+  }
+
+  @Data
+  public static class PayloadCache {
+    /**
+     * When true, initial CEH ids and BC numbers used to enrich outbound payloads are cached and
+     * preloaded per batch instead of queried for every event.
+     */
+    private boolean enabled = true;
+    @Min(1)
+    private int maxEntries = 100_000;
+    @Min(1)
+    private long ttlSeconds = 900;
+  }
+
+  @Data
+  public static class JobState {
+    /**
+     * How often progress snapshots of running jobs are written to the job state table; accepted
+     * and finished states are written immediately.
+     */
+    @Min(1)
+    private long flushIntervalMs = 2000;
+  }
+
+  @Data
+  public static class DeliveredSet {
+    /**
+     * When true, the sender keeps the ids of events CEH has accepted in memory and never posts
+     * them again, whichever run or retry selects them.
+     */
+    private boolean enabled = true;
+    /**
+     * Loads the ids of PASS audit rows in the background at startup; until then only deliveries
+     * made by this instance are known.
+     */
+    private boolean warmUpOnStartup = true;
+    @Min(1)
+    private int warmUpPageSize = 50_000;
+  }
+
+  @Data
+  public static class RunLock {
+    /**
+     * When true, only one delivery or retry run per processing date is allowed at a time, across
+     * all instances sharing the database.
+     */
+    private boolean enabled = true;
+    /**
+     * Lifetime of a run lease; the holder renews it while running, so it only expires when the
+     * holder died.
+     */
+    @Min(3)
+    private long leaseTtlSeconds = 300;
+  }
+
+  @Data
+  public static class Persistence {
+    /**
+     * When true, read-only transactions borrow connections from a read pool and everything else
+     * from a write pool, both built from {@code spring.datasource}. When false the single pool
+     * Spring Boot configures is used.
+     */
+    private boolean splitPools = true;
+    /**
+     * JDBC URL of the read pool, e.g. with {@code ApplicationIntent=ReadOnly}; empty uses
+     * {@code spring.datasource.url}.
+     */
+    private String readUrl;
+    /**
+     * Size of the read pool; 0 derives it from the batches in flight and the send-path JDBC threads.
+     */
+    @Min(0)
+    private int readPoolSize = 0;
+    /**
+     * Size of the write pool; 0 derives it from the send-path JDBC threads.
+     */
+    @Min(0)
+    private int writePoolSize = 0;
+    @Min(250)
+    private long connectionTimeoutMs = 30_000;
+    /**
+     * SQL Server only. False sends string parameters as VARCHAR so they match the VARCHAR columns
+     * and their indexes instead of forcing an implicit NVARCHAR conversion.
+     */
+    private boolean sendStringParametersAsUnicode = false;
   }
 
   @Data
@@ -97,6 +293,36 @@ public class DataDistributorProperties {
     private boolean dialSchedulerEnabled = true;
     private String storageUrl;
     private String managedIdentityClientId;
+    /**
+     * Block size of streamed uploads such as the DIAL export. Memory held by an upload is about
+     * block size times {@code uploadMaxConcurrency}, whatever the file size.
+     */
+    @Min(1)
+    private long uploadBlockSizeBytes = 4L * 1024 * 1024;
+    /**
+     * Blocks of one streamed upload in flight at the same time.
+     */
+    @Min(1)
+    private int uploadMaxConcurrency = 2;
+    /**
+     * Compression of the DIAL export; GZIP and ZSTD append {@code .gz} / {@code .zst} to the file name.
+     */
+    private FileCompression dialCompression = FileCompression.NONE;
+    /**
+     * Compression of the CEH delivery reports, with the same file name suffixes.
+     */
+    private FileCompression reportCompression = FileCompression.NONE;
+    /**
+     * Zstandard level used when a compression is ZSTD; 3 is the library default.
+     */
+    @Min(1)
+    private int zstdLevel = 3;
+  }
+
+  public enum FileCompression {
+    NONE,
+    GZIP,
+    ZSTD
   }
 
   @Data
@@ -123,5 +349,14 @@ public class DataDistributorProperties {
     @Min(0)
     private int queueCapacity = 10_000;
     private String threadNamePrefix = "DataDistributor-";
+    /**
+     * Threads of the bounded scheduler that runs the database work of the send path (payload
+     * enrichment, audit and initial CEH mapping) so it never runs on a Netty event loop. Keep it at
+     * or below the JDBC pool size.
+     */
+    @Min(1)
+    private int jdbcThreads = 10;
+    @Min(1)
+    private int jdbcQueueCapacity = 100_000;
   }
 }
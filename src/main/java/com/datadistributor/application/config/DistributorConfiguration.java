@@ -3,33 +3,42 @@ package com.datadistributor.application.config;
 import com.datadistributor.domain.inport.AccountBalanceUseCase;
 import com.datadistributor.domain.inport.InitialCehMappingUseCase;
 import com.datadistributor.domain.inport.InitialCehQueryUseCase;
+import com.datadistributor.domain.inport.JobStatusUseCase;
 import com.datadistributor.domain.inport.SignalEventProcessingUseCase;
 import com.datadistributor.domain.inport.SignalEventRetryUseCase;
 import com.datadistributor.domain.inport.SignalEventUseCase;
 import com.datadistributor.domain.inport.SignalUseCase;
 import com.datadistributor.domain.job.JobProgressTracker;
+import com.datadistributor.domain.outport.DeliveryMetricsPort;
 import com.datadistributor.domain.outport.DeliveryReportPublisher;
 import com.datadistributor.domain.outport.SignalAuditQueryPort;
 import com.datadistributor.domain.outport.AccountBalanceOverviewPort;
 import com.datadistributor.domain.outport.InitialCehMappingPort;
 import com.datadistributor.domain.outport.FileStoragePort;
+import com.datadistributor.domain.outport.JobStatePort;
+import com.datadistributor.domain.outport.RunLeasePort;
 import com.datadistributor.domain.outport.SignalEventBatchPort;
 import com.datadistributor.domain.outport.SignalEventPort;
 import com.datadistributor.domain.outport.SignalEventSenderPort;
 import com.datadistributor.domain.outport.SignalPort;
 import com.datadistributor.domain.service.AccountBalanceDomainService;
+import com.datadistributor.domain.service.DateRunGuard;
 import com.datadistributor.domain.service.InitialCehMappingDomainService;
 import com.datadistributor.domain.service.InitialCehQueryDomainService;
 import com.datadistributor.domain.service.DialSignalDataExportDomainService;
+import com.datadistributor.domain.service.JobStatusDomainService;
 import com.datadistributor.domain.service.SignalQueryDomainService;
 import com.datadistributor.domain.service.SignalEventDomainService;
 import com.datadistributor.domain.service.SignalEventProcessingDomainService;
 import com.datadistributor.domain.service.SignalEventRetryDomainService;
+import com.datadistributor.domain.service.ShardedDispatchCoordinator;
 import com.datadistributor.domain.inport.SignalDispatchSelectorUseCase;
 import com.datadistributor.domain.service.SignalDispatchDomainSelector;
 import com.datadistributor.outadapter.report.AzureBlobReportPublisher;
 import com.datadistributor.outadapter.report.AzureBlobStorageClient;
+import com.datadistributor.outadapter.report.CompressingFileEncoding;
 import java.time.Clock;
+import java.time.Duration;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
@@ -49,8 +58,21 @@ public class DistributorConfiguration {
     }
 
     @Bean
-    JobProgressTracker jobProgressTracker() {
-        return new JobProgressTracker();
+    JobProgressTracker jobProgressTracker(JobStatePort jobStatePort, Clock clock) {
+        return new JobProgressTracker(jobStatePort, clock);
+    }
+
+    @Bean
+    JobStatusUseCase jobStatusUseCase(JobStatePort jobStatePort, Clock clock) {
+        return new JobStatusDomainService(jobStatePort, clock);
+    }
+
+    @Bean
+    DateRunGuard dateRunGuard(RunLeasePort runLeasePort, DataDistributorProperties properties) {
+        // sharded process runs lease their shards only, so replicas share the date; retries and
+        // resumes take the date lease and every shard lease, which keeps them clear of those runs
+        return new DateRunGuard(runLeasePort, properties.getRunLock().isEnabled(),
+            properties.getProcessing().getShards());
     }
 
     @Bean
@@ -61,26 +83,62 @@ public class DistributorConfiguration {
         SignalDispatchSelectorUseCase signalDispatchSelectorUseCase,
         JobProgressTracker jobProgressTracker,
         DataDistributorProperties properties,
-        DeliveryReportPublisher deliveryReportPublisher
+        DeliveryReportPublisher deliveryReportPublisher,
+        DeliveryMetricsPort deliveryMetricsPort,
+        DateRunGuard dateRunGuard,
+        RunLeasePort runLeasePort,
+        JobStatePort jobStatePort,
+        InitialCehMappingPort initialCehMappingPort,
+        Clock clock
     ) {
-        return new SignalEventProcessingDomainService(
+        SignalEventProcessingDomainService service = new SignalEventProcessingDomainService(
             repository,
             batchPort,
             signalAuditQueryPort,
             signalDispatchSelectorUseCase,
             properties.getProcessing().getBatchSize(),
             jobProgressTracker,
-            deliveryReportPublisher);
+            deliveryReportPublisher,
+            properties.getProcessing().isBulkPrerequisiteCheckEnabled(),
+            properties.getProcessing().getMaxInFlightBatches(),
+            deliveryMetricsPort,
+            properties.getProcessing().getOrderedLanes(),
+            properties.getAudit().getConsumerId(),
+            initialCehMappingPort);
+        int shards = properties.getProcessing().getShards();
+        if (shards <= 1) {
+            return dateRunGuard.guard(service);
+        }
+        return dateRunGuard.guard(new ShardedDispatchCoordinator(service, runLeasePort, jobStatePort, clock,
+            shards, Duration.ofMinutes(properties.getProcessing().getShardWindowMinutes())));
     }
 
     @Bean
     SignalEventRetryUseCase signalEventRetryUseCase(SignalAuditQueryPort signalAuditQueryPort,
                                                     SignalEventPort signalEventRepository,
-                                                    SignalEventSenderPort signalEventSenderPort) {
-        return new SignalEventRetryDomainService(
+                                                    SignalEventSenderPort signalEventSenderPort,
+                                                    SignalEventBatchPort batchPort,
+                                                    JobProgressTracker jobProgressTracker,
+                                                    InitialCehMappingPort initialCehMappingPort,
+                                                    DataDistributorProperties properties,
+                                                    DateRunGuard dateRunGuard) {
+        DataDistributorProperties.Processing processing = properties.getProcessing();
+        if (!processing.isBatchedRetryEnabled()) {
+            return dateRunGuard.guard(new SignalEventRetryDomainService(
+                signalAuditQueryPort,
+                signalEventRepository,
+                signalEventSenderPort,
+                initialCehMappingPort));
+        }
+        return dateRunGuard.guard(new SignalEventRetryDomainService(
             signalAuditQueryPort,
             signalEventRepository,
-            signalEventSenderPort);
+            signalEventSenderPort,
+            batchPort,
+            processing.getBatchSize(),
+            processing.getRetryConcurrency(),
+            jobProgressTracker,
+            initialCehMappingPort));
     }
 
     @Bean
@@ -100,7 +158,8 @@ public class DistributorConfiguration {
 
     @Bean
     DeliveryReportPublisher deliveryReportPublisher(DataDistributorProperties properties, FileStoragePort fileStoragePort) {
-        return new AzureBlobReportPublisher(properties, fileStoragePort);
+        return new AzureBlobReportPublisher(properties, fileStoragePort, new CompressingFileEncoding(
+            properties.getStorage().getReportCompression(), properties.getStorage().getZstdLevel()));
     }
 
     @Bean
@@ -131,7 +190,8 @@ public class DistributorConfiguration {
             initialCehMappingPort,
             properties.getProcessing().getMinUnauthorizedDebitBalance(),
             properties.getProcessing().getBookDateLookbackDays(),
-            properties.getAudit().getConsumerId()
+            properties.getAudit().getConsumerId(),
+            properties.getProcessing().isBulkSelectorEnabled()
         );
     }
 
@@ -147,6 +207,8 @@ public class DistributorConfiguration {
             signalQueryUseCase,
             accountBalanceOverviewPort,
             fileStoragePort,
+            new CompressingFileEncoding(
+                properties.getStorage().getDialCompression(), properties.getStorage().getZstdLevel()),
             properties);
     }
 }
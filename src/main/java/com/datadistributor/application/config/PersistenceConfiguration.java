@@ -1,16 +1,122 @@
 package com.datadistributor.application.config;
 
+import com.zaxxer.hikari.HikariDataSource;
+import java.util.List;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.util.StringUtils;
 
 /**
  * Aggregates JPA entity scan and repository configuration.
+ *
+ * <p>With {@code data-distributor.persistence.split-pools} the application data source routes
+ * read-only transactions to a read pool and everything else to a write pool, both sized by
+ * {@link PersistencePoolSizing}. A connection is only taken from a pool once the first statement
+ * runs, when it is known whether the transaction is read-only.</p>
  */
 @Configuration
 @EnableTransactionManagement
 @EnableJpaRepositories(basePackages = "com.datadistributor.outadapter.repository.springjpa")
 @EntityScan(basePackages = "com.datadistributor.outadapter.entity")
+@Slf4j
 public class PersistenceConfiguration {
+
+  static final String SQL_SERVER_URL_PREFIX = "jdbc:sqlserver:";
+
+  /**
+   * Warns at startup when a pool is smaller than the configured dispatch concurrency can use; the
+   * send path then waits for connections instead of sending.
+   */
+  @Bean
+  ApplicationListener<ApplicationReadyEvent> connectionPoolSizeCheck(DataDistributorProperties properties,
+                                                                     ObjectProvider<DataSource> dataSources) {
+    return event -> {
+      List<HikariDataSource> pools = dataSources.orderedStream()
+          .filter(HikariDataSource.class::isInstance)
+          .map(HikariDataSource.class::cast)
+          .toList();
+      poolShortfalls(properties, pools).forEach(shortfall ->
+          log.warn("Connection pool too small for the configured concurrency: {}", shortfall));
+    };
+  }
+
+  static List<String> poolShortfalls(DataDistributorProperties properties, List<HikariDataSource> pools) {
+    PersistencePoolSizing sizing = PersistencePoolSizing.from(properties);
+    if (properties.getPersistence().isSplitPools()) {
+      return sizing.shortfalls();
+    }
+    int required = sizing.requiredRead() + sizing.requiredWrite();
+    return pools.stream()
+        .filter(pool -> pool.getMaximumPoolSize() < required)
+        .map(pool -> "pool " + pool.getPoolName() + " has " + pool.getMaximumPoolSize()
+            + " connections but reads and writes of the dispatch can use " + required)
+        .toList();
+  }
+
+  static HikariDataSource pool(DataSourceProperties dataSourceProperties,
+                               String url,
+                               String name,
+                               int size,
+                               DataDistributorProperties.Persistence persistence) {
+    HikariDataSource pool = dataSourceProperties.initializeDataSourceBuilder()
+        .type(HikariDataSource.class)
+        .url(url)
+        .build();
+    pool.setPoolName(name);
+    pool.setMaximumPoolSize(size);
+    pool.setConnectionTimeout(persistence.getConnectionTimeoutMs());
+    if (url != null && url.startsWith(SQL_SERVER_URL_PREFIX)) {
+      pool.addDataSourceProperty("sendStringParametersAsUnicode",
+          String.valueOf(persistence.isSendStringParametersAsUnicode()));
+    }
+    return pool;
+  }
+
+  /**
+   * Read and write pools behind one routing data source, which Spring Boot's JPA, JDBC and
+   * transaction setup pick up as the application data source.
+   */
+  @Configuration(proxyBeanMethods = false)
+  @ConditionalOnProperty(prefix = "data-distributor.persistence", name = "split-pools", havingValue = "true",
+      matchIfMissing = true)
+  static class SplitPools {
+
+    @Bean(name = "writeDataSource")
+    DataSource writeDataSource(DataSourceProperties dataSourceProperties, DataDistributorProperties properties) {
+      return pool(dataSourceProperties, dataSourceProperties.determineUrl(), "dd-write",
+          PersistencePoolSizing.from(properties).writePoolSize(), properties.getPersistence());
+    }
+
+    @Bean(name = "readDataSource")
+    DataSource readDataSource(DataSourceProperties dataSourceProperties, DataDistributorProperties properties) {
+      DataDistributorProperties.Persistence persistence = properties.getPersistence();
+      String url = StringUtils.hasText(persistence.getReadUrl())
+          ? persistence.getReadUrl()
+          : dataSourceProperties.determineUrl();
+      return pool(dataSourceProperties, url, "dd-read", PersistencePoolSizing.from(properties).readPoolSize(),
+          persistence);
+    }
+
+    @Bean
+    @Primary
+    DataSource dataSource(@Qualifier("writeDataSource") DataSource writeDataSource,
+                          @Qualifier("readDataSource") DataSource readDataSource) {
+      LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(writeDataSource);
+      dataSource.setReadOnlyDataSource(readDataSource);
+      return dataSource;
+    }
+  }
 }
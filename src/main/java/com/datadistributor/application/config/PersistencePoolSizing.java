@@ -0,0 +1,60 @@
+package com.datadistributor.application.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Connection pool sizes the dispatch workload needs, derived from the processing and async
+ * settings:
+ * <ul>
+ *   <li>read: every batch in flight warms its payload lookups on an executor thread, the send-path
+ *       JDBC threads look up initial CEH ids, plus the day cursor of a job and the delivered-set
+ *       warm-up;</li>
+ *   <li>write: the send-path JDBC threads write audits and mappings, plus the audit write-behind
+ *       and job state flushers.</li>
+ * </ul>
+ * CEH calls run {@code rate-limit} at a time per batch, but their database work is funneled
+ * through the {@code jdbc-threads} scheduler, so that is what the pools have to keep up with.
+ *
+ * @param readPoolSize connections of the read pool, configured or derived
+ * @param writePoolSize connections of the write pool, configured or derived
+ * @param requiredRead read connections the configured concurrency can use at once
+ * @param requiredWrite write connections the configured concurrency can use at once
+ */
+public record PersistencePoolSizing(int readPoolSize, int writePoolSize, int requiredRead, int requiredWrite) {
+
+  /** Day cursor of a running job and the delivered-set warm-up. */
+  static final int BACKGROUND_READERS = 2;
+  /** Audit write-behind and job state flushers. */
+  static final int BACKGROUND_WRITERS = 2;
+
+  public static PersistencePoolSizing from(DataDistributorProperties properties) {
+    DataDistributorProperties.Async async = properties.getAsync();
+    DataDistributorProperties.Persistence persistence = properties.getPersistence();
+    int batchesInFlight = Math.min(async.getMaxPoolSize(), properties.getProcessing().getMaxInFlightBatches());
+    int requiredRead = batchesInFlight + async.getJdbcThreads() + BACKGROUND_READERS;
+    int requiredWrite = async.getJdbcThreads() + BACKGROUND_WRITERS;
+    return new PersistencePoolSizing(
+        persistence.getReadPoolSize() > 0 ? persistence.getReadPoolSize() : requiredRead,
+        persistence.getWritePoolSize() > 0 ? persistence.getWritePoolSize() : requiredWrite,
+        requiredRead,
+        requiredWrite);
+  }
+
+  /**
+   * One message per pool that is smaller than the configured concurrency needs; empty when both
+   * pools are large enough.
+   */
+  public List<String> shortfalls() {
+    List<String> shortfalls = new ArrayList<>();
+    if (readPoolSize < requiredRead) {
+      shortfalls.add("read pool has " + readPoolSize + " connections but batches in flight, send-path JDBC threads"
+          + " and background readers can use " + requiredRead);
+    }
+    if (writePoolSize < requiredWrite) {
+      shortfalls.add("write pool has " + writePoolSize + " connections but send-path JDBC threads and background"
+          + " writers can use " + requiredWrite);
+    }
+    return shortfalls;
+  }
+}
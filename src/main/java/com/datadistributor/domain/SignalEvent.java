@@ -1,7 +1,9 @@
 package com.datadistributor.domain;
 
+import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -10,9 +12,14 @@ import java.time.LocalDateTime;
  * Domain representation of a signal event stored in UABS and sent to CEH. It carries balance and
  * status details (OVERLIMIT, FINANCIAL_UPDATE, OUT_OF_OVERLIMIT) plus timestamps used for DPD and
  * prerequisite checks.
+ *
+ * <p>The all-arguments constructor follows the field order; the read queries of the repository
+ * adapter select straight into it.</p>
  */
 @Data
 @EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
 public class SignalEvent {
     private Long uabsEventId;
     private Long signalId;
@@ -0,0 +1,44 @@
+package com.datadistributor.domain;
+
+/**
+ * One of {@code count} disjoint slices of the signals of a day. A signal belongs to the shard its
+ * id hashes to, so all events of a signal stay on the replica that claimed the shard. The id is
+ * mixed with a Fibonacci multiplier first, so sharding does not correlate with the plain
+ * {@code hashCode} buckets the ordered lanes use inside a shard. Events without a signal id belong
+ * to shard 0.
+ */
+public record SignalShard(int index, int count) {
+
+  private static final long FIBONACCI_MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+  public SignalShard {
+    if (count < 1 || index < 0 || index >= count) {
+      throw new IllegalArgumentException("Invalid shard " + index + "/" + count);
+    }
+  }
+
+  /** The single shard that holds every signal. */
+  public static SignalShard whole() {
+    return new SignalShard(0, 1);
+  }
+
+  public boolean contains(Long signalId) {
+    if (count == 1) {
+      return true;
+    }
+    if (signalId == null) {
+      return index == 0;
+    }
+    int mixed = (int) ((signalId * FIBONACCI_MULTIPLIER) >>> 32);
+    return Math.floorMod(mixed, count) == index;
+  }
+
+  public boolean contains(SignalEvent event) {
+    return contains(event.getSignalId());
+  }
+
+  @Override
+  public String toString() {
+    return index + "/" + count;
+  }
+}
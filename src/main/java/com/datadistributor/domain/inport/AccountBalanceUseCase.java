@@ -1,6 +1,10 @@
 package com.datadistributor.domain.inport;
 
 import com.datadistributor.domain.AccountBalance;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 
 /**
@@ -17,4 +21,20 @@ public interface AccountBalanceUseCase {
    * @return full account balance view for the given agreement id.
    */
   Optional<AccountBalance> getAccountBalanceOfAgreement(Long agreementId);
+
+  /**
+   * @return BC numbers keyed by agreement id; agreements without a balance row are absent.
+   */
+  default Map<Long, Long> findBcNumbersByAgreementIds(Collection<Long> agreementIds) {
+    Map<Long, Long> result = new LinkedHashMap<>();
+    if (agreementIds == null) {
+      return result;
+    }
+    agreementIds.stream()
+        .filter(Objects::nonNull)
+        .distinct()
+        .forEach(agreementId -> findBcNumberByAgreementId(agreementId)
+            .ifPresent(bcNumber -> result.put(agreementId, bcNumber)));
+    return result;
+  }
 }
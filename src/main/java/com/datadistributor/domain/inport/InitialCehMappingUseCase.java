@@ -11,4 +11,10 @@ public interface InitialCehMappingUseCase {
    * Stores the CEH event id associated with the signal to avoid duplicate initial sends.
    */
   void handleInitialCehMapping(SignalEvent event, long cehId);
+
+  /**
+   * Makes the mappings handled so far durable; called once a batch of sends is complete.
+   */
+  default void flushPendingMappings() {
+  }
 }
@@ -1,5 +1,9 @@
 package com.datadistributor.domain.inport;
 
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 
 /**
@@ -8,4 +12,19 @@ import java.util.Optional;
 public interface InitialCehQueryUseCase {
 
   Optional<String> findInitialCehId(Long signalId);
+
+  /**
+   * @return initial CEH ids keyed by signal id; signals without a mapping are absent.
+   */
+  default Map<Long, String> findInitialCehIds(Collection<Long> signalIds) {
+    Map<Long, String> result = new LinkedHashMap<>();
+    if (signalIds == null) {
+      return result;
+    }
+    signalIds.stream()
+        .filter(Objects::nonNull)
+        .distinct()
+        .forEach(signalId -> findInitialCehId(signalId).ifPresent(cehId -> result.put(signalId, cehId)));
+    return result;
+  }
 }
@@ -0,0 +1,25 @@
+package com.datadistributor.domain.inport;
+
+import com.datadistributor.domain.job.JobResult;
+import com.datadistributor.domain.job.JobState;
+import java.time.LocalDate;
+import java.util.Optional;
+
+/**
+ * Use case for recording and reading the status of delivery jobs triggered over HTTP.
+ */
+public interface JobStatusUseCase {
+
+  void accepted(String jobId, LocalDate date);
+
+  /**
+   * Marks a job as accepted again for a resumed run, keeping its counts and checkpoint.
+   */
+  void resumed(String jobId, LocalDate date);
+
+  void completed(String jobId, LocalDate date, JobResult result);
+
+  void failed(String jobId, LocalDate date, String message);
+
+  Optional<JobState> find(String jobId);
+}
@@ -3,10 +3,21 @@ package com.datadistributor.domain.inport;
 import com.datadistributor.domain.SignalEvent;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.function.Predicate;
 
 /**
  * Use case for selecting which signal events should be sent on a given processing date.
  */
 public interface SignalDispatchSelectorUseCase {
   List<SignalEvent> selectEventsToSend(LocalDate targetDate);
+
+  /**
+   * Selects the events of the signals accepted by {@code signalFilter} only. Implementations
+   * should apply the filter before their lookups, so a shard of the day does not pay for the rest.
+   */
+  default List<SignalEvent> selectEventsToSend(LocalDate targetDate, Predicate<Long> signalFilter) {
+    return selectEventsToSend(targetDate).stream()
+        .filter(event -> signalFilter.test(event.getSignalId()))
+        .toList();
+  }
 }
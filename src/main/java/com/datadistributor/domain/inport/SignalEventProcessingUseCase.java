@@ -8,4 +8,15 @@ import java.time.LocalDate;
  */
 public interface SignalEventProcessingUseCase {
   JobResult processEventsForDate(String jobId, LocalDate date);
+
+  /**
+   * Continues an interrupted run of {@code jobId}: events already delivered are skipped and the
+   * run picks up after the job's last checkpoint. Implementations without checkpoints rerun the
+   * whole date.
+   *
+   * @param date processing date, or null to take it from the job's recorded state
+   */
+  default JobResult resumeEventsForDate(String jobId, LocalDate date) {
+    return processEventsForDate(jobId, date);
+  }
 }
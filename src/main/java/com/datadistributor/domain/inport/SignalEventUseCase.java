@@ -4,6 +4,7 @@ import com.datadistributor.domain.SignalEvent;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Use case for fetching signal events for processing or reporting.
@@ -11,4 +12,15 @@ import java.util.List;
 public interface SignalEventUseCase {
     List<SignalEvent> getAllSignalEventsOfThisDate(LocalDate date);
     List<SignalEvent> getAllSignalForCEH(LocalDate date);
+
+    /**
+     * Hands the events of the day to {@code pageConsumer} one page at a time, ordered by id, so
+     * callers never hold the whole day. The default passes the full day as a single page.
+     */
+    default void forEachSignalEventPageOfThisDate(LocalDate date, Consumer<List<SignalEvent>> pageConsumer) {
+        List<SignalEvent> events = getAllSignalEventsOfThisDate(date);
+        if (!events.isEmpty()) {
+            pageConsumer.accept(events);
+        }
+    }
 }
@@ -1,6 +1,10 @@
 package com.datadistributor.domain.inport;
 
 import com.datadistributor.domain.Signal;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 
 /**
@@ -9,4 +13,21 @@ import java.util.Optional;
 public interface SignalUseCase {
   Optional<Signal> findBySignalId(Long signalId);
   Optional<Signal> getOpenSignalOfAgreement(Long agreementId);
+
+  /**
+   * Open signal per agreement for many agreements at once, keyed by agreement id. The default
+   * falls back to one lookup per agreement.
+   */
+  default Map<Long, Signal> getOpenSignalsOfAgreements(Collection<Long> agreementIds) {
+    Map<Long, Signal> result = new LinkedHashMap<>();
+    if (agreementIds == null) {
+      return result;
+    }
+    agreementIds.stream()
+        .filter(Objects::nonNull)
+        .distinct()
+        .forEach(agreementId -> getOpenSignalOfAgreement(agreementId)
+            .ifPresent(signal -> result.put(agreementId, signal)));
+    return result;
+  }
 }
@@ -1,27 +1,93 @@
 package com.datadistributor.domain.job;
 
+import com.datadistributor.domain.outport.JobStatePort;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import lombok.extern.slf4j.Slf4j;
 /**
  * Lightweight tracker for batch jobs. Logs batch completion and aggregates success/failure counts.
+ * Every change is also published as a {@link JobState} snapshot through the {@link JobStatePort},
+ * so the progress of a running job is visible outside the thread that drives it. Batches completing
+ * out of order only move the checkpoint once every earlier batch has completed too; a batch that
+ * could not be sent at all stops the checkpoint before it for the rest of the run.
+ *
+ * <p>Batches that are not cut in keyset order (selected events, ordered lanes) are registered with
+ * {@link #onBatchesQueued} instead; their checkpoint is the low-water mark of the ids read so far,
+ * below which every event belongs to a completed batch.</p>
  */
 @Slf4j
 public class JobProgressTracker {
 
+  private final JobStatePort jobStatePort;
+  private final Clock clock;
+
+  public JobProgressTracker() {
+    this(JobStatePort.noop(), Clock.systemUTC());
+  }
+
+  public JobProgressTracker(JobStatePort jobStatePort, Clock clock) {
+    this.jobStatePort = jobStatePort;
+    this.clock = clock;
+  }
+
   public JobProgress start(String jobId, int totalBatches) {
+    return start(jobId, null, totalBatches, 0);
+  }
+
+  public JobProgress start(String jobId, LocalDate date, int totalBatches, long totalEvents) {
+    return start(jobId, date, totalBatches, totalEvents, null);
+  }
+
+  /**
+   * Starts tracking a run; {@code resumeAfterUabsEventId} carries the checkpoint of an interrupted
+   * run forward until this run commits its own.
+   */
+  public JobProgress start(String jobId, LocalDate date, int totalBatches, long totalEvents,
+                           Long resumeAfterUabsEventId) {
     if (jobId == null || totalBatches <= 0) {
       return JobProgress.disabled();
     }
-    JobProgress progress = new JobProgress(jobId, totalBatches, true);
+    JobProgress progress = new JobProgress(jobId, date, totalBatches, totalEvents, clock.instant(), true);
+    progress.checkpointUabsEventId = resumeAfterUabsEventId;
     log.info("Job {} started with {} batches", jobId, totalBatches);
+    publish(progress, JobState.Status.RUNNING);
     return progress;
   }
 
+  /**
+   * Last recorded state of a job, including its checkpoint.
+   */
+  public Optional<JobState> lastState(String jobId) {
+    if (jobId == null) {
+      return Optional.empty();
+    }
+    return jobStatePort.findById(jobId);
+  }
+
   public void onBatchCompletion(JobProgress progress, int batchNumber, int batchSize,
       BatchResult result) {
+    onBatchCompletion(progress, batchNumber, batchSize, result, null);
+  }
+
+  /**
+   * Records a completed batch. {@code lastUabsEventId} is the keyset position after the batch, or
+   * null when batches are not cut in keyset order.
+   */
+  public void onBatchCompletion(JobProgress progress, int batchNumber, int batchSize,
+      BatchResult result, Long lastUabsEventId) {
     if (!progress.enabled) {
       return;
     }
+    progress.commit(batchNumber, lastUabsEventId, false);
     int completed = progress.completedBatches.incrementAndGet();
     int cumulativeSuccess = progress.successCount.addAndGet(result.successCount());
     int cumulativeFailure = progress.failureCount.addAndGet(result.failureCount());
@@ -30,12 +96,126 @@ public class JobProgressTracker {
         "Job {} batch #{} (size {}) complete. Batch success={} failure={}. Progress: {}/{} batches done (success={}, failure={})",
         progress.jobId, batchNumber, batchSize,
         result.successCount(), result.failureCount(),
-        completed, progress.totalBatches, cumulativeSuccess, cumulativeFailure);
+        completed, progress.totalBatches.get(), cumulativeSuccess, cumulativeFailure);
+    afterBatch(progress, completed, cumulativeSuccess, cumulativeFailure);
+  }
 
-    if (completed >= progress.totalBatches) {
+  /**
+   * Records a batch whose send failed as a whole: every event of it counts as a failure, and the
+   * checkpoint does not move past it, so a resume reads the batch again.
+   */
+  public void onBatchFailure(JobProgress progress, int batchNumber, int batchSize, Throwable error) {
+    if (!progress.enabled) {
+      return;
+    }
+    progress.commit(batchNumber, null, true);
+    int completed = progress.completedBatches.incrementAndGet();
+    int cumulativeSuccess = progress.successCount.get();
+    int cumulativeFailure = progress.failureCount.addAndGet(batchSize);
+
+    log.warn("Job {} batch #{} (size {}) failed: {}. Progress: {}/{} batches done (success={}, failure={})",
+        progress.jobId, batchNumber, batchSize, error,
+        completed, progress.totalBatches.get(), cumulativeSuccess, cumulativeFailure);
+    afterBatch(progress, completed, cumulativeSuccess, cumulativeFailure);
+  }
+
+  private void afterBatch(JobProgress progress, int completed, int cumulativeSuccess, int cumulativeFailure) {
+    if (progress.totalFinal && completed >= progress.totalBatches.get()) {
       log.info("Job {} finished. Total success={} failure={}",
           progress.jobId, cumulativeSuccess, cumulativeFailure);
     }
+    // a late batch callback must not overwrite the final state
+    if (!progress.finished.get()) {
+      publish(progress, JobState.Status.RUNNING);
+    }
+  }
+
+  /**
+   * Registers batches that are sent out of keyset order, as batch number to the lowest uabsEventId
+   * of the batch, before they are submitted. {@code keysetPosition} is the highest uabsEventId read
+   * so far and {@code lowestUnqueuedUabsEventId} the lowest one read but not cut into a batch yet,
+   * or null when every event read is in a batch. The checkpoint then moves to the position below
+   * which every event read belongs to a completed batch; a batch that fails as a whole holds it
+   * below that batch for the rest of the run.
+   */
+  public void onBatchesQueued(JobProgress progress, Map<Integer, Long> lowestUabsEventIdByBatch,
+                              Long keysetPosition, Long lowestUnqueuedUabsEventId) {
+    if (!progress.enabled) {
+      return;
+    }
+    progress.queue(lowestUabsEventIdByBatch, keysetPosition, lowestUnqueuedUabsEventId);
+  }
+
+  /**
+   * Updates the batch total of a run whose batches are cut while it runs. {@code batchesCut} counts
+   * every batch cut so far; until {@code allCut} the total is an estimate that only grows, and the
+   * job is not logged as finished when its batches catch up with it.
+   */
+  public void onBatchesCut(JobProgress progress, int batchesCut, boolean allCut) {
+    if (!progress.enabled) {
+      return;
+    }
+    int previous = progress.totalBatches.getAndUpdate(total -> allCut ? batchesCut : Math.max(total, batchesCut));
+    progress.totalFinal = allCut;
+    if (allCut && batchesCut > 0 && progress.completedBatches.get() >= batchesCut) {
+      log.info("Job {} finished. Total success={} failure={}",
+          progress.jobId, progress.successCount.get(), progress.failureCount.get());
+    }
+    if (previous != progress.totalBatches.get() && !progress.finished.get()) {
+      publish(progress, JobState.Status.RUNNING);
+    }
+  }
+
+  /**
+   * Publishes the final state of a job with the counts of its result.
+   */
+  public void finish(JobProgress progress, JobResult result) {
+    if (!progress.enabled || !progress.finished.compareAndSet(false, true)) {
+      return;
+    }
+    Instant now = clock.instant();
+    save(progress, snapshot(progress, JobState.Status.COMPLETED, now).toBuilder()
+        .totalEvents(Math.max(progress.totalEvents, result.getTotalCount()))
+        .successCount(result.getSuccessCount())
+        .failureCount(result.getFailureCount())
+        .finishedAt(now)
+        .message(result.getMessage())
+        .build());
+  }
+
+  private void publish(JobProgress progress, JobState.Status status) {
+    save(progress, snapshot(progress, status, clock.instant()));
+  }
+
+  private void save(JobProgress progress, JobState state) {
+    try {
+      jobStatePort.save(state);
+    } catch (Exception ex) {
+      log.warn("Job {} progress could not be recorded: {}", progress.jobId, ex.toString());
+    }
+  }
+
+  private JobState snapshot(JobProgress progress, JobState.Status status, Instant now) {
+    int checkpointBatch;
+    Long checkpointUabsEventId;
+    synchronized (progress) {
+      checkpointBatch = progress.checkpointBatch;
+      checkpointUabsEventId = progress.checkpointUabsEventId;
+    }
+    return JobState.builder()
+        .jobId(progress.jobId)
+        .processingDate(progress.date)
+        .status(status)
+        .totalBatches(progress.totalBatches.get())
+        .completedBatches(progress.completedBatches.get())
+        .totalEvents(progress.totalEvents)
+        .successCount(progress.successCount.get())
+        .failureCount(progress.failureCount.get())
+        .checkpointBatch(checkpointBatch)
+        .checkpointUabsEventId(checkpointUabsEventId)
+        .startedAt(progress.startedAt)
+        .updatedAt(now)
+        .build();
   }
 
   /**
@@ -43,20 +223,100 @@ public class JobProgressTracker {
    */
   public static final class JobProgress {
     private final String jobId;
-    private final int totalBatches;
+    private final LocalDate date;
+    private final AtomicInteger totalBatches;
+    private final long totalEvents;
+    private final Instant startedAt;
     private final AtomicInteger completedBatches = new AtomicInteger();
     private final AtomicInteger successCount = new AtomicInteger();
     private final AtomicInteger failureCount = new AtomicInteger();
+    private final AtomicBoolean finished = new AtomicBoolean();
+    private final Map<Integer, Long> completedAhead = new HashMap<>();
+    private final Set<Integer> failedAhead = new HashSet<>();
+    private final Map<Integer, Long> lowestIdOfOpenBatch = new HashMap<>();
+    private final TreeSet<Long> lowestIdsOfOpenBatches = new TreeSet<>();
     private final boolean enabled;
+    private volatile boolean totalFinal = true;
+    private int checkpointBatch;
+    private Long checkpointUabsEventId;
+    private boolean checkpointStopped;
+    private Long keysetPosition;
+    private Long lowestUnqueuedId;
 
-    private JobProgress(String jobId, int totalBatches, boolean enabled) {
+    private JobProgress(String jobId, LocalDate date, int totalBatches, long totalEvents,
+                        Instant startedAt, boolean enabled) {
       this.jobId = jobId;
-      this.totalBatches = totalBatches;
+      this.date = date;
+      this.totalBatches = new AtomicInteger(totalBatches);
+      this.totalEvents = totalEvents;
+      this.startedAt = startedAt;
       this.enabled = enabled;
     }
 
+    private synchronized void queue(Map<Integer, Long> lowestIdByBatch, Long position, Long lowestUnqueued) {
+      lowestIdByBatch.forEach((batchNumber, lowestId) -> {
+        if (lowestId != null) {
+          lowestIdOfOpenBatch.put(batchNumber, lowestId);
+          lowestIdsOfOpenBatches.add(lowestId);
+        }
+      });
+      if (position != null) {
+        keysetPosition = position;
+      }
+      lowestUnqueuedId = lowestUnqueued;
+      advanceLowWaterMark();
+    }
+
+    private synchronized void commit(int batchNumber, Long lastUabsEventId, boolean failed) {
+      Long lowestId = failed ? null : lowestIdOfOpenBatch.remove(batchNumber);
+      if (lowestId != null) {
+        lowestIdsOfOpenBatches.remove(lowestId);
+        advanceLowWaterMark();
+      }
+      if (checkpointStopped || batchNumber <= checkpointBatch) {
+        return;
+      }
+      if (failed) {
+        failedAhead.add(batchNumber);
+      }
+      completedAhead.put(batchNumber, lastUabsEventId);
+      while (completedAhead.containsKey(checkpointBatch + 1)) {
+        if (failedAhead.contains(checkpointBatch + 1)) {
+          // later batches are counted but can no longer move the checkpoint
+          checkpointStopped = true;
+          completedAhead.clear();
+          failedAhead.clear();
+          return;
+        }
+        Long committedId = completedAhead.remove(++checkpointBatch);
+        if (committedId != null) {
+          checkpointUabsEventId = committedId;
+        }
+      }
+    }
+
+    /**
+     * Moves the checkpoint up to the position below the lowest event that is read but not yet in a
+     * completed batch. A failed batch stays open, so the mark never passes it.
+     */
+    private void advanceLowWaterMark() {
+      if (keysetPosition == null) {
+        return;
+      }
+      long mark = keysetPosition;
+      if (lowestUnqueuedId != null) {
+        mark = Math.min(mark, lowestUnqueuedId - 1);
+      }
+      if (!lowestIdsOfOpenBatches.isEmpty()) {
+        mark = Math.min(mark, lowestIdsOfOpenBatches.first() - 1);
+      }
+      if (checkpointUabsEventId == null || mark > checkpointUabsEventId) {
+        checkpointUabsEventId = mark;
+      }
+    }
+
     private static JobProgress disabled() {
-      return new JobProgress(null, 0, false);
+      return new JobProgress(null, null, 0, 0, null, false);
     }
   }
 }
@@ -17,6 +17,8 @@ public class JobResult {
   private long totalCount;
   private long timestamp;
   private String message;
+  /** True when the prerequisite check stopped the run before anything was sent. */
+  private boolean blocked;
 
   public JobResult(int successCount, int failureCount, String message) {
     this(successCount, failureCount, 0, message);
@@ -29,4 +31,13 @@ public class JobResult {
     this.timestamp = System.currentTimeMillis();
     this.message = message;
   }
+
+  /**
+   * Result of a run the prerequisite check stopped; nothing was sent.
+   */
+  public static JobResult blocked(String message) {
+    JobResult result = new JobResult(0, 0, 0, message);
+    result.setBlocked(true);
+    return result;
+  }
 }
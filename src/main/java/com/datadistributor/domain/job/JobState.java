@@ -0,0 +1,80 @@
+package com.datadistributor.domain.job;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Optional;
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Durable snapshot of a delivery job: lifecycle status, batch progress, event counts and timings.
+ * Throughput and the remaining-time estimate are derived from the counts on read.
+ *
+ * <p>The checkpoint is the highest batch number up to which every batch has completed, with the
+ * last {@code uabsEventId} of that batch when batches follow keyset order. A resumed run continues
+ * the keyset scan after that id.</p>
+ */
+@Value
+@Builder(toBuilder = true)
+public class JobState {
+  String jobId;
+  LocalDate processingDate;
+  Status status;
+  int totalBatches;
+  int completedBatches;
+  long totalEvents;
+  long successCount;
+  long failureCount;
+  int checkpointBatch;
+  Long checkpointUabsEventId;
+  Instant startedAt;
+  Instant updatedAt;
+  Instant finishedAt;
+  String message;
+
+  public long processedEvents() {
+    return successCount + failureCount;
+  }
+
+  public boolean isFinished() {
+    return status == Status.COMPLETED || status == Status.FAILED;
+  }
+
+  /**
+   * Events processed per second since the job started, up to {@code now} or the finish time.
+   */
+  public double eventsPerSecond(Instant now) {
+    if (startedAt == null) {
+      return 0;
+    }
+    Instant end = finishedAt != null ? finishedAt : now;
+    long elapsedMillis = Duration.between(startedAt, end).toMillis();
+    if (elapsedMillis <= 0) {
+      return 0;
+    }
+    return processedEvents() * 1000d / elapsedMillis;
+  }
+
+  /**
+   * Time left at the current throughput; empty while nothing has been processed yet.
+   */
+  public Optional<Duration> estimatedRemaining(Instant now) {
+    if (isFinished()) {
+      return Optional.of(Duration.ZERO);
+    }
+    double rate = eventsPerSecond(now);
+    if (rate <= 0 || totalEvents <= 0) {
+      return Optional.empty();
+    }
+    long remaining = Math.max(0, totalEvents - processedEvents());
+    return Optional.of(Duration.ofMillis(Math.round(remaining * 1000d / rate)));
+  }
+
+  public enum Status {
+    ACCEPTED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+  }
+}
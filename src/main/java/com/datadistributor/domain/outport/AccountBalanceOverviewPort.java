@@ -1,6 +1,10 @@
 package com.datadistributor.domain.outport;
 
 import com.datadistributor.domain.AccountBalance;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 
 /**
@@ -11,4 +15,38 @@ public interface AccountBalanceOverviewPort {
   Optional<Long> findBcNumberByAgreementId(Long agreementId);
 
   Optional<AccountBalance> getAccountBalanceOfAgreement(Long agreementId);
+
+  /**
+   * BC numbers for many agreements at once, keyed by agreement id; agreements without a balance row
+   * are absent. Adapters should override this with a set-based query.
+   */
+  default Map<Long, Long> findBcNumbersByAgreementIds(Collection<Long> agreementIds) {
+    Map<Long, Long> result = new LinkedHashMap<>();
+    if (agreementIds == null) {
+      return result;
+    }
+    agreementIds.stream()
+        .filter(Objects::nonNull)
+        .distinct()
+        .forEach(agreementId -> findBcNumberByAgreementId(agreementId)
+            .ifPresent(bcNumber -> result.put(agreementId, bcNumber)));
+    return result;
+  }
+
+  /**
+   * Balance rows for many agreements at once, keyed by agreement id; agreements without a balance
+   * row are absent. Adapters should override this with a set-based query.
+   */
+  default Map<Long, AccountBalance> getAccountBalancesOfAgreements(Collection<Long> agreementIds) {
+    Map<Long, AccountBalance> result = new LinkedHashMap<>();
+    if (agreementIds == null) {
+      return result;
+    }
+    agreementIds.stream()
+        .filter(Objects::nonNull)
+        .distinct()
+        .forEach(agreementId -> getAccountBalanceOfAgreement(agreementId)
+            .ifPresent(balance -> result.put(agreementId, balance)));
+    return result;
+  }
 }
@@ -0,0 +1,28 @@
+package com.datadistributor.domain.outport;
+
+import java.time.Duration;
+
+/**
+ * Records timings of the domain-side stages of a delivery run (prerequisite check, selection).
+ */
+public interface DeliveryMetricsPort {
+
+  void recordPrerequisiteCheck(Duration duration, boolean passed);
+
+  void recordSelection(Duration duration, int selectedEvents);
+
+  /**
+   * Port that discards every measurement, for callers without a metrics backend.
+   */
+  static DeliveryMetricsPort noop() {
+    return new DeliveryMetricsPort() {
+      @Override
+      public void recordPrerequisiteCheck(Duration duration, boolean passed) {
+      }
+
+      @Override
+      public void recordSelection(Duration duration, int selectedEvents) {
+      }
+    };
+  }
+}
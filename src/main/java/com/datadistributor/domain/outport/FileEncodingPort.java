@@ -0,0 +1,32 @@
+package com.datadistributor.domain.outport;
+
+/**
+ * Encoding applied to a file on its way to {@link FileStoragePort}, such as compression. The
+ * suffix is appended to the file name so readers can tell the encoding from the name.
+ */
+public interface FileEncodingPort {
+
+  /**
+   * Appended to the file name, e.g. {@code ".gz"}; empty when the content is stored as written.
+   */
+  String fileSuffix();
+
+  /**
+   * Wraps {@code writer} so its output is encoded before it reaches the storage stream.
+   */
+  FileStoragePort.ContentWriter encode(FileStoragePort.ContentWriter writer);
+
+  static FileEncodingPort noop() {
+    return new FileEncodingPort() {
+      @Override
+      public String fileSuffix() {
+        return "";
+      }
+
+      @Override
+      public FileStoragePort.ContentWriter encode(FileStoragePort.ContentWriter writer) {
+        return writer;
+      }
+    };
+  }
+}
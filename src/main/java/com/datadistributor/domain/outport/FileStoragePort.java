@@ -1,8 +1,38 @@
 package com.datadistributor.domain.outport;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
 public interface FileStoragePort {
   /**
    * Uploads content to the specified folder/file location.
    */
   void upload(String folder, String fileName, String content);
+
+  /**
+   * Uploads content produced by {@code writer} without holding the whole file in memory. The
+   * writer gets a stream it must not close; the file only becomes visible when the writer returns
+   * normally. Adapters should override this to stream in blocks, the default buffers the content
+   * and falls back to {@link #upload(String, String, String)}, which only suits UTF-8 text.
+   */
+  default void uploadStreaming(String folder, String fileName, ContentWriter writer) {
+    ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+    try {
+      writer.writeTo(buffer);
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+    upload(folder, fileName, buffer.toString(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Writes the content of one file to the given stream.
+   */
+  @FunctionalInterface
+  interface ContentWriter {
+    void writeTo(OutputStream out) throws IOException;
+  }
 }
@@ -1,11 +1,47 @@
 package com.datadistributor.domain.outport;
 
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
 public interface InitialCehMappingPort {
 
   /**
-   * Persists the CEH event id for a given signal.
+   * Persists the CEH event id for a given signal. Adapters may buffer the write until
+   * {@link #flushPendingMappings()}; lookups through this port see buffered mappings either way.
    */
   void saveInitialCehMapping(Long signalId, long cehId);
 
+  /**
+   * Writes the mappings buffered by {@link #saveInitialCehMapping}. Adapters that write through
+   * have nothing to do.
+   */
+  default void flushPendingMappings() {
+  }
+
+  /**
+   * Marks the start of a job. Adapters that remember written mappings for lookups keep those of
+   * the previous job and forget older ones.
+   */
+  default void startJob() {
+  }
+
   java.util.Optional<String> findInitialCehId(Long signalId);
+
+  /**
+   * Initial CEH ids for many signals at once, keyed by signal id; signals without a mapping are
+   * absent. Adapters should override this with a set-based query.
+   */
+  default Map<Long, String> findInitialCehIds(Collection<Long> signalIds) {
+    Map<Long, String> result = new LinkedHashMap<>();
+    if (signalIds == null) {
+      return result;
+    }
+    signalIds.stream()
+        .filter(Objects::nonNull)
+        .distinct()
+        .forEach(signalId -> findInitialCehId(signalId).ifPresent(cehId -> result.put(signalId, cehId)));
+    return result;
+  }
 }
@@ -0,0 +1,32 @@
+package com.datadistributor.domain.outport;
+
+import com.datadistributor.domain.job.JobState;
+import java.util.Optional;
+
+/**
+ * Persists job state snapshots so progress and outcomes survive restarts and can be read by any
+ * instance. Implementations may coalesce frequent progress snapshots of a running job; finished
+ * states are written through.
+ */
+public interface JobStatePort {
+
+  void save(JobState state);
+
+  Optional<JobState> findById(String jobId);
+
+  /**
+   * Port that keeps nothing, for callers that only need the log output of the tracker.
+   */
+  static JobStatePort noop() {
+    return new JobStatePort() {
+      @Override
+      public void save(JobState state) {
+      }
+
+      @Override
+      public Optional<JobState> findById(String jobId) {
+        return Optional.empty();
+      }
+    };
+  }
+}
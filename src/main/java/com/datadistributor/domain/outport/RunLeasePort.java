@@ -0,0 +1,32 @@
+package com.datadistributor.domain.outport;
+
+/**
+ * Cluster-wide leases that let one instance at a time run the work named by a key. A lease held by
+ * an instance that died expires on its own; implementations renew the leases they hold while the
+ * work runs.
+ */
+public interface RunLeasePort {
+
+  /**
+   * @return true if this instance now holds the lease (or already held it)
+   */
+  boolean tryAcquire(String key);
+
+  void release(String key);
+
+  /**
+   * Port that grants every lease, for single-instance setups and tests.
+   */
+  static RunLeasePort noop() {
+    return new RunLeasePort() {
+      @Override
+      public boolean tryAcquire(String key) {
+        return true;
+      }
+
+      @Override
+      public void release(String key) {
+      }
+    };
+  }
+}
@@ -1,8 +1,14 @@
 package com.datadistributor.domain.outport;
 
 import java.time.LocalDate;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * Read-only access to signal audit records for CEH deliveries.
@@ -14,6 +20,20 @@ public interface SignalAuditQueryPort {
    */
   boolean isEventSuccessful(Long uabsEventId, long consumerId);
 
+  /**
+   * Bulk variant of {@link #isEventSuccessful}: returns the subset of the given event ids whose
+   * latest audit for the consumer is PASS/SUCCESS. Adapters should override this with a set-based
+   * query.
+   */
+  default Set<Long> findSuccessfulEventIds(Collection<Long> uabsEventIds, long consumerId) {
+    if (uabsEventIds == null) {
+      return Set.of();
+    }
+    return uabsEventIds.stream()
+        .filter(id -> id != null && isEventSuccessful(id, consumerId))
+        .collect(Collectors.toSet());
+  }
+
   /**
    * Returns uabs event ids whose latest audit entry on the given date is not successful.
    * Used by the retry flow to re-attempt same-day failures.
@@ -25,4 +45,22 @@ public interface SignalAuditQueryPort {
    * @return Optional containing the status (PASS/FAIL/etc) if audit entry exists, empty if no entry
    */
   Optional<String> getLatestAuditStatusForEvent(Long uabsEventId, long consumerId);
+
+  /**
+   * Bulk variant of {@link #getLatestAuditStatusForEvent}: latest audit status per event id for the
+   * consumer. Events without an audit entry are absent from the map. Adapters should override this
+   * with a set-based query.
+   */
+  default Map<Long, String> getLatestAuditStatusesForEvents(Collection<Long> uabsEventIds, long consumerId) {
+    Map<Long, String> result = new LinkedHashMap<>();
+    if (uabsEventIds == null) {
+      return result;
+    }
+    uabsEventIds.stream()
+        .filter(Objects::nonNull)
+        .distinct()
+        .forEach(id -> getLatestAuditStatusForEvent(id, consumerId)
+            .ifPresent(status -> result.put(id, status)));
+    return result;
+  }
 }
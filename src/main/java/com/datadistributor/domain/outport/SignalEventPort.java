@@ -3,8 +3,14 @@ package com.datadistributor.domain.outport;
 import com.datadistributor.domain.SignalEvent;
 
 import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Persistence port for signal events with domain-specific queries used by the selector and flow.
@@ -15,11 +21,41 @@ public interface SignalEventPort {
      */
     List<SignalEvent> getAllSignalEventsOfThisDate(LocalDate date);
 
+    /**
+     * Same events as {@link #getAllSignalEventsOfThisDate}, ordered by id, read incrementally.
+     * The stream may hold a database cursor and connection: callers must close it, preferably with
+     * try-with-resources. Adapters should override this with a forward-only cursor, the default
+     * streams the materialized list.
+     */
+    default Stream<SignalEvent> streamSignalEventsOfThisDate(LocalDate date) {
+        return getAllSignalEventsOfThisDate(date).stream();
+    }
+
+    /**
+     * Keyset variant of {@link #getAllSignalEventsOfThisDate}: the next {@code size} events of the day
+     * with a uabsEventId greater than {@code afterUabsEventId} (null for the first page), ordered by
+     * id. Adapters should override this with a paged query, the default filters the whole day.
+     */
+    default List<SignalEvent> getSignalEventsOfThisDateAfter(LocalDate date, Long afterUabsEventId, int size) {
+        long after = afterUabsEventId == null ? Long.MIN_VALUE : afterUabsEventId;
+        return getAllSignalEventsOfThisDate(date).stream()
+            .filter(event -> event.getUabsEventId() != null && event.getUabsEventId() > after)
+            .sorted(Comparator.comparing(SignalEvent::getUabsEventId))
+            .limit(size)
+            .toList();
+    }
+
     /**
      * Eligible events for CEH using business filters (balance threshold, book-date lookback).
      */
     List<SignalEvent> getSignalEventsForCEH(LocalDate date, int page, int size);
 
+    /**
+     * Keyset variant of {@link #getSignalEventsForCEH}: the next {@code size} eligible events with a
+     * uabsEventId greater than {@code afterUabsEventId} (null for the first page), ordered by id.
+     */
+    List<SignalEvent> getSignalEventsForCEHAfter(LocalDate date, Long afterUabsEventId, int size);
+
     long countSignalEventsForCEH(LocalDate date);
 
     /**
@@ -27,11 +63,47 @@ public interface SignalEventPort {
      */
     Optional<SignalEvent> getPreviousEvent(Long signalId, java.time.LocalDateTime before);
 
+    /**
+     * Latest event per signal strictly before the given timestamp, keyed by signal id, for many
+     * signals at once. Signals without an earlier event are absent from the map. Adapters should
+     * override this with a set-based query, the default falls back to one lookup per id.
+     */
+    default Map<Long, SignalEvent> getPreviousEvents(Collection<Long> signalIds, java.time.LocalDateTime before) {
+        Map<Long, SignalEvent> result = new LinkedHashMap<>();
+        if (signalIds == null || before == null) {
+            return result;
+        }
+        signalIds.stream()
+            .filter(Objects::nonNull)
+            .distinct()
+            .forEach(signalId -> getPreviousEvent(signalId, before)
+                .ifPresent(event -> result.put(signalId, event)));
+        return result;
+    }
+
     /**
      * Earliest OVERLIMIT event for a signal (used for initial/overdue dispatch).
      */
     Optional<SignalEvent> getEarliestOverlimitEvent(Long signalId);
 
+    /**
+     * Earliest OVERLIMIT event per signal for many signals at once, keyed by signal id. Signals
+     * without an OVERLIMIT event are absent from the map. Adapters should override this with a
+     * set-based query, the default falls back to one lookup per id.
+     */
+    default Map<Long, SignalEvent> getEarliestOverlimitEvents(Collection<Long> signalIds) {
+        Map<Long, SignalEvent> result = new LinkedHashMap<>();
+        if (signalIds == null) {
+            return result;
+        }
+        signalIds.stream()
+            .filter(Objects::nonNull)
+            .distinct()
+            .forEach(signalId -> getEarliestOverlimitEvent(signalId)
+                .ifPresent(event -> result.put(signalId, event)));
+        return result;
+    }
+
     /**
      * Resolve events by id preserving the input order where possible.
      */
@@ -1,6 +1,10 @@
 package com.datadistributor.domain.outport;
 
 import com.datadistributor.domain.Signal;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 
 /**
@@ -10,4 +14,37 @@ public interface SignalPort {
   Optional<Signal> findBySignalId(Long signalId);
   Optional<Signal> getOpenSignalOfAgreement(Long agreementId);
   java.util.List<Signal> findByStartDateBefore(java.time.LocalDate date);
+
+  /**
+   * Open signal per agreement for many agreements at once, keyed by agreement id; agreements
+   * without an open signal are absent. Adapters should override this with a set-based query.
+   */
+  default Map<Long, Signal> getOpenSignalsOfAgreements(Collection<Long> agreementIds) {
+    Map<Long, Signal> result = new LinkedHashMap<>();
+    if (agreementIds == null) {
+      return result;
+    }
+    agreementIds.stream()
+        .filter(Objects::nonNull)
+        .distinct()
+        .forEach(agreementId -> getOpenSignalOfAgreement(agreementId)
+            .ifPresent(signal -> result.put(agreementId, signal)));
+    return result;
+  }
+
+  /**
+   * Resolves many signals at once; unknown ids are skipped. Adapters should override this with a
+   * set-based query, the default falls back to one lookup per id.
+   */
+  default java.util.List<Signal> findBySignalIdIn(Collection<Long> signalIds) {
+    if (signalIds == null || signalIds.isEmpty()) {
+      return java.util.List.of();
+    }
+    return signalIds.stream()
+        .filter(Objects::nonNull)
+        .distinct()
+        .map(this::findBySignalId)
+        .flatMap(Optional::stream)
+        .toList();
+  }
 }
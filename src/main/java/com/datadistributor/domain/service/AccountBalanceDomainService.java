@@ -3,6 +3,9 @@ package com.datadistributor.domain.service;
 import com.datadistributor.domain.AccountBalance;
 import com.datadistributor.domain.inport.AccountBalanceUseCase;
 import com.datadistributor.domain.outport.AccountBalanceOverviewPort;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Optional;
 import lombok.RequiredArgsConstructor;
 
@@ -29,4 +32,12 @@ public class AccountBalanceDomainService implements AccountBalanceUseCase {
     }
     return port.getAccountBalanceOfAgreement(agreementId);
   }
+
+  @Override
+  public Map<Long, Long> findBcNumbersByAgreementIds(Collection<Long> agreementIds) {
+    if (agreementIds == null || agreementIds.isEmpty()) {
+      return new LinkedHashMap<>();
+    }
+    return port.findBcNumbersByAgreementIds(agreementIds);
+  }
 }
@@ -0,0 +1,200 @@
+package com.datadistributor.domain.service;
+
+import com.datadistributor.domain.SignalShard;
+import com.datadistributor.domain.inport.SignalEventProcessingUseCase;
+import com.datadistributor.domain.inport.SignalEventRetryUseCase;
+import com.datadistributor.domain.job.JobResult;
+import com.datadistributor.domain.outport.RunLeasePort;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Allows one delivery or retry run per processing date. Within the process the first run of a date
+ * is registered in memory; across replicas it must also hold the date's lease from the
+ * {@link RunLeasePort}.
+ *
+ * <p>A second request for a date that is already running here is coalesced when it is of the same
+ * kind: it waits for the running job and returns its result instead of sending the date again. A
+ * request of the other kind, or one for a date leased by another instance, is rejected with an
+ * empty result whose message names the reason.</p>
+ *
+ * <p>Sharded processing leases its shards itself; the guard then takes no lease for process runs,
+ * so replicas can process shards of the same date side by side. Runs over the whole date (retries
+ * and resumes) hold the date lease and every shard lease of the date instead, so they neither start
+ * while a shard is being sent elsewhere nor let a shard start while they run.</p>
+ */
+@Slf4j
+public class DateRunGuard {
+
+  /** Kinds of date runs; only runs of the same kind are coalesced. */
+  public enum Kind { PROCESS, RETRY }
+
+  private final RunLeasePort runLeasePort;
+  private final boolean enabled;
+  private final int shards;
+  private final Map<LocalDate, ActiveRun> running = new ConcurrentHashMap<>();
+
+  public DateRunGuard(RunLeasePort runLeasePort, boolean enabled) {
+    this(runLeasePort, enabled, 1);
+  }
+
+  /**
+   * @param shards shard count of process runs; above one, process runs are leased per shard by
+   *               the {@link ShardedDispatchCoordinator}
+   */
+  public DateRunGuard(RunLeasePort runLeasePort, boolean enabled, int shards) {
+    this.runLeasePort = runLeasePort;
+    this.enabled = enabled;
+    this.shards = Math.max(1, shards);
+  }
+
+  /**
+   * Wraps a processing use case so every run and resume goes through the guard.
+   */
+  public SignalEventProcessingUseCase guard(SignalEventProcessingUseCase delegate) {
+    return new SignalEventProcessingUseCase() {
+      @Override
+      public JobResult processEventsForDate(String jobId, LocalDate date) {
+        return run(Kind.PROCESS, jobId, date, () -> delegate.processEventsForDate(jobId, date));
+      }
+
+      @Override
+      public JobResult resumeEventsForDate(String jobId, LocalDate date) {
+        // without a date the delegate looks it up; it cannot be locked before that
+        if (date == null) {
+          return delegate.resumeEventsForDate(jobId, null);
+        }
+        return run(Kind.PROCESS, jobId, date, wholeDateLeaseKeys(date),
+            () -> delegate.resumeEventsForDate(jobId, date));
+      }
+    };
+  }
+
+  /**
+   * Wraps a retry use case so retries never overlap a run of the same date.
+   */
+  public SignalEventRetryUseCase guard(SignalEventRetryUseCase delegate) {
+    return (jobId, date) -> run(Kind.RETRY, jobId, date, () -> delegate.retryFailedEvents(jobId, date));
+  }
+
+  JobResult run(Kind kind, String jobId, LocalDate date, Supplier<JobResult> work) {
+    // the coordinator leases a sharded process run shard by shard
+    boolean shardedProcessRun = kind == Kind.PROCESS && shards > 1;
+    return run(kind, jobId, date, shardedProcessRun || date == null ? List.of() : wholeDateLeaseKeys(date), work);
+  }
+
+  private JobResult run(Kind kind, String jobId, LocalDate date, List<String> leaseKeys, Supplier<JobResult> work) {
+    if (!enabled || date == null) {
+      return work.get();
+    }
+    ActiveRun mine = new ActiveRun(jobId, kind, new CompletableFuture<>());
+    ActiveRun active = running.putIfAbsent(date, mine);
+    if (active != null) {
+      return active.kind() == kind ? join(active, jobId, date) : rejected(jobId, date,
+          "job " + active.jobId() + " (" + active.kind() + ") is already running");
+    }
+    try {
+      List<String> leased = acquireLeases(date, leaseKeys);
+      if (leased == null) {
+        JobResult result = rejected(jobId, date, "another instance holds the run lease");
+        mine.result().complete(result);
+        return result;
+      }
+      try {
+        JobResult result = work.get();
+        mine.result().complete(result);
+        return result;
+      } catch (RuntimeException ex) {
+        mine.result().completeExceptionally(ex);
+        throw ex;
+      } finally {
+        releaseLeases(date, leased);
+      }
+    } finally {
+      running.remove(date, mine);
+    }
+  }
+
+  private JobResult join(ActiveRun active, String jobId, LocalDate date) {
+    log.info("Job {} for {} coalesced into running job {}", jobId, date, active.jobId());
+    try {
+      JobResult result = active.result().join();
+      return new JobResult(result.getSuccessCount(), result.getFailureCount(), result.getTotalCount(),
+          "Coalesced into job " + active.jobId() + ": " + result.getMessage());
+    } catch (CompletionException ex) {
+      if (ex.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw ex;
+    }
+  }
+
+  private JobResult rejected(String jobId, LocalDate date, String reason) {
+    log.warn("Job {} for {} rejected: {}", jobId, date, reason);
+    return new JobResult(0, 0, 0, "Run for " + date + " skipped: " + reason);
+  }
+
+  /**
+   * Takes the leases in order; returns the keys taken, or null after releasing them again when one
+   * is held by another instance.
+   */
+  private List<String> acquireLeases(LocalDate date, List<String> leaseKeys) {
+    List<String> taken = new ArrayList<>(leaseKeys.size());
+    for (String key : leaseKeys) {
+      if (!acquireLease(date, key)) {
+        releaseLeases(date, taken);
+        return null;
+      }
+      taken.add(key);
+    }
+    return taken;
+  }
+
+  private boolean acquireLease(LocalDate date, String key) {
+    try {
+      return runLeasePort.tryAcquire(key);
+    } catch (RuntimeException ex) {
+      // an unreachable lease table must not stop the daily delivery
+      log.error("Run lease {} for {} could not be checked, running without it: {}", key, date, ex.toString());
+      return true;
+    }
+  }
+
+  private void releaseLeases(LocalDate date, List<String> keys) {
+    for (String key : keys) {
+      try {
+        runLeasePort.release(key);
+      } catch (RuntimeException ex) {
+        log.warn("Run lease {} for {} could not be released; it will expire: {}", key, date, ex.toString());
+      }
+    }
+  }
+
+  /**
+   * The date lease, plus the lease of every shard of the date when process runs are sharded.
+   */
+  private List<String> wholeDateLeaseKeys(LocalDate date) {
+    List<String> keys = new ArrayList<>(shards + 1);
+    keys.add(leaseKey(date));
+    if (shards > 1) {
+      for (int index = 0; index < shards; index++) {
+        keys.add(ShardedDispatchCoordinator.shardLeaseKey(date, new SignalShard(index, shards)));
+      }
+    }
+    return keys;
+  }
+
+  static String leaseKey(LocalDate date) {
+    return "signal-events:" + date;
+  }
+
+  private record ActiveRun(String jobId, Kind kind, CompletableFuture<JobResult> result) {
+  }
+}
@@ -7,23 +7,39 @@ import com.datadistributor.domain.SignalEvent;
 import com.datadistributor.domain.inport.SignalEventUseCase;
 import com.datadistributor.domain.inport.SignalUseCase;
 import com.datadistributor.domain.outport.AccountBalanceOverviewPort;
+import com.datadistributor.domain.outport.FileEncodingPort;
 import com.datadistributor.domain.outport.FileStoragePort;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Objects;
 
 /**
  * Builds and uploads the DIAL signal data export as CSV using domain ports for data enrichment.
+ * Events are read a page at a time and enriched with the open signals and balance rows of the
+ * page's agreements in two bulk lookups. Rows are written straight to the upload stream, so memory
+ * use does not grow with the number of events of the day. The configured {@link FileEncodingPort}
+ * may compress the CSV on the way to storage.
  * Domain service - plain Java, no framework dependencies.
  */
 public class DialSignalDataExportDomainService {
 
   private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+  private static final String HEADER = "EventId,AccountNumber,IBAN,CustomerId,GRV,ProductId,CurrencyCode,SignalStartDate,SignalEndDate,SignalType,DebitAmount,BookDate";
+  private static final int WRITE_BUFFER_CHARS = 64 * 1024;
   private final SignalEventUseCase signalEventUseCase;
   private final SignalUseCase signalQueryUseCase;
   private final AccountBalanceOverviewPort accountBalanceOverviewPort;
   private final FileStoragePort storageClient;
+  private final FileEncodingPort encoding;
   private final DataDistributorProperties.Storage storage;
 
   public DialSignalDataExportDomainService(SignalEventUseCase signalEventUseCase,
@@ -31,18 +47,27 @@ public class DialSignalDataExportDomainService {
                                            AccountBalanceOverviewPort accountBalanceOverviewPort,
                                            FileStoragePort storageClient,
                                            DataDistributorProperties properties) {
+    this(signalEventUseCase, signalQueryUseCase, accountBalanceOverviewPort, storageClient,
+        FileEncodingPort.noop(), properties);
+  }
+
+  public DialSignalDataExportDomainService(SignalEventUseCase signalEventUseCase,
+                                           SignalUseCase signalQueryUseCase,
+                                           AccountBalanceOverviewPort accountBalanceOverviewPort,
+                                           FileStoragePort storageClient,
+                                           FileEncodingPort encoding,
+                                           DataDistributorProperties properties) {
     this.signalEventUseCase = signalEventUseCase;
     this.signalQueryUseCase = signalQueryUseCase;
     this.accountBalanceOverviewPort = accountBalanceOverviewPort;
     this.storageClient = storageClient;
+    this.encoding = encoding;
     this.storage = properties.getStorage();
   }
 
   public void export(LocalDate date) {
-    List<SignalEvent> events = signalEventUseCase.getAllSignalEventsOfThisDate(date);
-    String content = toCsv(events);
     String fileName = buildFileName(date);
-    storageClient.upload(storage.getDialFolder(), fileName, content);
+    storageClient.uploadStreaming(storage.getDialFolder(), fileName, encoding.encode(out -> writeCsv(date, out)));
   }
 
   private String buildFileName(LocalDate date) {
@@ -50,23 +75,48 @@ public class DialSignalDataExportDomainService {
     if (prefix == null || prefix.isBlank()) {
       prefix = "dial-signal-data";
     }
-    return "%s-%s.csv".formatted(prefix, DATE_FORMAT.format(date));
+    return "%s-%s.csv%s".formatted(prefix, DATE_FORMAT.format(date), encoding.fileSuffix());
   }
 
-  private String toCsv(List<SignalEvent> events) {
-    String header = "EventId,AccountNumber,IBAN,CustomerId,GRV,ProductId,CurrencyCode,SignalStartDate,SignalEndDate,SignalType,DebitAmount,BookDate";
-    String rows = events.stream()
-        .map(this::toCsvRow)
-        .collect(Collectors.joining("\n"));
-    return header + "\n" + rows;
+  /**
+   * Header line, then one line per event; the last row has no trailing newline.
+   */
+  private void writeCsv(LocalDate date, OutputStream out) throws IOException {
+    // not closed: the stream belongs to the storage port
+    Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), WRITE_BUFFER_CHARS);
+    writer.write(HEADER);
+    writer.write('\n');
+    boolean[] firstRow = {true};
+    try {
+      signalEventUseCase.forEachSignalEventPageOfThisDate(date, page -> {
+        List<Long> agreementIds = page.stream()
+            .map(SignalEvent::getAgreementId)
+            .filter(Objects::nonNull)
+            .distinct()
+            .toList();
+        Map<Long, Signal> openSignals = signalQueryUseCase.getOpenSignalsOfAgreements(agreementIds);
+        Map<Long, AccountBalance> accounts = accountBalanceOverviewPort.getAccountBalancesOfAgreements(agreementIds);
+        try {
+          for (SignalEvent event : page) {
+            if (!firstRow[0]) {
+              writer.write('\n');
+            }
+            Signal signal = event.getAgreementId() == null ? null : openSignals.get(event.getAgreementId());
+            AccountBalance account = event.getAgreementId() == null ? null : accounts.get(event.getAgreementId());
+            writer.write(toCsvRow(event, signal == null ? signalFallback(event) : signal, account));
+            firstRow[0] = false;
+          }
+        } catch (IOException ex) {
+          throw new UncheckedIOException(ex);
+        }
+      });
+    } catch (UncheckedIOException ex) {
+      throw ex.getCause();
+    }
+    writer.flush();
   }
 
-  private String toCsvRow(SignalEvent event) {
-    Signal signal = signalQueryUseCase.getOpenSignalOfAgreement(event.getAgreementId())
-        .orElseGet(() -> signalFallback(event));
-    AccountBalance account = accountBalanceOverviewPort.getAccountBalanceOfAgreement(event.getAgreementId())
-        .orElse(null);
-
+  private String toCsvRow(SignalEvent event, Signal signal, AccountBalance account) {
     return String.join(",",
         safe(event.getUabsEventId()),
         safe(signal.getAgreementId()), // AccountNumber from signal
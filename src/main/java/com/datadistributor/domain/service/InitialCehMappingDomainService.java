@@ -40,4 +40,13 @@ public class InitialCehMappingDomainService implements InitialCehMappingUseCase
       log.error("LOG002- Initial CEH mapping for signalId={} failed to be persisted: {}", event.getSignalId(), ex.toString(), ex);
     }
   }
+
+  @Override
+  public void flushPendingMappings() {
+    try {
+      initialCehMappingPort.flushPendingMappings();
+    } catch (Exception ex) {
+      log.error("LOG002- Initial CEH mappings failed to be persisted: {}", ex.toString(), ex);
+    }
+  }
 }
@@ -2,6 +2,9 @@ package com.datadistributor.domain.service;
 
 import com.datadistributor.domain.inport.InitialCehQueryUseCase;
 import com.datadistributor.domain.outport.InitialCehMappingPort;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Optional;
 import lombok.RequiredArgsConstructor;
 
@@ -20,4 +23,12 @@ public class InitialCehQueryDomainService implements InitialCehQueryUseCase {
     }
     return port.findInitialCehId(signalId);
   }
+
+  @Override
+  public Map<Long, String> findInitialCehIds(Collection<Long> signalIds) {
+    if (signalIds == null || signalIds.isEmpty()) {
+      return new LinkedHashMap<>();
+    }
+    return port.findInitialCehIds(signalIds);
+  }
 }
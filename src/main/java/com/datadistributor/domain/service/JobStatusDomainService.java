@@ -0,0 +1,105 @@
+package com.datadistributor.domain.service;
+
+import com.datadistributor.domain.inport.JobStatusUseCase;
+import com.datadistributor.domain.job.JobResult;
+import com.datadistributor.domain.job.JobState;
+import com.datadistributor.domain.outport.JobStatePort;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Optional;
+
+/**
+ * Records the lifecycle of a job around the progress the {@code JobProgressTracker} reports while
+ * it runs. Final states are merged into the stored snapshot so batch progress and the start time
+ * are kept; jobs that ended before any batch ran (no events, failed prerequisites) get a row too.
+ */
+public class JobStatusDomainService implements JobStatusUseCase {
+
+  private final JobStatePort jobStatePort;
+  private final Clock clock;
+
+  public JobStatusDomainService(JobStatePort jobStatePort, Clock clock) {
+    this.jobStatePort = jobStatePort;
+    this.clock = clock;
+  }
+
+  @Override
+  public void accepted(String jobId, LocalDate date) {
+    if (jobId == null) {
+      return;
+    }
+    Instant now = clock.instant();
+    jobStatePort.save(JobState.builder()
+        .jobId(jobId)
+        .processingDate(date)
+        .status(JobState.Status.ACCEPTED)
+        .startedAt(now)
+        .updatedAt(now)
+        .message("Job accepted with id " + jobId)
+        .build());
+  }
+
+  @Override
+  public void resumed(String jobId, LocalDate date) {
+    if (jobId == null) {
+      return;
+    }
+    Instant now = clock.instant();
+    JobState.JobStateBuilder builder = jobStatePort.findById(jobId)
+        .map(JobState::toBuilder)
+        .orElseGet(() -> JobState.builder().jobId(jobId).startedAt(now));
+    if (date != null) {
+      builder.processingDate(date);
+    }
+    jobStatePort.save(builder
+        .status(JobState.Status.ACCEPTED)
+        .updatedAt(now)
+        .finishedAt(null)
+        .message("Job resume accepted for id " + jobId)
+        .build());
+  }
+
+  @Override
+  public void completed(String jobId, LocalDate date, JobResult result) {
+    if (jobId == null || result == null) {
+      return;
+    }
+    jobStatePort.save(finish(jobId, date, JobState.Status.COMPLETED, result.getMessage())
+        .totalEvents(result.getTotalCount())
+        .successCount(result.getSuccessCount())
+        .failureCount(result.getFailureCount())
+        .build());
+  }
+
+  @Override
+  public void failed(String jobId, LocalDate date, String message) {
+    if (jobId == null) {
+      return;
+    }
+    jobStatePort.save(finish(jobId, date, JobState.Status.FAILED, message).build());
+  }
+
+  @Override
+  public Optional<JobState> find(String jobId) {
+    if (jobId == null) {
+      return Optional.empty();
+    }
+    return jobStatePort.findById(jobId);
+  }
+
+  private JobState.JobStateBuilder finish(String jobId, LocalDate date, JobState.Status status, String message) {
+    Instant now = clock.instant();
+    JobState.JobStateBuilder builder = jobStatePort.findById(jobId)
+        .map(JobState::toBuilder)
+        .orElseGet(() -> JobState.builder().jobId(jobId).startedAt(now));
+    if (date != null) {
+      builder.processingDate(date);
+    }
+    return builder
+        .status(status)
+        .updatedAt(now)
+        .finishedAt(now)
+        .message(message);
+  }
+}
@@ -0,0 +1,154 @@
+package com.datadistributor.domain.service;
+
+import com.datadistributor.domain.SignalEvent;
+import com.datadistributor.domain.job.BatchResult;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Hash-partitions signal events into a fixed number of lanes by {@code signalId}, so every event of
+ * one signal lands in the same lane. Events are buffered per lane in arrival order and cut into
+ * batches of {@code batchSize}; a lane submits its next batch only after the previous one has
+ * completed, while different lanes run in parallel. A lane takes a slot of the {@link SendWindow}
+ * when it starts a batch and frees it when the batch completes, so batches waiting for their lane
+ * do not hold slots.
+ *
+ * <p>Callers feed events already sorted by {@link #SEND_ORDER}; together with a sender that posts
+ * the events of one signal sequentially this delivers each signal strictly in
+ * {@code eventRecordDateTime} order.</p>
+ */
+final class OrderedSignalLanes {
+
+  static final Comparator<SignalEvent> SEND_ORDER =
+      Comparator.comparing(SignalEvent::getEventRecordDateTime, Comparator.nullsLast(LocalDateTime::compareTo))
+          .thenComparing(SignalEvent::getUabsEventId, Comparator.nullsLast(Long::compareTo));
+
+  private final int batchSize;
+  private final List<List<SignalEvent>> buffers;
+  private final CompletableFuture<?>[] tails;
+  private final SendWindow window;
+
+  OrderedSignalLanes(int lanes, int batchSize) {
+    this(lanes, batchSize, new SendWindow(Integer.MAX_VALUE));
+  }
+
+  OrderedSignalLanes(int lanes, int batchSize, SendWindow window) {
+    int laneCount = Math.max(1, lanes);
+    this.batchSize = Math.max(1, batchSize);
+    this.window = window;
+    this.buffers = new ArrayList<>(laneCount);
+    this.tails = new CompletableFuture<?>[laneCount];
+    for (int i = 0; i < laneCount; i++) {
+      buffers.add(new ArrayList<>());
+      tails[i] = CompletableFuture.completedFuture(null);
+    }
+  }
+
+  int laneCount() {
+    return tails.length;
+  }
+
+  int laneOf(SignalEvent event) {
+    Long signalId = event.getSignalId();
+    return signalId == null ? 0 : Math.floorMod(Long.hashCode(signalId), tails.length);
+  }
+
+  /**
+   * Appends events to their lanes and returns the batches that filled up, in lane order.
+   */
+  List<LaneBatch> add(List<SignalEvent> events) {
+    List<LaneBatch> full = new ArrayList<>();
+    for (SignalEvent event : events) {
+      int lane = laneOf(event);
+      List<SignalEvent> buffer = buffers.get(lane);
+      buffer.add(event);
+      if (buffer.size() >= batchSize) {
+        full.add(new LaneBatch(lane, List.copyOf(buffer)));
+        buffer.clear();
+      }
+    }
+    return full;
+  }
+
+  /**
+   * Cuts a complete list of events into lane batches: the full ones in lane order, then the
+   * partially filled batch of every lane.
+   */
+  List<LaneBatch> cut(List<SignalEvent> events) {
+    List<LaneBatch> batches = add(events);
+    batches.addAll(drain());
+    return batches;
+  }
+
+  /**
+   * Returns the partially filled batch of every lane and empties the buffers.
+   */
+  List<LaneBatch> drain() {
+    List<LaneBatch> remaining = new ArrayList<>();
+    for (int lane = 0; lane < buffers.size(); lane++) {
+      List<SignalEvent> buffer = buffers.get(lane);
+      if (!buffer.isEmpty()) {
+        remaining.add(new LaneBatch(lane, List.copyOf(buffer)));
+        buffer.clear();
+      }
+    }
+    return remaining;
+  }
+
+  /**
+   * Lowest uabsEventId still buffered in a lane, or null when the buffers hold none.
+   */
+  Long lowestBufferedUabsEventId() {
+    Long lowest = null;
+    for (List<SignalEvent> buffer : buffers) {
+      Long lane = lowestUabsEventId(buffer);
+      if (lane != null && (lowest == null || lane < lowest)) {
+        lowest = lane;
+      }
+    }
+    return lowest;
+  }
+
+  static Long lowestUabsEventId(List<SignalEvent> events) {
+    Long lowest = null;
+    for (SignalEvent event : events) {
+      Long id = event.getUabsEventId();
+      if (id != null && (lowest == null || id < lowest)) {
+        lowest = id;
+      }
+    }
+    return lowest;
+  }
+
+  /**
+   * Runs {@code submit} once the lane's previous batch has completed, whether it succeeded or not,
+   * and a window slot is free. A failure to submit fails the returned future instead of stalling
+   * the lane.
+   */
+  CompletableFuture<BatchResult> submitAfterPrevious(int lane, Supplier<CompletableFuture<BatchResult>> submit) {
+    CompletableFuture<BatchResult> next = tails[lane]
+        .handle((result, error) -> null)
+        .thenCompose(ignored -> window.acquire())
+        .thenCompose(slot -> submitInWindow(submit));
+    tails[lane] = next;
+    return next;
+  }
+
+  private CompletableFuture<BatchResult> submitInWindow(Supplier<CompletableFuture<BatchResult>> submit) {
+    CompletableFuture<BatchResult> sent;
+    try {
+      sent = submit.get();
+    } catch (RuntimeException ex) {
+      window.release();
+      throw ex;
+    }
+    return sent.whenComplete((result, error) -> window.release());
+  }
+
+  record LaneBatch(int lane, List<SignalEvent> events) {
+  }
+}
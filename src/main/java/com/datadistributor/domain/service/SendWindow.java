@@ -0,0 +1,45 @@
+package com.datadistributor.domain.service;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Slots of the in-flight window handed out without blocking: {@link #acquire()} returns a future
+ * that completes once a slot is free, so a lane waiting for a slot does not park a thread. Waiters
+ * are served in the order they asked.
+ */
+final class SendWindow {
+
+  private final Deque<CompletableFuture<Void>> waiting = new ArrayDeque<>();
+  private int free;
+
+  SendWindow(int slots) {
+    this.free = Math.max(1, slots);
+  }
+
+  synchronized CompletableFuture<Void> acquire() {
+    if (free > 0) {
+      free--;
+      return CompletableFuture.completedFuture(null);
+    }
+    CompletableFuture<Void> slot = new CompletableFuture<>();
+    waiting.add(slot);
+    return slot;
+  }
+
+  /**
+   * Hands the slot to the longest waiter, which then continues on the calling thread.
+   */
+  void release() {
+    CompletableFuture<Void> next;
+    synchronized (this) {
+      next = waiting.poll();
+      if (next == null) {
+        free++;
+        return;
+      }
+    }
+    next.complete(null);
+  }
+}
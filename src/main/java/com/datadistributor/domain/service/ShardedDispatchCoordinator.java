@@ -0,0 +1,219 @@
+package com.datadistributor.domain.service;
+
+import com.datadistributor.domain.SignalShard;
+import com.datadistributor.domain.inport.SignalEventProcessingUseCase;
+import com.datadistributor.domain.job.JobResult;
+import com.datadistributor.domain.job.JobState;
+import com.datadistributor.domain.outport.JobStatePort;
+import com.datadistributor.domain.outport.RunLeasePort;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Splits the run of a date into {@code shardCount} {@link SignalShard shards} so several replicas
+ * triggered by the same schedule share the work. A replica walks the shards and processes each one
+ * it can lease and that nobody has completed within the shard window; every shard does its own
+ * prerequisite check, selection and sending.
+ *
+ * <p>A completed shard is recorded as a job state with id {@code shard:<date>:<index>/<count>}.
+ * Whichever replica completes the last shard of a date aggregates the shard states and publishes
+ * the single delivery report, guarded by a lease and a report state so it is published once.
+ * Completions older than the window belong to an earlier run of the date and are processed
+ * again. A shard blocked by its prerequisite check is recorded as failed, so the next trigger
+ * processes it again and the report waits for it; a shard that throws is logged and left
+ * unrecorded while the replica moves on to the next shard.</p>
+ */
+@Slf4j
+public class ShardedDispatchCoordinator implements SignalEventProcessingUseCase {
+
+  private final SignalEventProcessingDomainService delegate;
+  private final RunLeasePort runLeasePort;
+  private final JobStatePort jobStatePort;
+  private final Clock clock;
+  private final int shardCount;
+  private final Duration shardWindow;
+
+  public ShardedDispatchCoordinator(SignalEventProcessingDomainService delegate,
+                                    RunLeasePort runLeasePort,
+                                    JobStatePort jobStatePort,
+                                    Clock clock,
+                                    int shardCount,
+                                    Duration shardWindow) {
+    this.delegate = delegate;
+    this.runLeasePort = runLeasePort;
+    this.jobStatePort = jobStatePort;
+    this.clock = clock;
+    this.shardCount = Math.max(1, shardCount);
+    this.shardWindow = shardWindow;
+  }
+
+  @Override
+  public JobResult processEventsForDate(String jobId, LocalDate date) {
+    if (date == null) {
+      return delegate.processEventsForDate(jobId, null);
+    }
+    delegate.markJobStart();
+    List<Integer> processed = new ArrayList<>();
+    List<Integer> blocked = new ArrayList<>();
+    List<Integer> failed = new ArrayList<>();
+    int success = 0;
+    int failure = 0;
+    long total = 0;
+    for (int index = 0; index < shardCount; index++) {
+      SignalShard shard = new SignalShard(index, shardCount);
+      Optional<JobResult> result;
+      try {
+        result = processIfUnclaimed(jobId, date, shard);
+      } catch (RuntimeException ex) {
+        log.error("Shard {} of {} failed, continuing with the next shard: {}", shard, date, ex.toString(), ex);
+        failed.add(index);
+        continue;
+      }
+      if (result.isEmpty()) {
+        continue;
+      }
+      if (result.get().isBlocked()) {
+        blocked.add(index);
+        continue;
+      }
+      processed.add(index);
+      success += result.get().getSuccessCount();
+      failure += result.get().getFailureCount();
+      total += result.get().getTotalCount();
+    }
+    boolean reported = publishIfComplete(date);
+    String message = "Processed shards " + processed + " of " + shardCount + " for " + date
+        + (blocked.isEmpty() ? "" : "; blocked by prerequisites " + blocked)
+        + (failed.isEmpty() ? "" : "; failed " + failed)
+        + (reported ? "; delivery report published" : "");
+    log.info("✅ {} | success={} failure={}", message, success, failure);
+    return new JobResult(success, failure, total, message);
+  }
+
+  /**
+   * Resumes over the whole date: delivered events are skipped whichever shard sent them.
+   */
+  @Override
+  public JobResult resumeEventsForDate(String jobId, LocalDate date) {
+    return delegate.resumeEventsForDate(jobId, date);
+  }
+
+  private Optional<JobResult> processIfUnclaimed(String jobId, LocalDate date, SignalShard shard) {
+    String stateId = shardStateId(date, shard);
+    if (completedRecently(stateId)) {
+      return Optional.empty();
+    }
+    String leaseKey = shardLeaseKey(date, shard);
+    if (!runLeasePort.tryAcquire(leaseKey)) {
+      log.info("Shard {} of {} is being processed by another instance", shard, date);
+      return Optional.empty();
+    }
+    try {
+      // another instance may have finished it between the check and the lease
+      if (completedRecently(stateId)) {
+        return Optional.empty();
+      }
+      Instant started = clock.instant();
+      String shardJobId = jobId == null ? null : jobId + ":shard-" + shard.index();
+      JobResult result = delegate.processShard(shardJobId, date, shard);
+      Instant finished = clock.instant();
+      jobStatePort.save(JobState.builder()
+          .jobId(stateId)
+          .processingDate(date)
+          // only completions count for the window and the report
+          .status(result.isBlocked() ? JobState.Status.FAILED : JobState.Status.COMPLETED)
+          .totalEvents(result.getTotalCount())
+          .successCount(result.getSuccessCount())
+          .failureCount(result.getFailureCount())
+          .startedAt(started)
+          .updatedAt(finished)
+          .finishedAt(finished)
+          .message(result.getMessage())
+          .build());
+      return Optional.of(result);
+    } finally {
+      runLeasePort.release(leaseKey);
+    }
+  }
+
+  /**
+   * Publishes one report for the date once every shard has completed in this run and no report
+   * newer than the last shard exists yet.
+   */
+  private boolean publishIfComplete(LocalDate date) {
+    List<JobState> shards = new ArrayList<>();
+    for (int index = 0; index < shardCount; index++) {
+      Optional<JobState> state = recentCompletion(shardStateId(date, new SignalShard(index, shardCount)));
+      if (state.isEmpty()) {
+        log.info("Delivery report for {} waits for shard {}/{}", date, index, shardCount);
+        return false;
+      }
+      shards.add(state.get());
+    }
+    Instant lastShard = shards.stream().map(JobState::getFinishedAt).max(Instant::compareTo).orElseThrow();
+    String reportId = "shard:" + date + ":report";
+    String leaseKey = "signal-events:" + date + ":report";
+    if (reportedSince(reportId, lastShard) || !runLeasePort.tryAcquire(leaseKey)) {
+      return false;
+    }
+    try {
+      if (reportedSince(reportId, lastShard)) {
+        return false;
+      }
+      JobResult aggregate = new JobResult(
+          (int) shards.stream().mapToLong(JobState::getSuccessCount).sum(),
+          (int) shards.stream().mapToLong(JobState::getFailureCount).sum(),
+          shards.stream().mapToLong(JobState::getTotalEvents).sum(),
+          "Processing complete for " + date + " across " + shardCount + " shards");
+      delegate.publishReport(date, aggregate);
+      Instant now = clock.instant();
+      jobStatePort.save(JobState.builder()
+          .jobId(reportId)
+          .processingDate(date)
+          .status(JobState.Status.COMPLETED)
+          .totalEvents(aggregate.getTotalCount())
+          .successCount(aggregate.getSuccessCount())
+          .failureCount(aggregate.getFailureCount())
+          .startedAt(now)
+          .updatedAt(now)
+          .finishedAt(now)
+          .message(aggregate.getMessage())
+          .build());
+      return true;
+    } finally {
+      runLeasePort.release(leaseKey);
+    }
+  }
+
+  private boolean completedRecently(String stateId) {
+    return recentCompletion(stateId).isPresent();
+  }
+
+  private Optional<JobState> recentCompletion(String stateId) {
+    Instant cutoff = clock.instant().minus(shardWindow);
+    return jobStatePort.findById(stateId)
+        .filter(state -> state.getStatus() == JobState.Status.COMPLETED)
+        .filter(state -> state.getFinishedAt() != null && state.getFinishedAt().isAfter(cutoff));
+  }
+
+  private boolean reportedSince(String reportId, Instant lastShard) {
+    return jobStatePort.findById(reportId)
+        .map(JobState::getFinishedAt)
+        .filter(finishedAt -> !finishedAt.isBefore(lastShard))
+        .isPresent();
+  }
+
+  static String shardLeaseKey(LocalDate date, SignalShard shard) {
+    return DateRunGuard.leaseKey(date) + ":shard:" + shard;
+  }
+
+  static String shardStateId(LocalDate date, SignalShard shard) {
+    return "shard:" + date + ":" + shard;
+  }
+}
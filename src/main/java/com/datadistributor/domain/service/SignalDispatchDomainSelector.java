@@ -11,12 +11,17 @@ import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
-import lombok.RequiredArgsConstructor;
+import java.util.stream.Stream;
 
 /**
  * Selects which signal events to send for a given processing date. Rules:
@@ -32,10 +37,24 @@ import lombok.RequiredArgsConstructor;
  * <p>Examples:
  * <br>- DPD6 with only the opening OVERLIMIT on DPD1: sends that DPD1 event on DPD6 (overdue).
  * <br>- Multiple events same day (OVERLIMIT + FINANCIAL_UPDATE): picks earliest OVERLIMIT.</p>
+ *
+ * <p>In bulk-prefetch mode the signals, earliest OVERLIMIT events, initial CEH mappings and audit
+ * outcomes for the whole candidate set are loaded up front with set-based port calls, and the same
+ * rules are evaluated in memory. The selection is identical to the per-signal mode.</p>
+ *
+ * <p>The events of the day are streamed and reduced to the latest event per signal as they are
+ * read, so only one event per signal of the day is held, not the whole day.</p>
+ *
+ * <p>A selection is the first step of every job, so it tells the {@link InitialCehMappingPort}
+ * that a job starts before looking up any mapping.</p>
  */
-@RequiredArgsConstructor
 public class SignalDispatchDomainSelector implements SignalDispatchSelectorUseCase {
 
+  /** Latest record time wins, ties broken by the highest id. */
+  private static final Comparator<SignalEvent> TODAYS_EVENT_ORDER =
+      Comparator.comparing(SignalEvent::getEventRecordDateTime, Comparator.nullsLast(Comparator.naturalOrder()))
+          .thenComparing(SignalEvent::getUabsEventId, Comparator.nullsLast(Comparator.naturalOrder()));
+
   private final SignalEventPort signalEventRepository;
   private final SignalPort signalPort;
   private final SignalAuditQueryPort auditQueryPort;
@@ -43,53 +62,146 @@ public class SignalDispatchDomainSelector implements SignalDispatchSelectorUseCa
   private final long balanceThreshold;
   private final long daysOpenThreshold;
   private final long auditConsumerId;
+  private final boolean bulkPrefetch;
+
+  public SignalDispatchDomainSelector(SignalEventPort signalEventRepository,
+                                      SignalPort signalPort,
+                                      SignalAuditQueryPort auditQueryPort,
+                                      InitialCehMappingPort initialCehMappingPort,
+                                      long balanceThreshold,
+                                      long daysOpenThreshold,
+                                      long auditConsumerId) {
+    this(signalEventRepository, signalPort, auditQueryPort, initialCehMappingPort,
+        balanceThreshold, daysOpenThreshold, auditConsumerId, false);
+  }
+
+  public SignalDispatchDomainSelector(SignalEventPort signalEventRepository,
+                                      SignalPort signalPort,
+                                      SignalAuditQueryPort auditQueryPort,
+                                      InitialCehMappingPort initialCehMappingPort,
+                                      long balanceThreshold,
+                                      long daysOpenThreshold,
+                                      long auditConsumerId,
+                                      boolean bulkPrefetch) {
+    this.signalEventRepository = signalEventRepository;
+    this.signalPort = signalPort;
+    this.auditQueryPort = auditQueryPort;
+    this.initialCehMappingPort = initialCehMappingPort;
+    this.balanceThreshold = balanceThreshold;
+    this.daysOpenThreshold = daysOpenThreshold;
+    this.auditConsumerId = auditConsumerId;
+    this.bulkPrefetch = bulkPrefetch;
+  }
 
   @Override
   public List<SignalEvent> selectEventsToSend(LocalDate targetDate) {
-    List<SignalEvent> todaysEvents = signalEventRepository.getAllSignalEventsOfThisDate(targetDate);
-    Map<Long, List<SignalEvent>> eventsBySignal = todaysEvents.stream()
-        .filter(e -> e.getSignalId() != null)
-        .collect(Collectors.groupingBy(SignalEvent::getSignalId));
+    return selectEventsToSend(targetDate, signalId -> true);
+  }
+
+  /**
+   * Selects events for the signals accepted by {@code signalFilter}. Signals outside the filter are
+   * dropped right after loading, before any per-signal lookup.
+   */
+  @Override
+  public List<SignalEvent> selectEventsToSend(LocalDate targetDate, Predicate<Long> signalFilter) {
+    Map<Long, SignalEvent> eventsBySignal;
+    try (Stream<SignalEvent> todaysEvents = signalEventRepository.streamSignalEventsOfThisDate(targetDate)) {
+      eventsBySignal = todaysEvents
+          .filter(e -> e.getSignalId() != null)
+          .filter(e -> signalFilter.test(e.getSignalId()))
+          .collect(Collectors.toMap(SignalEvent::getSignalId, Function.identity(),
+              BinaryOperator.maxBy(TODAYS_EVENT_ORDER)));
+    }
+
+    LocalDate overdueCutoff = targetDate.minusDays(daysOpenThreshold);
+    List<Signal> overdueSignals = signalPort.findByStartDateBefore(overdueCutoff).stream()
+        .filter(signal -> signal == null || signal.getSignalId() == null || signalFilter.test(signal.getSignalId()))
+        .toList();
+    SelectionLookup lookup = bulkPrefetch
+        ? prefetch(targetDate, eventsBySignal.keySet(), overdueSignals)
+        : new PortLookup();
 
     List<SignalEvent> toSend = new ArrayList<>();
     // evaluate signals that have events today
-    eventsBySignal.forEach((signalId, events) ->
-        evaluateSignal(signalId, targetDate, events, toSend));
+    eventsBySignal.forEach((signalId, todaysEvent) ->
+        evaluateSignal(signalId, targetDate, todaysEvent, lookup, toSend));
 
     // evaluate overdue signals even if no event today
     Set<Long> alreadyProcessed = eventsBySignal.keySet();
-    LocalDate overdueCutoff = targetDate.minusDays(daysOpenThreshold);
-    List<Signal> overdueSignals = signalPort.findByStartDateBefore(overdueCutoff);
     for (Signal signal : overdueSignals) {
       if (signal == null || signal.getSignalId() == null || alreadyProcessed.contains(signal.getSignalId())) {
         continue;
       }
-      evaluateOverdueWithoutTodayEvents(signal, targetDate, toSend);
+      evaluateOverdueWithoutTodayEvents(signal, targetDate, lookup, toSend);
     }
 
     return toSend;
   }
 
+  /**
+   * Loads everything the rules need for the candidate signals in a handful of set-based queries.
+   * Only signals that would reach a given lookup in the per-signal flow are included in it.
+   */
+  private SelectionLookup prefetch(LocalDate targetDate,
+                                   Set<Long> todaysSignalIds,
+                                   List<Signal> overdueSignals) {
+    Map<Long, Signal> signals = signalPort.findBySignalIdIn(todaysSignalIds).stream()
+        .filter(Objects::nonNull)
+        .filter(signal -> signal.getSignalId() != null)
+        .collect(Collectors.toMap(Signal::getSignalId, Function.identity(), (first, second) -> first));
+
+    Set<Long> overlimitCandidates = new LinkedHashSet<>();
+    todaysSignalIds.stream()
+        .filter(signalId -> isStarted(signals.get(signalId), targetDate))
+        .forEach(overlimitCandidates::add);
+    for (Signal signal : overdueSignals) {
+      if (signal == null || signal.getSignalId() == null || todaysSignalIds.contains(signal.getSignalId())) {
+        continue;
+      }
+      if (isStarted(signal, targetDate)
+          && calculateDpd(signal.getSignalStartDate(), targetDate) > daysOpenThreshold) {
+        overlimitCandidates.add(signal.getSignalId());
+      }
+    }
+
+    Map<Long, SignalEvent> earliestOverlimit = signalEventRepository.getEarliestOverlimitEvents(overlimitCandidates);
+    Set<Long> mappedSignals = initialCehMappingPort.findInitialCehIds(earliestOverlimit.keySet()).keySet();
+    Set<Long> auditCandidates = earliestOverlimit.entrySet().stream()
+        .filter(entry -> !mappedSignals.contains(entry.getKey()))
+        .map(entry -> entry.getValue().getUabsEventId())
+        .filter(Objects::nonNull)
+        .collect(Collectors.toCollection(LinkedHashSet::new));
+    Set<Long> successfulEvents = auditQueryPort.findSuccessfulEventIds(auditCandidates, auditConsumerId);
+
+    return new PrefetchedLookup(signals, earliestOverlimit, mappedSignals, successfulEvents);
+  }
+
+  private boolean isStarted(Signal signal, LocalDate targetDate) {
+    return signal != null
+        && signal.getSignalStartDate() != null
+        && !signal.getSignalStartDate().isAfter(targetDate);
+  }
+
   private void evaluateSignal(Long signalId,
                               LocalDate targetDate,
-                              List<SignalEvent> todaysEvents,
+                              SignalEvent todaysEvent,
+                              SelectionLookup lookup,
                               List<SignalEvent> collector) {
-    Optional<Signal> signalOpt = signalPort.findBySignalId(signalId);
+    Optional<Signal> signalOpt = lookup.signal(signalId);
     if (signalOpt.isEmpty() || signalOpt.get().getSignalStartDate() == null
         || signalOpt.get().getSignalStartDate().isAfter(targetDate)) {
       return;
     }
 
     Signal signal = signalOpt.get();
-    SignalEvent earliestOverlimit = signalEventRepository.getEarliestOverlimitEvent(signalId).orElse(null);
+    SignalEvent earliestOverlimit = lookup.earliestOverlimit(signalId).orElse(null);
     if (earliestOverlimit == null) {
       return;
     }
 
     long dpd = calculateDpd(signal.getSignalStartDate(), targetDate);
-    SignalEvent todaysEvent = selectTodaysEvent(todaysEvents);
     boolean closed = isClosed(signal, targetDate, todaysEvent);
-    boolean initialAlreadySent = isInitialAlreadySent(signalId, earliestOverlimit);
+    boolean initialAlreadySent = isInitialAlreadySent(signalId, earliestOverlimit, lookup);
     boolean balanceBreached = exceedsBalanceThreshold(todaysEvent);
     boolean openTooLong = dpd > daysOpenThreshold;
 
@@ -137,13 +249,6 @@ public class SignalDispatchDomainSelector implements SignalDispatchSelectorUseCa
     return Math.max(days, 0);
   }
 
-  private SignalEvent selectTodaysEvent(List<SignalEvent> todaysEvents) {
-    return todaysEvents.stream()
-        .max(Comparator.comparing(SignalEvent::getEventRecordDateTime, Comparator.nullsLast(Comparator.naturalOrder()))
-            .thenComparing(SignalEvent::getUabsEventId, Comparator.nullsLast(Comparator.naturalOrder())))
-        .orElse(null);
-  }
-
   private boolean isClosed(Signal signal, LocalDate targetDate, SignalEvent todaysEvent) {
     boolean closedInSignal = signal.getSignalEndDate() != null && !signal.getSignalEndDate().isAfter(targetDate);
     boolean closureEventToday = todaysEvent != null
@@ -152,12 +257,12 @@ public class SignalDispatchDomainSelector implements SignalDispatchSelectorUseCa
     return closedInSignal || closureEventToday;
   }
 
-  private boolean isInitialAlreadySent(Long signalId, SignalEvent earliestOverlimit) {
-    if (initialCehMappingPort.findInitialCehId(signalId).isPresent()) {
+  private boolean isInitialAlreadySent(Long signalId, SignalEvent earliestOverlimit, SelectionLookup lookup) {
+    if (lookup.hasInitialMapping(signalId)) {
       return true;
     }
     return earliestOverlimit.getUabsEventId() != null
-        && auditQueryPort.isEventSuccessful(earliestOverlimit.getUabsEventId(), auditConsumerId);
+        && lookup.isEventSuccessful(earliestOverlimit.getUabsEventId());
   }
 
   private boolean exceedsBalanceThreshold(SignalEvent event) {
@@ -179,6 +284,7 @@ public class SignalDispatchDomainSelector implements SignalDispatchSelectorUseCa
 
   private void evaluateOverdueWithoutTodayEvents(Signal signal,
                                                  LocalDate targetDate,
+                                                 SelectionLookup lookup,
                                                  List<SignalEvent> collector) {
     if (signal.getSignalStartDate() == null || signal.getSignalStartDate().isAfter(targetDate)) {
       return;
@@ -188,15 +294,77 @@ public class SignalDispatchDomainSelector implements SignalDispatchSelectorUseCa
       return;
     }
 
-    SignalEvent earliestOverlimit = signalEventRepository.getEarliestOverlimitEvent(signal.getSignalId()).orElse(null);
+    SignalEvent earliestOverlimit = lookup.earliestOverlimit(signal.getSignalId()).orElse(null);
     if (earliestOverlimit == null) {
       return;
     }
 
-    boolean initialAlreadySent = isInitialAlreadySent(signal.getSignalId(), earliestOverlimit);
+    boolean initialAlreadySent = isInitialAlreadySent(signal.getSignalId(), earliestOverlimit, lookup);
     boolean closed = signal.getSignalEndDate() != null && !signal.getSignalEndDate().isAfter(targetDate);
     if (!initialAlreadySent && !closed) {
       collector.add(earliestOverlimit);
     }
   }
+
+  /**
+   * Data the selection rules need per signal, either queried on demand or served from a prefetch.
+   */
+  private interface SelectionLookup {
+    Optional<Signal> signal(Long signalId);
+
+    Optional<SignalEvent> earliestOverlimit(Long signalId);
+
+    boolean hasInitialMapping(Long signalId);
+
+    boolean isEventSuccessful(Long uabsEventId);
+  }
+
+  /** Per-signal lookups straight against the ports (one query per call). */
+  private final class PortLookup implements SelectionLookup {
+    @Override
+    public Optional<Signal> signal(Long signalId) {
+      return signalPort.findBySignalId(signalId);
+    }
+
+    @Override
+    public Optional<SignalEvent> earliestOverlimit(Long signalId) {
+      return signalEventRepository.getEarliestOverlimitEvent(signalId);
+    }
+
+    @Override
+    public boolean hasInitialMapping(Long signalId) {
+      return initialCehMappingPort.findInitialCehId(signalId).isPresent();
+    }
+
+    @Override
+    public boolean isEventSuccessful(Long uabsEventId) {
+      return auditQueryPort.isEventSuccessful(uabsEventId, auditConsumerId);
+    }
+  }
+
+  /** In-memory lookups over the result of {@link #prefetch}. */
+  private record PrefetchedLookup(Map<Long, Signal> signals,
+                                  Map<Long, SignalEvent> earliestOverlimit,
+                                  Set<Long> mappedSignals,
+                                  Set<Long> successfulEvents) implements SelectionLookup {
+    @Override
+    public Optional<Signal> signal(Long signalId) {
+      return Optional.ofNullable(signals.get(signalId));
+    }
+
+    @Override
+    public Optional<SignalEvent> earliestOverlimit(Long signalId) {
+      return Optional.ofNullable(earliestOverlimit.get(signalId));
+    }
+
+    @Override
+    public boolean hasInitialMapping(Long signalId) {
+      return mappedSignals.contains(signalId);
+    }
+
+    @Override
+    public boolean isEventSuccessful(Long uabsEventId) {
+      return successfulEvents.contains(uabsEventId);
+    }
+  }
 }
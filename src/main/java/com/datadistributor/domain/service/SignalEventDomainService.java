@@ -6,6 +6,7 @@ import com.datadistributor.domain.outport.SignalEventPort;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Domain facade around the signal event repository that enforces paging limits and delegates
@@ -27,6 +28,22 @@ public class SignalEventDomainService implements SignalEventUseCase {
         return signalEventRepository.getAllSignalEventsOfThisDate(date);
     }
 
+    @Override
+    public void forEachSignalEventPageOfThisDate(LocalDate date, Consumer<List<SignalEvent>> pageConsumer) {
+        Long lastUabsEventId = null;
+        while (true) {
+            List<SignalEvent> page = signalEventRepository.getSignalEventsOfThisDateAfter(date, lastUabsEventId, pageSize);
+            if (page.isEmpty()) {
+                return;
+            }
+            pageConsumer.accept(page);
+            if (page.size() < pageSize) {
+                return;
+            }
+            lastUabsEventId = page.get(page.size() - 1).getUabsEventId();
+        }
+    }
+
     @Override
     public List<SignalEvent> getAllSignalForCEH(LocalDate date) {
         List<SignalEvent> all = new ArrayList<>();
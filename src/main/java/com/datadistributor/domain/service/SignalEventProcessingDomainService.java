@@ -1,25 +1,38 @@
 package com.datadistributor.domain.service;
 
 import com.datadistributor.domain.SignalEvent;
+import com.datadistributor.domain.SignalShard;
 import com.datadistributor.domain.inport.SignalEventProcessingUseCase;
 import com.datadistributor.domain.job.BatchResult;
 import com.datadistributor.domain.job.JobProgressTracker;
 import com.datadistributor.domain.job.JobResult;
+import com.datadistributor.domain.job.JobState;
+import com.datadistributor.domain.outport.DeliveryMetricsPort;
 import com.datadistributor.domain.outport.DeliveryReportPublisher;
+import com.datadistributor.domain.outport.InitialCehMappingPort;
 import com.datadistributor.domain.outport.SignalEventBatchPort;
 import com.datadistributor.domain.outport.SignalEventPort;
 import com.datadistributor.domain.outport.SignalAuditQueryPort;
 import com.datadistributor.domain.report.DeliveryReport;
 import com.datadistributor.domain.inport.SignalDispatchSelectorUseCase;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -30,10 +43,33 @@ import lombok.extern.slf4j.Slf4j;
  * <p>Prerequisite rule: a signal event for a date is blocked if its prior event (same signal) is
  * not marked PASS in audit for the CEH consumer. Example: if a 2024-12-02 event failed delivery,
  * the 2024-12-03 event will not be sent until the prior one succeeds.</p>
+ *
+ * <p>With the bulk prerequisite check enabled, previous events and their latest audit statuses are
+ * resolved for the whole day with one set-based query each instead of two queries per event.</p>
+ *
+ * <p>At most {@code maxInFlightBatches} batches are handed to the outbound port at a time. The
+ * legacy flow reads the next keyset page only once a slot frees up, so memory stays bounded by the
+ * window rather than growing with the day's volume.</p>
+ *
+ * <p>With {@code orderedLanes} above zero, events are hash-partitioned by signal into that many
+ * {@link OrderedSignalLanes lanes}. A lane hands over its next batch only after the previous one
+ * completed, so the events of one signal are delivered in {@code eventRecordDateTime} order while
+ * different lanes share the in-flight window in parallel. A lane takes its window slot when it
+ * starts a batch; at most {@code maxInFlightBatches} more batches may wait for their lane, which
+ * bounds how far reading runs ahead. As every lane sends one batch at a time, fewer lanes than
+ * {@code maxInFlightBatches} leave part of the window unused.</p>
  */
 @Slf4j
 public class SignalEventProcessingDomainService implements SignalEventProcessingUseCase {
 
+  /** Audit consumer of CEH deliveries, used when none is configured. */
+  private static final long DEFAULT_AUDIT_CONSUMER_ID = 1L;
+
+  private static final Comparator<SignalEvent> PREREQUISITE_ORDER =
+      Comparator.comparing(SignalEvent::getSignalId)
+          .thenComparing(SignalEvent::getEventRecordDateTime, Comparator.nullsLast(LocalDateTime::compareTo))
+          .thenComparing(SignalEvent::getUabsEventId, Comparator.nullsLast(Long::compareTo));
+
   private final SignalEventPort signalEventRepository;
   private final SignalEventBatchPort signalEventBatchPort;
   private final SignalAuditQueryPort signalAuditQueryPort;
@@ -41,6 +77,12 @@ public class SignalEventProcessingDomainService implements SignalEventProcessing
   private final int batchSize;
   private final JobProgressTracker jobProgressTracker;
   private final DeliveryReportPublisher deliveryReportPublisher;
+  private final boolean bulkPrerequisiteCheck;
+  private final int maxInFlightBatches;
+  private final DeliveryMetricsPort deliveryMetrics;
+  private final int orderedLanes;
+  private final long auditConsumerId;
+  private final InitialCehMappingPort initialCehMappingPort;
 
   public SignalEventProcessingDomainService(SignalEventPort signalEventRepository,
                                             SignalEventBatchPort signalEventBatchPort,
@@ -49,6 +91,55 @@ public class SignalEventProcessingDomainService implements SignalEventProcessing
                                             int batchSize,
                                             JobProgressTracker jobProgressTracker,
                                             DeliveryReportPublisher deliveryReportPublisher) {
+    this(signalEventRepository, signalEventBatchPort, signalAuditQueryPort, signalDispatchSelector,
+        batchSize, jobProgressTracker, deliveryReportPublisher, false, Integer.MAX_VALUE,
+        DeliveryMetricsPort.noop());
+  }
+
+  public SignalEventProcessingDomainService(SignalEventPort signalEventRepository,
+                                            SignalEventBatchPort signalEventBatchPort,
+                                            SignalAuditQueryPort signalAuditQueryPort,
+                                            SignalDispatchSelectorUseCase signalDispatchSelector,
+                                            int batchSize,
+                                            JobProgressTracker jobProgressTracker,
+                                            DeliveryReportPublisher deliveryReportPublisher,
+                                            boolean bulkPrerequisiteCheck,
+                                            int maxInFlightBatches,
+                                            DeliveryMetricsPort deliveryMetrics) {
+    this(signalEventRepository, signalEventBatchPort, signalAuditQueryPort, signalDispatchSelector,
+        batchSize, jobProgressTracker, deliveryReportPublisher, bulkPrerequisiteCheck, maxInFlightBatches,
+        deliveryMetrics, 0);
+  }
+
+  public SignalEventProcessingDomainService(SignalEventPort signalEventRepository,
+                                            SignalEventBatchPort signalEventBatchPort,
+                                            SignalAuditQueryPort signalAuditQueryPort,
+                                            SignalDispatchSelectorUseCase signalDispatchSelector,
+                                            int batchSize,
+                                            JobProgressTracker jobProgressTracker,
+                                            DeliveryReportPublisher deliveryReportPublisher,
+                                            boolean bulkPrerequisiteCheck,
+                                            int maxInFlightBatches,
+                                            DeliveryMetricsPort deliveryMetrics,
+                                            int orderedLanes) {
+    this(signalEventRepository, signalEventBatchPort, signalAuditQueryPort, signalDispatchSelector,
+        batchSize, jobProgressTracker, deliveryReportPublisher, bulkPrerequisiteCheck, maxInFlightBatches,
+        deliveryMetrics, orderedLanes, DEFAULT_AUDIT_CONSUMER_ID, null);
+  }
+
+  public SignalEventProcessingDomainService(SignalEventPort signalEventRepository,
+                                            SignalEventBatchPort signalEventBatchPort,
+                                            SignalAuditQueryPort signalAuditQueryPort,
+                                            SignalDispatchSelectorUseCase signalDispatchSelector,
+                                            int batchSize,
+                                            JobProgressTracker jobProgressTracker,
+                                            DeliveryReportPublisher deliveryReportPublisher,
+                                            boolean bulkPrerequisiteCheck,
+                                            int maxInFlightBatches,
+                                            DeliveryMetricsPort deliveryMetrics,
+                                            int orderedLanes,
+                                            long auditConsumerId,
+                                            InitialCehMappingPort initialCehMappingPort) {
     this.signalEventRepository = signalEventRepository;
     this.signalEventBatchPort = signalEventBatchPort;
     this.signalAuditQueryPort = signalAuditQueryPort;
@@ -56,14 +147,21 @@ public class SignalEventProcessingDomainService implements SignalEventProcessing
     this.batchSize = Math.max(1, batchSize);
     this.jobProgressTracker = jobProgressTracker;
     this.deliveryReportPublisher = deliveryReportPublisher;
+    this.bulkPrerequisiteCheck = bulkPrerequisiteCheck;
+    this.maxInFlightBatches = Math.max(1, maxInFlightBatches);
+    this.deliveryMetrics = deliveryMetrics;
+    this.orderedLanes = Math.max(0, orderedLanes);
+    this.auditConsumerId = auditConsumerId;
+    this.initialCehMappingPort = initialCehMappingPort;
   }
 
   /**
    * Processes all events for the given date. Steps:
    * <ol>
    *   <li>Validate prior events (blocks if yesterday's event for the same signal is not PASS).</li>
-   *   <li>Select events via the dispatch selector; if none, fall back to legacy paging.</li>
-   *   <li>Submit batches to the outbound sender and wait for completion.</li>
+   *   <li>Select events via the dispatch selector; if none, fall back to legacy keyset paging.</li>
+   *   <li>Submit batches to the outbound sender through a bounded in-flight window and wait for
+   *   completion.</li>
    *   <li>Publish a delivery report (success/failure totals).</li>
    * </ol>
    *
@@ -73,17 +171,90 @@ public class SignalEventProcessingDomainService implements SignalEventProcessing
    */
   @Override
   public JobResult processEventsForDate(String jobId, LocalDate date) {
+    return run(jobId, date, null, null);
+  }
+
+  /**
+   * Processes the signals of one shard of the date: the prerequisite check, the selection and the
+   * sending only see signals of {@code shard}. A blocked prerequisite blocks this shard only and is
+   * returned as a {@link JobResult#isBlocked() blocked} result. No delivery report is published;
+   * the caller reports the shards of a date together.
+   */
+  public JobResult processShard(String jobId, LocalDate date, SignalShard shard) {
+    return run(jobId, date, null, shard);
+  }
+
+  /**
+   * Resumes an interrupted run. With a checkpoint the prerequisite check is skipped, as the
+   * interrupted run already passed it. Selected events whose latest audit is already PASS are
+   * dropped with one bulk audit lookup, and selected events at or below the checkpoint are not sent
+   * again: the interrupted run completed their batches, so the ones not PASS count as failures and
+   * are left to the retry flow. The legacy keyset scan restarts after the checkpoint and drops
+   * delivered events page by page; its report covers the events scanned after the checkpoint.
+   * Events skipped as delivered count as successes.
+   *
+   * @param jobId id of the interrupted job; progress and checkpoints continue under the same id
+   * @param date processing date, or null to use the date recorded for the job
+   */
+  @Override
+  public JobResult resumeEventsForDate(String jobId, LocalDate date) {
+    Optional<JobState> previous = jobProgressTracker.lastState(jobId);
+    LocalDate runDate = date != null ? date : previous.map(JobState::getProcessingDate).orElse(null);
+    // a checkpoint of another date says nothing about this one
+    Long resumeAfter = previous
+        .filter(state -> Objects.equals(state.getProcessingDate(), runDate))
+        .map(JobState::getCheckpointUabsEventId)
+        .orElse(null);
+    log.info("Resuming job {} for {} | previousStatus={} checkpointBatch={} resumeAfterUabsEventId={}",
+        jobId, runDate,
+        previous.map(JobState::getStatus).orElse(null),
+        previous.map(JobState::getCheckpointBatch).orElse(0),
+        resumeAfter);
+    return run(jobId, runDate, ResumePoint.after(resumeAfter), null);
+  }
+
+  /**
+   * @param shard slice of the signals to process, or null for the whole date with its report
+   */
+  private JobResult run(String jobId, LocalDate date, ResumePoint resume, SignalShard shard) {
     if (date == null) {
       return new JobResult(0, 0, 0, "Date is required");
     }
-    Optional<String> validationError = validatePriorEvents(date);
-    if (validationError.isPresent()) {
-      log.error("LOG_003: Batch aborted as previous events are pending for date {} | reason={}", date, validationError.get());
-      return new JobResult(0, 0, 0, validationError.get());
+    if (resume != null && resume.afterUabsEventId() != null) {
+      // a blocked run never starts its progress, so a checkpoint means the check already passed
+      log.info("Skipping the prerequisite check for {}: resuming after uabsEventId {}", date,
+          resume.afterUabsEventId());
+    } else {
+      long prerequisiteStarted = System.nanoTime();
+      Optional<String> validationError = validatePriorEvents(date, shard);
+      deliveryMetrics.recordPrerequisiteCheck(elapsedSince(prerequisiteStarted), validationError.isEmpty());
+      if (validationError.isPresent()) {
+        log.error("LOG_003: Batch aborted as previous events are pending for date {} | reason={}", date, validationError.get());
+        return JobResult.blocked(validationError.get());
+      }
     }
-    List<SignalEvent> toSend = signalDispatchSelector.selectEventsToSend(date);
+    if (shard == null) {
+      // the coordinator marks a sharded run once for all its shards
+      markJobStart();
+    }
+    long selectionStarted = System.nanoTime();
+    List<SignalEvent> toSend = shard == null
+        ? signalDispatchSelector.selectEventsToSend(date)
+        : signalDispatchSelector.selectEventsToSend(date, shard::contains);
+    deliveryMetrics.recordSelection(elapsedSince(selectionStarted), toSend.size());
     long totalCount = toSend.size();
     boolean usedSelector = true;
+    if (resume != null && totalCount > 0) {
+      toSend = resume.withoutDelivered(toSend, signalAuditQueryPort, auditConsumerId);
+      if (toSend.isEmpty()) {
+        JobResult result = resume.withDelivered(new JobResult(0, 0, totalCount, ""), date, totalCount);
+        log.info("✅ Nothing left to send | {}", result.getMessage());
+        if (shard == null) {
+          publishReport(date, result);
+        }
+        return result;
+      }
+    }
     if (totalCount == 0) {
       // fallback to legacy CEH page flow if selector produces no items
       totalCount = signalEventRepository.countSignalEventsForCEH(date);
@@ -93,54 +264,247 @@ public class SignalEventProcessingDomainService implements SignalEventProcessing
       usedSelector = false;
     }
 
-    int totalBatches = (int) Math.ceil((double) totalCount / batchSize);
-    log.info("🚀 Starting processing for {} events on {} (~{} batches)", totalCount, date, totalBatches);
+    long remainingCount = usedSelector ? toSend.size() : totalCount;
+    OrderedSignalLanes lanes = orderedLanes > 0
+        ? new OrderedSignalLanes(orderedLanes, batchSize, new SendWindow(maxInFlightBatches))
+        : null;
+    // selected events are cut into lane batches up front; legacy pages only as they are read
+    List<OrderedSignalLanes.LaneBatch> selectedLaneBatches =
+        lanes != null && usedSelector ? lanes.cut(sortedForSending(toSend)) : null;
+    int totalBatches = selectedLaneBatches != null
+        ? selectedLaneBatches.size()
+        : (int) Math.ceil((double) remainingCount / batchSize);
+    log.info("🚀 Starting processing for {} events on {} (~{} batches){}", totalCount, date, totalBatches,
+        shard == null ? "" : " | shard " + shard);
     List<TrackedBatch> trackedBatches = new ArrayList<>();
     AtomicInteger batchCounter = new AtomicInteger();
+    Semaphore inFlight = new Semaphore(maxInFlightBatches);
 
     JobProgressTracker.JobProgress progress =
-        jobProgressTracker.start(Optional.ofNullable(jobId).orElse(null), totalBatches);
+        jobProgressTracker.start(Optional.ofNullable(jobId).orElse(null), date, totalBatches, remainingCount,
+            resume == null ? null : resume.afterUabsEventId());
 
-    if (usedSelector) {
+    if (lanes != null) {
+      dispatchInLanes(lanes, selectedLaneBatches, date, resume, shard, trackedBatches, batchCounter, inFlight,
+          progress);
+    } else if (usedSelector) {
       List<List<SignalEvent>> chunks = chunk(toSend, batchSize);
+      Map<Integer, Long> lowestIds = new LinkedHashMap<>();
+      for (int i = 0; i < chunks.size(); i++) {
+        lowestIds.put(i + 1, OrderedSignalLanes.lowestUabsEventId(chunks.get(i)));
+      }
+      jobProgressTracker.onBatchesQueued(progress, lowestIds, highestUabsEventId(toSend), null);
       for (List<SignalEvent> chunk : chunks) {
-        trackedBatches.add(submitBatch(new ArrayList<>(chunk), batchCounter.incrementAndGet()));
+        inFlight.acquireUninterruptibly();
+        trackedBatches.add(submitBatch(new ArrayList<>(chunk), batchCounter.incrementAndGet(), inFlight, progress, null));
       }
     } else {
-      int page = 0;
+      Long lastUabsEventId = resume == null ? null : resume.afterUabsEventId();
       while (true) {
-        List<SignalEvent> chunk = signalEventRepository.getSignalEventsForCEH(date, page, batchSize);
-        if (chunk.isEmpty()) break;
-        trackedBatches.add(submitBatch(new ArrayList<>(chunk), batchCounter.incrementAndGet()));
-        page++;
+        // blocks until a slot is free, so the next page is only read once the sender can take it
+        inFlight.acquireUninterruptibly();
+        List<SignalEvent> chunk;
+        try {
+          chunk = signalEventRepository.getSignalEventsForCEHAfter(date, lastUabsEventId, batchSize);
+        } catch (RuntimeException ex) {
+          inFlight.release();
+          throw ex;
+        }
+        if (chunk.isEmpty()) {
+          inFlight.release();
+          break;
+        }
+        Long pageEnd = chunk.get(chunk.size() - 1).getUabsEventId();
+        List<SignalEvent> batch = pending(chunk, resume, shard);
+        if (batch.isEmpty()) {
+          inFlight.release();
+        } else {
+          trackedBatches.add(submitBatch(new ArrayList<>(batch), batchCounter.incrementAndGet(), inFlight, progress,
+              pageEnd));
+        }
+        lastUabsEventId = pageEnd;
+        if (lastUabsEventId == null) break;
       }
     }
 
-    attachProgressLogging(progress, trackedBatches);
-
     JobResult result = awaitJobCompletion(trackedBatches, "Processing complete for " + date, totalCount);
+    if (resume != null) {
+      // a resumed keyset scan only saw the events after the checkpoint
+      result = resume.withDelivered(result, date, usedSelector ? totalCount : resume.scanned().get());
+    }
+    if (shard != null) {
+      // the legacy count covers the whole date; a shard only knows what it sent
+      long shardTotal = usedSelector ? totalCount : result.getSuccessCount() + result.getFailureCount();
+      result = new JobResult(result.getSuccessCount(), result.getFailureCount(), shardTotal,
+          "Processing complete for " + date + " shard " + shard);
+    }
+    jobProgressTracker.finish(progress, result);
     log.info("✅ Processing finished for {}. success={} failure={}",
         date, result.getSuccessCount(), result.getFailureCount());
-    publishReport(date, result);
+    if (shard == null) {
+      publishReport(date, result);
+    }
     return result;
   }
 
-  private TrackedBatch submitBatch(List<SignalEvent> batch, int batchNumber) {
+  /**
+   * Tells the initial CEH mapping port that a new run starts, so mappings remembered for lookups
+   * roll over once per run.
+   */
+  void markJobStart() {
+    if (initialCehMappingPort != null) {
+      initialCehMappingPort.startJob();
+    }
+  }
+
+  /**
+   * Events of a legacy keyset page still to send: those of the shard, minus those already
+   * delivered when resuming.
+   */
+  private List<SignalEvent> pending(List<SignalEvent> page, ResumePoint resume, SignalShard shard) {
+    if (resume != null) {
+      resume.scanned().addAndGet(page.size());
+    }
+    List<SignalEvent> inShard = shard == null ? page : page.stream().filter(shard::contains).toList();
+    return resume == null || inShard.isEmpty() ? inShard : resume.withoutDelivered(inShard, signalAuditQueryPort, auditConsumerId);
+  }
+
+  /**
+   * Feeds the events through per-signal lanes. Selected events were sorted and cut once for the
+   * whole day; legacy keyset pages are sorted page by page, so across pages the lane follows keyset
+   * order. Pages are read as long as the batches they fill can queue behind their lanes, and the
+   * batch total of the job grows with them.
+   */
+  private void dispatchInLanes(OrderedSignalLanes lanes,
+                               List<OrderedSignalLanes.LaneBatch> selectedLaneBatches,
+                               LocalDate date,
+                               ResumePoint resume,
+                               SignalShard shard,
+                               List<TrackedBatch> trackedBatches,
+                               AtomicInteger batchCounter,
+                               Semaphore queued,
+                               JobProgressTracker.JobProgress progress) {
+    if (selectedLaneBatches != null) {
+      Long highestId = selectedLaneBatches.stream()
+          .map(laneBatch -> highestUabsEventId(laneBatch.events()))
+          .filter(Objects::nonNull)
+          .max(Long::compareTo)
+          .orElse(null);
+      submitLaneBatches(lanes, selectedLaneBatches, highestId, trackedBatches, batchCounter, queued, progress);
+      return;
+    }
+    Long lastUabsEventId = resume == null ? null : resume.afterUabsEventId();
+    while (true) {
+      List<SignalEvent> page = signalEventRepository.getSignalEventsForCEHAfter(date, lastUabsEventId, batchSize);
+      if (page.isEmpty()) {
+        break;
+      }
+      lastUabsEventId = page.get(page.size() - 1).getUabsEventId();
+      List<OrderedSignalLanes.LaneBatch> full = lanes.add(sortedForSending(pending(page, resume, shard)));
+      jobProgressTracker.onBatchesCut(progress, batchCounter.get() + full.size(), false);
+      submitLaneBatches(lanes, full, lastUabsEventId, trackedBatches, batchCounter, queued, progress);
+      if (lastUabsEventId == null) break;
+    }
+    List<OrderedSignalLanes.LaneBatch> partial = lanes.drain();
+    jobProgressTracker.onBatchesCut(progress, batchCounter.get() + partial.size(), true);
+    submitLaneBatches(lanes, partial, lastUabsEventId, trackedBatches, batchCounter, queued, progress);
+  }
+
+  /**
+   * Queues lane batches behind their lanes. A slot of {@code queued} is held from here until the
+   * lane starts the batch; the send window itself is taken by the lane. The batches are registered
+   * with the tracker first, with {@code keysetPosition}, the highest uabsEventId read so far, so the
+   * checkpoint follows the low-water mark of the lanes.
+   */
+  private void submitLaneBatches(OrderedSignalLanes lanes,
+                                 List<OrderedSignalLanes.LaneBatch> laneBatches,
+                                 Long keysetPosition,
+                                 List<TrackedBatch> trackedBatches,
+                                 AtomicInteger batchCounter,
+                                 Semaphore queued,
+                                 JobProgressTracker.JobProgress progress) {
+    Map<Integer, Long> lowestIds = new LinkedHashMap<>();
+    int queuedUpTo = batchCounter.get();
+    for (OrderedSignalLanes.LaneBatch laneBatch : laneBatches) {
+      lowestIds.put(++queuedUpTo, OrderedSignalLanes.lowestUabsEventId(laneBatch.events()));
+    }
+    jobProgressTracker.onBatchesQueued(progress, lowestIds, keysetPosition, lanes.lowestBufferedUabsEventId());
+    for (OrderedSignalLanes.LaneBatch laneBatch : laneBatches) {
+      List<SignalEvent> batch = laneBatch.events();
+      int batchNumber = batchCounter.incrementAndGet();
+      queued.acquireUninterruptibly();
+      CompletableFuture<BatchResult> future = lanes.submitAfterPrevious(laneBatch.lane(), () -> {
+        queued.release();
+        logSubmission(batch, batchNumber);
+        return signalEventBatchPort.submitBatch(batch);
+      });
+      trackedBatches.add(track(future, batch, batchNumber, progress, null));
+    }
+  }
+
+  private static Long highestUabsEventId(List<SignalEvent> events) {
+    return events.stream()
+        .map(SignalEvent::getUabsEventId)
+        .filter(Objects::nonNull)
+        .max(Long::compareTo)
+        .orElse(null);
+  }
+
+  private List<SignalEvent> sortedForSending(List<SignalEvent> events) {
+    List<SignalEvent> sorted = new ArrayList<>(events);
+    sorted.sort(OrderedSignalLanes.SEND_ORDER);
+    return sorted;
+  }
+
+  /**
+   * Hands a batch to the outbound port. The caller must already hold a slot of {@code inFlight},
+   * which is released when the batch completes.
+   */
+  private TrackedBatch submitBatch(List<SignalEvent> batch,
+                                   int batchNumber,
+                                   Semaphore inFlight,
+                                   JobProgressTracker.JobProgress progress,
+                                   Long keysetPosition) {
+    logSubmission(batch, batchNumber);
+    CompletableFuture<BatchResult> future;
+    try {
+      future = signalEventBatchPort.submitBatch(batch);
+    } catch (RuntimeException ex) {
+      inFlight.release();
+      throw ex;
+    }
+    future.whenComplete((result, error) -> inFlight.release());
+    return track(future, batch, batchNumber, progress, keysetPosition);
+  }
+
+  /**
+   * Reports progress once the batch completes, or its failure when the batch future completes
+   * exceptionally. {@code keysetPosition} is the last uabsEventId of the keyset page the batch was
+   * read from, or null when batches are not cut in keyset order and were registered with the
+   * tracker instead; it becomes the job checkpoint once all earlier batches completed too.
+   */
+  private TrackedBatch track(CompletableFuture<BatchResult> future,
+                             List<SignalEvent> batch,
+                             int batchNumber,
+                             JobProgressTracker.JobProgress progress,
+                             Long keysetPosition) {
+    future.whenComplete((result, error) -> {
+      if (error == null) {
+        jobProgressTracker.onBatchCompletion(progress, batchNumber, batch.size(), result, keysetPosition);
+      } else {
+        jobProgressTracker.onBatchFailure(progress, batchNumber, batch.size(), error);
+      }
+    });
+    return new TrackedBatch(future, batchNumber, batch.size());
+  }
+
+  private void logSubmission(List<SignalEvent> batch, int batchNumber) {
     String ids = batch.stream()
         .map(SignalEvent::getUabsEventId)
         .map(String::valueOf)
         .collect(Collectors.joining(","));
     log.info("Submitting batch #{} (size {}) on thread {} | uabsEventIds=[{}]",
         batchNumber, batch.size(), Thread.currentThread().getName(), ids);
-    CompletableFuture<BatchResult> future = signalEventBatchPort.submitBatch(batch);
-    return new TrackedBatch(future, batchNumber, batch.size());
-  }
-
-  private void attachProgressLogging(JobProgressTracker.JobProgress progress,
-                                     List<TrackedBatch> trackedBatches) {
-    trackedBatches.forEach(batch ->
-        batch.future().thenAccept(result ->
-            jobProgressTracker.onBatchCompletion(progress, batch.number(), batch.size(), result)));
   }
 
   private JobResult awaitJobCompletion(List<TrackedBatch> trackedBatches, String message, long totalCount) {
@@ -148,8 +512,9 @@ public class SignalEventProcessingDomainService implements SignalEventProcessing
       return new JobResult(0, 0, totalCount, message);
     }
 
+    // a batch that failed as a whole counts all its events as failures instead of failing the job
     List<CompletableFuture<BatchResult>> futures = trackedBatches.stream()
-        .map(TrackedBatch::future)
+        .map(tracked -> tracked.future().exceptionally(error -> new BatchResult(0, tracked.size())))
         .collect(Collectors.toList());
 
     CompletableFuture<Void> all = CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]));
@@ -170,9 +535,61 @@ public class SignalEventProcessingDomainService implements SignalEventProcessing
     return new JobResult(success, failure, totalCount, message);
   }
 
+  private Duration elapsedSince(long startedNanos) {
+    return Duration.ofNanos(System.nanoTime() - startedNanos);
+  }
+
   private record TrackedBatch(CompletableFuture<BatchResult> future, int number, int size) {
   }
 
+  /**
+   * Resume state of a run: where the keyset scan restarts, how many events were skipped because
+   * their latest audit is already PASS or because the interrupted run already attempted them, and
+   * how many events the keyset scan read.
+   */
+  private record ResumePoint(Long afterUabsEventId, AtomicLong alreadyDelivered, AtomicLong failedBefore,
+                             AtomicLong scanned) {
+
+    static ResumePoint after(Long afterUabsEventId) {
+      return new ResumePoint(afterUabsEventId, new AtomicLong(), new AtomicLong(), new AtomicLong());
+    }
+
+    List<SignalEvent> withoutDelivered(List<SignalEvent> events, SignalAuditQueryPort auditQueryPort,
+                                       long consumerId) {
+      Set<Long> ids = events.stream()
+          .map(SignalEvent::getUabsEventId)
+          .filter(Objects::nonNull)
+          .collect(Collectors.toCollection(LinkedHashSet::new));
+      Set<Long> delivered = ids.isEmpty() ? Set.of() : auditQueryPort.findSuccessfulEventIds(ids, consumerId);
+      List<SignalEvent> remaining = new ArrayList<>(events.size());
+      for (SignalEvent event : events) {
+        if (delivered.contains(event.getUabsEventId())) {
+          alreadyDelivered.incrementAndGet();
+        } else if (isBeforeCheckpoint(event)) {
+          failedBefore.incrementAndGet();
+        } else {
+          remaining.add(event);
+        }
+      }
+      return remaining.size() == events.size() ? events : remaining;
+    }
+
+    private boolean isBeforeCheckpoint(SignalEvent event) {
+      return afterUabsEventId != null && event.getUabsEventId() != null
+          && event.getUabsEventId() <= afterUabsEventId;
+    }
+
+    JobResult withDelivered(JobResult result, LocalDate date, long totalCount) {
+      long skipped = alreadyDelivered.get();
+      long failed = failedBefore.get();
+      String message = "Resumed processing complete for " + date + " | alreadyDelivered=" + skipped
+          + (failed > 0 ? " | notDeliveredBeforeCheckpoint=" + failed : "")
+          + (afterUabsEventId != null ? " | resumedAfterUabsEventId=" + afterUabsEventId : "");
+      return new JobResult(result.getSuccessCount() + (int) skipped, result.getFailureCount() + (int) failed,
+          totalCount, message);
+    }
+  }
+
   private List<List<SignalEvent>> chunk(List<SignalEvent> events, int size) {
     List<List<SignalEvent>> chunks = new ArrayList<>();
     for (int i = 0; i < events.size(); i += size) {
@@ -186,18 +603,39 @@ public class SignalEventProcessingDomainService implements SignalEventProcessing
    * signal has a PASS audit. Example: if a signal has events on Dec 2 and Dec 3, the Dec 3 event is
    * blocked when the Dec 2 audit is missing or not PASS.
    */
-  private Optional<String> validatePriorEvents(LocalDate date) {
-    List<SignalEvent> eventsForDate = signalEventRepository.getAllSignalEventsOfThisDate(date);
+  private Optional<String> validatePriorEvents(LocalDate date, SignalShard shard) {
+    List<SignalEvent> eventsForDate;
+    // other shards' events are dropped while reading instead of after loading the whole day
+    try (Stream<SignalEvent> events = signalEventRepository.streamSignalEventsOfThisDate(date)) {
+      eventsForDate = (shard == null ? events : events.filter(shard::contains)).toList();
+    }
     if (eventsForDate.isEmpty()) {
       return Optional.empty();
     }
 
+    List<SignalEvent> missingPrereq = bulkPrerequisiteCheck
+        ? findBlockedEventsInBulk(eventsForDate, date)
+        : findBlockedEvents(eventsForDate);
+
+    if (missingPrereq.isEmpty()) {
+      return Optional.empty();
+    }
+
+    String ids = missingPrereq.stream()
+        .map(SignalEvent::getUabsEventId)
+        .map(String::valueOf)
+        .collect(Collectors.joining(","));
+    String message = "Prerequisite check failed for date " + date
+        + ". Prior event not successful for uabsEventIds=[" + ids + "]";
+    log.warn(message);
+    return Optional.of(message);
+  }
+
+  private List<SignalEvent> findBlockedEvents(List<SignalEvent> eventsForDate) {
     List<SignalEvent> missingPrereq = new ArrayList<>();
 
     eventsForDate.stream()
-        .sorted(Comparator.comparing(SignalEvent::getSignalId)
-            .thenComparing(SignalEvent::getEventRecordDateTime, Comparator.nullsLast(LocalDateTime::compareTo))
-            .thenComparing(SignalEvent::getUabsEventId, Comparator.nullsLast(Long::compareTo)))
+        .sorted(PREREQUISITE_ORDER)
         .forEach(event -> {
           Optional<SignalEvent> prev = signalEventRepository.getPreviousEvent(
               event.getSignalId(), event.getEventRecordDateTime());
@@ -206,7 +644,7 @@ public class SignalEventProcessingDomainService implements SignalEventProcessing
             
             // Check latest audit status for the previous event's uabsEventId
             // Ordered by timestamp (most recent first)
-            Optional<String> latestStatus = signalAuditQueryPort.getLatestAuditStatusForEvent(prevEventId, 1L);
+            Optional<String> latestStatus = signalAuditQueryPort.getLatestAuditStatusForEvent(prevEventId, auditConsumerId);
             
             if (latestStatus.isPresent()) {
               // Audit entry exists - check if it's PASS or FAIL
@@ -221,26 +659,67 @@ public class SignalEventProcessingDomainService implements SignalEventProcessing
           }
           // If no previous event exists -> continue (no prerequisite to check)
         });
+    return missingPrereq;
+  }
 
-    if (missingPrereq.isEmpty()) {
-      return Optional.empty();
+  /**
+   * Same rule as {@link #findBlockedEvents}, resolved with two set-based queries. The previous event
+   * of the first event per signal is the latest one before the start of the day; later events on the
+   * same day take the latest same-day event recorded strictly before them, which is already loaded.
+   */
+  private List<SignalEvent> findBlockedEventsInBulk(List<SignalEvent> eventsForDate, LocalDate date) {
+    Map<Long, List<SignalEvent>> eventsBySignal = eventsForDate.stream()
+        .filter(event -> event.getSignalId() != null)
+        .sorted(PREREQUISITE_ORDER)
+        .collect(Collectors.groupingBy(SignalEvent::getSignalId, LinkedHashMap::new, Collectors.toList()));
+    Map<Long, SignalEvent> previousBeforeDay =
+        signalEventRepository.getPreviousEvents(eventsBySignal.keySet(), date.atStartOfDay());
+
+    List<PriorEventCheck> checks = new ArrayList<>();
+    eventsBySignal.forEach((signalId, events) -> {
+      SignalEvent previous = previousBeforeDay.get(signalId);
+      int next = 0;
+      for (SignalEvent event : events) {
+        LocalDateTime recordedAt = event.getEventRecordDateTime();
+        if (recordedAt == null) {
+          continue;
+        }
+        while (next < events.size()
+            && events.get(next).getEventRecordDateTime() != null
+            && events.get(next).getEventRecordDateTime().isBefore(recordedAt)) {
+          previous = events.get(next++);
+        }
+        if (previous != null) {
+          checks.add(new PriorEventCheck(event, previous));
+        }
+      }
+    });
+
+    Set<Long> previousEventIds = checks.stream()
+        .map(check -> check.previous().getUabsEventId())
+        .filter(Objects::nonNull)
+        .collect(Collectors.toCollection(LinkedHashSet::new));
+    Map<Long, String> latestStatuses = signalAuditQueryPort.getLatestAuditStatusesForEvents(previousEventIds, auditConsumerId);
+
+    List<SignalEvent> missingPrereq = new ArrayList<>();
+    for (PriorEventCheck check : checks) {
+      String status = latestStatuses.get(check.previous().getUabsEventId());
+      // no audit entry yet -> nothing to block on, otherwise the latest entry must be PASS
+      if (status != null && !isSuccessStatus(status)) {
+        missingPrereq.add(check.event());
+      }
     }
+    return missingPrereq;
+  }
 
-    String ids = missingPrereq.stream()
-        .map(SignalEvent::getUabsEventId)
-        .map(String::valueOf)
-        .collect(Collectors.joining(","));
-    String message = "Prerequisite check failed for date " + date
-        + ". Prior event not successful for uabsEventIds=[" + ids + "]";
-    log.warn(message);
-    return Optional.of(message);
+  private record PriorEventCheck(SignalEvent event, SignalEvent previous) {
   }
 
   /**
    * Publishes a simple text report to the configured publisher. Failures to publish are logged but
    * do not fail the job.
    */
-  private void publishReport(LocalDate date, JobResult result) {
+  void publishReport(LocalDate date, JobResult result) {
     if (deliveryReportPublisher == null) {
       return;
     }
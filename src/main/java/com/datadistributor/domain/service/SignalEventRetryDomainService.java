@@ -2,24 +2,40 @@ package com.datadistributor.domain.service;
 
 import com.datadistributor.domain.SignalEvent;
 import com.datadistributor.domain.inport.SignalEventRetryUseCase;
+import com.datadistributor.domain.job.BatchResult;
+import com.datadistributor.domain.job.JobProgressTracker;
 import com.datadistributor.domain.job.JobResult;
+import com.datadistributor.domain.outport.InitialCehMappingPort;
 import com.datadistributor.domain.outport.SignalAuditQueryPort;
+import com.datadistributor.domain.outport.SignalEventBatchPort;
 import com.datadistributor.domain.outport.SignalEventPort;
 import com.datadistributor.domain.outport.SignalEventSenderPort;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
 
 /**
  * Retries delivery for failed signal events of a given date. Pulls failed audit entries for that
- * day, resolves the corresponding signal events, and re-sends them one by one using the configured
- * sender (blocking or reactive under the hood). Missing events are counted as failures.
+ * day, resolves the corresponding signal events, and re-sends them. Missing events are counted as
+ * failures.
+ *
+ * <p>When a batch port is configured the events go through the same batched, concurrency-capped
+ * path as the main run: they are split into waves where wave N holds the N-th failed event of
+ * every signal, and a wave is only submitted once the previous one has completed, so events of the
+ * same signal still reach CEH in chronological order. Up to {@code retryConcurrency} batches of a
+ * wave are in flight at once and progress is reported through {@link JobProgressTracker}. Without
+ * a batch port events are re-sent one by one through the sender port.</p>
  *
  * <p>Example: if uabsEventId 10 failed twice on 2024-12-03, this service will fetch that id,
  * reload the event, send it once, and mark success/failure in the result; if the event row is gone,
@@ -31,13 +47,53 @@ public class SignalEventRetryDomainService implements SignalEventRetryUseCase {
   private final SignalAuditQueryPort signalAuditQueryPort;
   private final SignalEventPort signalEventRepository;
   private final SignalEventSenderPort senderPort;
+  private final SignalEventBatchPort batchPort;
+  private final int batchSize;
+  private final int retryConcurrency;
+  private final JobProgressTracker jobProgressTracker;
+  private final InitialCehMappingPort initialCehMappingPort;
 
   public SignalEventRetryDomainService(SignalAuditQueryPort signalAuditQueryPort,
                                        SignalEventPort signalEventRepository,
                                        SignalEventSenderPort senderPort) {
+    this(signalAuditQueryPort, signalEventRepository, senderPort, (InitialCehMappingPort) null);
+  }
+
+  public SignalEventRetryDomainService(SignalAuditQueryPort signalAuditQueryPort,
+                                       SignalEventPort signalEventRepository,
+                                       SignalEventSenderPort senderPort,
+                                       InitialCehMappingPort initialCehMappingPort) {
+    this(signalAuditQueryPort, signalEventRepository, senderPort, null, 1, 1, new JobProgressTracker(),
+        initialCehMappingPort);
+  }
+
+  public SignalEventRetryDomainService(SignalAuditQueryPort signalAuditQueryPort,
+                                       SignalEventPort signalEventRepository,
+                                       SignalEventSenderPort senderPort,
+                                       SignalEventBatchPort batchPort,
+                                       int batchSize,
+                                       int retryConcurrency,
+                                       JobProgressTracker jobProgressTracker) {
+    this(signalAuditQueryPort, signalEventRepository, senderPort, batchPort, batchSize, retryConcurrency,
+        jobProgressTracker, null);
+  }
+
+  public SignalEventRetryDomainService(SignalAuditQueryPort signalAuditQueryPort,
+                                       SignalEventPort signalEventRepository,
+                                       SignalEventSenderPort senderPort,
+                                       SignalEventBatchPort batchPort,
+                                       int batchSize,
+                                       int retryConcurrency,
+                                       JobProgressTracker jobProgressTracker,
+                                       InitialCehMappingPort initialCehMappingPort) {
     this.signalAuditQueryPort = signalAuditQueryPort;
     this.signalEventRepository = signalEventRepository;
     this.senderPort = senderPort;
+    this.batchPort = batchPort;
+    this.batchSize = Math.max(1, batchSize);
+    this.retryConcurrency = Math.max(1, retryConcurrency);
+    this.jobProgressTracker = jobProgressTracker;
+    this.initialCehMappingPort = initialCehMappingPort;
   }
 
   @Override
@@ -71,23 +127,99 @@ public class SignalEventRetryDomainService implements SignalEventRetryUseCase {
             .thenComparing(SignalEvent::getUabsEventId, Comparator.nullsLast(Long::compareTo)))
         .toList();
 
-    int success = 0;
-    int failure = missing; // missing counted as failures
+    if (initialCehMappingPort != null) {
+      // a retry is a run of its own for the mappings remembered by the port
+      initialCehMappingPort.startJob();
+    }
+    BatchResult sent = batchPort == null ? sendOneByOne(toSend) : sendInSignalOrder(jobId, date, toSend);
+    int success = sent.successCount();
+    int failure = sent.failureCount() + missing; // missing counted as failures
+
+    JobResult result = new JobResult(success, failure, distinctIds.size(),
+        "Retry complete for " + date + (missing > 0 ? (" | missing=" + missing) : ""));
+
+    log.info("🔁 Retry finished for {} success={} failure={} (missing={})",
+        date, result.getSuccessCount(), result.getFailureCount(), missing);
+    return result;
+  }
 
+  private BatchResult sendOneByOne(List<SignalEvent> toSend) {
+    int success = 0;
+    int failure = 0;
     for (SignalEvent event : toSend) {
-      boolean sent = senderPort.send(event);
-      if (sent) {
+      if (senderPort.send(event)) {
         success++;
       } else {
         failure++;
       }
     }
+    return new BatchResult(success, failure);
+  }
 
-    JobResult result = new JobResult(success, failure, distinctIds.size(),
-        "Retry complete for " + date + (missing > 0 ? (" | missing=" + missing) : ""));
+  private BatchResult sendInSignalOrder(String jobId, LocalDate date, List<SignalEvent> toSend) {
+    List<List<SignalEvent>> waves = signalOrderedWaves(toSend);
+    int totalBatches = waves.stream().mapToInt(wave -> (wave.size() + batchSize - 1) / batchSize).sum();
+    JobProgressTracker.JobProgress progress = jobProgressTracker.start(jobId, date, totalBatches, toSend.size());
+    log.info("🔁 Retrying {} events in {} waves (~{} batches, {} in flight)",
+        toSend.size(), waves.size(), totalBatches, retryConcurrency);
 
-    log.info("🔁 Retry finished for {} success={} failure={} (missing={})",
-        date, result.getSuccessCount(), result.getFailureCount(), missing);
-    return result;
+    AtomicInteger batchCounter = new AtomicInteger();
+    BatchResult total = BatchResult.empty();
+    for (List<SignalEvent> wave : waves) {
+      Semaphore inFlight = new Semaphore(retryConcurrency);
+      List<CompletableFuture<BatchResult>> futures = new ArrayList<>();
+      for (int i = 0; i < wave.size(); i += batchSize) {
+        List<SignalEvent> batch = new ArrayList<>(wave.subList(i, Math.min(wave.size(), i + batchSize)));
+        inFlight.acquireUninterruptibly();
+        futures.add(submitBatch(batch, batchCounter.incrementAndGet(), inFlight, progress));
+      }
+      // the next event of each signal may only go out once this wave has been delivered
+      for (CompletableFuture<BatchResult> future : futures) {
+        total = total.merge(future.join());
+      }
+    }
+    jobProgressTracker.finish(progress, new JobResult(total.successCount(), total.failureCount(), toSend.size(),
+        "Retry batches complete for " + date));
+    return total;
+  }
+
+  private CompletableFuture<BatchResult> submitBatch(List<SignalEvent> batch,
+                                                     int batchNumber,
+                                                     Semaphore inFlight,
+                                                     JobProgressTracker.JobProgress progress) {
+    CompletableFuture<BatchResult> future;
+    try {
+      future = batchPort.submitBatch(batch);
+    } catch (RuntimeException ex) {
+      log.error("❌ Retry batch #{} could not be submitted: {}", batchNumber, ex.toString());
+      future = CompletableFuture.failedFuture(ex);
+    }
+    return future
+        .exceptionally(ex -> {
+          log.error("❌ Retry batch #{} failed: {}", batchNumber, ex.toString());
+          return new BatchResult(0, batch.size());
+        })
+        .whenComplete((result, error) -> {
+          inFlight.release();
+          jobProgressTracker.onBatchCompletion(progress, batchNumber, batch.size(), result);
+        });
+  }
+
+  /**
+   * Splits chronologically sorted events into waves: wave N holds the N-th event of every signal,
+   * in the original order. Events without a signal id are treated as their own signal.
+   */
+  static List<List<SignalEvent>> signalOrderedWaves(List<SignalEvent> sorted) {
+    Map<Object, Integer> seenPerSignal = new HashMap<>();
+    List<List<SignalEvent>> waves = new ArrayList<>();
+    for (SignalEvent event : sorted) {
+      Object key = event.getSignalId() != null ? event.getSignalId() : new Object();
+      int wave = seenPerSignal.merge(key, 1, Integer::sum) - 1;
+      if (wave == waves.size()) {
+        waves.add(new ArrayList<>());
+      }
+      waves.get(wave).add(event);
+    }
+    return waves;
   }
 }
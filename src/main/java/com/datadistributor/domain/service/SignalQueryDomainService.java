@@ -3,6 +3,8 @@ package com.datadistributor.domain.service;
 import com.datadistributor.domain.Signal;
 import com.datadistributor.domain.inport.SignalUseCase;
 import com.datadistributor.domain.outport.SignalPort;
+import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
 import lombok.RequiredArgsConstructor;
 
@@ -23,4 +25,9 @@ public class SignalQueryDomainService implements SignalUseCase {
   public Optional<Signal> getOpenSignalOfAgreement(Long agreementId) {
     return port.getOpenSignalOfAgreement(agreementId);
   }
+
+  @Override
+  public Map<Long, Signal> getOpenSignalsOfAgreements(Collection<Long> agreementIds) {
+    return port.getOpenSignalsOfAgreements(agreementIds);
+  }
 }
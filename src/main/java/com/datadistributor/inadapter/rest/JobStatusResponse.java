@@ -0,0 +1,50 @@
+package com.datadistributor.inadapter.rest;
+
+import com.datadistributor.domain.job.JobState;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Job status returned by {@code GET /api/signal-events/jobs/{jobId}}: outcome counts plus live
+ * progress (batches done, throughput and estimated time left) while the job is running.
+ */
+@Value
+@Builder
+public class JobStatusResponse {
+  String jobId;
+  String status;
+  LocalDate processingDate;
+  int successCount;
+  int failureCount;
+  long totalCount;
+  int completedBatches;
+  int totalBatches;
+  double eventsPerSecond;
+  Long etaSeconds;
+  Instant startedAt;
+  Instant updatedAt;
+  Instant finishedAt;
+  String message;
+
+  static JobStatusResponse from(JobState state, Instant now) {
+    return JobStatusResponse.builder()
+        .jobId(state.getJobId())
+        .status(state.getStatus() == null ? null : state.getStatus().name())
+        .processingDate(state.getProcessingDate())
+        .successCount((int) state.getSuccessCount())
+        .failureCount((int) state.getFailureCount())
+        .totalCount(state.getTotalEvents())
+        .completedBatches(state.getCompletedBatches())
+        .totalBatches(state.getTotalBatches())
+        .eventsPerSecond(Math.round(state.eventsPerSecond(now) * 100) / 100.0)
+        .etaSeconds(state.estimatedRemaining(now).map(Duration::toSeconds).orElse(null))
+        .startedAt(state.getStartedAt())
+        .updatedAt(state.getUpdatedAt())
+        .finishedAt(state.getFinishedAt())
+        .message(state.getMessage())
+        .build();
+  }
+}
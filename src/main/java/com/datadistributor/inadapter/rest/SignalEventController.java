@@ -1,10 +1,14 @@
 package com.datadistributor.inadapter.rest;
 
+import com.datadistributor.domain.inport.JobStatusUseCase;
 import com.datadistributor.domain.inport.SignalEventProcessingUseCase;
 import com.datadistributor.domain.job.JobResult;
+import com.datadistributor.domain.job.JobState;
 import jakarta.validation.constraints.NotNull;
 import java.net.URI;
+import java.time.Clock;
 import java.time.LocalDate;
+import java.util.Optional;
 import java.util.UUID;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -19,7 +23,8 @@ import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 /**
- * REST endpoint to trigger signal event processing asynchronously and query job status.
+ * REST endpoint to trigger signal event processing asynchronously and query job status. Job state
+ * is persisted, so the status of a job survives restarts and shows live progress while it runs.
  */
 @RestController
 @RequestMapping("/api/signal-events")
@@ -28,27 +33,35 @@ public class SignalEventController {
 
   private final SignalEventProcessingUseCase processingUseCase;
   private final ThreadPoolTaskExecutor taskExecutor;
-  private final JobStatusStore jobStatusStore;
+  private final JobStatusUseCase jobStatusUseCase;
+  private final Clock clock;
 
   public SignalEventController(SignalEventProcessingUseCase processingUseCase,
                                @Qualifier("dataDistributorTaskExecutor") ThreadPoolTaskExecutor taskExecutor,
-                               JobStatusStore jobStatusStore) {
+                               JobStatusUseCase jobStatusUseCase,
+                               Clock clock) {
     this.processingUseCase = processingUseCase;
     this.taskExecutor = taskExecutor;
-    this.jobStatusStore = jobStatusStore;
+    this.jobStatusUseCase = jobStatusUseCase;
+    this.clock = clock;
   }
 
   @PostMapping("/process-async")
   public ResponseEntity<JobResult> processAsync(@RequestParam("date") @NotNull LocalDate date) {
     String jobId = UUID.randomUUID().toString();
     JobResult accepted = new JobResult(0, 0, 0, "Job accepted with id " + jobId);
-    jobStatusStore.record(jobId, accepted);
+    jobStatusUseCase.accepted(jobId, date);
 
     taskExecutor.submit(() -> {
-      JobResult result = processingUseCase.processEventsForDate(jobId, date);
-      jobStatusStore.record(jobId, result);
-      log.info("Async job {} finished for {}: success={} failure={} message={}",
-          jobId, date, result.getSuccessCount(), result.getFailureCount(), result.getMessage());
+      try {
+        JobResult result = processingUseCase.processEventsForDate(jobId, date);
+        jobStatusUseCase.completed(jobId, date, result);
+        log.info("Async job {} finished for {}: success={} failure={} message={}",
+            jobId, date, result.getSuccessCount(), result.getFailureCount(), result.getMessage());
+      } catch (RuntimeException ex) {
+        jobStatusUseCase.failed(jobId, date, ex.getClass().getSimpleName() + ": " + ex.getMessage());
+        log.error("Async job {} failed for {}: {}", jobId, date, ex.toString(), ex);
+      }
     });
 
     URI location = ServletUriComponentsBuilder.fromCurrentRequest()
@@ -61,9 +74,45 @@ public class SignalEventController {
         .body(accepted);
   }
 
+  /**
+   * Resumes an interrupted job under the same id. Events already delivered are skipped; without a
+   * date the job's recorded processing date is used.
+   */
+  @PostMapping("/jobs/{jobId}/resume")
+  public ResponseEntity<JobResult> resume(@PathVariable String jobId,
+                                          @RequestParam(value = "date", required = false) LocalDate date) {
+    Optional<JobState> previous = jobStatusUseCase.find(jobId);
+    LocalDate runDate = date != null ? date : previous.map(JobState::getProcessingDate).orElse(null);
+    if (runDate == null) {
+      return ResponseEntity.notFound().build();
+    }
+    jobStatusUseCase.resumed(jobId, runDate);
+
+    taskExecutor.submit(() -> {
+      try {
+        JobResult result = processingUseCase.resumeEventsForDate(jobId, runDate);
+        jobStatusUseCase.completed(jobId, runDate, result);
+        log.info("Resumed job {} finished for {}: success={} failure={} message={}",
+            jobId, runDate, result.getSuccessCount(), result.getFailureCount(), result.getMessage());
+      } catch (RuntimeException ex) {
+        jobStatusUseCase.failed(jobId, runDate, ex.getClass().getSimpleName() + ": " + ex.getMessage());
+        log.error("Resumed job {} failed for {}: {}", jobId, runDate, ex.toString(), ex);
+      }
+    });
+
+    URI location = ServletUriComponentsBuilder.fromCurrentContextPath()
+        .path("/api/signal-events/jobs/{jobId}")
+        .buildAndExpand(jobId)
+        .toUri();
+    return ResponseEntity.accepted()
+        .location(location)
+        .body(new JobResult(0, 0, 0, "Job resume accepted with id " + jobId));
+  }
+
   @GetMapping("/jobs/{jobId}")
-  public ResponseEntity<JobResult> jobStatus(@PathVariable String jobId) {
-    return jobStatusStore.find(jobId)
+  public ResponseEntity<JobStatusResponse> jobStatus(@PathVariable String jobId) {
+    return jobStatusUseCase.find(jobId)
+        .map(state -> JobStatusResponse.from(state, clock.instant()))
         .map(ResponseEntity::ok)
         .orElse(ResponseEntity.notFound().build());
   }
@@ -0,0 +1,61 @@
+package com.datadistributor.outadapter.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.Instant;
+import java.time.LocalDate;
+import lombok.Data;
+
+/**
+ * Persisted status and progress of a delivery or retry job, one row per job id.
+ */
+@Entity
+@Table(name = "job_state")
+@Data
+public class JobStateJpaEntity {
+
+  @Id
+  @Column(name = "job_id", length = 100)
+  private String jobId;
+
+  @Column(name = "processing_date")
+  private LocalDate processingDate;
+
+  @Column(name = "status", nullable = false, length = 20)
+  private String status;
+
+  @Column(name = "total_batches", nullable = false)
+  private int totalBatches;
+
+  @Column(name = "completed_batches", nullable = false)
+  private int completedBatches;
+
+  @Column(name = "total_events", nullable = false)
+  private long totalEvents;
+
+  @Column(name = "success_count", nullable = false)
+  private long successCount;
+
+  @Column(name = "failure_count", nullable = false)
+  private long failureCount;
+
+  @Column(name = "checkpoint_batch", nullable = false)
+  private int checkpointBatch;
+
+  @Column(name = "checkpoint_uabs_event_id")
+  private Long checkpointUabsEventId;
+
+  @Column(name = "started_at")
+  private Instant startedAt;
+
+  @Column(name = "updated_at")
+  private Instant updatedAt;
+
+  @Column(name = "finished_at")
+  private Instant finishedAt;
+
+  @Column(name = "message", length = 1000)
+  private String message;
+}
@@ -0,0 +1,30 @@
+package com.datadistributor.outadapter.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.Instant;
+import lombok.Data;
+
+/**
+ * Lease on a named run, held by one instance until it is released or expires.
+ */
+@Entity
+@Table(name = "run_lease")
+@Data
+public class RunLeaseJpaEntity {
+
+  @Id
+  @Column(name = "lease_key", length = 100)
+  private String leaseKey;
+
+  @Column(name = "owner", nullable = false, length = 200)
+  private String owner;
+
+  @Column(name = "acquired_at", nullable = false)
+  private Instant acquiredAt;
+
+  @Column(name = "expires_at", nullable = false)
+  private Instant expiresAt;
+}
@@ -0,0 +1,177 @@
+package com.datadistributor.outadapter.metrics;
+
+import com.datadistributor.domain.outport.DeliveryMetricsPort;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.springframework.stereotype.Component;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Micrometer-backed meters for the dispatch pipeline: per-event send latency (tagged by outcome and
+ * audit status), audit-write and audit-flush latency, selector and prerequisite-check durations, CEH retries,
+ * the number of requests currently in flight and the database time spent on the send path, tagged
+ * by whether it ran on a Netty event loop.
+ */
+@Component
+public class DeliveryMetrics implements DeliveryMetricsPort {
+
+  public static final String SEND = "data.distributor.send";
+  public static final String SEND_IN_FLIGHT = "data.distributor.send.in.flight";
+  public static final String SEND_RETRIES = "data.distributor.send.retries";
+  public static final String SEND_DUPLICATES_SKIPPED = "data.distributor.send.duplicates.skipped";
+  public static final String DELIVERED_SET_SIZE = "data.distributor.delivered.set.size";
+  public static final String AUDIT_WRITE = "data.distributor.audit.write";
+  public static final String AUDIT_FLUSH = "data.distributor.audit.flush";
+  public static final String AUDIT_FLUSH_ROWS = "data.distributor.audit.flush.rows";
+  public static final String SEND_CONCURRENCY_LIMIT = "data.distributor.send.concurrency.limit";
+  public static final String SEND_CONCURRENCY_WAITING = "data.distributor.send.concurrency.waiting";
+  public static final String SEND_THROTTLE = "data.distributor.send.throttle";
+  public static final String SEND_DB = "data.distributor.send.db";
+  public static final String SELECTION = "data.distributor.selection";
+  public static final String SELECTION_EVENTS = "data.distributor.selection.events";
+  public static final String PREREQUISITE_CHECK = "data.distributor.prerequisite.check";
+
+  private final MeterRegistry registry;
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private final Counter sendRetries;
+  private final Counter duplicatesSkipped;
+  private final DistributionSummary selectedEvents;
+  private final DistributionSummary auditFlushRows;
+
+  public DeliveryMetrics(MeterRegistry registry) {
+    this.registry = registry;
+    Gauge.builder(SEND_IN_FLIGHT, inFlight, AtomicInteger::get)
+        .description("CEH requests currently awaiting a response")
+        .register(registry);
+    this.sendRetries = Counter.builder(SEND_RETRIES)
+        .description("Retry attempts against the CEH API")
+        .register(registry);
+    this.duplicatesSkipped = Counter.builder(SEND_DUPLICATES_SKIPPED)
+        .description("Events not posted because CEH had already accepted them")
+        .register(registry);
+    this.selectedEvents = DistributionSummary.builder(SELECTION_EVENTS)
+        .description("Events picked by the dispatch selector per run")
+        .register(registry);
+    this.auditFlushRows = DistributionSummary.builder(AUDIT_FLUSH_ROWS)
+        .description("Audit rows written per write-behind flush")
+        .register(registry);
+  }
+
+  /**
+   * Marks a CEH request as started and returns the start timestamp to pass to {@link #recordSend}.
+   */
+  public long sendStarted() {
+    inFlight.incrementAndGet();
+    return System.nanoTime();
+  }
+
+  /** Marks a CEH request as finished, whatever its outcome. */
+  public void sendFinished() {
+    inFlight.decrementAndGet();
+  }
+
+  public void recordSend(long startedNanos, boolean success, String status) {
+    Timer.builder(SEND)
+        .description("Per-event CEH send latency including retries")
+        .tag("outcome", outcome(success))
+        .tag("status", status == null ? "UNKNOWN" : status)
+        .publishPercentileHistogram()
+        .register(registry)
+        .record(System.nanoTime() - startedNanos, TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * Exposes the adaptive CEH concurrency limit and the number of calls waiting for a slot.
+   */
+  public void registerConcurrencyLimiter(Supplier<Number> limit, Supplier<Number> waiting) {
+    Gauge.builder(SEND_CONCURRENCY_LIMIT, limit).description("Current adaptive limit on concurrent CEH calls")
+        .register(registry);
+    Gauge.builder(SEND_CONCURRENCY_WAITING, waiting).description("CEH calls waiting for a concurrency slot")
+        .register(registry);
+  }
+
+  /** Time a CEH call waited for a token of the shared rate limiter (zero when one was free). */
+  public void recordThrottleWait(long waitNanos) {
+    Timer.builder(SEND_THROTTLE)
+        .description("Wait for a CEH rate-limit token")
+        .register(registry)
+        .record(waitNanos, TimeUnit.NANOSECONDS);
+  }
+
+  public void recordSendRetry() {
+    sendRetries.increment();
+  }
+
+  public void recordDuplicatesSkipped(int events) {
+    duplicatesSkipped.increment(events);
+  }
+
+  /** Exposes the number of event ids known to be delivered. */
+  public void registerDeliveredSet(Supplier<Number> size) {
+    Gauge.builder(DELIVERED_SET_SIZE, size).description("Event ids CEH is known to have accepted")
+        .register(registry);
+  }
+
+  public void recordAuditWrite(long startedNanos, boolean success) {
+    Timer.builder(AUDIT_WRITE)
+        .description("Latency of persisting one audit row")
+        .tag("outcome", outcome(success))
+        .register(registry)
+        .record(System.nanoTime() - startedNanos, TimeUnit.NANOSECONDS);
+  }
+
+  public void recordAuditFlush(long startedNanos, int rows, boolean success) {
+    Timer.builder(AUDIT_FLUSH)
+        .description("Latency of a batched audit insert from the write-behind buffer")
+        .tag("outcome", outcome(success))
+        .register(registry)
+        .record(System.nanoTime() - startedNanos, TimeUnit.NANOSECONDS);
+    auditFlushRows.record(rows);
+  }
+
+  @Override
+  public void recordPrerequisiteCheck(Duration duration, boolean passed) {
+    Timer.builder(PREREQUISITE_CHECK)
+        .description("Duration of the prior-event prerequisite check")
+        .tag("outcome", passed ? "passed" : "blocked")
+        .register(registry)
+        .record(duration);
+  }
+
+  @Override
+  public void recordSelection(Duration duration, int selected) {
+    Timer.builder(SELECTION)
+        .description("Duration of the dispatch selector")
+        .register(registry)
+        .record(duration);
+    selectedEvents.record(selected);
+  }
+
+  /**
+   * Records database work done while sending an event ({@code stage} is e.g. request-build or
+   * audit). Time tagged {@code event.loop=true} blocked a Netty event loop and should stay at zero.
+   */
+  public void recordSendPathDb(String stage, long startedNanos) {
+    Timer.builder(SEND_DB)
+        .description("Database time spent on the send path")
+        .tag("stage", stage)
+        .tag("event.loop", String.valueOf(isEventLoopThread(Thread.currentThread())))
+        .register(registry)
+        .record(System.nanoTime() - startedNanos, TimeUnit.NANOSECONDS);
+  }
+
+  static boolean isEventLoopThread(Thread thread) {
+    return Schedulers.isNonBlockingThread(thread) || thread.getName().startsWith("reactor-http-");
+  }
+
+  private String outcome(boolean success) {
+    return success ? "success" : "failure";
+  }
+}
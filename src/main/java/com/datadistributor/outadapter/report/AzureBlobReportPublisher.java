@@ -2,30 +2,46 @@ package com.datadistributor.outadapter.report;
 
 import com.datadistributor.application.config.DataDistributorProperties;
 import com.datadistributor.domain.outport.DeliveryReportPublisher;
+import com.datadistributor.domain.outport.FileEncodingPort;
 import com.datadistributor.domain.outport.FileStoragePort;
 import com.datadistributor.domain.report.DeliveryReport;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.util.StringUtils;
 
 @Slf4j
 /**
- * Publishes delivery reports to Azure Blob Storage using the configured storage client and folder.
+ * Publishes delivery reports to Azure Blob Storage using the configured storage client and folder,
+ * encoded (e.g. compressed) by the configured {@link FileEncodingPort}.
  */
 public class AzureBlobReportPublisher implements DeliveryReportPublisher {
 
   private final FileStoragePort storageClient;
+  private final FileEncodingPort encoding;
   private final DataDistributorProperties.Storage storage;
 
   public AzureBlobReportPublisher(DataDistributorProperties properties, FileStoragePort storageClient) {
+    this(properties, storageClient, FileEncodingPort.noop());
+  }
+
+  public AzureBlobReportPublisher(DataDistributorProperties properties, FileStoragePort storageClient,
+                                  FileEncodingPort encoding) {
     this.storage = properties.getStorage();
     this.storageClient = storageClient;
+    this.encoding = encoding;
   }
 
   @Override
   public void publish(DeliveryReport report) {
     String blobName = buildBlobName(report);
-    storageClient.upload(storage.getFolder(), blobName, report.getContent());
+    if (encoding.fileSuffix().isEmpty()) {
+      storageClient.upload(storage.getFolder(), blobName, report.getContent());
+      return;
+    }
+    byte[] content = report.getContent() == null ? new byte[0] : report.getContent().getBytes(StandardCharsets.UTF_8);
+    storageClient.uploadStreaming(storage.getFolder(), blobName + encoding.fileSuffix(),
+        encoding.encode(out -> out.write(content)));
   }
 
   private String buildBlobName(DeliveryReport report) {
@@ -4,6 +4,9 @@ import com.azure.identity.ManagedIdentityCredential;
 import com.azure.identity.ManagedIdentityCredentialBuilder;
 import com.datadistributor.application.config.DataDistributorProperties;
 import com.datadistributor.domain.outport.FileStoragePort;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Optional;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.util.StringUtils;
@@ -11,7 +14,8 @@ import org.springframework.util.StringUtils;
 @Slf4j
 /**
  * Azure Blob Storage implementation of {@link FileStoragePort}. Handles container creation,
- * path resolution, and skips uploads when storage is disabled via configuration.
+ * path resolution, and skips uploads when storage is disabled via configuration. Streaming uploads
+ * are staged as block blob blocks and committed when the writer completes.
  */
 public class AzureBlobStorageClient implements FileStoragePort {
 
@@ -38,18 +42,42 @@ public class AzureBlobStorageClient implements FileStoragePort {
       return;
     }
     try {
-      BlobContainerClientAdapter containerClient = serviceClient.getBlobContainerClient(storage.getContainer());
-      if (!containerClient.exists()) {
-        containerClient.create();
-      }
       String blobPath = buildPath(folder, fileName);
-      containerClient.getBlobClient(blobPath).upload(content);
+      containerClient().getBlobClient(blobPath).upload(content);
       log.info("Uploaded blob {} to container {}", blobPath, storage.getContainer());
     } catch (Exception ex) {
       log.error("{}: Failed to upload blob {}: {}", com.datadistributor.application.ErrorCodes.FILE_UPLOAD_FAILED, fileName, ex.getMessage(), ex);
     }
   }
 
+  @Override
+  public void uploadStreaming(String folder, String fileName, ContentWriter writer) {
+    if (!isEnabled()) {
+      log.debug("Storage disabled; skipping upload for {}", fileName);
+      return;
+    }
+    try {
+      String blobPath = buildPath(folder, fileName);
+      OutputStream out = containerClient().getBlobClient(blobPath)
+          .openOutputStream(storage.getUploadBlockSizeBytes(), storage.getUploadMaxConcurrency());
+      writer.writeTo(out);
+      // close commits the staged blocks; after a failed writer they stay uncommitted and expire
+      out.close();
+      log.info("Uploaded blob {} to container {} in blocks of {} bytes", blobPath, storage.getContainer(),
+          storage.getUploadBlockSizeBytes());
+    } catch (Exception ex) {
+      log.error("{}: Failed to upload blob {}: {}", com.datadistributor.application.ErrorCodes.FILE_UPLOAD_FAILED, fileName, ex.getMessage(), ex);
+    }
+  }
+
+  private BlobContainerClientAdapter containerClient() {
+    BlobContainerClientAdapter containerClient = serviceClient.getBlobContainerClient(storage.getContainer());
+    if (!containerClient.exists()) {
+      containerClient.create();
+    }
+    return containerClient;
+  }
+
   private boolean isEnabled() {
     return storage.isEnabled() && serviceClient != null;
   }
@@ -103,6 +131,19 @@ public class AzureBlobStorageClient implements FileStoragePort {
 
   interface BlobClientAdapter {
     void upload(String content);
+
+    /**
+     * Stream whose content becomes the blob on {@code close()}. The default buffers everything and
+     * uploads it in one call; the Azure adapter stages blocks of {@code blockSizeBytes} instead.
+     */
+    default OutputStream openOutputStream(long blockSizeBytes, int maxConcurrency) {
+      return new ByteArrayOutputStream() {
+        @Override
+        public void close() {
+          upload(toString(StandardCharsets.UTF_8));
+        }
+      };
+    }
   }
 
   static class DefaultBlobServiceClientAdapter implements BlobServiceClientAdapter {
@@ -155,5 +196,16 @@ public class AzureBlobStorageClient implements FileStoragePort {
     public void upload(String content) {
       delegate.upload(com.azure.core.util.BinaryData.fromString(content), true);
     }
+
+    @Override
+    public OutputStream openOutputStream(long blockSizeBytes, int maxConcurrency) {
+      // at most maxConcurrency blocks are buffered while they upload; smaller files go in one request
+      com.azure.storage.blob.models.ParallelTransferOptions transfer = new com.azure.storage.blob.models.ParallelTransferOptions()
+          .setBlockSizeLong(blockSizeBytes)
+          .setMaxSingleUploadSizeLong(blockSizeBytes)
+          .setMaxConcurrency(maxConcurrency);
+      return delegate.getBlockBlobClient().getBlobOutputStream(
+          new com.azure.storage.blob.options.BlockBlobOutputStreamOptions().setParallelTransferOptions(transfer));
+    }
   }
 }
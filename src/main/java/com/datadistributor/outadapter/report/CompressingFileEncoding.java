@@ -0,0 +1,73 @@
+package com.datadistributor.outadapter.report;
+
+import com.datadistributor.application.config.DataDistributorProperties.FileCompression;
+import com.datadistributor.domain.outport.FileEncodingPort;
+import com.datadistributor.domain.outport.FileStoragePort.ContentWriter;
+import com.github.luben.zstd.ZstdOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * {@link FileEncodingPort} that compresses content as it is written, so a streamed upload never
+ * holds the uncompressed file. GZIP uses the JDK deflater, ZSTD the zstd-jni bindings at the
+ * configured level; NONE passes the content through.
+ */
+public class CompressingFileEncoding implements FileEncodingPort {
+
+  private static final int GZIP_BUFFER_BYTES = 64 * 1024;
+
+  private final FileCompression compression;
+  private final int zstdLevel;
+
+  public CompressingFileEncoding(FileCompression compression, int zstdLevel) {
+    this.compression = compression == null ? FileCompression.NONE : compression;
+    this.zstdLevel = zstdLevel;
+  }
+
+  @Override
+  public String fileSuffix() {
+    return switch (compression) {
+      case NONE -> "";
+      case GZIP -> ".gz";
+      case ZSTD -> ".zst";
+    };
+  }
+
+  @Override
+  public ContentWriter encode(ContentWriter writer) {
+    if (compression == FileCompression.NONE) {
+      return writer;
+    }
+    return out -> {
+      // closing the compressor writes its trailer; the storage stream itself stays open
+      try (OutputStream compressed = compressor(new UnclosableOutputStream(out))) {
+        writer.writeTo(compressed);
+      }
+    };
+  }
+
+  private OutputStream compressor(OutputStream target) throws IOException {
+    return compression == FileCompression.GZIP
+        ? new GZIPOutputStream(target, GZIP_BUFFER_BYTES)
+        : new ZstdOutputStream(target, zstdLevel);
+  }
+
+  private static final class UnclosableOutputStream extends FilterOutputStream {
+
+    UnclosableOutputStream(OutputStream out) {
+      super(out);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      out.write(b, off, len);
+    }
+
+    @Override
+    public void close() throws IOException {
+      flush();
+    }
+  }
+}
@@ -4,6 +4,10 @@ import com.datadistributor.domain.AccountBalance;
 import com.datadistributor.domain.outport.AccountBalanceOverviewPort;
 import com.datadistributor.outadapter.entity.AccountBalanceJpaEntity;
 import com.datadistributor.outadapter.repository.springjpa.AccountBalanceJpaRepository;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
@@ -34,4 +38,25 @@ public class AccountBalanceOverviewRepositoryAdapter implements AccountBalanceOv
     }
     return jpaRepository.findById(agreementId).map(accountBalanceMapper::toDomain);
   }
+
+  @Override
+  public Map<Long, Long> findBcNumbersByAgreementIds(Collection<Long> agreementIds) {
+    Map<Long, Long> bcNumberByAgreement = new LinkedHashMap<>();
+    for (List<Long> chunk : InClauseBatches.partition(agreementIds)) {
+      jpaRepository.findBcNumbersByAgreementIdIn(chunk)
+          .forEach(row -> bcNumberByAgreement.put(row.getAgreementId(), row.getBcNumber()));
+    }
+    return bcNumberByAgreement;
+  }
+
+  @Override
+  public Map<Long, AccountBalance> getAccountBalancesOfAgreements(Collection<Long> agreementIds) {
+    Map<Long, AccountBalance> balanceByAgreement = new LinkedHashMap<>();
+    for (List<Long> chunk : InClauseBatches.partition(agreementIds)) {
+      jpaRepository.findAllById(chunk).stream()
+          .map(accountBalanceMapper::toDomain)
+          .forEach(balance -> balanceByAgreement.put(balance.getAgreementId(), balance));
+    }
+    return balanceByAgreement;
+  }
 }
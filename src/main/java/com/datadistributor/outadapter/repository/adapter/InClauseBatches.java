@@ -0,0 +1,33 @@
+package com.datadistributor.outadapter.repository.adapter;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Splits id collections into chunks small enough for a single {@code IN (...)} clause. SQL Server
+ * rejects statements with more than 2100 parameters, so bulk lookups are issued per chunk.
+ */
+final class InClauseBatches {
+
+  static final int MAX_IN_CLAUSE_SIZE = 1000;
+
+  private InClauseBatches() {
+  }
+
+  /**
+   * Drops nulls and duplicates and partitions the remaining ids preserving encounter order.
+   */
+  static List<List<Long>> partition(Collection<Long> ids) {
+    if (ids == null || ids.isEmpty()) {
+      return List.of();
+    }
+    List<Long> distinct = ids.stream().filter(Objects::nonNull).distinct().toList();
+    List<List<Long>> chunks = new ArrayList<>();
+    for (int i = 0; i < distinct.size(); i += MAX_IN_CLAUSE_SIZE) {
+      chunks.add(distinct.subList(i, Math.min(distinct.size(), i + MAX_IN_CLAUSE_SIZE)));
+    }
+    return chunks;
+  }
+}
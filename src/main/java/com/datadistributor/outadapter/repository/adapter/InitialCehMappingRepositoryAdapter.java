@@ -1,35 +1,74 @@
 package com.datadistributor.outadapter.repository.adapter;
 
+import com.datadistributor.application.config.DataDistributorProperties;
 import com.datadistributor.domain.outport.InitialCehMappingPort;
 import com.datadistributor.outadapter.entity.CehResponseInitialEventEntity;
 import com.datadistributor.outadapter.entity.CehResponseInitialEventId;
 import com.datadistributor.outadapter.repository.springjpa.CehResponseInitialEventRepository;
-import lombok.RequiredArgsConstructor;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Repository;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Adapter that persists and fetches CEH initial event mappings on behalf of the domain while
  * shielding core logic from JPA specifics.
+ *
+ * <p>In batched mode a saved mapping only goes into an in-memory map of signal id to CEH id;
+ * {@link #flushPendingMappings()} writes everything pending with one batch of insert-if-absent
+ * MERGE statements, so the first mapping of a signal wins. Written mappings are remembered for the
+ * current and the previous job, and every lookup is answered from pending and remembered mappings
+ * before the database is asked, which also lets payloads and the dispatch selector see mappings
+ * that are not written yet. A mapping that cannot be written stays pending for the next flush and
+ * is only dropped, with a LOG002 error, after {@value #MAX_FLUSH_ATTEMPTS} failed flushes.</p>
  */
 @Repository
-@RequiredArgsConstructor
+@Slf4j
 public class InitialCehMappingRepositoryAdapter implements InitialCehMappingPort {
 
+  static final int MAX_FLUSH_ATTEMPTS = 3;
+
   private final CehResponseInitialEventRepository cehResponseInitialEventRepository;
+  private final boolean batched;
+  private final Map<Long, String> pending = new ConcurrentHashMap<>();
+  // only touched under flushLock
+  private final Map<Long, Integer> failedFlushes = new HashMap<>();
+  private final ReentrantLock flushLock = new ReentrantLock();
+  private volatile Map<Long, String> currentJob = new ConcurrentHashMap<>();
+  private volatile Map<Long, String> previousJob = new ConcurrentHashMap<>();
+
+  public InitialCehMappingRepositoryAdapter(CehResponseInitialEventRepository cehResponseInitialEventRepository,
+                                            DataDistributorProperties properties) {
+    this.cehResponseInitialEventRepository = cehResponseInitialEventRepository;
+    this.batched = properties.getProcessing().isBatchedInitialCehMappingEnabled();
+  }
 
   @Override
   public void saveInitialCehMapping(Long signalId, long cehId) {
+    if (batched) {
+      if (remembered(signalId) == null) {
+        pending.putIfAbsent(signalId, String.valueOf(cehId));
+      }
+      return;
+    }
     // Delete all existing mappings for this signalId to prevent duplicates
     // (there should only be one mapping per signalId, but the composite key allows multiple)
     java.util.List<CehResponseInitialEventEntity> existing = cehResponseInitialEventRepository
         .findByIdSignalId(signalId);
-    
+
     if (!existing.isEmpty()) {
       // Check if any existing mapping has the same cehId
       boolean hasSameCehId = existing.stream()
           .anyMatch(e -> String.valueOf(cehId).equals(e.getId().getCehInitialEventId()));
-      
+
       if (!hasSameCehId) {
         // Delete all existing and create new with the new cehId
         cehResponseInitialEventRepository.deleteAll(existing);
@@ -50,10 +89,129 @@ public class InitialCehMappingRepositoryAdapter implements InitialCehMappingPort
     }
   }
 
+  /**
+   * Writes the pending mappings in one batch. If the batch fails the mappings are written one by
+   * one so a single bad row does not hold back the rest; mappings that still fail stay pending for
+   * the next flush until they failed {@value #MAX_FLUSH_ATTEMPTS} times.
+   */
+  @Override
+  public void flushPendingMappings() {
+    if (pending.isEmpty()) {
+      return;
+    }
+    flushLock.lock();
+    try {
+      Map<Long, String> batch = new LinkedHashMap<>(pending);
+      if (batch.isEmpty()) {
+        return;
+      }
+      Map<Long, String> written = batch;
+      try {
+        cehResponseInitialEventRepository.mergeAll(batch);
+      } catch (Exception ex) {
+        log.warn("Batched merge of {} initial CEH mappings failed, retrying one by one: {}", batch.size(), ex.toString());
+        written = mergeOneByOne(batch);
+      }
+      written.forEach(currentJob::put);
+      written.forEach(pending::remove);
+      written.keySet().forEach(failedFlushes::remove);
+      for (Map.Entry<Long, String> mapping : batch.entrySet()) {
+        if (!written.containsKey(mapping.getKey())) {
+          keepOrDrop(mapping.getKey(), mapping.getValue());
+        }
+      }
+    } finally {
+      flushLock.unlock();
+    }
+  }
+
+  @Override
+  public void startJob() {
+    previousJob = currentJob;
+    currentJob = new ConcurrentHashMap<>();
+  }
+
   @Override
   public Optional<String> findInitialCehId(Long signalId) {
+    String cehId = remembered(signalId);
+    if (cehId != null) {
+      return Optional.of(cehId);
+    }
     return cehResponseInitialEventRepository
         .findFirstByIdSignalId(signalId)
         .map(event -> event.getId().getCehInitialEventId());
   }
+
+  @Override
+  public Map<Long, String> findInitialCehIds(Collection<Long> signalIds) {
+    Map<Long, String> cehIdBySignal = new LinkedHashMap<>();
+    if (signalIds == null) {
+      return cehIdBySignal;
+    }
+    List<Long> unknown = new ArrayList<>(signalIds.size());
+    for (Long signalId : signalIds) {
+      String cehId = remembered(signalId);
+      if (cehId != null) {
+        cehIdBySignal.put(signalId, cehId);
+      } else {
+        unknown.add(signalId);
+      }
+    }
+    for (List<Long> chunk : InClauseBatches.partition(unknown)) {
+      // ordered by ceh id per signal, so the first row matches findInitialCehId
+      cehResponseInitialEventRepository.findByIdSignalIdIn(chunk)
+          .forEach(event -> cehIdBySignal.putIfAbsent(
+              event.getId().getSignalId(), event.getId().getCehInitialEventId()));
+    }
+    return cehIdBySignal;
+  }
+
+  @PreDestroy
+  void shutdown() {
+    int count = pending.size();
+    flushPendingMappings();
+    if (count > 0) {
+      log.info("Flushed {} pending initial CEH mappings on shutdown", count);
+    }
+    pending.forEach((signalId, cehId) ->
+        log.error("LOG002- Initial CEH mapping for signalId={} cehId={} was not persisted before shutdown", signalId, cehId));
+  }
+
+  private Map<Long, String> mergeOneByOne(Map<Long, String> batch) {
+    Map<Long, String> written = new LinkedHashMap<>();
+    batch.forEach((signalId, cehId) -> {
+      try {
+        cehResponseInitialEventRepository.mergeAll(Map.of(signalId, cehId));
+        written.put(signalId, cehId);
+      } catch (Exception ex) {
+        log.warn("Initial CEH mapping for signalId={} could not be persisted: {}", signalId, ex.toString());
+      }
+    });
+    return written;
+  }
+
+  private void keepOrDrop(Long signalId, String cehId) {
+    int attempts = failedFlushes.merge(signalId, 1, Integer::sum);
+    if (attempts < MAX_FLUSH_ATTEMPTS) {
+      return;
+    }
+    failedFlushes.remove(signalId);
+    pending.remove(signalId, cehId);
+    log.error("LOG002- Initial CEH mapping for signalId={} cehId={} failed to be persisted after {} flushes, dropped",
+        signalId, cehId, attempts);
+  }
+
+  private String remembered(Long signalId) {
+    if (signalId == null) {
+      return null;
+    }
+    String cehId = pending.get(signalId);
+    if (cehId == null) {
+      cehId = currentJob.get(signalId);
+    }
+    if (cehId == null) {
+      cehId = previousJob.get(signalId);
+    }
+    return cehId;
+  }
 }
@@ -0,0 +1,180 @@
+package com.datadistributor.outadapter.repository.adapter;
+
+import com.datadistributor.application.config.DataDistributorProperties;
+import com.datadistributor.domain.job.JobState;
+import com.datadistributor.domain.outport.JobStatePort;
+import com.datadistributor.outadapter.entity.JobStateJpaEntity;
+import com.datadistributor.outadapter.repository.springjpa.JobStateJpaRepository;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Stores job state in the {@code job_state} table. Progress snapshots of a running job are
+ * coalesced in memory, latest per job, and written in one {@code saveAll} every
+ * {@code job-state.flush-interval-ms}; accepted and finished states are written through. Reads see
+ * the pending snapshot first, so live progress never lags behind the tracker.
+ *
+ * <p>Once a job has finished, late progress snapshots for it are dropped so they cannot overwrite
+ * the final state.</p>
+ */
+@Repository
+@Slf4j
+public class JobStateRepositoryAdapter implements JobStatePort {
+
+  private static final int FINISHED_JOBS_REMEMBERED = 1_000;
+
+  private final JobStateJpaRepository repository;
+  private final Map<String, JobState> pending = new ConcurrentHashMap<>();
+  private final Map<String, Boolean> finishedJobs = new LinkedHashMap<>() {
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+      return size() > FINISHED_JOBS_REMEMBERED;
+    }
+  };
+  private final ReentrantLock writeLock = new ReentrantLock();
+  private final ScheduledExecutorService writer;
+
+  public JobStateRepositoryAdapter(JobStateJpaRepository repository, DataDistributorProperties properties) {
+    this.repository = repository;
+    this.writer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "job-state-writer");
+      thread.setDaemon(true);
+      return thread;
+    });
+    long intervalMs = Math.max(1, properties.getJobState().getFlushIntervalMs());
+    writer.scheduleWithFixedDelay(this::flushQuietly, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+  }
+
+  @Override
+  public void save(JobState state) {
+    if (state == null || state.getJobId() == null) {
+      return;
+    }
+    String jobId = state.getJobId();
+    if (state.getStatus() == JobState.Status.RUNNING) {
+      synchronized (finishedJobs) {
+        if (!finishedJobs.containsKey(jobId)) {
+          pending.put(jobId, state);
+        }
+      }
+      return;
+    }
+    synchronized (finishedJobs) {
+      if (state.isFinished()) {
+        finishedJobs.put(jobId, Boolean.TRUE);
+      } else {
+        finishedJobs.remove(jobId);
+      }
+      pending.remove(jobId);
+    }
+    writeLock.lock();
+    try {
+      repository.save(toEntity(state));
+    } catch (Exception ex) {
+      log.error("Job state {} for job {} could not be persisted: {}", state.getStatus(), jobId, ex.toString(), ex);
+    } finally {
+      writeLock.unlock();
+    }
+  }
+
+  @Override
+  public Optional<JobState> findById(String jobId) {
+    if (jobId == null) {
+      return Optional.empty();
+    }
+    JobState live = pending.get(jobId);
+    if (live != null) {
+      return Optional.of(live);
+    }
+    return repository.findById(jobId).map(this::toDomain);
+  }
+
+  /**
+   * Writes every pending progress snapshot and returns how many were written.
+   */
+  public int flush() {
+    writeLock.lock();
+    try {
+      List<JobState> batch = new ArrayList<>();
+      pending.forEach((jobId, state) -> {
+        if (pending.remove(jobId, state)) {
+          batch.add(state);
+        }
+      });
+      if (batch.isEmpty()) {
+        return 0;
+      }
+      repository.saveAll(batch.stream().map(this::toEntity).toList());
+      return batch.size();
+    } finally {
+      writeLock.unlock();
+    }
+  }
+
+  @PreDestroy
+  void shutdown() {
+    writer.shutdown();
+    flushQuietly();
+  }
+
+  private void flushQuietly() {
+    try {
+      flush();
+    } catch (Exception ex) {
+      log.error("Job state flush failed: {}", ex.toString(), ex);
+    }
+  }
+
+  private JobStateJpaEntity toEntity(JobState state) {
+    JobStateJpaEntity entity = new JobStateJpaEntity();
+    entity.setJobId(state.getJobId());
+    entity.setProcessingDate(state.getProcessingDate());
+    entity.setStatus(state.getStatus() == null ? null : state.getStatus().name());
+    entity.setTotalBatches(state.getTotalBatches());
+    entity.setCompletedBatches(state.getCompletedBatches());
+    entity.setTotalEvents(state.getTotalEvents());
+    entity.setSuccessCount(state.getSuccessCount());
+    entity.setFailureCount(state.getFailureCount());
+    entity.setCheckpointBatch(state.getCheckpointBatch());
+    entity.setCheckpointUabsEventId(state.getCheckpointUabsEventId());
+    entity.setStartedAt(state.getStartedAt());
+    entity.setUpdatedAt(state.getUpdatedAt());
+    entity.setFinishedAt(state.getFinishedAt());
+    entity.setMessage(truncate(state.getMessage()));
+    return entity;
+  }
+
+  private JobState toDomain(JobStateJpaEntity entity) {
+    return JobState.builder()
+        .jobId(entity.getJobId())
+        .processingDate(entity.getProcessingDate())
+        .status(entity.getStatus() == null ? null : JobState.Status.valueOf(entity.getStatus()))
+        .totalBatches(entity.getTotalBatches())
+        .completedBatches(entity.getCompletedBatches())
+        .totalEvents(entity.getTotalEvents())
+        .successCount(entity.getSuccessCount())
+        .failureCount(entity.getFailureCount())
+        .checkpointBatch(entity.getCheckpointBatch())
+        .checkpointUabsEventId(entity.getCheckpointUabsEventId())
+        .startedAt(entity.getStartedAt())
+        .updatedAt(entity.getUpdatedAt())
+        .finishedAt(entity.getFinishedAt())
+        .message(entity.getMessage())
+        .build();
+  }
+
+  private String truncate(String message) {
+    return message == null || message.length() <= 1000 ? message : message.substring(0, 1000);
+  }
+}
@@ -0,0 +1,113 @@
+package com.datadistributor.outadapter.repository.adapter;
+
+import com.datadistributor.application.config.DataDistributorProperties;
+import com.datadistributor.domain.outport.RunLeasePort;
+import com.datadistributor.outadapter.repository.springjpa.RunLeaseJpaRepository;
+import jakarta.annotation.PreDestroy;
+import java.net.InetAddress;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Keeps run leases in the {@code run_lease} table. A lease is taken by inserting its row or by
+ * taking over a row that has expired; it lasts {@code run-lock.lease-ttl-seconds} and is renewed
+ * every third of that on the "run-lease-renewer" thread while this instance holds it, so only a
+ * crashed instance lets its lease lapse.
+ */
+@Repository
+@Slf4j
+public class RunLeaseRepositoryAdapter implements RunLeasePort {
+
+  private final RunLeaseJpaRepository repository;
+  private final Clock clock;
+  private final Duration ttl;
+  private final String owner;
+  private final Set<String> held = ConcurrentHashMap.newKeySet();
+  private final ScheduledExecutorService renewer;
+
+  public RunLeaseRepositoryAdapter(RunLeaseJpaRepository repository,
+                                   DataDistributorProperties properties,
+                                   Clock clock) {
+    this.repository = repository;
+    this.clock = clock;
+    this.ttl = Duration.ofSeconds(Math.max(3, properties.getRunLock().getLeaseTtlSeconds()));
+    this.owner = hostName() + "-" + UUID.randomUUID().toString().substring(0, 8);
+    this.renewer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "run-lease-renewer");
+      thread.setDaemon(true);
+      return thread;
+    });
+    long periodMs = ttl.toMillis() / 3;
+    renewer.scheduleWithFixedDelay(this::renewHeld, periodMs, periodMs, TimeUnit.MILLISECONDS);
+  }
+
+  @Override
+  public boolean tryAcquire(String key) {
+    Instant now = clock.instant();
+    Instant expiresAt = now.plus(ttl);
+    boolean acquired = repository.takeOver(key, owner, now, expiresAt) == 1 || insert(key, now, expiresAt);
+    if (acquired) {
+      held.add(key);
+      log.info("Run lease {} acquired by {} until {}", key, owner, expiresAt);
+    } else {
+      log.info("Run lease {} is held by another instance", key);
+    }
+    return acquired;
+  }
+
+  @Override
+  public void release(String key) {
+    held.remove(key);
+    repository.release(key, owner);
+  }
+
+  String owner() {
+    return owner;
+  }
+
+  void renewHeld() {
+    Instant expiresAt = clock.instant().plus(ttl);
+    for (String key : held) {
+      try {
+        if (repository.renew(key, owner, expiresAt) == 0) {
+          held.remove(key);
+          log.warn("Run lease {} was lost by {}; another instance may run the same date", key, owner);
+        }
+      } catch (Exception ex) {
+        log.error("Run lease {} could not be renewed: {}", key, ex.toString());
+      }
+    }
+  }
+
+  @PreDestroy
+  void shutdown() {
+    renewer.shutdownNow();
+  }
+
+  private boolean insert(String key, Instant now, Instant expiresAt) {
+    try {
+      return repository.insert(key, owner, now, expiresAt) == 1;
+    } catch (DataIntegrityViolationException ex) {
+      // the row exists and has not expired; another instance holds the lease
+      return false;
+    }
+  }
+
+  private static String hostName() {
+    try {
+      return InetAddress.getLocalHost().getHostName();
+    } catch (Exception ex) {
+      return "unknown-host";
+    }
+  }
+}
@@ -7,11 +7,14 @@ import com.datadistributor.outadapter.repository.springjpa.SignalAuditRepository
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
 
@@ -38,6 +41,19 @@ public class SignalAuditQueryRepositoryAdapter implements SignalAuditQueryPort {
         .orElse(false);
   }
 
+  @Override
+  public Set<Long> findSuccessfulEventIds(Collection<Long> uabsEventIds, long consumerId) {
+    Set<Long> successful = new HashSet<>();
+    for (List<Long> chunk : InClauseBatches.partition(uabsEventIds)) {
+      signalAuditRepository.findLatestByUabsEventIdInAndConsumerId(chunk, consumerId).stream()
+          .filter(audit -> audit.getUabsEventId() != null)
+          .filter(audit -> isSuccessStatus(audit.getStatus()))
+          .map(SignalAuditJpaEntity::getUabsEventId)
+          .forEach(successful::add);
+    }
+    return successful;
+  }
+
   @Override
   public List<Long> findFailedEventIdsForDate(LocalDate date) {
     if (date == null) {
@@ -75,6 +91,17 @@ public class SignalAuditQueryRepositoryAdapter implements SignalAuditQueryPort {
         .map(SignalAuditJpaEntity::getStatus);
   }
 
+  @Override
+  public Map<Long, String> getLatestAuditStatusesForEvents(Collection<Long> uabsEventIds, long consumerId) {
+    Map<Long, String> statusByEvent = new LinkedHashMap<>();
+    for (List<Long> chunk : InClauseBatches.partition(uabsEventIds)) {
+      signalAuditRepository.findLatestByRecordTimeForUabsEventIdIn(chunk, consumerId).stream()
+          .filter(audit -> audit.getUabsEventId() != null)
+          .forEach(audit -> statusByEvent.putIfAbsent(audit.getUabsEventId(), audit.getStatus()));
+    }
+    return statusByEvent;
+  }
+
   private boolean isSuccessStatus(String status) {
     if (status == null) return false;
     String normalized = status.trim().toUpperCase();
@@ -5,15 +5,22 @@ import com.datadistributor.domain.SignalEvent;
 import com.datadistributor.domain.outport.SignalEventPort;
 import com.datadistributor.outadapter.entity.SignalEventJpaEntity;
 import com.datadistributor.outadapter.repository.springjpa.SignalEventJpaRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import java.util.Optional;
+import org.hibernate.Session;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Repository;
 
@@ -24,32 +31,95 @@ import org.springframework.stereotype.Repository;
 @Repository
 public class SignalEventRepositoryAdapter implements SignalEventPort {
 
+    private static final String EVENTS_OF_DAY_IN_ID_ORDER = SignalEventJpaRepository.EVENT_PROJECTION + """
+        from SignalEventJpaEntity e
+        where e.eventRecordDateTime between :start and :end
+        order by e.uabsEventId asc
+        """;
+
     private final long minUnauthorizedDebitBalance;
+    private final int streamFetchSize;
     private final SignalEventJpaRepository signalEventJpaRepository;
     private final SignalEventMapper signalEventMapper;
+    private final EntityManagerFactory entityManagerFactory;
     public SignalEventRepositoryAdapter(SignalEventJpaRepository signalEventJpaRepository,
                                         SignalEventMapper signalEventMapper,
+                                        EntityManagerFactory entityManagerFactory,
                                         DataDistributorProperties properties) {
         this.signalEventJpaRepository = signalEventJpaRepository;
         this.signalEventMapper = signalEventMapper;
+        this.entityManagerFactory = entityManagerFactory;
         this.minUnauthorizedDebitBalance = properties.getProcessing().getMinUnauthorizedDebitBalance();
+        this.streamFetchSize = properties.getProcessing().getStreamFetchSize();
     }
 
     @Override
     public List<SignalEvent> getAllSignalEventsOfThisDate(LocalDate date) {
         LocalDateTime start = date.atStartOfDay();
         LocalDateTime end = date.atTime(LocalTime.MAX);
-        List<SignalEventJpaEntity> eventEntities = signalEventJpaRepository.findByEventRecordDateTimeBetween(start, end);
-        return signalEventMapper.toDomainList(eventEntities);
+        return signalEventJpaRepository.findEventsOfDay(start, end);
+    }
+
+    /**
+     * Reads the day through a forward-only, read-only cursor on its own entity manager and
+     * transaction, which stay open until the stream is closed. Rows are selected straight into
+     * {@link SignalEvent}, so the persistence context stays empty however long the day is. The
+     * connection is marked read-only before the query runs, so a split pool serves the cursor from
+     * its read side.
+     */
+    @Override
+    public Stream<SignalEvent> streamSignalEventsOfThisDate(LocalDate date) {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            entityManager.getTransaction().begin();
+            entityManager.unwrap(Session.class).doWork(connection -> connection.setReadOnly(true));
+            return entityManager
+                .createQuery(EVENTS_OF_DAY_IN_ID_ORDER, SignalEvent.class)
+                .setParameter("start", date.atStartOfDay())
+                .setParameter("end", date.atTime(LocalTime.MAX))
+                .setHint(HibernateHints.HINT_FETCH_SIZE, streamFetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream()
+                .onClose(() -> release(entityManager));
+        } catch (RuntimeException ex) {
+            release(entityManager);
+            throw ex;
+        }
+    }
+
+    private void release(EntityManager entityManager) {
+        try {
+            if (entityManager.getTransaction().isActive()) {
+                entityManager.getTransaction().rollback();
+            }
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    @Override
+    public List<SignalEvent> getSignalEventsOfThisDateAfter(LocalDate date, Long afterUabsEventId, int size) {
+        LocalDateTime start = date.atStartOfDay();
+        LocalDateTime end = date.atTime(LocalTime.MAX);
+        long after = afterUabsEventId == null ? Long.MIN_VALUE : afterUabsEventId;
+        return signalEventJpaRepository.findNextPageOfDay(start, end, after, PageRequest.of(0, size));
     }
 
     @Override
     public List<SignalEvent> getSignalEventsForCEH(LocalDate date, int page, int size) {
         LocalDateTime start = date.atStartOfDay();
         LocalDateTime end = date.atTime(LocalTime.MAX);
-        List<SignalEventJpaEntity> eventEntities = signalEventJpaRepository.findPageForCEH(
+        return signalEventJpaRepository.findPageForCEH(
             start, end, minUnauthorizedDebitBalance, PageRequest.of(page, size));
-        return signalEventMapper.toDomainList(eventEntities);
+    }
+
+    @Override
+    public List<SignalEvent> getSignalEventsForCEHAfter(LocalDate date, Long afterUabsEventId, int size) {
+        LocalDateTime start = date.atStartOfDay();
+        LocalDateTime end = date.atTime(LocalTime.MAX);
+        long after = afterUabsEventId == null ? Long.MIN_VALUE : afterUabsEventId;
+        return signalEventJpaRepository.findNextPageForCEH(
+            start, end, minUnauthorizedDebitBalance, after, PageRequest.of(0, size));
     }
 
     @Override
@@ -73,6 +143,22 @@ public class SignalEventRepositoryAdapter implements SignalEventPort {
         return Optional.ofNullable(signalEventMapper.toDomain(results.get(0)));
     }
 
+    @Override
+    public Map<Long, SignalEvent> getPreviousEvents(Collection<Long> signalIds, LocalDateTime before) {
+        Map<Long, SignalEvent> previousBySignal = new LinkedHashMap<>();
+        if (before == null) {
+            return previousBySignal;
+        }
+        for (List<Long> chunk : InClauseBatches.partition(signalIds)) {
+            signalEventJpaRepository.findPreviousEventsBySignalIdIn(chunk, before).stream()
+                .map(signalEventMapper::toDomain)
+                .filter(Objects::nonNull)
+                .filter(event -> event.getSignalId() != null)
+                .forEach(event -> previousBySignal.putIfAbsent(event.getSignalId(), event));
+        }
+        return previousBySignal;
+    }
+
     @Override
     public Optional<SignalEvent> getEarliestOverlimitEvent(Long signalId) {
         if (signalId == null) {
@@ -86,6 +172,21 @@ public class SignalEventRepositoryAdapter implements SignalEventPort {
         return Optional.ofNullable(signalEventMapper.toDomain(results.get(0)));
     }
 
+    @Override
+    public Map<Long, SignalEvent> getEarliestOverlimitEvents(Collection<Long> signalIds) {
+        Map<Long, SignalEvent> earliestBySignal = new LinkedHashMap<>();
+        for (List<Long> chunk : InClauseBatches.partition(signalIds)) {
+            // rows arrive ordered by signal then record time, so the first row per signal wins
+            signalEventJpaRepository.findBySignalIdInAndEventStatusOrderByEventRecordDateTimeAsc(chunk, "OVERLIMIT_SIGNAL")
+                .stream()
+                .map(signalEventMapper::toDomain)
+                .filter(Objects::nonNull)
+                .filter(event -> event.getSignalId() != null)
+                .forEach(event -> earliestBySignal.putIfAbsent(event.getSignalId(), event));
+        }
+        return earliestBySignal;
+    }
+
     @Override
     public List<SignalEvent> findByUabsEventIdIn(List<Long> uabsEventIds) {
         if (uabsEventIds == null || uabsEventIds.isEmpty()) {
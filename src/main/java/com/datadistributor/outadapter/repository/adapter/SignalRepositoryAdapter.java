@@ -5,6 +5,11 @@ import com.datadistributor.domain.outport.SignalPort;
 import com.datadistributor.outadapter.entity.SignalJpaEntity;
 import com.datadistributor.outadapter.repository.springjpa.SignalJpaRepository;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
@@ -36,6 +41,18 @@ public class SignalRepositoryAdapter implements SignalPort {
         .map(mapper::toDomain);
   }
 
+  @Override
+  public Map<Long, Signal> getOpenSignalsOfAgreements(Collection<Long> agreementIds) {
+    Map<Long, Signal> openByAgreement = new LinkedHashMap<>();
+    for (List<Long> chunk : InClauseBatches.partition(agreementIds)) {
+      repository.findByAgreementIdInAndSignalEndDate(chunk, OPEN_END_DATE).stream()
+          .map(mapper::toDomain)
+          .filter(signal -> signal.getAgreementId() != null)
+          .forEach(signal -> openByAgreement.putIfAbsent(signal.getAgreementId(), signal));
+    }
+    return openByAgreement;
+  }
+
   @Override
   public java.util.List<Signal> findByStartDateBefore(java.time.LocalDate date) {
     if (date == null) return java.util.List.of();
@@ -43,4 +60,15 @@ public class SignalRepositoryAdapter implements SignalPort {
         .map(mapper::toDomain)
         .toList();
   }
+
+  @Override
+  public List<Signal> findBySignalIdIn(Collection<Long> signalIds) {
+    List<Signal> signals = new ArrayList<>();
+    for (List<Long> chunk : InClauseBatches.partition(signalIds)) {
+      repository.findAllById(chunk).stream()
+          .map(mapper::toDomain)
+          .forEach(signals::add);
+    }
+    return signals;
+  }
 }
@@ -1,7 +1,11 @@
 package com.datadistributor.outadapter.repository.springjpa;
 
 import com.datadistributor.outadapter.entity.AccountBalanceJpaEntity;
+import java.util.Collection;
+import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -9,4 +13,17 @@ import org.springframework.stereotype.Repository;
  */
 @Repository
 public interface AccountBalanceJpaRepository extends JpaRepository<AccountBalanceJpaEntity, Long> {
+
+  /**
+   * Agreement id / BC number pairs only, so payload enrichment does not load the full balance row.
+   */
+  @Query("select a.agreementId as agreementId, a.bcNumber as bcNumber "
+      + "from AccountBalanceJpaEntity a where a.agreementId in :agreementIds")
+  List<AgreementBcNumber> findBcNumbersByAgreementIdIn(@Param("agreementIds") Collection<Long> agreementIds);
+
+  interface AgreementBcNumber {
+    Long getAgreementId();
+
+    Long getBcNumber();
+  }
 }
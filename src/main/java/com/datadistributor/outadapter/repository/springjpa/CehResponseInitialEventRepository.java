@@ -11,11 +11,15 @@ import org.springframework.stereotype.Repository;
  * Spring Data repository for CEH initial response mappings keyed by composite id.
  */
 @Repository
-public interface CehResponseInitialEventRepository extends JpaRepository<CehResponseInitialEventEntity, CehResponseInitialEventId> {
+public interface CehResponseInitialEventRepository extends JpaRepository<CehResponseInitialEventEntity, CehResponseInitialEventId>,
+    CehResponseInitialEventRepositoryCustom {
 
   @Query("select e from CehResponseInitialEventEntity e where e.id.signalId = :signalId order by e.id.cehInitialEventId asc")
   java.util.List<CehResponseInitialEventEntity> findByIdSignalId(@Param("signalId") Long signalId);
   
+  @Query("select e from CehResponseInitialEventEntity e where e.id.signalId in :signalIds order by e.id.signalId asc, e.id.cehInitialEventId asc")
+  java.util.List<CehResponseInitialEventEntity> findByIdSignalIdIn(@Param("signalIds") java.util.Collection<Long> signalIds);
+
   default java.util.Optional<CehResponseInitialEventEntity> findFirstByIdSignalId(Long signalId) {
     java.util.List<CehResponseInitialEventEntity> results = findByIdSignalId(signalId);
     return results.isEmpty() ? java.util.Optional.empty() : java.util.Optional.of(results.get(0));
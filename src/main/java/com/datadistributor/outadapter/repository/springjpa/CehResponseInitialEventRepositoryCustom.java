@@ -0,0 +1,17 @@
+package com.datadistributor.outadapter.repository.springjpa;
+
+import java.util.Map;
+
+/**
+ * Bulk write operations for CEH initial event mappings that bypass the JPA persistence context.
+ */
+public interface CehResponseInitialEventRepositoryCustom {
+
+  /**
+   * Inserts the mapping of every signal that has none yet, in a single JDBC batch of MERGE
+   * statements keyed by signal id. Signals that already have a mapping keep it.
+   *
+   * @param cehIdBySignal CEH initial event id per signal id
+   */
+  void mergeAll(Map<Long, String> cehIdBySignal);
+}
@@ -0,0 +1,37 @@
+package com.datadistributor.outadapter.repository.springjpa;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * JDBC implementation of {@link CehResponseInitialEventRepositoryCustom}. One MERGE per signal
+ * replaces the lookup, delete and insert the JPA repository needs for the same idempotent write.
+ */
+@RequiredArgsConstructor
+public class CehResponseInitialEventRepositoryImpl implements CehResponseInitialEventRepositoryCustom {
+
+  private static final String MERGE_SQL = """
+      merge into ceh_response_initial_event_id as t
+      using (select cast(? as bigint) as signal_id, cast(? as varchar(50)) as ceh_initial_event_id) as s
+      on t.signal_id = s.signal_id
+      when not matched then
+        insert (ceh_initial_event_id, signal_id) values (s.ceh_initial_event_id, s.signal_id);
+      """;
+
+  private final JdbcTemplate jdbcTemplate;
+
+  @Override
+  public void mergeAll(Map<Long, String> cehIdBySignal) {
+    if (cehIdBySignal == null || cehIdBySignal.isEmpty()) {
+      return;
+    }
+    List<Map.Entry<Long, String>> mappings = new ArrayList<>(cehIdBySignal.entrySet());
+    jdbcTemplate.batchUpdate(MERGE_SQL, mappings, mappings.size(), (ps, mapping) -> {
+      ps.setLong(1, mapping.getKey());
+      ps.setString(2, mapping.getValue());
+    });
+  }
+}
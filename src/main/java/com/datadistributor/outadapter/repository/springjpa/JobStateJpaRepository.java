@@ -0,0 +1,12 @@
+package com.datadistributor.outadapter.repository.springjpa;
+
+import com.datadistributor.outadapter.entity.JobStateJpaEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data repository for persisted job state rows keyed by job id.
+ */
+@Repository
+public interface JobStateJpaRepository extends JpaRepository<JobStateJpaEntity, String> {
+}
@@ -0,0 +1,64 @@
+package com.datadistributor.outadapter.repository.springjpa;
+
+import com.datadistributor.outadapter.entity.RunLeaseJpaEntity;
+import java.time.Instant;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Spring Data repository for run leases. Every change is a single conditional statement, so two
+ * instances racing for a lease cannot both win.
+ */
+@Repository
+public interface RunLeaseJpaRepository extends JpaRepository<RunLeaseJpaEntity, String> {
+
+  /**
+   * Takes over a lease that expired or is already held by {@code owner}.
+   */
+  @Modifying
+  @Transactional
+  @Query("""
+      update RunLeaseJpaEntity l
+      set l.owner = :owner, l.acquiredAt = :now, l.expiresAt = :expiresAt
+      where l.leaseKey = :leaseKey
+        and (l.owner = :owner or l.expiresAt < :now)
+      """)
+  int takeOver(@Param("leaseKey") String leaseKey,
+               @Param("owner") String owner,
+               @Param("now") Instant now,
+               @Param("expiresAt") Instant expiresAt);
+
+  /**
+   * Creates a lease; fails on the primary key when the lease row already exists.
+   */
+  @Modifying
+  @Transactional
+  @Query(value = """
+      insert into run_lease (lease_key, owner, acquired_at, expires_at)
+      values (:leaseKey, :owner, :now, :expiresAt)
+      """, nativeQuery = true)
+  int insert(@Param("leaseKey") String leaseKey,
+             @Param("owner") String owner,
+             @Param("now") Instant now,
+             @Param("expiresAt") Instant expiresAt);
+
+  @Modifying
+  @Transactional
+  @Query("""
+      update RunLeaseJpaEntity l
+      set l.expiresAt = :expiresAt
+      where l.leaseKey = :leaseKey and l.owner = :owner
+      """)
+  int renew(@Param("leaseKey") String leaseKey,
+            @Param("owner") String owner,
+            @Param("expiresAt") Instant expiresAt);
+
+  @Modifying
+  @Transactional
+  @Query("delete from RunLeaseJpaEntity l where l.leaseKey = :leaseKey and l.owner = :owner")
+  int release(@Param("leaseKey") String leaseKey, @Param("owner") String owner);
+}
@@ -2,16 +2,21 @@ package com.datadistributor.outadapter.repository.springjpa;
 
 import com.datadistributor.outadapter.entity.SignalAuditJpaEntity;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
  * Spring Data JPA repository for signal audit records.
  */
 @Repository
-public interface SignalAuditRepository extends JpaRepository<SignalAuditJpaEntity, Long> {
+public interface SignalAuditRepository extends JpaRepository<SignalAuditJpaEntity, Long>,
+    SignalAuditRepositoryCustom {
 
   Optional<SignalAuditJpaEntity> findTopByUabsEventIdAndConsumerIdOrderByAuditIdDesc(Long uabsEventId, Long consumerId);
 
@@ -22,4 +27,63 @@ public interface SignalAuditRepository extends JpaRepository<SignalAuditJpaEntit
       LocalDateTime start,
       LocalDateTime end,
       Long consumerId);
+
+  /**
+   * Latest audit row (highest audit id) per event for the given consumer, for many events at once.
+   */
+  @Query("""
+      select a
+      from SignalAuditJpaEntity a
+      where a.consumerId = :consumerId
+        and a.uabsEventId in :uabsEventIds
+        and a.auditId = (
+          select max(b.auditId)
+          from SignalAuditJpaEntity b
+          where b.uabsEventId = a.uabsEventId
+            and b.consumerId = :consumerId)
+      """)
+  List<SignalAuditJpaEntity> findLatestByUabsEventIdInAndConsumerId(@Param("uabsEventIds") Collection<Long> uabsEventIds,
+                                                                    @Param("consumerId") Long consumerId);
+
+  /**
+   * Latest audit row per event by record time for the given consumer, for many events at once. Ties
+   * on record time are broken by the highest audit id.
+   */
+  @Query("""
+      select a
+      from SignalAuditJpaEntity a
+      where a.consumerId = :consumerId
+        and a.uabsEventId in :uabsEventIds
+        and not exists (
+          select b.auditId
+          from SignalAuditJpaEntity b
+          where b.uabsEventId = a.uabsEventId
+            and b.consumerId = :consumerId
+            and (b.auditRecordDateTime > a.auditRecordDateTime
+              or (b.auditRecordDateTime = a.auditRecordDateTime and b.auditId > a.auditId)))
+      """)
+  List<SignalAuditJpaEntity> findLatestByRecordTimeForUabsEventIdIn(@Param("uabsEventIds") Collection<Long> uabsEventIds,
+                                                                    @Param("consumerId") Long consumerId);
+
+  /**
+   * Keyset page of event ids CEH has accepted for the consumer, ascending, starting after
+   * {@code afterUabsEventId}. An event counts as accepted when its latest audit row (highest audit
+   * id) is PASS/SUCCESS, the same rule the sender uses before a post.
+   */
+  @Query("""
+      select a.uabsEventId
+      from SignalAuditJpaEntity a
+      where a.consumerId = :consumerId
+        and a.uabsEventId > :afterUabsEventId
+        and upper(trim(a.status)) in ('PASS', 'SUCCESS')
+        and a.auditId = (
+          select max(b.auditId)
+          from SignalAuditJpaEntity b
+          where b.uabsEventId = a.uabsEventId
+            and b.consumerId = :consumerId)
+      order by a.uabsEventId
+      """)
+  List<Long> findDeliveredEventIdsAfter(@Param("afterUabsEventId") Long afterUabsEventId,
+                                       @Param("consumerId") Long consumerId,
+                                       Pageable page);
 }
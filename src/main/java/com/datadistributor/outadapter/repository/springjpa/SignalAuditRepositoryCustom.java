@@ -0,0 +1,18 @@
+package com.datadistributor.outadapter.repository.springjpa;
+
+import com.datadistributor.outadapter.entity.SignalAuditJpaEntity;
+import java.util.List;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Bulk write operations for signal audit rows that bypass the JPA persistence context.
+ */
+public interface SignalAuditRepositoryCustom {
+
+  /**
+   * Inserts all rows in a single JDBC batch. The batch runs in one transaction, so a row that fails
+   * leaves none of the others behind. Generated audit ids are not written back to the entities.
+   */
+  @Transactional
+  void insertAll(List<SignalAuditJpaEntity> audits);
+}
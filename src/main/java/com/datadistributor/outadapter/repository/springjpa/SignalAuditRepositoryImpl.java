@@ -0,0 +1,44 @@
+package com.datadistributor.outadapter.repository.springjpa;
+
+import com.datadistributor.outadapter.entity.SignalAuditJpaEntity;
+import java.sql.Timestamp;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * JDBC implementation of {@link SignalAuditRepositoryCustom}. The audit id is an IDENTITY column,
+ * which stops Hibernate from batching inserts, so rows are written with a plain batched statement.
+ */
+@RequiredArgsConstructor
+public class SignalAuditRepositoryImpl implements SignalAuditRepositoryCustom {
+
+  private static final String INSERT_SQL = """
+      insert into signal_audit (signal_id, uabs_event_id, consumer_id, agreement_id,
+                                unauthorized_debit_balance, status, response_code, response_message,
+                                audit_record_date_time)
+      values (?, ?, ?, ?, ?, ?, ?, ?, ?)
+      """;
+
+  private final JdbcTemplate jdbcTemplate;
+
+  @Override
+  public void insertAll(List<SignalAuditJpaEntity> audits) {
+    if (audits == null || audits.isEmpty()) {
+      return;
+    }
+    jdbcTemplate.batchUpdate(INSERT_SQL, audits, audits.size(), (ps, audit) -> {
+      ps.setObject(1, audit.getSignalId());
+      ps.setObject(2, audit.getUabsEventId());
+      ps.setObject(3, audit.getConsumerId());
+      ps.setObject(4, audit.getAgreementId());
+      ps.setObject(5, audit.getUnauthorizedDebitBalance());
+      ps.setString(6, audit.getStatus());
+      ps.setString(7, audit.getResponseCode());
+      ps.setString(8, audit.getResponseMessage());
+      ps.setTimestamp(9, audit.getAuditRecordDateTime() == null
+          ? null
+          : Timestamp.valueOf(audit.getAuditRecordDateTime()));
+    });
+  }
+}
@@ -1,5 +1,6 @@
 package com.datadistributor.outadapter.repository.springjpa;
 
+import com.datadistributor.domain.SignalEvent;
 import com.datadistributor.outadapter.entity.SignalEventJpaEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -7,32 +8,75 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import org.springframework.data.domain.Pageable;
 
 /**
  * Spring Data JPA repository for signal events with custom queries used by CEH flow and selector.
+ *
+ * <p>The day and CEH page queries only read, so they select through {@link #EVENT_PROJECTION}
+ * straight into {@link SignalEvent}: no entities are hydrated or tracked by the persistence
+ * context, and the signal and GRV ids come from the foreign key columns without loading either
+ * association.</p>
  */
 @Repository
 public interface SignalEventJpaRepository extends JpaRepository<SignalEventJpaEntity, Long> {
-    List<SignalEventJpaEntity> findByEventRecordDateTimeBetween(LocalDateTime start, LocalDateTime end);
+
+    String EVENT_PROJECTION = """
+        select new com.datadistributor.domain.SignalEvent(
+            e.uabsEventId, e.signal.signalId, e.agreementId, e.eventRecordDateTime, e.eventType,
+            e.eventStatus, e.unauthorizedDebitBalance, e.bookDate, e.grv.grv, e.productId)
+        """;
+
     List<SignalEventJpaEntity> findByUabsEventIdIn(List<Long> uabsEventIds);
 
     long countByEventRecordDateTimeBetween(LocalDateTime start, LocalDateTime end);
 
-    @Query("""
-        select e
+    @Query(EVENT_PROJECTION + """
+        from SignalEventJpaEntity e
+        where e.eventRecordDateTime between :start and :end
+        """)
+    List<SignalEvent> findEventsOfDay(@Param("start") LocalDateTime start,
+                                      @Param("end") LocalDateTime end);
+
+    @Query(EVENT_PROJECTION + """
+        from SignalEventJpaEntity e
+        where e.eventRecordDateTime between :start and :end
+          and e.uabsEventId > :afterUabsEventId
+        order by e.uabsEventId asc
+        """)
+    List<SignalEvent> findNextPageOfDay(@Param("start") LocalDateTime start,
+                                                 @Param("end") LocalDateTime end,
+                                                 @Param("afterUabsEventId") long afterUabsEventId,
+                                                 Pageable pageable);
+
+    @Query(EVENT_PROJECTION + """
         from SignalEventJpaEntity e
         where e.eventRecordDateTime between :start and :end
           and e.unauthorizedDebitBalance >= :minUnauthorizedBalance
           and e.grv.reportCW014ToCEH = 'Y'
         order by e.uabsEventId asc
         """)
-    List<SignalEventJpaEntity> findPageForCEH(@Param("start") LocalDateTime start,
+    List<SignalEvent> findPageForCEH(@Param("start") LocalDateTime start,
                                               @Param("end") LocalDateTime end,
                                               @Param("minUnauthorizedBalance") long minUnauthorizedBalance,
                                               Pageable pageable);
 
+    @Query(EVENT_PROJECTION + """
+        from SignalEventJpaEntity e
+        where e.eventRecordDateTime between :start and :end
+          and e.unauthorizedDebitBalance >= :minUnauthorizedBalance
+          and e.grv.reportCW014ToCEH = 'Y'
+          and e.uabsEventId > :afterUabsEventId
+        order by e.uabsEventId asc
+        """)
+    List<SignalEvent> findNextPageForCEH(@Param("start") LocalDateTime start,
+                                                  @Param("end") LocalDateTime end,
+                                                  @Param("minUnauthorizedBalance") long minUnauthorizedBalance,
+                                                  @Param("afterUabsEventId") long afterUabsEventId,
+                                                  Pageable pageable);
+
     @Query("""
         select count(e)
         from SignalEventJpaEntity e
@@ -55,6 +99,25 @@ public interface SignalEventJpaRepository extends JpaRepository<SignalEventJpaEn
                                                  @Param("before") LocalDateTime before,
                                                  Pageable pageable);
 
+    /**
+     * Latest event per signal before the cutoff (ties on record time broken by the highest id).
+     */
+    @Query("""
+        select e
+        from SignalEventJpaEntity e
+        where e.signal.signalId in :signalIds
+          and e.eventRecordDateTime < :before
+          and not exists (
+            select l.uabsEventId
+            from SignalEventJpaEntity l
+            where l.signal.signalId = e.signal.signalId
+              and l.eventRecordDateTime < :before
+              and (l.eventRecordDateTime > e.eventRecordDateTime
+                or (l.eventRecordDateTime = e.eventRecordDateTime and l.uabsEventId > e.uabsEventId)))
+        """)
+    List<SignalEventJpaEntity> findPreviousEventsBySignalIdIn(@Param("signalIds") Collection<Long> signalIds,
+                                                              @Param("before") LocalDateTime before);
+
     @Query("""
         select e
         from SignalEventJpaEntity e
@@ -63,4 +126,14 @@ public interface SignalEventJpaRepository extends JpaRepository<SignalEventJpaEn
         order by e.eventRecordDateTime asc, e.uabsEventId asc
         """)
     List<SignalEventJpaEntity> findBySignalIdAndEventStatusOrderByEventRecordDateTimeAsc(@Param("signalId") Long signalId, @Param("eventStatus") String eventStatus);
+
+    @Query("""
+        select e
+        from SignalEventJpaEntity e
+        where e.signal.signalId in :signalIds
+          and e.eventStatus = :eventStatus
+        order by e.signal.signalId asc, e.eventRecordDateTime asc, e.uabsEventId asc
+        """)
+    List<SignalEventJpaEntity> findBySignalIdInAndEventStatusOrderByEventRecordDateTimeAsc(@Param("signalIds") Collection<Long> signalIds,
+                                                                                          @Param("eventStatus") String eventStatus);
 }
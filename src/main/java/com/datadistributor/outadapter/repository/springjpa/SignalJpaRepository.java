@@ -24,5 +24,8 @@ public interface SignalJpaRepository extends JpaRepository<SignalJpaEntity, Long
   Optional<SignalJpaEntity> findByAgreementIdAndSignalEndDate(Long agreementId,
                                                               java.time.LocalDate signalEndDate);
 
+  java.util.List<SignalJpaEntity> findByAgreementIdInAndSignalEndDate(java.util.Collection<Long> agreementIds,
+                                                                      java.time.LocalDate signalEndDate);
+
   java.util.List<SignalJpaEntity> findBySignalStartDateLessThanEqual(java.time.LocalDate date);
 }
@@ -0,0 +1,224 @@
+package com.datadistributor.outadapter.web;
+
+import com.datadistributor.application.config.DataDistributorProperties;
+import com.datadistributor.outadapter.metrics.DeliveryMetrics;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+/**
+ * Process-wide AIMD limit on concurrent CEH calls, shared by every batch and by retry sends.
+ *
+ * <p>Each call holds a {@link Permit} for its whole duration, including client-side retries. A call
+ * that succeeds within {@code latencyTolerance} times the smoothed baseline latency grows the limit
+ * by {@code 1 / limit}, i.e. about one extra slot per window of successful calls. A 429, a 5xx, a
+ * timeout or a transient I/O failure multiplies the limit by {@code backoffRatio}. The limit always
+ * stays between {@code minLimit} and {@code maxLimit}, and callers above it wait in FIFO order.</p>
+ */
+@Component
+@Slf4j
+public class AdaptiveConcurrencyLimiter {
+
+  private static final double BASELINE_SMOOTHING = 0.05;
+
+  private final boolean enabled;
+  private final int minLimit;
+  private final int maxLimit;
+  private final double backoffRatio;
+  private final double latencyTolerance;
+  private final Deque<Waiter> waiters = new ArrayDeque<>();
+  private double limit;
+  private double baselineLatencyNanos;
+  private int inUse;
+
+  public AdaptiveConcurrencyLimiter(DataDistributorProperties properties, DeliveryMetrics deliveryMetrics) {
+    DataDistributorProperties.AdaptiveConcurrency config = properties.getProcessing().getAdaptiveConcurrency();
+    this.enabled = config.isEnabled();
+    this.minLimit = Math.max(1, config.getMinLimit());
+    this.maxLimit = Math.max(minLimit, config.getMaxLimit());
+    this.backoffRatio = Math.min(Math.max(config.getBackoffRatio(), 0.1), 0.99);
+    this.latencyTolerance = Math.max(1.0, config.getLatencyTolerance());
+    int initial = config.getInitialLimit() > 0 ? config.getInitialLimit() : properties.getProcessing().getRateLimit();
+    this.limit = clamp(initial);
+    deliveryMetrics.registerConcurrencyLimiter(this::currentLimit, this::waiting);
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /** Upper bound callers can use for their own operator concurrency when the limiter is active. */
+  public int maxLimit() {
+    return maxLimit;
+  }
+
+  public synchronized int currentLimit() {
+    return (int) limit;
+  }
+
+  public synchronized int inUse() {
+    return inUse;
+  }
+
+  public synchronized int waiting() {
+    return waiters.size();
+  }
+
+  /**
+   * Emits a permit as soon as the number of calls in flight is below the current limit. Cancelling
+   * the subscription before the permit is granted gives up the place in the queue.
+   */
+  public Mono<Permit> acquire() {
+    return Mono.create(sink -> {
+      Waiter waiter = new Waiter(sink);
+      Permit granted = null;
+      synchronized (this) {
+        if (waiters.isEmpty() && inUse < (int) limit) {
+          inUse++;
+          granted = new Permit(System.nanoTime());
+        } else {
+          waiters.addLast(waiter);
+        }
+      }
+      if (granted != null) {
+        sink.success(granted);
+        return;
+      }
+      sink.onCancel(() -> cancel(waiter));
+    });
+  }
+
+  /**
+   * Reports a client-side retry caused by an overload signal; the in-flight call keeps its permit.
+   */
+  public void onRetry() {
+    if (!enabled) {
+      return;
+    }
+    synchronized (this) {
+      backOff();
+    }
+    grantWaiting();
+  }
+
+  private void release(Permit permit) {
+    long latency = System.nanoTime() - permit.startedNanos;
+    synchronized (this) {
+      inUse--;
+      if (permit.overloaded) {
+        backOff();
+      } else if (permit.succeeded) {
+        grow(latency);
+      }
+    }
+    grantWaiting();
+  }
+
+  private void grow(long latencyNanos) {
+    if (baselineLatencyNanos == 0) {
+      baselineLatencyNanos = latencyNanos;
+    }
+    if (latencyNanos <= baselineLatencyNanos * latencyTolerance) {
+      limit = clamp(limit + 1.0 / limit);
+    }
+    baselineLatencyNanos += BASELINE_SMOOTHING * (latencyNanos - baselineLatencyNanos);
+  }
+
+  private void backOff() {
+    double previous = limit;
+    limit = clamp(limit * backoffRatio);
+    if ((int) previous != (int) limit) {
+      log.info("CEH concurrency limit lowered from {} to {}", (int) previous, (int) limit);
+    }
+  }
+
+  private double clamp(double value) {
+    return Math.min(maxLimit, Math.max(minLimit, value));
+  }
+
+  private void grantWaiting() {
+    while (true) {
+      Waiter next;
+      Permit permit;
+      synchronized (this) {
+        if (waiters.isEmpty() || inUse >= (int) limit) {
+          return;
+        }
+        next = waiters.pollFirst();
+        if (next.cancelled) {
+          continue;
+        }
+        inUse++;
+        permit = new Permit(System.nanoTime());
+        next.granted = permit;
+      }
+      next.sink.success(permit);
+    }
+  }
+
+  private void cancel(Waiter waiter) {
+    Permit granted;
+    synchronized (this) {
+      waiter.cancelled = true;
+      waiters.remove(waiter);
+      granted = waiter.granted;
+    }
+    // the permit was handed out just before the subscriber went away
+    if (granted != null) {
+      granted.release();
+    }
+  }
+
+  private static final class Waiter {
+    private final MonoSink<Permit> sink;
+    private boolean cancelled;
+    private Permit granted;
+
+    private Waiter(MonoSink<Permit> sink) {
+      this.sink = sink;
+    }
+  }
+
+  /**
+   * One slot of the limit. Record the outcome of the call, then {@link #release()} exactly once.
+   */
+  public final class Permit {
+
+    private volatile long startedNanos;
+    private volatile boolean succeeded;
+    private volatile boolean overloaded;
+    private boolean released;
+
+    private Permit(long startedNanos) {
+      this.startedNanos = startedNanos;
+    }
+
+    /** Restarts the latency clock, e.g. after waiting for a rate-limit token. */
+    public void callStarted() {
+      this.startedNanos = System.nanoTime();
+    }
+
+    /** The call completed and CEH accepted it; its latency feeds the growth check. */
+    public void succeeded() {
+      this.succeeded = true;
+    }
+
+    /** CEH answered 429/5xx, timed out or dropped the connection. */
+    public void overloaded() {
+      this.overloaded = true;
+    }
+
+    public void release() {
+      synchronized (this) {
+        if (released) {
+          return;
+        }
+        released = true;
+      }
+      AdaptiveConcurrencyLimiter.this.release(this);
+    }
+  }
+}
@@ -0,0 +1,152 @@
+package com.datadistributor.outadapter.web;
+
+import com.datadistributor.application.config.DataDistributorProperties;
+import com.datadistributor.domain.SignalEvent;
+import com.datadistributor.outadapter.metrics.DeliveryMetrics;
+import com.datadistributor.outadapter.repository.springjpa.SignalAuditRepository;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory set of {@code uabsEventId}s CEH has accepted, consulted by the sender before every
+ * post so an event picked up again by another run, {@code process-async} or the retry flow is not
+ * sent twice. The sender adds each id once CEH returns a {@code ceh_event_id}; at startup the set
+ * is warmed in the background from events whose latest {@code signal_audit} row is PASS, read in
+ * keyset pages.
+ *
+ * <p>Ids are kept as a chunked bitmap: one 8 KiB block of bits per 65,536 consecutive ids, created
+ * when the first id of the range is added. Event ids are allocated sequentially, so this costs
+ * about one bit per id instead of the ~50 bytes of a boxed {@code Long} in a hash set. Negative
+ * ids are never stored.</p>
+ */
+@Component
+@Slf4j
+public class DeliveredEventSet {
+
+  private static final int CHUNK_BITS = 16;
+  private static final int WORDS_PER_CHUNK = (1 << CHUNK_BITS) / Long.SIZE;
+  private static final long OFFSET_MASK = (1L << CHUNK_BITS) - 1;
+
+  private final SignalAuditRepository signalAuditRepository;
+  private final DataDistributorProperties properties;
+  private final DeliveryMetrics deliveryMetrics;
+  private final boolean enabled;
+  private final Map<Long, AtomicLongArray> chunks = new ConcurrentHashMap<>();
+  private final AtomicLong size = new AtomicLong();
+
+  public DeliveredEventSet(SignalAuditRepository signalAuditRepository,
+                           DataDistributorProperties properties,
+                           DeliveryMetrics deliveryMetrics) {
+    this.signalAuditRepository = signalAuditRepository;
+    this.properties = properties;
+    this.deliveryMetrics = deliveryMetrics;
+    this.enabled = properties.getDeliveredSet().isEnabled();
+    deliveryMetrics.registerDeliveredSet(size::get);
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public boolean contains(Long uabsEventId) {
+    if (!enabled || uabsEventId == null || uabsEventId < 0) {
+      return false;
+    }
+    AtomicLongArray chunk = chunks.get(uabsEventId >>> CHUNK_BITS);
+    if (chunk == null) {
+      return false;
+    }
+    int offset = (int) (uabsEventId & OFFSET_MASK);
+    return (chunk.get(offset >>> 6) & (1L << offset)) != 0;
+  }
+
+  /**
+   * Records that CEH accepted the event; returns false when it was already known.
+   */
+  public boolean markDelivered(Long uabsEventId) {
+    if (!enabled || uabsEventId == null || uabsEventId < 0) {
+      return false;
+    }
+    AtomicLongArray chunk = chunks.computeIfAbsent(uabsEventId >>> CHUNK_BITS,
+        key -> new AtomicLongArray(WORDS_PER_CHUNK));
+    int offset = (int) (uabsEventId & OFFSET_MASK);
+    long bit = 1L << offset;
+    long previous = chunk.getAndAccumulate(offset >>> 6, bit, (word, mask) -> word | mask);
+    if ((previous & bit) != 0) {
+      return false;
+    }
+    size.incrementAndGet();
+    return true;
+  }
+
+  /**
+   * Returns the events CEH has not accepted yet, in their original order; the input list itself
+   * when none is known to be delivered.
+   */
+  public List<SignalEvent> withoutDelivered(List<SignalEvent> events) {
+    if (!enabled || events == null || events.isEmpty() || size.get() == 0) {
+      return events;
+    }
+    List<SignalEvent> pending = events.stream()
+        .filter(event -> !contains(event.getUabsEventId()))
+        .toList();
+    return pending.size() == events.size() ? events : pending;
+  }
+
+  public long size() {
+    return size.get();
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  void warmUpInBackground() {
+    if (!enabled || !properties.getDeliveredSet().isWarmUpOnStartup()) {
+      return;
+    }
+    Thread thread = new Thread(this::warmUp, "delivered-set-warmup");
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  /**
+   * Adds the ids of all events whose latest audit row is PASS, page by page in id order, and
+   * returns how many ids were read. A failed page ends the warm-up; ids loaded so far stay in the
+   * set.
+   */
+  public long warmUp() {
+    if (!enabled) {
+      return 0;
+    }
+    long consumerId = properties.getAudit().getConsumerId();
+    int pageSize = Math.max(1, properties.getDeliveredSet().getWarmUpPageSize());
+    long started = System.nanoTime();
+    long loaded = 0;
+    Long after = -1L;
+    try {
+      while (true) {
+        List<Long> ids = signalAuditRepository.findDeliveredEventIdsAfter(after, consumerId,
+            PageRequest.of(0, pageSize));
+        for (Long id : ids) {
+          markDelivered(id);
+        }
+        loaded += ids.size();
+        if (ids.size() < pageSize) {
+          break;
+        }
+        after = ids.get(ids.size() - 1);
+      }
+      log.info("Delivered-event set warmed with {} ids in {} ms ({} chunks)",
+          loaded, (System.nanoTime() - started) / 1_000_000, chunks.size());
+    } catch (Exception ex) {
+      log.error("Delivered-event set warm-up stopped after {} ids: {}", loaded, ex.toString(), ex);
+    }
+    return loaded;
+  }
+}
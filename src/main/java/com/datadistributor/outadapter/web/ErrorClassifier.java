@@ -13,6 +13,9 @@ import reactor.netty.http.client.PrematureCloseException;
 @Component
 public class ErrorClassifier {
 
+  /**
+   * Classifies a send failure; never returns null, unknown errors become {@code FAIL_UNKNOWN}.
+   */
   public FailureClassification classify(Throwable ex) {
     Throwable root = unwrap(ex);
     String status;
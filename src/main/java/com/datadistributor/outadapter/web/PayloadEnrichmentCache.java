@@ -0,0 +1,222 @@
+package com.datadistributor.outadapter.web;
+
+import com.datadistributor.application.config.DataDistributorProperties;
+import com.datadistributor.domain.SignalEvent;
+import com.datadistributor.domain.inport.AccountBalanceUseCase;
+import com.datadistributor.domain.inport.InitialCehQueryUseCase;
+import java.time.Clock;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Read-through cache for the two lookups every outbound payload needs: the initial CEH id of the
+ * signal and the BC number of the agreement. Entries are bounded (least recently used are dropped
+ * first) and expire after {@code payload-cache.ttl-seconds}. Misses are cached too, so an
+ * agreement without a balance row is not queried again for every event.
+ *
+ * <p>{@link #warmUp(Collection)} loads the ids for a whole batch with two set-based queries before
+ * the batch is sent. Initial CEH ids change when the first OVERLIMIT event of a signal is
+ * delivered, so the sender evicts the signal via {@link #evictInitialCehId(Long)} after mapping.
+ * Lookups run outside the lock; a value loaded before an eviction of its key is returned to the
+ * caller but not cached, so a slow load cannot put the stale miss back.</p>
+ */
+@Component
+@Slf4j
+public class PayloadEnrichmentCache {
+
+  private final InitialCehQueryUseCase initialCehQueryUseCase;
+  private final AccountBalanceUseCase accountBalanceQueryUseCase;
+  private final Clock clock;
+  private final boolean enabled;
+  private final ExpiringLruMap<Long, String> initialCehIdBySignal;
+  private final ExpiringLruMap<Long, Long> bcNumberByAgreement;
+
+  public PayloadEnrichmentCache(InitialCehQueryUseCase initialCehQueryUseCase,
+                                AccountBalanceUseCase accountBalanceQueryUseCase,
+                                DataDistributorProperties properties,
+                                Clock clock) {
+    this.initialCehQueryUseCase = initialCehQueryUseCase;
+    this.accountBalanceQueryUseCase = accountBalanceQueryUseCase;
+    this.clock = clock;
+    DataDistributorProperties.PayloadCache config = properties.getPayloadCache();
+    this.enabled = config.isEnabled();
+    int maxEntries = Math.max(1, config.getMaxEntries());
+    long ttlMillis = Math.max(1, config.getTtlSeconds()) * 1000L;
+    this.initialCehIdBySignal = new ExpiringLruMap<>(maxEntries, ttlMillis);
+    this.bcNumberByAgreement = new ExpiringLruMap<>(maxEntries, ttlMillis);
+  }
+
+  public Optional<String> findInitialCehId(Long signalId) {
+    if (!enabled || signalId == null) {
+      return initialCehQueryUseCase.findInitialCehId(signalId);
+    }
+    return initialCehIdBySignal.computeIfAbsent(signalId, now(), initialCehQueryUseCase::findInitialCehId);
+  }
+
+  public Optional<Long> findBcNumber(Long agreementId) {
+    if (!enabled || agreementId == null) {
+      return accountBalanceQueryUseCase.findBcNumberByAgreementId(agreementId);
+    }
+    return bcNumberByAgreement.computeIfAbsent(agreementId, now(),
+        accountBalanceQueryUseCase::findBcNumberByAgreementId);
+  }
+
+  /**
+   * Preloads initial CEH ids and BC numbers for the events of a batch that are not cached yet. A
+   * failed warm-up is logged and left to the per-event read-through path.
+   */
+  public void warmUp(Collection<SignalEvent> events) {
+    if (!enabled || events == null || events.isEmpty()) {
+      return;
+    }
+    long now = now();
+    try {
+      long signalsLoadStarted = initialCehIdBySignal.evictionEpoch();
+      List<Long> signalIds = initialCehIdBySignal.missing(
+          events.stream().map(SignalEvent::getSignalId), now);
+      if (!signalIds.isEmpty()) {
+        initialCehIdBySignal.putAll(signalIds, initialCehQueryUseCase.findInitialCehIds(signalIds), now,
+            signalsLoadStarted);
+      }
+      long agreementsLoadStarted = bcNumberByAgreement.evictionEpoch();
+      List<Long> agreementIds = bcNumberByAgreement.missing(
+          events.stream().map(SignalEvent::getAgreementId), now);
+      if (!agreementIds.isEmpty()) {
+        bcNumberByAgreement.putAll(agreementIds,
+            accountBalanceQueryUseCase.findBcNumbersByAgreementIds(agreementIds), now, agreementsLoadStarted);
+      }
+      log.debug("Payload cache warmed for {} events: {} signals and {} agreements loaded",
+          events.size(), signalIds.size(), agreementIds.size());
+    } catch (Exception ex) {
+      log.warn("Payload cache warm-up failed, falling back to per-event lookups: {}", ex.toString());
+    }
+  }
+
+  /**
+   * Drops the cached initial CEH id of a signal so the next payload reads the stored mapping.
+   */
+  public void evictInitialCehId(Long signalId) {
+    if (signalId != null) {
+      initialCehIdBySignal.remove(signalId);
+    }
+  }
+
+  public void clear() {
+    initialCehIdBySignal.clear();
+    bcNumberByAgreement.clear();
+  }
+
+  private long now() {
+    return clock.millis();
+  }
+
+  /**
+   * Access-ordered map that keeps at most {@code maxEntries} values, each valid for
+   * {@code ttlMillis} after it was loaded. Absent lookups are stored as {@link Optional#empty()}.
+   *
+   * <p>Every eviction advances an epoch and is remembered per key with that epoch, in a map bounded
+   * like the entries. A load notes the epoch it started at and is only stored if its key was not
+   * evicted since; once the record of an eviction is dropped, its epoch applies to every key.</p>
+   */
+  private static final class ExpiringLruMap<K, V> {
+
+    private final long ttlMillis;
+    private final LinkedHashMap<K, Entry<V>> entries;
+    private final LinkedHashMap<K, Long> evictions;
+    private long evictionEpoch;
+    private long forgottenEvictionEpoch;
+
+    private ExpiringLruMap(int maxEntries, long ttlMillis) {
+      this.ttlMillis = ttlMillis;
+      this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+          return size() > maxEntries;
+        }
+      };
+      this.evictions = new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<K, Long> eldest) {
+          if (size() <= maxEntries) {
+            return false;
+          }
+          forgottenEvictionEpoch = Math.max(forgottenEvictionEpoch, eldest.getValue());
+          return true;
+        }
+      };
+    }
+
+    Optional<V> computeIfAbsent(K key, long now, Function<K, Optional<V>> loader) {
+      long loadStarted;
+      synchronized (this) {
+        Entry<V> cached = entries.get(key);
+        if (cached != null && cached.expiresAt() > now) {
+          return cached.value();
+        }
+        loadStarted = evictionEpoch;
+      }
+      // load outside the lock so a slow query does not block other threads
+      Optional<V> loaded = Objects.requireNonNullElse(loader.apply(key), Optional.empty());
+      synchronized (this) {
+        if (!evictedSince(key, loadStarted)) {
+          entries.put(key, new Entry<>(loaded, now + ttlMillis));
+        }
+      }
+      return loaded;
+    }
+
+    synchronized long evictionEpoch() {
+      return evictionEpoch;
+    }
+
+    synchronized List<K> missing(Stream<K> keys, long now) {
+      return keys
+          .filter(Objects::nonNull)
+          .distinct()
+          .filter(key -> {
+            Entry<V> cached = entries.get(key);
+            return cached == null || cached.expiresAt() <= now;
+          })
+          .toList();
+    }
+
+    /**
+     * Stores values loaded from {@code loadStarted} on, skipping keys evicted since.
+     */
+    synchronized void putAll(Collection<K> keys, Map<K, V> found, long now, long loadStarted) {
+      for (K key : keys) {
+        if (!evictedSince(key, loadStarted)) {
+          entries.put(key, new Entry<>(Optional.ofNullable(found.get(key)), now + ttlMillis));
+        }
+      }
+    }
+
+    synchronized void remove(K key) {
+      entries.remove(key);
+      // re-inserted so the latest eviction is the last one dropped from the bounded map
+      evictions.remove(key);
+      evictions.put(key, ++evictionEpoch);
+    }
+
+    synchronized void clear() {
+      entries.clear();
+      evictions.clear();
+      forgottenEvictionEpoch = ++evictionEpoch;
+    }
+
+    private boolean evictedSince(K key, long loadStarted) {
+      return evictions.getOrDefault(key, forgottenEvictionEpoch) > loadStarted;
+    }
+  }
+
+  private record Entry<V>(Optional<V> value, long expiresAt) {
+  }
+}
@@ -2,6 +2,7 @@ package com.datadistributor.outadapter.web;
 
 import com.datadistributor.application.config.DataDistributorProperties;
 import com.datadistributor.domain.SignalEvent;
+import com.datadistributor.outadapter.metrics.DeliveryMetrics;
 import io.github.resilience4j.circuitbreaker.CircuitBreaker;
 import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
 import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
@@ -9,19 +10,23 @@ import java.io.IOException;
 import java.time.Duration;
 import java.util.Collections;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientRequestException;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
 import reactor.netty.http.client.PrematureCloseException;
 import reactor.util.retry.Retry;
 
 /**
  * Reactive implementation using WebClient with retry and circuit breaker. Honors timeout and retry
- * settings from properties. Used when non-blocking client is configured.
+ * settings from properties. Used when non-blocking client is configured. The request payload is
+ * built on the send-path JDBC scheduler because enrichment may query the database.
  */
 @Component("reactiveSignalEventClient")
 @Slf4j
@@ -31,21 +36,47 @@ public class ReactiveSignalEventClient implements SignalEventClient {
   private final SignalEventRequestFactory requestFactory;
   private final DataDistributorProperties properties;
   private final CircuitBreaker circuitBreaker;
+  private final DeliveryMetrics deliveryMetrics;
+  private final Scheduler jdbcScheduler;
+  private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+  private final TokenBucketRateLimiter rateLimiter;
 
   public ReactiveSignalEventClient(WebClient webClient,
                                    SignalEventRequestFactory requestFactory,
                                    DataDistributorProperties properties,
-                                   CircuitBreakerRegistry circuitBreakerRegistry) {
+                                   CircuitBreakerRegistry circuitBreakerRegistry,
+                                   DeliveryMetrics deliveryMetrics,
+                                   @Qualifier("sendPathJdbcScheduler") Scheduler jdbcScheduler,
+                                   AdaptiveConcurrencyLimiter concurrencyLimiter,
+                                   TokenBucketRateLimiter rateLimiter) {
     this.webClient = webClient;
     this.requestFactory = requestFactory;
     this.properties = properties;
     this.circuitBreaker = circuitBreakerRegistry.circuitBreaker("signalEventApi");
+    this.deliveryMetrics = deliveryMetrics;
+    this.jdbcScheduler = jdbcScheduler;
+    this.concurrencyLimiter = concurrencyLimiter;
+    this.rateLimiter = rateLimiter;
   }
 
   @Override
   public Mono<ApiResponse> send(SignalEvent event) {
-    SignalEventRequest request = requestFactory.build(event);
-    return webClient.post()
+    return Mono.fromCallable(() -> buildRequest(event))
+        .subscribeOn(jdbcScheduler)
+        .flatMap(request -> post(event, request));
+  }
+
+  private SignalEventRequest buildRequest(SignalEvent event) {
+    long started = System.nanoTime();
+    try {
+      return requestFactory.build(event);
+    } finally {
+      deliveryMetrics.recordSendPathDb("request-build", started);
+    }
+  }
+
+  private Mono<ApiResponse> post(SignalEvent event, SignalEventRequest request) {
+    Mono<ApiResponse> exchange = webClient.post()
         .uri(request.uri())
         .bodyValue(request.payload())
         .exchangeToMono(clientResponse -> clientResponse
@@ -53,7 +84,10 @@ public class ReactiveSignalEventClient implements SignalEventClient {
             .defaultIfEmpty(Collections.emptyMap())
             .map(body -> new ApiResponse(body, clientResponse.rawStatusCode())))
         .timeout(Duration.ofSeconds(properties.getExternalApi().getRequestTimeoutSeconds()))
-        .transformDeferred(CircuitBreakerOperator.of(circuitBreaker))
+        .transformDeferred(CircuitBreakerOperator.of(circuitBreaker));
+    // the sender paid for the first attempt; every retry is another CEH request and needs a token
+    AtomicInteger attempt = new AtomicInteger();
+    return Mono.defer(() -> attempt.getAndIncrement() == 0 ? exchange : rateLimiter.acquire().then(exchange))
         .retryWhen(buildRetrySpec(event.getUabsEventId()));
   }
 
@@ -63,12 +97,17 @@ public class ReactiveSignalEventClient implements SignalEventClient {
         .backoff(retry.getAttempts(), Duration.ofSeconds(retry.getBackoffSeconds()))
         .maxBackoff(Duration.ofSeconds(retry.getMaxBackoffSeconds()))
         .filter(this::isRetryable)
-        .doAfterRetry(retrySignal -> log.warn(
-            "🔁 Retry attempt #{} for uabsEventId={} cause={} breakerState={}",
-            retrySignal.totalRetries() + 1,
-            uabsEventId,
-            retrySignal.failure() == null ? "unknown" : retrySignal.failure().toString(),
-            circuitBreaker.getState()));
+        .doAfterRetry(retrySignal -> {
+          deliveryMetrics.recordSendRetry();
+          // every retryable failure is an overload signal, even if a later attempt succeeds
+          concurrencyLimiter.onRetry();
+          log.warn(
+              "🔁 Retry attempt #{} for uabsEventId={} cause={} breakerState={}",
+              retrySignal.totalRetries() + 1,
+              uabsEventId,
+              retrySignal.failure() == null ? "unknown" : retrySignal.failure().toString(),
+              circuitBreaker.getState());
+        });
   }
 
   private boolean isRetryable(Throwable ex) {
@@ -3,6 +3,7 @@ package com.datadistributor.outadapter.web;
 import com.datadistributor.application.config.DataDistributorProperties;
 import com.datadistributor.domain.SignalEvent;
 import com.datadistributor.outadapter.entity.SignalAuditJpaEntity;
+import com.datadistributor.outadapter.metrics.DeliveryMetrics;
 import com.datadistributor.outadapter.repository.springjpa.SignalAuditRepository;
 import java.time.LocalDateTime;
 import lombok.RequiredArgsConstructor;
@@ -11,6 +12,8 @@ import org.springframework.stereotype.Component;
 
 /**
  * Persists audit trail entries for every delivery attempt and centralizes truncation/logging rules.
+ * With write-behind enabled rows go through {@link SignalAuditWriteBehindBuffer}; callers flush via
+ * {@link #flushPendingAudits()} once the rows must be visible.
  */
 @Component
 @RequiredArgsConstructor
@@ -19,6 +22,8 @@ public class SignalAuditService {
 
   private final SignalAuditRepository signalAuditRepository;
   private final DataDistributorProperties properties;
+  private final DeliveryMetrics deliveryMetrics;
+  private final SignalAuditWriteBehindBuffer writeBehindBuffer;
 
   public void persistAudit(SignalEvent event, String status, String responseCode, String message) {
     SignalAuditJpaEntity audit = new SignalAuditJpaEntity();
@@ -32,7 +37,27 @@ public class SignalAuditService {
     audit.setResponseCode(truncate(responseCode, 10));
     audit.setResponseMessage(truncate(message, 100));
     audit.setAuditRecordDateTime(LocalDateTime.now());
-    signalAuditRepository.save(audit);
+    if (properties.getAudit().isWriteBehindEnabled()) {
+      writeBehindBuffer.enqueue(audit);
+      return;
+    }
+    long started = System.nanoTime();
+    boolean persisted = false;
+    try {
+      signalAuditRepository.save(audit);
+      persisted = true;
+    } finally {
+      deliveryMetrics.recordAuditWrite(started, persisted);
+    }
+  }
+
+  /**
+   * Writes any buffered audit rows. No-op when write-behind is disabled.
+   */
+  public void flushPendingAudits() {
+    if (properties.getAudit().isWriteBehindEnabled()) {
+      writeBehindBuffer.flush();
+    }
   }
 
   public void logAuditFailure(SignalEvent event, Exception ex) {
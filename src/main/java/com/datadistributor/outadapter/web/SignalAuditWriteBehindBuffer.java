@@ -0,0 +1,147 @@
+package com.datadistributor.outadapter.web;
+
+import com.datadistributor.application.config.DataDistributorProperties;
+import com.datadistributor.outadapter.entity.SignalAuditJpaEntity;
+import com.datadistributor.outadapter.metrics.DeliveryMetrics;
+import com.datadistributor.outadapter.repository.springjpa.SignalAuditRepository;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Write-behind sink for audit rows. Rows are queued by the delivery threads and written in JDBC
+ * batches by a background thread, either when {@code writeBehindBatchSize} rows are pending or every
+ * {@code writeBehindFlushIntervalMs}. Callers that need the rows visible (end of a batch, retry
+ * send, shutdown) call {@link #flush()}.
+ *
+ * <p>If a batch insert fails it is rolled back as a whole and the rows are retried one by one, so a
+ * single bad row neither drops nor duplicates the rest; rows that still fail are logged with the usual LOG001 audit failure message.</p>
+ */
+@Component
+@Slf4j
+public class SignalAuditWriteBehindBuffer {
+
+  private final SignalAuditRepository signalAuditRepository;
+  private final DeliveryMetrics deliveryMetrics;
+  private final int batchSize;
+  private final Queue<SignalAuditJpaEntity> pending = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger pendingCount = new AtomicInteger();
+  private final AtomicBoolean flushScheduled = new AtomicBoolean();
+  private final ReentrantLock flushLock = new ReentrantLock();
+  private final ScheduledExecutorService flusher;
+
+  public SignalAuditWriteBehindBuffer(SignalAuditRepository signalAuditRepository,
+                                      DeliveryMetrics deliveryMetrics,
+                                      DataDistributorProperties properties) {
+    this.signalAuditRepository = signalAuditRepository;
+    this.deliveryMetrics = deliveryMetrics;
+    DataDistributorProperties.Audit audit = properties.getAudit();
+    this.batchSize = Math.max(1, audit.getWriteBehindBatchSize());
+    this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "audit-write-behind");
+      thread.setDaemon(true);
+      return thread;
+    });
+    if (audit.isWriteBehindEnabled()) {
+      long intervalMs = Math.max(1, audit.getWriteBehindFlushIntervalMs());
+      flusher.scheduleWithFixedDelay(this::flushQuietly, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  /**
+   * Queues a row for writing. Reaching the batch size hands a flush to the background thread so the
+   * caller never waits on the database.
+   */
+  public void enqueue(SignalAuditJpaEntity audit) {
+    if (audit == null) {
+      return;
+    }
+    pending.add(audit);
+    if (pendingCount.incrementAndGet() >= batchSize && flushScheduled.compareAndSet(false, true)) {
+      flusher.execute(() -> {
+        flushScheduled.set(false);
+        flushQuietly();
+      });
+    }
+  }
+
+  /**
+   * Writes every row queued so far and returns how many were attempted.
+   */
+  public int flush() {
+    flushLock.lock();
+    try {
+      int attempted = 0;
+      List<SignalAuditJpaEntity> chunk = drain();
+      while (!chunk.isEmpty()) {
+        write(chunk);
+        attempted += chunk.size();
+        chunk = drain();
+      }
+      return attempted;
+    } finally {
+      flushLock.unlock();
+    }
+  }
+
+  public int pendingCount() {
+    return pendingCount.get();
+  }
+
+  @PreDestroy
+  void shutdown() {
+    flusher.shutdown();
+    int flushed = flush();
+    if (flushed > 0) {
+      log.info("Flushed {} pending audit rows on shutdown", flushed);
+    }
+  }
+
+  private void flushQuietly() {
+    try {
+      flush();
+    } catch (Exception ex) {
+      log.error("Audit write-behind flush failed: {}", ex.toString(), ex);
+    }
+  }
+
+  private List<SignalAuditJpaEntity> drain() {
+    List<SignalAuditJpaEntity> chunk = new ArrayList<>(Math.min(batchSize, Math.max(pendingCount.get(), 1)));
+    SignalAuditJpaEntity next;
+    while (chunk.size() < batchSize && (next = pending.poll()) != null) {
+      pendingCount.decrementAndGet();
+      chunk.add(next);
+    }
+    return chunk;
+  }
+
+  private void write(List<SignalAuditJpaEntity> chunk) {
+    long started = System.nanoTime();
+    try {
+      signalAuditRepository.insertAll(chunk);
+      deliveryMetrics.recordAuditFlush(started, chunk.size(), true);
+      return;
+    } catch (Exception ex) {
+      deliveryMetrics.recordAuditFlush(started, chunk.size(), false);
+      log.warn("Batched insert of {} audit rows failed, retrying row by row: {}", chunk.size(), ex.toString());
+    }
+    for (SignalAuditJpaEntity audit : chunk) {
+      try {
+        signalAuditRepository.save(audit);
+      } catch (Exception ex) {
+        log.error("LOG001- Audit Record uabsEventId={} failed to be persisted: {}",
+            audit.getUabsEventId(), ex.toString(), ex);
+      }
+    }
+  }
+}
@@ -6,6 +6,11 @@ import com.datadistributor.domain.inport.InitialCehMappingUseCase;
 import com.datadistributor.domain.job.BatchResult;
 import com.datadistributor.domain.outport.SignalEventBatchPort;
 import com.datadistributor.domain.outport.SignalEventSenderPort;
+import com.datadistributor.outadapter.metrics.DeliveryMetrics;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -16,11 +21,19 @@ import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
 
 /**
  * Outbound adapter that posts signal events to CEH using either blocking Feign or reactive
  * WebClient, depending on configuration. Supports batch submission (async) for the main flow and
- * single-event send for retries. Persists audit entries for PASS/FAIL and maps initial CEH ids.
+ * single-event send for retries. Persists audit entries for PASS/FAIL and maps initial CEH ids;
+ * that database work runs on the send-path JDBC scheduler so Netty event loops never block. Every
+ * call holds a slot of the shared {@link AdaptiveConcurrencyLimiter} when it is enabled and then
+ * takes a token from the shared {@link TokenBucketRateLimiter}. Events the {@link DeliveredEventSet}
+ * knows CEH already accepted are not posted again and count as delivered.
+ *
+ * <p>With ordered lanes configured, the events of one signal within a batch are posted one after
+ * another in {@code eventRecordDateTime} order; different signals still run concurrently.</p>
  */
 @Component
 @Slf4j
@@ -32,22 +45,48 @@ public class SignalEventBatchSender implements SignalEventBatchPort, SignalEvent
   private final SignalAuditService signalAuditService;
   private final DataDistributorProperties properties;
   private final ErrorClassifier errorClassifier;
+  private final DeliveryMetrics deliveryMetrics;
+  private final PayloadEnrichmentCache enrichmentCache;
+  private final Scheduler jdbcScheduler;
+  private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+  private final TokenBucketRateLimiter rateLimiter;
+  private final DeliveredEventSet deliveredEvents;
   private final int maxConcurrentRequests;
+  private final boolean orderedPerSignal;
   private static final AtomicLong SEND_SEQUENCE = new AtomicLong();
+  private static final Comparator<SignalEvent> SEND_ORDER =
+      Comparator.comparing(SignalEvent::getEventRecordDateTime, Comparator.nullsLast(LocalDateTime::compareTo))
+          .thenComparing(SignalEvent::getUabsEventId, Comparator.nullsLast(Long::compareTo));
 
   public SignalEventBatchSender(@org.springframework.beans.factory.annotation.Qualifier("blockingSignalEventClient") SignalEventClient blockingClient,
                                 @org.springframework.beans.factory.annotation.Qualifier("reactiveSignalEventClient") SignalEventClient reactiveClient,
                                 InitialCehMappingUseCase initialCehMappingUseCase,
                                 SignalAuditService signalAuditService,
                                 DataDistributorProperties properties,
-                                ErrorClassifier errorClassifier) {
+                                ErrorClassifier errorClassifier,
+                                DeliveryMetrics deliveryMetrics,
+                                PayloadEnrichmentCache enrichmentCache,
+                                @org.springframework.beans.factory.annotation.Qualifier("sendPathJdbcScheduler") Scheduler jdbcScheduler,
+                                AdaptiveConcurrencyLimiter concurrencyLimiter,
+                                TokenBucketRateLimiter rateLimiter,
+                                DeliveredEventSet deliveredEvents) {
     this.blockingClient = blockingClient;
     this.reactiveClient = reactiveClient;
     this.initialCehMappingUseCase = initialCehMappingUseCase;
     this.signalAuditService = signalAuditService;
     this.properties = properties;
     this.errorClassifier = errorClassifier;
-    this.maxConcurrentRequests = Math.max(1, properties.getProcessing().getRateLimit());
+    this.deliveryMetrics = deliveryMetrics;
+    this.enrichmentCache = enrichmentCache;
+    this.jdbcScheduler = jdbcScheduler;
+    this.concurrencyLimiter = concurrencyLimiter;
+    this.rateLimiter = rateLimiter;
+    this.deliveredEvents = deliveredEvents;
+    // with the shared limiter active the per-batch cap only needs to stay out of its way
+    this.maxConcurrentRequests = concurrencyLimiter.isEnabled()
+        ? concurrencyLimiter.maxLimit()
+        : Math.max(1, properties.getProcessing().getRateLimit());
+    this.orderedPerSignal = properties.getProcessing().getOrderedLanes() > 0;
   }
 
   @Override
@@ -57,22 +96,72 @@ public class SignalEventBatchSender implements SignalEventBatchPort, SignalEvent
     if (size == 0) {
       return CompletableFuture.completedFuture(BatchResult.empty());
     }
+    List<SignalEvent> pending = deliveredEvents.withoutDelivered(events);
+    int alreadyDelivered = size - pending.size();
+    if (alreadyDelivered > 0) {
+      deliveryMetrics.recordDuplicatesSkipped(alreadyDelivered);
+      log.info("⏭️ Skipping {} of {} events already accepted by CEH", alreadyDelivered, size);
+      if (pending.isEmpty()) {
+        return CompletableFuture.completedFuture(new BatchResult(alreadyDelivered, 0));
+      }
+    }
 
     log.info("🚀 Sending batch of {} events | concurrencyCap={} | thread={}",
-        size, maxConcurrentRequests, Thread.currentThread().getName());
+        pending.size(), concurrencyLimiter.isEnabled() ? concurrencyLimiter.currentLimit() : maxConcurrentRequests,
+        Thread.currentThread().getName());
+
+    // two set-based lookups for the whole batch instead of two queries per payload
+    enrichmentCache.warmUp(pending);
 
-    return Flux.fromIterable(events)
-        .flatMap(this::postEventReactive, maxConcurrentRequests)
+    Flux<Boolean> sent = orderedPerSignal
+        ? Flux.fromIterable(inSendOrderBySignal(pending))
+            .flatMap(signalEvents -> Flux.fromIterable(signalEvents).concatMap(this::postEventReactive),
+                maxConcurrentRequests)
+        : Flux.fromIterable(pending).flatMap(this::postEventReactive, maxConcurrentRequests);
+    return sent
         .collectList()
-        .map(BatchResult::fromBooleans)
+        // make this batch's audit rows and initial CEH mappings visible before the batch is reported as done
+        .doOnNext(results -> flushPendingWrites())
+        .map(results -> BatchResult.fromBooleans(results).merge(new BatchResult(alreadyDelivered, 0)))
         .doOnError(ex -> log.error("❌ Batch completed with errors: {}", ex.getMessage(), ex))
         .doOnSuccess(result -> log.info("✅ Batch completed: {} success / {} failure",
             result.successCount(), result.failureCount()))
         .toFuture();
   }
 
+  /**
+   * Groups the batch by signal, keeping first-seen signal order, with each group sorted by
+   * {@code eventRecordDateTime} and then {@code uabsEventId}.
+   */
+  static List<List<SignalEvent>> inSendOrderBySignal(List<SignalEvent> events) {
+    Map<Long, List<SignalEvent>> bySignal = new LinkedHashMap<>();
+    for (SignalEvent event : events) {
+      bySignal.computeIfAbsent(event.getSignalId(), id -> new ArrayList<>()).add(event);
+    }
+    List<List<SignalEvent>> groups = new ArrayList<>(bySignal.size());
+    for (List<SignalEvent> group : bySignal.values()) {
+      group.sort(SEND_ORDER);
+      groups.add(group);
+    }
+    return groups;
+  }
+
   private Mono<Boolean> postEventReactive(SignalEvent event) {
     Objects.requireNonNull(event, "event must not be null");
+    if (!concurrencyLimiter.isEnabled()) {
+      return rateLimiter.acquire().then(Mono.defer(() -> postEvent(event, null)));
+    }
+    // the token is taken after the slot so tokens are never spent by calls that cannot start yet
+    return concurrencyLimiter.acquire()
+        .flatMap(permit -> rateLimiter.acquire()
+            .then(Mono.defer(() -> {
+              permit.callStarted();
+              return postEvent(event, permit);
+            }))
+            .doFinally(signal -> permit.release()));
+  }
+
+  private Mono<Boolean> postEvent(SignalEvent event, AdaptiveConcurrencyLimiter.Permit permit) {
     long seq = SEND_SEQUENCE.incrementAndGet();
     String targetBaseUrl = properties.getExternalApi().getBaseUrl();
     if (seq % 1000 == 0) {
@@ -83,17 +172,46 @@ public class SignalEventBatchSender implements SignalEventBatchPort, SignalEvent
 
     SignalEventClient client = properties.getExternalApi().isUseBlockingClient() ? blockingClient : reactiveClient;
 
-    return client.send(event)
-        .doOnSuccess(response -> handleSuccess(event, response))
-        .map(response -> hasCehEventId(response == null ? null : response.body()))
+    Mono<ApiResponse> call = client.send(event);
+    long started = deliveryMetrics.sendStarted();
+    return call
+        .doFinally(signal -> deliveryMetrics.sendFinished())
+        .switchIfEmpty(Mono.error(() -> new IllegalStateException("Empty response for uabsEventId=" + event.getUabsEventId())))
+        // responses arrive on the Netty event loop; audit and initial CEH mapping are blocking JDBC work
+        .publishOn(jdbcScheduler)
+        .map(response -> {
+          recordOutcome(permit, response.statusCode());
+          handleSuccess(event, response, started);
+          return hasCehEventId(response.body());
+        })
         .onErrorResume(ex -> {
-          handleException(event, ex);
+          FailureClassification failure = handleException(event, ex, started);
+          if (permit != null && isOverload(failure)) {
+            permit.overloaded();
+          }
           return Mono.just(false);
         });
   }
 
-  private void handleSuccess(SignalEvent event, ApiResponse response) {
-    Object ceh = response == null ? null : response.body().get("ceh_event_id");
+  private void recordOutcome(AdaptiveConcurrencyLimiter.Permit permit, int statusCode) {
+    if (permit == null) {
+      return;
+    }
+    if (statusCode == 429 || statusCode >= 500) {
+      permit.overloaded();
+    } else {
+      permit.succeeded();
+    }
+  }
+
+  private boolean isOverload(FailureClassification failure) {
+    return "FAIL_TRANSIENT".equals(failure.status()) || "TIMEOUT".equals(failure.status());
+  }
+
+  private void handleSuccess(SignalEvent event, ApiResponse response, long started) {
+    Object ceh = response.body() == null ? null : response.body().get("ceh_event_id");
+    deliveryMetrics.recordSend(started, ceh != null, ceh != null ? "PASS" : "FAIL");
+    long dbStarted = System.nanoTime();
     if (ceh != null) {
       long cehId = parseLongSafely(ceh);
       try {
@@ -101,7 +219,9 @@ public class SignalEventBatchSender implements SignalEventBatchPort, SignalEvent
       } catch (Exception ex) {
         signalAuditService.logAuditFailure(event, ex);
       }
+      deliveredEvents.markDelivered(event.getUabsEventId());
       initialCehMappingUseCase.handleInitialCehMapping(event, cehId);
+      enrichmentCache.evictInitialCehId(event.getSignalId());
       log.info("✅ Posted uabsEventId={} | ceh_event_id={} | thread={}",
           event.getUabsEventId(), cehId, Thread.currentThread().getName());
     } else {
@@ -113,21 +233,26 @@ public class SignalEventBatchSender implements SignalEventBatchPort, SignalEvent
       log.warn("⚠️ No ceh_event_id returned for uabsEventId={} | thread={}",
           event.getUabsEventId(), Thread.currentThread().getName());
     }
+    deliveryMetrics.recordSendPathDb("audit", dbStarted);
   }
 
-  private void handleException(SignalEvent event, Throwable ex) {
+  private FailureClassification handleException(SignalEvent event, Throwable ex, long started) {
     FailureClassification failure = errorClassifier.classify(ex);
+    deliveryMetrics.recordSend(started, false, failure.status());
 
     log.warn("💾 Persisting FAIL for uabsEventId={} | status={} | reason={} | error={}",
         event.getUabsEventId(), failure.status(), failure.reason(), ex.toString());
+    long dbStarted = System.nanoTime();
     try {
       signalAuditService.persistAudit(event, failure.status(), failure.responseCode(), ex.getClass().getSimpleName() + ": " + ex.getMessage());
     } catch (Exception auditEx) {
       signalAuditService.logAuditFailure(event, auditEx);
     }
+    deliveryMetrics.recordSendPathDb("audit", dbStarted);
 
     log.error("❌ Final failure for uabsEventId={} | status={} | error={} | thread={}",
         event.getUabsEventId(), failure.status(), ex.toString(), Thread.currentThread().getName());
+    return failure;
   }
 
   private long parseLongSafely(Object value) {
@@ -143,11 +268,27 @@ public class SignalEventBatchSender implements SignalEventBatchPort, SignalEvent
 
   @Override
   public boolean send(SignalEvent event) {
+    if (deliveredEvents.contains(event.getUabsEventId())) {
+      deliveryMetrics.recordDuplicatesSkipped(1);
+      log.info("⏭️ Retry skipped for uabsEventId={}: already accepted by CEH", event.getUabsEventId());
+      return true;
+    }
     try {
       return postEventReactive(event).blockOptional().orElse(false);
     } catch (Exception ex) {
       log.error("❌ Retry send failed for uabsEventId={} | error={}", event.getUabsEventId(), ex.toString());
       return false;
+    } finally {
+      flushPendingWrites();
+    }
+  }
+
+  private void flushPendingWrites() {
+    initialCehMappingUseCase.flushPendingMappings();
+    try {
+      signalAuditService.flushPendingAudits();
+    } catch (Exception ex) {
+      log.error("LOG001- Flushing buffered audit records failed: {}", ex.toString(), ex);
     }
   }
 }
@@ -2,15 +2,14 @@ package com.datadistributor.outadapter.web;
 
 import com.datadistributor.domain.SignalEvent;
 import com.datadistributor.application.config.DataDistributorProperties;
-import com.datadistributor.domain.inport.AccountBalanceUseCase;
-import com.datadistributor.domain.inport.InitialCehQueryUseCase;
 import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
 /**
- * Produces payloads enriched with customer and initial CEH ids for outbound dispatch.
+ * Produces payloads enriched with customer and initial CEH ids for outbound dispatch. Both ids are
+ * read through {@link PayloadEnrichmentCache}.
  */
 @Component
 @RequiredArgsConstructor
@@ -18,15 +17,12 @@ public class SignalEventPayloadFactory {
 
   private static final DateTimeFormatter ISO_INSTANT = DateTimeFormatter.ISO_INSTANT;
 
-  private final InitialCehQueryUseCase initialCehQueryUseCase;
-  private final AccountBalanceUseCase accountBalanceQueryUseCase;
+  private final PayloadEnrichmentCache enrichmentCache;
   private final DataDistributorProperties properties;
 
   public SignalEventPayload buildPayload(SignalEvent event) {
-    String initialEventId = initialCehQueryUseCase.findInitialCehId(event.getSignalId()).orElse(null);
-    Long customerId = accountBalanceQueryUseCase
-        .findBcNumberByAgreementId(event.getAgreementId())
-        .orElse(null);
+    String initialEventId = enrichmentCache.findInitialCehId(event.getSignalId()).orElse(null);
+    Long customerId = enrichmentCache.findBcNumber(event.getAgreementId()).orElse(null);
 
     String submittedDateTime = formatEventRecordDateTime(event.getEventRecordDateTime());
 
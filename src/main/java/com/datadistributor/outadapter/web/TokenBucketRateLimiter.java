@@ -0,0 +1,72 @@
+package com.datadistributor.outadapter.web;
+
+import com.datadistributor.application.config.DataDistributorProperties;
+import com.datadistributor.outadapter.metrics.DeliveryMetrics;
+import java.time.Duration;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Process-wide token bucket that caps CEH calls at {@code external-api.requests-per-second} with
+ * bursts of up to {@code external-api.burst} calls. Batch sends and retry sends share the bucket,
+ * so overlapping runs cannot exceed the contracted rate together.
+ *
+ * <p>Tokens are reserved in arrival order: a caller that finds the bucket empty is told how long
+ * to wait for its token and waits on a timer, never on a thread.</p>
+ */
+@Component
+public class TokenBucketRateLimiter {
+
+  private final double permitsPerNano;
+  private final double burst;
+  private final DeliveryMetrics deliveryMetrics;
+  private double tokens;
+  private boolean started;
+  private long lastRefillNanos;
+
+  public TokenBucketRateLimiter(DataDistributorProperties properties, DeliveryMetrics deliveryMetrics) {
+    DataDistributorProperties.ExternalApi api = properties.getExternalApi();
+    double requestsPerSecond = Math.max(0, api.getRequestsPerSecond());
+    this.permitsPerNano = requestsPerSecond / 1_000_000_000d;
+    this.burst = api.getBurst() > 0 ? api.getBurst() : Math.max(1, requestsPerSecond);
+    this.deliveryMetrics = deliveryMetrics;
+    this.tokens = burst;
+  }
+
+  public boolean isEnabled() {
+    return permitsPerNano > 0;
+  }
+
+  /**
+   * Completes once a token is available for one CEH call; immediately when the limiter is off or
+   * the bucket still holds tokens.
+   */
+  public Mono<Void> acquire() {
+    if (!isEnabled()) {
+      return Mono.empty();
+    }
+    return Mono.defer(() -> {
+      long waitNanos = reserve(System.nanoTime());
+      deliveryMetrics.recordThrottleWait(waitNanos);
+      return waitNanos == 0 ? Mono.empty() : Mono.delay(Duration.ofNanos(waitNanos)).then();
+    });
+  }
+
+  /**
+   * Takes one token, letting the balance go negative, and returns how long the caller has to wait
+   * until that token has been refilled.
+   */
+  synchronized long reserve(long now) {
+    if (!started) {
+      started = true;
+      lastRefillNanos = now;
+    }
+    tokens = Math.min(burst, tokens + (now - lastRefillNanos) * permitsPerNano);
+    lastRefillNanos = now;
+    tokens -= 1;
+    if (tokens >= 0) {
+      return 0;
+    }
+    return (long) Math.ceil(-tokens / permitsPerNano);
+  }
+}
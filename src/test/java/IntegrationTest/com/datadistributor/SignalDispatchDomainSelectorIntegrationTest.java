@@ -105,6 +105,10 @@ class SignalDispatchDomainSelectorIntegrationTest {
       LocalDate day = inv.getArgument(0);
       return eventsByDate.getOrDefault(day, List.of());
     });
+    when(signalEventPort.streamSignalEventsOfThisDate(any())).thenAnswer(inv -> {
+      LocalDate day = inv.getArgument(0);
+      return eventsByDate.getOrDefault(day, List.of()).stream();
+    });
   }
 
   private void stubInitialState(AtomicBoolean openSent, Long openEventId) {
@@ -0,0 +1,43 @@
+package com.datadistributor.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.datadistributor.outadapter.entity.SignalAuditJpaEntity;
+import com.datadistributor.outadapter.web.SignalAuditWriteBehindBuffer;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+class AuditWriteBehindIntegrationTest extends AbstractIntegrationTest {
+
+  @Autowired
+  private SignalAuditWriteBehindBuffer auditBuffer;
+
+  @Test
+  void batchFailingPartwayIsRolledBackBeforeTheRowByRowRetry() {
+    auditBuffer.enqueue(audit(1L, "PASS"));
+    auditBuffer.enqueue(audit(2L, "STATUS-LONGER-THAN-THE-COLUMN"));
+    auditBuffer.enqueue(audit(3L, "PASS"));
+
+    auditBuffer.flush();
+
+    assertThat(auditRepo.count()).isEqualTo(2);
+    assertThat(auditRepo.findAll())
+        .extracting(SignalAuditJpaEntity::getUabsEventId)
+        .containsExactlyInAnyOrder(1L, 3L);
+  }
+
+  private SignalAuditJpaEntity audit(long uabsEventId, String status) {
+    SignalAuditJpaEntity audit = new SignalAuditJpaEntity();
+    audit.setAuditRecordDateTime(LocalDateTime.now());
+    audit.setAgreementId(100L);
+    audit.setSignalId(10L);
+    audit.setUabsEventId(uabsEventId);
+    audit.setConsumerId(1L);
+    audit.setUnauthorizedDebitBalance(500L);
+    audit.setStatus(status);
+    audit.setResponseCode("200");
+    audit.setResponseMessage("ok");
+    return audit;
+  }
+}
@@ -4,6 +4,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import com.datadistributor.domain.SignalEvent;
 import com.datadistributor.domain.inport.SignalEventUseCase;
+import com.datadistributor.domain.outport.SignalEventPort;
 import com.datadistributor.outadapter.entity.AccountBalanceJpaEntity;
 import com.datadistributor.outadapter.entity.ProductRiskMonitoringJpaEntity;
 import com.datadistributor.outadapter.entity.SignalEventJpaEntity;
@@ -14,6 +15,8 @@ import com.datadistributor.outadapter.repository.springjpa.SignalJpaRepository;
 import jakarta.persistence.EntityManager;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
+import org.hibernate.Session;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -28,6 +31,8 @@ class CehFlagFilteringIntegrationTest extends AbstractIntegrationTest {
   @Autowired
   private SignalEventUseCase signalEventUseCase;
   @Autowired
+  private SignalEventPort signalEventPort;
+  @Autowired
   private SignalEventJpaRepository eventRepo;
   @Autowired
   private SignalJpaRepository signalRepo;
@@ -115,6 +120,80 @@ class CehFlagFilteringIntegrationTest extends AbstractIntegrationTest {
         .containsExactlyInAnyOrder(reportable1.getUabsEventId(), reportable2.getUabsEventId());
   }
 
+  @Test
+  void keysetPagingForCEH_continuesAfterLastSeenIdAndKeepsFilters() {
+    SignalJpaEntity signal = new SignalJpaEntity();
+    signal.setAgreementId(203L);
+    signal.setSignalStartDate(testDate);
+    signal = signalRepo.save(signal);
+    long signalId = signal.getSignalId();
+
+    SignalEventJpaEntity first = createEvent(signalId, 203L, testDate.atTime(10, 0), 300L, "Y");
+    createEvent(signalId, 203L, testDate.atTime(11, 0), 300L, "N");
+    SignalEventJpaEntity second = createEvent(signalId, 203L, testDate.atTime(12, 0), 300L, "Y");
+    SignalEventJpaEntity third = createEvent(signalId, 203L, testDate.atTime(13, 0), 300L, "Y");
+
+    List<SignalEvent> page1 = signalEventPort.getSignalEventsForCEHAfter(testDate, null, 2);
+    List<SignalEvent> page2 = signalEventPort.getSignalEventsForCEHAfter(
+        testDate, page1.get(page1.size() - 1).getUabsEventId(), 2);
+    List<SignalEvent> page3 = signalEventPort.getSignalEventsForCEHAfter(
+        testDate, page2.get(page2.size() - 1).getUabsEventId(), 2);
+
+    assertThat(page1).extracting(SignalEvent::getUabsEventId)
+        .containsExactly(first.getUabsEventId(), second.getUabsEventId());
+    assertThat(page2).extracting(SignalEvent::getUabsEventId)
+        .containsExactly(third.getUabsEventId());
+    assertThat(page3).isEmpty();
+  }
+
+  @Test
+  void streamAndKeysetPagesOfTheDay_returnEveryEventOfTheDayInIdOrder() {
+    SignalJpaEntity signal = new SignalJpaEntity();
+    signal.setAgreementId(204L);
+    signal.setSignalStartDate(testDate);
+    signal = signalRepo.save(signal);
+    long signalId = signal.getSignalId();
+
+    SignalEventJpaEntity first = createEvent(signalId, 204L, testDate.atTime(10, 0), 300L, "Y");
+    SignalEventJpaEntity second = createEvent(signalId, 204L, testDate.atTime(11, 0), 10L, "N");
+    SignalEventJpaEntity third = createEvent(signalId, 204L, testDate.atTime(23, 59), 300L, "Y");
+    createEvent(signalId, 204L, testDate.plusDays(1).atTime(0, 0), 300L, "Y");
+
+    List<Long> streamed;
+    try (var events = signalEventPort.streamSignalEventsOfThisDate(testDate)) {
+      streamed = events.map(SignalEvent::getUabsEventId).toList();
+    }
+    List<SignalEvent> page1 = signalEventPort.getSignalEventsOfThisDateAfter(testDate, null, 2);
+    List<SignalEvent> page2 = signalEventPort.getSignalEventsOfThisDateAfter(
+        testDate, page1.get(page1.size() - 1).getUabsEventId(), 2);
+
+    assertThat(streamed).containsExactly(first.getUabsEventId(), second.getUabsEventId(), third.getUabsEventId());
+    assertThat(page1).extracting(SignalEvent::getUabsEventId)
+        .containsExactly(first.getUabsEventId(), second.getUabsEventId());
+    assertThat(page2).extracting(SignalEvent::getSignalId).containsExactly(signalId);
+    assertThat(page2).extracting(SignalEvent::getGrv).containsExactly((short) 1);
+  }
+
+  @Test
+  @Transactional
+  void pageQueries_projectEveryColumnWithoutManagingEntities() {
+    SignalJpaEntity signal = new SignalJpaEntity();
+    signal.setAgreementId(205L);
+    signal.setSignalStartDate(testDate);
+    signal = signalRepo.save(signal);
+    SignalEventJpaEntity stored = createEvent(signal.getSignalId(), 205L, testDate.atTime(9, 30), 300L, "Y");
+    entityManager.flush();
+    entityManager.clear();
+
+    List<SignalEvent> page = signalEventPort.getSignalEventsForCEHAfter(testDate, null, 10);
+
+    SignalEvent expected = new SignalEvent(stored.getUabsEventId(), signal.getSignalId(), 205L,
+        testDate.atTime(9, 30), "OVERLIMIT_SIGNAL", "OVERLIMIT_SIGNAL", 300L, testDate, (short) 1, (short) 1);
+    assertThat(page).containsExactly(expected);
+    assertThat(signalEventPort.getAllSignalEventsOfThisDate(testDate)).containsExactly(expected);
+    assertThat(entityManager.unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+  }
+
   SignalEventJpaEntity createEvent(long signalId, long agreementId, LocalDateTime timestamp,
                                            long balance, String reportToCEH) {
     SignalJpaEntity signal = signalRepo.findById(signalId).orElseThrow();
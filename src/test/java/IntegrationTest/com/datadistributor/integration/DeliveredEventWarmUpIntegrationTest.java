@@ -0,0 +1,42 @@
+package com.datadistributor.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.datadistributor.outadapter.entity.SignalAuditJpaEntity;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+
+class DeliveredEventWarmUpIntegrationTest extends AbstractIntegrationTest {
+
+  @Test
+  void onlyEventsWhoseLatestAuditRowIsPassCountAsDelivered() {
+    LocalDateTime now = LocalDateTime.now();
+    saveAudit(1L, "PASS", now);
+    saveAudit(1L, "FAIL", now.plusSeconds(1));
+    saveAudit(2L, "FAIL", now);
+    saveAudit(2L, "PASS", now.plusSeconds(1));
+    saveAudit(3L, "PASS", now);
+    saveAudit(3L, "PASS", now.plusSeconds(1));
+    saveAudit(4L, "FAIL", now);
+
+    assertThat(auditRepo.findDeliveredEventIdsAfter(-1L, 1L, PageRequest.of(0, 10)))
+        .containsExactly(2L, 3L);
+    assertThat(auditRepo.findDeliveredEventIdsAfter(2L, 1L, PageRequest.of(0, 10)))
+        .containsExactly(3L);
+  }
+
+  private void saveAudit(long uabsEventId, String status, LocalDateTime recordedAt) {
+    SignalAuditJpaEntity audit = new SignalAuditJpaEntity();
+    audit.setAuditRecordDateTime(recordedAt);
+    audit.setAgreementId(100L);
+    audit.setSignalId(10L);
+    audit.setUabsEventId(uabsEventId);
+    audit.setConsumerId(1L);
+    audit.setUnauthorizedDebitBalance(500L);
+    audit.setStatus(status);
+    audit.setResponseCode("PASS".equals(status) ? "200" : "500");
+    audit.setResponseMessage(status.toLowerCase());
+    auditRepo.save(audit);
+  }
+}
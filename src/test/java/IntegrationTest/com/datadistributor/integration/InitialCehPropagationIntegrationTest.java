@@ -6,6 +6,8 @@ import com.datadistributor.outadapter.entity.CehResponseInitialEventEntity;
 import com.datadistributor.outadapter.entity.CehResponseInitialEventId;
 import com.datadistributor.outadapter.entity.SignalEventJpaEntity;
 import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
 import org.junit.jupiter.api.Test;
 
 class InitialCehPropagationIntegrationTest extends AbstractIntegrationTest {
@@ -33,4 +35,16 @@ class InitialCehPropagationIntegrationTest extends AbstractIntegrationTest {
         .extracting(c -> c.getId().getCehInitialEventId())
         .isEqualTo(cehId);
   }
+
+  @Test
+  void mergeAllInsertsMissingMappingsAndKeepsExistingOnes() {
+    cehInitRepo.save(new CehResponseInitialEventEntity(new CehResponseInitialEventId("111", 42_001L)));
+
+    cehInitRepo.mergeAll(Map.of(42_001L, "999", 42_002L, "222"));
+    cehInitRepo.mergeAll(Map.of(42_002L, "333"));
+
+    assertThat(cehInitRepo.findByIdSignalIdIn(List.of(42_001L, 42_002L)))
+        .extracting(CehResponseInitialEventEntity::getId)
+        .containsExactly(new CehResponseInitialEventId("111", 42_001L), new CehResponseInitialEventId("222", 42_002L));
+  }
 }
@@ -88,6 +88,11 @@ class SignalEventDeliveryReportFileTest {
       return page == 0 ? events : Collections.emptyList();
     }
 
+    @Override
+    public List<SignalEvent> getSignalEventsForCEHAfter(LocalDate date, Long afterUabsEventId, int size) {
+      return afterUabsEventId == null ? events : Collections.emptyList();
+    }
+
     @Override
     public long countSignalEventsForCEH(LocalDate date) {
       return totalCount;
@@ -0,0 +1,263 @@
+package com.datadistributor.loadtest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.datadistributor.application.DataDistributorApplication;
+import com.datadistributor.domain.inport.SignalEventProcessingUseCase;
+import com.datadistributor.domain.job.JobResult;
+import com.datadistributor.outadapter.metrics.DeliveryMetrics;
+import com.datadistributor.support.CehStubServer;
+import com.datadistributor.support.LoadTestDataSeeder;
+import com.datadistributor.support.QueryCountingDataSource;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.CountAtBucket;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.DoubleStream;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+/**
+ * Load test of one processing date end to end: H2 seeded with {@code loadtest.events} signals,
+ * the real WebClient sender and audit path, and an embedded {@link CehStubServer} as CEH. Reports
+ * throughput, per-event send latency, JDBC statements and heap use to stdout and
+ * {@code target/load-test/}. Skipped unless {@code -Dloadtest=true}:
+ *
+ * <pre>
+ * mvn test -Dtest=DispatchLoadTest -Dsurefire.failIfNoSpecifiedTests=false -Dloadtest=true \
+ *     -Dloadtest.events=50000 -Dloadtest.ceh.latency-median-ms=30 -Dloadtest.ceh.error-rate=0.02 \
+ *     -Dloadtest.ceh.burst-every-ms=10000 -Dloadtest.ceh.burst-length-ms=500 -Dloadtest.ceh.slow-close-ms=200
+ * </pre>
+ *
+ * The stub settings are listed on {@link CehStubServer.Config#fromSystemProperties}; any
+ * {@code data-distributor.*} property can be overridden with {@code -D} as well.
+ */
+@SpringBootTest(
+    classes = {DataDistributorApplication.class, DispatchLoadTest.LoadTestConfig.class},
+    webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+class DispatchLoadTest {
+
+  private static CehStubServer stub;
+
+  @Autowired
+  private SignalEventProcessingUseCase processingUseCase;
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+  @Autowired
+  private DataSource dataSource;
+  @Autowired
+  private MeterRegistry meterRegistry;
+
+  @DynamicPropertySource
+  static void loadTestProperties(DynamicPropertyRegistry registry) throws IOException {
+    stub = CehStubServer.start(CehStubServer.Config.fromSystemProperties("loadtest.ceh"));
+    registry.add("data-distributor.external-api.base-url", stub::baseUrl);
+    // own database, so other integration tests in the same JVM do not see the seeded day
+    registry.add("spring.datasource.url", () -> "jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1;MODE=MSSQLServer");
+    registry.add("data-distributor.processing.batch-size",
+        () -> System.getProperty("data-distributor.processing.batch-size", "300"));
+    registry.add("data-distributor.processing.rate-limit",
+        () -> System.getProperty("data-distributor.processing.rate-limit", "20"));
+    registry.add("data-distributor.external-api.retry.attempts",
+        () -> System.getProperty("data-distributor.external-api.retry.attempts", "3"));
+  }
+
+  @AfterAll
+  static void stopStub() {
+    if (stub != null) {
+      stub.close();
+    }
+  }
+
+  @Test
+  void dispatchesASeededDay() throws Exception {
+    int events = Integer.getInteger("loadtest.events", 10_000);
+    int warmUpEvents = Integer.getInteger("loadtest.warm-up-events", 200);
+    LocalDate date = LocalDate.now();
+    QueryCountingDataSource counter = (QueryCountingDataSource) dataSource;
+    LoadTestDataSeeder seeder = new LoadTestDataSeeder(jdbcTemplate);
+
+    long seedStarted = System.nanoTime();
+    seeder.seed(date.minusDays(1), warmUpEvents);
+    seeder.seed(date, events);
+    long seedMs = elapsedMs(seedStarted);
+
+    // the first requests pay for connection setup, class loading and JIT; keep them out of the numbers
+    if (warmUpEvents > 0) {
+      processingUseCase.processEventsForDate("load-test-warm-up", date.minusDays(1));
+      meterRegistry.find(DeliveryMetrics.SEND).timers().forEach(meterRegistry::remove);
+    }
+    CehStubServer.Counts stubBefore = stub.counts();
+    long auditedBefore = auditRows();
+
+    System.gc();
+    List<MemoryPoolMXBean> heapPools = ManagementFactory.getMemoryPoolMXBeans().stream()
+        .filter(pool -> pool.getType() == MemoryType.HEAP)
+        .toList();
+    heapPools.forEach(MemoryPoolMXBean::resetPeakUsage);
+    long heapBefore = heapUsed();
+    long gcCountBefore = gcCount();
+    long gcTimeBefore = gcTimeMs();
+    counter.reset();
+
+    long runStarted = System.nanoTime();
+    JobResult result = processingUseCase.processEventsForDate("load-test", date);
+    long runMs = elapsedMs(runStarted);
+    long runStatements = counter.statements();
+    long runBatches = counter.batches();
+
+    long outcomes = (long) result.getSuccessCount() + result.getFailureCount();
+    long drainStarted = System.nanoTime();
+    int polls = 0;
+    long audited = 0;
+    while (elapsedMs(drainStarted) < 60_000) {
+      polls++;
+      audited = auditRows() - auditedBefore;
+      if (audited >= outcomes) {
+        break;
+      }
+      Thread.sleep(100);
+    }
+    long drainMs = elapsedMs(drainStarted);
+    long totalStatements = counter.statements() - polls;
+
+    CehStubServer.Counts stubRun = stub.counts().minus(stubBefore);
+    long peakHeap = heapPools.stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum();
+    Collection<Timer> sendTimers = meterRegistry.find(DeliveryMetrics.SEND).timers();
+
+    String report = String.join(System.lineSeparator(),
+        "=== Dispatch load test: " + events + " events on " + date + " ===",
+        String.format("seed                 %,d ms", seedMs),
+        String.format("run                  %,d ms  (%s)", runMs, result.getMessage()),
+        String.format("outcomes             success=%,d failure=%,d audited=%,d (audit drained after %,d ms)",
+            result.getSuccessCount(), result.getFailureCount(), audited, drainMs),
+        String.format("throughput           %,.1f events/s", outcomes * 1000.0 / Math.max(1, runMs)),
+        String.format("send latency         p50<=%.1f ms p99<=%.1f ms max=%.1f ms (histogram bucket bounds)",
+            percentileMs(sendTimers, 0.50), percentileMs(sendTimers, 0.99), maxMs(sendTimers)),
+        String.format("jdbc statements      %,d during run (%,d batches), %,d incl. audit drain, %.2f per event",
+            runStatements, runBatches, totalStatements, totalStatements / (double) Math.max(1, events)),
+        String.format("heap                 before=%,d MiB after=%,d MiB peak(pools)=%,d MiB",
+            heapBefore >> 20, heapUsed() >> 20, peakHeap >> 20),
+        String.format("gc                   %,d collections, %,d ms", gcCount() - gcCountBefore, gcTimeMs() - gcTimeBefore),
+        String.format("ceh stub             requests=%,d ok=%,d 500=%,d 429=%,d slow-close=%,d",
+            stubRun.requests(), stubRun.ok(), stubRun.serverErrors(), stubRun.throttled(), stubRun.slowClosed()));
+    System.out.println(report);
+    Path reportDir = Path.of("target", "load-test");
+    Files.createDirectories(reportDir);
+    Files.writeString(reportDir.resolve("dispatch-" + events + "-" + System.currentTimeMillis() + ".txt"), report);
+
+    assertThat(outcomes).isEqualTo(events);
+    assertThat(result.getSuccessCount()).isPositive();
+  }
+
+  /**
+   * Upper bound of the histogram bucket holding the given percentile, over all outcome and status
+   * tags of the send timer.
+   */
+  private static double percentileMs(Collection<Timer> timers, double percentile) {
+    TreeMap<Double, Double> cumulative = new TreeMap<>();
+    long total = 0;
+    for (Timer timer : timers) {
+      total += timer.count();
+      for (CountAtBucket bucket : timer.takeSnapshot().histogramCounts()) {
+        cumulative.merge(bucket.bucket(TimeUnit.MILLISECONDS), bucket.count(), Double::sum);
+      }
+    }
+    double target = percentile * total;
+    return cumulative.entrySet().stream()
+        .filter(entry -> entry.getValue() >= target)
+        .map(java.util.Map.Entry::getKey)
+        .findFirst()
+        .orElse(maxMs(timers));
+  }
+
+  private static double maxMs(Collection<Timer> timers) {
+    return timers.stream().mapToDouble(timer -> timer.max(TimeUnit.MILLISECONDS)).max().orElse(0);
+  }
+
+  private long auditRows() {
+    return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM signal_audit", Long.class);
+  }
+
+  private static long heapUsed() {
+    return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+  }
+
+  private static long gcCount() {
+    return ManagementFactory.getGarbageCollectorMXBeans().stream()
+        .mapToLong(GarbageCollectorMXBean::getCollectionCount).sum();
+  }
+
+  private static long gcTimeMs() {
+    return ManagementFactory.getGarbageCollectorMXBeans().stream()
+        .mapToLong(GarbageCollectorMXBean::getCollectionTime).sum();
+  }
+
+  private static long elapsedMs(long startedNanos) {
+    return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedNanos);
+  }
+
+  /**
+   * Counts every JDBC statement of the run and gives the send timer fixed latency buckets, which
+   * the in-memory test registry needs to report percentiles across tags.
+   */
+  @TestConfiguration
+  static class LoadTestConfig {
+
+    @Bean
+    MeterFilter sendLatencyBuckets() {
+      double[] bucketsNanos = DoubleStream.iterate(TimeUnit.MILLISECONDS.toNanos(1), nanos -> nanos * 1.15)
+          .takeWhile(nanos -> nanos <= TimeUnit.SECONDS.toNanos(120))
+          .toArray();
+      return new MeterFilter() {
+        @Override
+        public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+          if (!DeliveryMetrics.SEND.equals(id.getName())) {
+            return config;
+          }
+          return DistributionStatisticConfig.builder().serviceLevelObjectives(bucketsNanos).build().merge(config);
+        }
+      };
+    }
+
+    @Bean
+    static BeanPostProcessor queryCountingDataSourcePostProcessor() {
+      return new BeanPostProcessor() {
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+          if (bean instanceof DataSource dataSource && !(bean instanceof QueryCountingDataSource)) {
+            return new QueryCountingDataSource(dataSource);
+          }
+          return bean;
+        }
+      };
+    }
+  }
+}
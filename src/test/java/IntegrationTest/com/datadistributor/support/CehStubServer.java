@@ -0,0 +1,185 @@
+package com.datadistributor.support;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Embedded stand-in for the CEH write-signal endpoint, for load tests on one machine. Every POST
+ * is answered after a log-normal latency with the configured median and p99, and may be turned
+ * into an error:
+ * <ul>
+ *   <li>{@code errorRate}: share of requests answered with 500;</li>
+ *   <li>429 bursts: for {@code burstLengthMs} out of every {@code burstEveryMs}, every request gets
+ *       429 with {@code Retry-After: 1};</li>
+ *   <li>slow close: a share of successful responses is streamed without a length and the
+ *       connection is held open for {@code slowCloseMs} after the body.</li>
+ * </ul>
+ * Successful responses carry a unique {@code ceh_event_id} like the real service.
+ */
+public final class CehStubServer implements AutoCloseable {
+
+  private static final double Z_99 = 2.326;
+
+  private final Config config;
+  private final HttpServer server;
+  private final ExecutorService executor;
+  private final long startedNanos = System.nanoTime();
+  private final AtomicLong cehIds = new AtomicLong(500_000_000L);
+  private final AtomicLong requests = new AtomicLong();
+  private final AtomicLong ok = new AtomicLong();
+  private final AtomicLong serverErrors = new AtomicLong();
+  private final AtomicLong throttled = new AtomicLong();
+  private final AtomicLong slowClosed = new AtomicLong();
+
+  private CehStubServer(Config config) throws IOException {
+    this.config = config;
+    this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 512);
+    this.executor = Executors.newFixedThreadPool(config.threads(), runnable -> {
+      Thread thread = new Thread(runnable, "ceh-stub");
+      thread.setDaemon(true);
+      return thread;
+    });
+    server.createContext(config.path(), this::handle);
+    server.setExecutor(executor);
+  }
+
+  public static CehStubServer start(Config config) throws IOException {
+    CehStubServer stub = new CehStubServer(config);
+    stub.server.start();
+    return stub;
+  }
+
+  public String baseUrl() {
+    return "http://127.0.0.1:" + server.getAddress().getPort();
+  }
+
+  /** Requests answered so far, by outcome. */
+  public Counts counts() {
+    return new Counts(requests.get(), ok.get(), serverErrors.get(), throttled.get(), slowClosed.get());
+  }
+
+  @Override
+  public void close() {
+    server.stop(0);
+    executor.shutdownNow();
+  }
+
+  private void handle(HttpExchange exchange) throws IOException {
+    try (exchange; InputStream body = exchange.getRequestBody()) {
+      body.readAllBytes();
+      if (!"POST".equals(exchange.getRequestMethod())) {
+        exchange.sendResponseHeaders(405, -1);
+        return;
+      }
+      requests.incrementAndGet();
+      ThreadLocalRandom random = ThreadLocalRandom.current();
+      sleep(latencyMillis(random));
+      if (inBurst()) {
+        throttled.incrementAndGet();
+        exchange.getResponseHeaders().set("Retry-After", "1");
+        respond(exchange, 429, "{\"error\": \"too many requests\"}", 0);
+      } else if (random.nextDouble() < config.errorRate()) {
+        serverErrors.incrementAndGet();
+        respond(exchange, 500, "{\"error\": \"simulated\"}", 0);
+      } else {
+        ok.incrementAndGet();
+        boolean slow = config.slowCloseMs() > 0 && random.nextDouble() < config.slowCloseRate();
+        if (slow) {
+          slowClosed.incrementAndGet();
+        }
+        respond(exchange, 200, "{\"ceh_event_id\": " + cehIds.incrementAndGet() + "}",
+            slow ? config.slowCloseMs() : 0);
+      }
+    }
+  }
+
+  private void respond(HttpExchange exchange, int status, String json, long holdOpenMs) throws IOException {
+    byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+    exchange.getResponseHeaders().set("Content-Type", "application/json");
+    // without a length the client only sees the end of the body when the stream is closed
+    exchange.sendResponseHeaders(status, holdOpenMs > 0 ? 0 : bytes.length);
+    OutputStream out = exchange.getResponseBody();
+    out.write(bytes);
+    out.flush();
+    sleep(holdOpenMs);
+    out.close();
+  }
+
+  private long latencyMillis(ThreadLocalRandom random) {
+    double median = config.latencyMedianMs();
+    if (median <= 0) {
+      return 0;
+    }
+    double sigma = Math.log(Math.max(config.latencyP99Ms(), median) / median) / Z_99;
+    return Math.round(median * Math.exp(sigma * random.nextGaussian()));
+  }
+
+  private boolean inBurst() {
+    if (config.burstEveryMs() <= 0 || config.burstLengthMs() <= 0) {
+      return false;
+    }
+    long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedNanos);
+    return elapsedMs % config.burstEveryMs() >= config.burstEveryMs() - config.burstLengthMs();
+  }
+
+  private static void sleep(long millis) {
+    if (millis <= 0) {
+      return;
+    }
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Request counters of the stub; {@link #minus} gives the requests of one run.
+   */
+  public record Counts(long requests, long ok, long serverErrors, long throttled, long slowClosed) {
+
+    public Counts minus(Counts earlier) {
+      return new Counts(requests - earlier.requests, ok - earlier.ok, serverErrors - earlier.serverErrors,
+          throttled - earlier.throttled, slowClosed - earlier.slowClosed);
+    }
+  }
+
+  /**
+   * Behaviour of the stub. A burst starts at the end of every {@code burstEveryMs} window, so the
+   * first requests of a run are not throttled.
+   */
+  public record Config(String path,
+                       int threads,
+                       double latencyMedianMs,
+                       double latencyP99Ms,
+                       double errorRate,
+                       long burstEveryMs,
+                       long burstLengthMs,
+                       long slowCloseMs,
+                       double slowCloseRate) {
+
+    /** Reads the stub settings from {@code <prefix>.*} system properties. */
+    public static Config fromSystemProperties(String prefix) {
+      return new Config(
+          System.getProperty(prefix + ".path", "/create-signal/write-signal"),
+          Integer.getInteger(prefix + ".threads", 200),
+          Double.parseDouble(System.getProperty(prefix + ".latency-median-ms", "20")),
+          Double.parseDouble(System.getProperty(prefix + ".latency-p99-ms", "150")),
+          Double.parseDouble(System.getProperty(prefix + ".error-rate", "0.01")),
+          Long.getLong(prefix + ".burst-every-ms", 0L),
+          Long.getLong(prefix + ".burst-length-ms", 0L),
+          Long.getLong(prefix + ".slow-close-ms", 0L),
+          Double.parseDouble(System.getProperty(prefix + ".slow-close-rate", "0.05")));
+    }
+  }
+}
@@ -0,0 +1,91 @@
+package com.datadistributor.support;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Seeds a processing date for load tests with plain JDBC batches, so large days are set up in
+ * seconds. Every signal gets an account and one OVERLIMIT event above the balance threshold on the
+ * date, which the selector sends as the signal's initial event. Each call creates new signals and
+ * agreements, so several dates can be seeded without touching each other's prerequisites.
+ */
+public class LoadTestDataSeeder {
+
+  private static final int CHUNK = 5_000;
+  private static final long FIRST_AGREEMENT_ID = 7_000_000L;
+
+  private final JdbcTemplate jdbcTemplate;
+  private long nextAgreementId = FIRST_AGREEMENT_ID;
+
+  public LoadTestDataSeeder(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  /**
+   * Inserts {@code signals} signals with one event each on {@code date} and returns the number of
+   * events.
+   */
+  public int seed(LocalDate date, int signals) {
+    ensureProductRiskMonitoring();
+    long firstAgreementId = nextAgreementId;
+    nextAgreementId += signals;
+    // started within the days-open threshold of the next day too, so a signal that failed on a
+    // seeded day is not sent again as overdue on the following one
+    Date start = Date.valueOf(date.minusDays(3));
+    Date end = Date.valueOf(date.plusDays(30));
+    Date bookDate = Date.valueOf(date.minusDays(5));
+    for (int from = 0; from < signals; from += CHUNK) {
+      int to = Math.min(signals, from + CHUNK);
+      List<Object[]> accounts = new ArrayList<>(to - from);
+      List<Object[]> signalRows = new ArrayList<>(to - from);
+      for (int i = from; i < to; i++) {
+        long agreementId = firstAgreementId + i;
+        accounts.add(new Object[] {agreementId, agreementId, Date.valueOf(date), Date.valueOf(date)});
+        signalRows.add(new Object[] {agreementId, start, end});
+      }
+      jdbcTemplate.batchUpdate("INSERT INTO account_balance_overview (agreement_id, grv, iban, life_cycle_status,"
+          + " bc_number, currency_code, book_date, unauthorized_debit_balance, last_book_date_balance_cr_to_dt,"
+          + " is_agreement_part_of_acbs) VALUES (?, 1, 'DE1234567890123456', 1, ?, 'EUR', ?, 0, ?, 'Y')",
+          accounts);
+      jdbcTemplate.batchUpdate(
+          "INSERT INTO signal (agreement_id, signal_start_date, signal_end_date) VALUES (?, ?, ?)", signalRows);
+    }
+
+    Map<Long, Long> signalByAgreement = new HashMap<>(signals * 2);
+    jdbcTemplate.query("SELECT signal_id, agreement_id FROM signal WHERE agreement_id >= ?",
+        rs -> {
+          signalByAgreement.put(rs.getLong(2), rs.getLong(1));
+        },
+        firstAgreementId);
+
+    List<Object[]> events = new ArrayList<>(CHUNK);
+    for (int i = 0; i < signals; i++) {
+      long agreementId = firstAgreementId + i;
+      Timestamp recordedAt = Timestamp.valueOf(date.atTime(LocalTime.of(1, 0)).plusNanos(i * 1_000L));
+      events.add(new Object[] {signalByAgreement.get(agreementId), agreementId, recordedAt, bookDate});
+      if (events.size() == CHUNK || i == signals - 1) {
+        jdbcTemplate.batchUpdate("INSERT INTO signal_events (signal_id, agreement_id, event_record_date_time,"
+            + " event_type, event_status, unauthorized_debit_balance, book_date, grv, product_id)"
+            + " VALUES (?, ?, ?, 'CONTRACT_UPDATE', 'OVERLIMIT_SIGNAL', 300, ?, 1, 1)", events);
+        events.clear();
+      }
+    }
+    return signals;
+  }
+
+  private void ensureProductRiskMonitoring() {
+    Integer existing = jdbcTemplate.queryForObject(
+        "SELECT COUNT(*) FROM product_risk_monitoring WHERE grv = 1", Integer.class);
+    if (existing == null || existing == 0) {
+      jdbcTemplate.update("INSERT INTO product_risk_monitoring (grv, product_id, currency_code, monitor_kraandicht,"
+          + " monitor_cw014_signal, report_cw014_to_ceh, report_cw014_to_dial) VALUES (1, 1, 'EUR', 'Y', 'Y', 'Y', 'Y')");
+    }
+  }
+}
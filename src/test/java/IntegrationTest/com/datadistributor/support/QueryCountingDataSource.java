@@ -0,0 +1,88 @@
+package com.datadistributor.support;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Counts the JDBC round trips made through a data source: every {@code execute*} call on a
+ * statement, with a batch counted once. JPA and plain JDBC access are both seen, since they share
+ * the pool.
+ */
+public class QueryCountingDataSource extends DelegatingDataSource {
+
+  private final AtomicLong statements = new AtomicLong();
+  private final AtomicLong batches = new AtomicLong();
+
+  public QueryCountingDataSource(DataSource target) {
+    super(target);
+  }
+
+  /** Statements executed, batches included. */
+  public long statements() {
+    return statements.get();
+  }
+
+  /** Of {@link #statements()}, how many were JDBC batches. */
+  public long batches() {
+    return batches.get();
+  }
+
+  public void reset() {
+    statements.set(0);
+    batches.set(0);
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    return countingConnection(super.getConnection());
+  }
+
+  @Override
+  public Connection getConnection(String username, String password) throws SQLException {
+    return countingConnection(super.getConnection(username, password));
+  }
+
+  private Connection countingConnection(Connection connection) {
+    return proxy(Connection.class, connection, (method, result) ->
+        result instanceof Statement statement ? countingStatement(statement) : result);
+  }
+
+  private Statement countingStatement(Statement statement) {
+    Class<? extends Statement> type = statement instanceof java.sql.CallableStatement
+        ? java.sql.CallableStatement.class
+        : statement instanceof java.sql.PreparedStatement ? java.sql.PreparedStatement.class : Statement.class;
+    return proxy(type, statement, (method, result) -> {
+      if (method.getName().startsWith("execute")) {
+        statements.incrementAndGet();
+        if (method.getName().startsWith("executeBatch") || method.getName().startsWith("executeLargeBatch")) {
+          batches.incrementAndGet();
+        }
+      }
+      return result;
+    });
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T> T proxy(Class<? extends T> type, T target, ResultMapper mapper) {
+    InvocationHandler handler = (proxy, method, args) -> {
+      try {
+        return mapper.map(method, method.invoke(target, args));
+      } catch (InvocationTargetException ex) {
+        throw ex.getTargetException();
+      }
+    };
+    return (T) Proxy.newProxyInstance(QueryCountingDataSource.class.getClassLoader(), new Class<?>[] {type}, handler);
+  }
+
+  private interface ResultMapper {
+    Object map(Method method, Object result);
+  }
+}
@@ -2,6 +2,7 @@ package com.datadistributor.application.config;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
@@ -27,6 +28,18 @@ class AsyncConfigurationTest {
     assertThat(config.rateLimitedExecutor(executor)).isSameAs(executor);
   }
 
+  @Test
+  void executorMetricsExposeQueueDepthAndActiveThreads() {
+    ThreadPoolTaskExecutor executor = config.dataDistributorTaskExecutor();
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    config.dataDistributorTaskExecutorMetrics(executor).bindTo(registry);
+
+    assertThat(registry.get("data.distributor.executor.queue.depth").gauge().value()).isZero();
+    assertThat(registry.get("data.distributor.executor.active").gauge().value()).isZero();
+    executor.shutdown();
+  }
+
   private DataDistributorProperties buildProperties() {
     DataDistributorProperties props = new DataDistributorProperties();
     DataDistributorProperties.Async async = new DataDistributorProperties.Async();
@@ -0,0 +1,83 @@
+package com.datadistributor.application.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.zaxxer.hikari.HikariDataSource;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+
+/**
+ * Tests for pool sizing and the read/write pools of the persistence configuration.
+ */
+class PersistenceConfigurationTest {
+
+  private final DataDistributorProperties properties = new DataDistributorProperties();
+
+  @Test
+  void derivesPoolSizesFromBatchesInFlightAndJdbcThreads() {
+    properties.getProcessing().setMaxInFlightBatches(20);
+    properties.getAsync().setMaxPoolSize(50);
+    properties.getAsync().setJdbcThreads(10);
+
+    PersistencePoolSizing sizing = PersistencePoolSizing.from(properties);
+
+    assertThat(sizing.readPoolSize()).isEqualTo(32);
+    assertThat(sizing.writePoolSize()).isEqualTo(12);
+    assertThat(sizing.shortfalls()).isEmpty();
+  }
+
+  @Test
+  void reportsConfiguredPoolsSmallerThanTheConcurrency() {
+    properties.getAsync().setMaxPoolSize(4);
+    properties.getAsync().setJdbcThreads(10);
+    properties.getPersistence().setReadPoolSize(30);
+    properties.getPersistence().setWritePoolSize(5);
+
+    PersistencePoolSizing sizing = PersistencePoolSizing.from(properties);
+
+    assertThat(sizing.readPoolSize()).isEqualTo(30);
+    assertThat(sizing.requiredRead()).isEqualTo(16);
+    assertThat(sizing.shortfalls()).singleElement().asString().startsWith("write pool has 5 connections");
+  }
+
+  @Test
+  void checksTheSinglePoolAgainstReadsAndWritesTogether() {
+    properties.getPersistence().setSplitPools(false);
+    try (HikariDataSource small = new HikariDataSource(); HikariDataSource large = new HikariDataSource()) {
+      small.setPoolName("small");
+      small.setMaximumPoolSize(10);
+      large.setMaximumPoolSize(44);
+
+      assertThat(PersistenceConfiguration.poolShortfalls(properties, List.of(small, large)))
+          .singleElement().asString().startsWith("pool small has 10 connections");
+    }
+  }
+
+  @Test
+  void sqlServerPoolsSendStringParametersAsVarchar() throws Exception {
+    DataSourceProperties dataSourceProperties = new DataSourceProperties();
+    dataSourceProperties.setDriverClassName("com.microsoft.sqlserver.jdbc.SQLServerDriver");
+    dataSourceProperties.afterPropertiesSet();
+
+    try (HikariDataSource pool = PersistenceConfiguration.pool(dataSourceProperties,
+        "jdbc:sqlserver://localhost:1433;databaseName=data_distributor", "dd-read", 7, properties.getPersistence())) {
+      assertThat(pool.getPoolName()).isEqualTo("dd-read");
+      assertThat(pool.getMaximumPoolSize()).isEqualTo(7);
+      assertThat(pool.getConnectionTimeout()).isEqualTo(30_000L);
+      assertThat(pool.getDataSourceProperties()).containsEntry("sendStringParametersAsUnicode", "false");
+    }
+  }
+
+  @Test
+  void otherDriversGetNoSqlServerProperties() throws Exception {
+    DataSourceProperties dataSourceProperties = new DataSourceProperties();
+    dataSourceProperties.setDriverClassName("org.h2.Driver");
+    dataSourceProperties.afterPropertiesSet();
+
+    try (HikariDataSource pool = PersistenceConfiguration.pool(dataSourceProperties,
+        "jdbc:h2:mem:pool-test", "dd-write", 3, properties.getPersistence())) {
+      assertThat(pool.getDataSourceProperties()).isEmpty();
+    }
+  }
+}
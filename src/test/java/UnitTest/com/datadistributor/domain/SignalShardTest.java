@@ -0,0 +1,50 @@
+package com.datadistributor.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link SignalShard}.
+ */
+class SignalShardTest {
+
+  @Test
+  void everySignalBelongsToExactlyOneShard() {
+    int count = 4;
+    int[] perShard = new int[count];
+    LongStream.rangeClosed(1, 10_000).forEach(signalId -> {
+      long owners = IntStream.range(0, count)
+          .filter(index -> new SignalShard(index, count).contains(signalId))
+          .peek(index -> perShard[index]++)
+          .count();
+      assertThat(owners).as("owners of signal %d", signalId).isEqualTo(1);
+    });
+
+    IntStream.of(perShard).forEach(size -> assertThat(size).isBetween(2_000, 3_000));
+  }
+
+  @Test
+  void eventsWithoutSignalIdBelongToShardZero() {
+    assertThat(new SignalShard(0, 3).contains((Long) null)).isTrue();
+    assertThat(new SignalShard(1, 3).contains((Long) null)).isFalse();
+  }
+
+  @Test
+  void wholeShardContainsEverything() {
+    SignalShard whole = SignalShard.whole();
+
+    assertThat(whole.contains(42L)).isTrue();
+    assertThat(whole.contains((Long) null)).isTrue();
+    assertThat(whole).hasToString("0/1");
+  }
+
+  @Test
+  void rejectsIndexOutsideCount() {
+    assertThatThrownBy(() -> new SignalShard(2, 2)).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> new SignalShard(0, 0)).isInstanceOf(IllegalArgumentException.class);
+  }
+}
@@ -1,7 +1,17 @@
 package com.datadistributor.domain.job;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.InstanceOfAssertFactories.MAP;
 
+import com.datadistributor.domain.outport.JobStatePort;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import org.junit.jupiter.api.Test;
 import org.springframework.test.util.ReflectionTestUtils;
 
@@ -113,4 +123,174 @@ class JobProgressTrackerTest {
     assertThat(ReflectionTestUtils.getField(progress, "successCount")).hasToString("45");
     assertThat(ReflectionTestUtils.getField(progress, "failureCount")).hasToString("10");
   }
+
+  @Test
+  void publishesRunningSnapshotsAndFinalState() {
+    List<JobState> saved = new ArrayList<>();
+    Clock clock = Clock.fixed(Instant.parse("2024-12-03T02:00:00Z"), ZoneOffset.UTC);
+    JobProgressTracker persisting = new JobProgressTracker(new JobStatePort() {
+      @Override
+      public void save(JobState state) {
+        saved.add(state);
+      }
+
+      @Override
+      public Optional<JobState> findById(String jobId) {
+        return Optional.empty();
+      }
+    }, clock);
+
+    JobProgressTracker.JobProgress progress = persisting.start("job", LocalDate.of(2024, 12, 3), 2, 10);
+    persisting.onBatchCompletion(progress, 1, 5, new BatchResult(4, 1));
+    persisting.finish(progress, new JobResult(9, 1, 10, "done"));
+    persisting.onBatchCompletion(progress, 2, 5, new BatchResult(5, 0));
+
+    assertThat(saved).extracting(JobState::getStatus)
+        .containsExactly(JobState.Status.RUNNING, JobState.Status.RUNNING, JobState.Status.COMPLETED);
+    assertThat(saved.get(1))
+        .extracting(JobState::getCompletedBatches, JobState::getSuccessCount, JobState::getTotalEvents)
+        .containsExactly(1, 4L, 10L);
+    assertThat(saved.get(2))
+        .extracting(JobState::getSuccessCount, JobState::getFailureCount, JobState::getFinishedAt)
+        .containsExactly(9L, 1L, clock.instant());
+  }
+
+  @Test
+  void progressFailuresDoNotBreakTheJob() {
+    JobProgressTracker failing = new JobProgressTracker(new JobStatePort() {
+      @Override
+      public void save(JobState state) {
+        throw new IllegalStateException("db down");
+      }
+
+      @Override
+      public Optional<JobState> findById(String jobId) {
+        return Optional.empty();
+      }
+    }, Clock.systemUTC());
+
+    JobProgressTracker.JobProgress progress = failing.start("job", 1);
+    failing.onBatchCompletion(progress, 1, 1, new BatchResult(1, 0));
+    failing.finish(progress, new JobResult(1, 0, 1, "done"));
+
+    assertThat(ReflectionTestUtils.getField(progress, "completedBatches")).hasToString("1");
+  }
+
+  @Test
+  void checkpointOnlyAdvancesPastContiguouslyCompletedBatches() {
+    List<JobState> saved = new ArrayList<>();
+    JobProgressTracker persisting = new JobProgressTracker(new JobStatePort() {
+      @Override
+      public void save(JobState state) {
+        saved.add(state);
+      }
+
+      @Override
+      public Optional<JobState> findById(String jobId) {
+        return Optional.empty();
+      }
+    }, Clock.systemUTC());
+
+    JobProgressTracker.JobProgress progress =
+        persisting.start("job", LocalDate.of(2024, 12, 3), 3, 30, 5L);
+    persisting.onBatchCompletion(progress, 2, 10, new BatchResult(10, 0), 20L);
+    JobState afterSecond = saved.get(saved.size() - 1);
+    persisting.onBatchCompletion(progress, 1, 10, new BatchResult(10, 0), 10L);
+    JobState afterFirst = saved.get(saved.size() - 1);
+
+    assertThat(saved.get(0).getCheckpointUabsEventId()).isEqualTo(5L);
+    assertThat(afterSecond)
+        .extracting(JobState::getCheckpointBatch, JobState::getCheckpointUabsEventId)
+        .containsExactly(0, 5L);
+    assertThat(afterFirst)
+        .extracting(JobState::getCheckpointBatch, JobState::getCheckpointUabsEventId)
+        .containsExactly(2, 20L);
+  }
+
+  @Test
+  void batchTotalGrowsWithCutBatchesUntilAllAreCut() {
+    List<JobState> saved = new ArrayList<>();
+    JobProgressTracker persisting = new JobProgressTracker(new JobStatePort() {
+      @Override
+      public void save(JobState state) {
+        saved.add(state);
+      }
+
+      @Override
+      public Optional<JobState> findById(String jobId) {
+        return Optional.empty();
+      }
+    }, Clock.systemUTC());
+
+    JobProgressTracker.JobProgress progress = persisting.start("job", LocalDate.of(2024, 12, 3), 2, 20);
+    persisting.onBatchesCut(progress, 1, false);
+    persisting.onBatchCompletion(progress, 1, 10, new BatchResult(10, 0));
+    persisting.onBatchesCut(progress, 3, false);
+    persisting.onBatchCompletion(progress, 2, 5, new BatchResult(5, 0));
+    persisting.onBatchCompletion(progress, 3, 3, new BatchResult(3, 0));
+    persisting.onBatchesCut(progress, 4, true);
+    persisting.onBatchCompletion(progress, 4, 2, new BatchResult(2, 0));
+
+    assertThat(saved).extracting(JobState::getTotalBatches).containsExactly(2, 2, 3, 3, 3, 4, 4);
+    assertThat(saved).allSatisfy(state ->
+        assertThat(state.getCompletedBatches()).isLessThanOrEqualTo(state.getTotalBatches()));
+    assertThat(ReflectionTestUtils.getField(progress, "totalFinal")).isEqualTo(true);
+  }
+
+  @Test
+  void failedBatchCountsItsEventsAndStopsTheCheckpointBeforeIt() {
+    List<JobState> saved = new ArrayList<>();
+    JobProgressTracker persisting = new JobProgressTracker(new JobStatePort() {
+      @Override
+      public void save(JobState state) {
+        saved.add(state);
+      }
+
+      @Override
+      public Optional<JobState> findById(String jobId) {
+        return Optional.empty();
+      }
+    }, Clock.systemUTC());
+
+    JobProgressTracker.JobProgress progress = persisting.start("job", LocalDate.of(2024, 12, 3), 4, 40);
+    persisting.onBatchCompletion(progress, 1, 10, new BatchResult(10, 0), 10L);
+    persisting.onBatchCompletion(progress, 3, 10, new BatchResult(10, 0), 30L);
+    persisting.onBatchFailure(progress, 2, 10, new IllegalStateException("rejected"));
+    persisting.onBatchCompletion(progress, 4, 10, new BatchResult(9, 1), 40L);
+
+    assertThat(saved.get(saved.size() - 1))
+        .extracting(JobState::getCompletedBatches, JobState::getSuccessCount, JobState::getFailureCount,
+            JobState::getCheckpointBatch, JobState::getCheckpointUabsEventId)
+        .containsExactly(4, 29L, 11L, 1, 10L);
+    assertThat(ReflectionTestUtils.getField(progress, "completedAhead")).asInstanceOf(MAP).isEmpty();
+  }
+
+  @Test
+  void checkpointOfBatchesQueuedOutOfKeysetOrderFollowsTheLowWaterMark() {
+    List<JobState> saved = new ArrayList<>();
+    JobProgressTracker persisting = new JobProgressTracker(new JobStatePort() {
+      @Override
+      public void save(JobState state) {
+        saved.add(state);
+      }
+
+      @Override
+      public Optional<JobState> findById(String jobId) {
+        return Optional.empty();
+      }
+    }, Clock.systemUTC());
+
+    JobProgressTracker.JobProgress progress = persisting.start("job", LocalDate.of(2024, 12, 3), 4, 40);
+    // event 25 is read but still waits in a lane buffer
+    persisting.onBatchesQueued(progress, Map.of(1, 11L, 2, 1L, 3, 21L), 30L, 25L);
+    persisting.onBatchCompletion(progress, 1, 10, new BatchResult(10, 0));
+    persisting.onBatchCompletion(progress, 2, 10, new BatchResult(10, 0));
+    persisting.onBatchCompletion(progress, 3, 4, new BatchResult(4, 0));
+    List<Long> checkpoints = saved.stream().skip(1).map(JobState::getCheckpointUabsEventId).toList();
+    persisting.onBatchesQueued(progress, Map.of(4, 25L), 40L, null);
+    persisting.onBatchFailure(progress, 4, 6, new IllegalStateException("rejected"));
+
+    assertThat(checkpoints).containsExactly(0L, 20L, 24L);
+    assertThat(saved.get(saved.size() - 1).getCheckpointUabsEventId()).isEqualTo(24L);
+  }
 }
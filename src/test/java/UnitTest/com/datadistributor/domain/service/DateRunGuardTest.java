@@ -0,0 +1,180 @@
+package com.datadistributor.domain.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.datadistributor.domain.inport.SignalEventProcessingUseCase;
+import com.datadistributor.domain.inport.SignalEventRetryUseCase;
+import com.datadistributor.domain.job.JobResult;
+import com.datadistributor.domain.outport.RunLeasePort;
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link DateRunGuard}.
+ */
+class DateRunGuardTest {
+
+  private static final LocalDate DATE = LocalDate.of(2024, 12, 3);
+
+  private RunLeasePort leasePort;
+  private SignalEventProcessingUseCase processing;
+  private SignalEventRetryUseCase retry;
+  private DateRunGuard guard;
+
+  @BeforeEach
+  void setup() {
+    leasePort = mock(RunLeasePort.class);
+    when(leasePort.tryAcquire(any())).thenReturn(true);
+    processing = mock(SignalEventProcessingUseCase.class);
+    retry = mock(SignalEventRetryUseCase.class);
+    guard = new DateRunGuard(leasePort, true);
+  }
+
+  @Test
+  void runsUnderTheDateLeaseAndReleasesIt() {
+    when(processing.processEventsForDate("job-1", DATE)).thenReturn(new JobResult(3, 0, 3, "done"));
+
+    JobResult result = guard.guard(processing).processEventsForDate("job-1", DATE);
+
+    assertThat(result.getSuccessCount()).isEqualTo(3);
+    verify(leasePort).tryAcquire("signal-events:2024-12-03");
+    verify(leasePort).release("signal-events:2024-12-03");
+  }
+
+  @Test
+  void secondProcessingRequestJoinsTheRunningJob() throws Exception {
+    CountDownLatch started = new CountDownLatch(1);
+    CompletableFuture<JobResult> finish = new CompletableFuture<>();
+    when(processing.processEventsForDate("job-1", DATE)).thenAnswer(invocation -> {
+      started.countDown();
+      return finish.join();
+    });
+    SignalEventProcessingUseCase guarded = guard.guard(processing);
+
+    CompletableFuture<JobResult> first = CompletableFuture.supplyAsync(() -> guarded.processEventsForDate("job-1", DATE));
+    assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+    CompletableFuture<JobResult> second = CompletableFuture.supplyAsync(() -> guarded.processEventsForDate("job-2", DATE));
+
+    verify(processing, after(100).never()).processEventsForDate("job-2", DATE);
+    finish.complete(new JobResult(5, 1, 6, "done"));
+
+    assertThat(first.get(5, TimeUnit.SECONDS).getMessage()).isEqualTo("done");
+    JobResult joined = second.get(5, TimeUnit.SECONDS);
+    assertThat(joined.getSuccessCount()).isEqualTo(5);
+    assertThat(joined.getMessage()).isEqualTo("Coalesced into job job-1: done");
+    verify(leasePort, times(1)).tryAcquire(any());
+  }
+
+  @Test
+  void retryIsRejectedWhileTheDateIsProcessing() throws Exception {
+    CountDownLatch started = new CountDownLatch(1);
+    CompletableFuture<JobResult> finish = new CompletableFuture<>();
+    when(processing.processEventsForDate("job-1", DATE)).thenAnswer(invocation -> {
+      started.countDown();
+      return finish.join();
+    });
+    CompletableFuture<JobResult> run =
+        CompletableFuture.supplyAsync(() -> guard.guard(processing).processEventsForDate("job-1", DATE));
+    assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+    JobResult rejected = guard.guard(retry).retryFailedEvents("retry-1", DATE);
+
+    assertThat(rejected.getTotalCount()).isZero();
+    assertThat(rejected.getMessage()).contains("job job-1 (PROCESS) is already running");
+    verify(retry, never()).retryFailedEvents(any(), any());
+    finish.complete(new JobResult(1, 0, 1, "done"));
+    run.get(5, TimeUnit.SECONDS);
+  }
+
+  @Test
+  void rejectsWhenAnotherInstanceHoldsTheLease() {
+    when(leasePort.tryAcquire(any())).thenReturn(false);
+
+    JobResult result = guard.guard(retry).retryFailedEvents("retry-1", DATE);
+
+    assertThat(result.getMessage()).contains("another instance holds the run lease");
+    verify(retry, never()).retryFailedEvents(any(), any());
+    verify(leasePort, never()).release(any());
+  }
+
+  @Test
+  void dateIsFreeAgainAfterAFailedRun() {
+    when(processing.processEventsForDate("job-1", DATE)).thenThrow(new IllegalStateException("boom"));
+    when(processing.processEventsForDate("job-2", DATE)).thenReturn(new JobResult(1, 0, 1, "done"));
+    SignalEventProcessingUseCase guarded = guard.guard(processing);
+
+    assertThatThrownBy(() -> guarded.processEventsForDate("job-1", DATE)).hasMessage("boom");
+    assertThat(guarded.processEventsForDate("job-2", DATE).getMessage()).isEqualTo("done");
+    verify(leasePort, times(2)).release("signal-events:2024-12-03");
+  }
+
+  @Test
+  void processRunsSkipTheDateLeaseWhenShardsAreLeased() {
+    DateRunGuard sharded = new DateRunGuard(leasePort, true, 2);
+    when(processing.processEventsForDate("job-1", DATE)).thenReturn(new JobResult(1, 0, 1, "done"));
+    when(retry.retryFailedEvents("retry-1", DATE)).thenReturn(new JobResult(1, 0, 1, "retried"));
+
+    sharded.guard(processing).processEventsForDate("job-1", DATE);
+    verify(leasePort, never()).tryAcquire(any());
+
+    sharded.guard(retry).retryFailedEvents("retry-1", DATE);
+    verify(leasePort).tryAcquire("signal-events:2024-12-03");
+    verify(leasePort).tryAcquire("signal-events:2024-12-03:shard:0/2");
+    verify(leasePort).tryAcquire("signal-events:2024-12-03:shard:1/2");
+    verify(leasePort).release("signal-events:2024-12-03:shard:1/2");
+  }
+
+  @Test
+  void retryIsRejectedWhileAShardIsProcessedElsewhere() {
+    DateRunGuard sharded = new DateRunGuard(leasePort, true, 2);
+    when(leasePort.tryAcquire("signal-events:2024-12-03:shard:1/2")).thenReturn(false);
+
+    JobResult result = sharded.guard(retry).retryFailedEvents("retry-1", DATE);
+
+    assertThat(result.getMessage()).contains("another instance holds the run lease");
+    verify(retry, never()).retryFailedEvents(any(), any());
+    verify(leasePort).release("signal-events:2024-12-03");
+    verify(leasePort).release("signal-events:2024-12-03:shard:0/2");
+    verify(leasePort, never()).release("signal-events:2024-12-03:shard:1/2");
+  }
+
+  @Test
+  void shardedResumeHoldsEveryShardLease() {
+    DateRunGuard sharded = new DateRunGuard(leasePort, true, 2);
+    when(processing.resumeEventsForDate("job-1", DATE)).thenReturn(new JobResult(1, 0, 1, "resumed"));
+
+    sharded.guard(processing).resumeEventsForDate("job-1", DATE);
+
+    verify(leasePort).tryAcquire("signal-events:2024-12-03:shard:0/2");
+    verify(leasePort).tryAcquire("signal-events:2024-12-03:shard:1/2");
+  }
+
+  @Test
+  void runsWithoutLeaseWhenLeaseStoreIsUnavailable() {
+    when(leasePort.tryAcquire(any())).thenThrow(new IllegalStateException("db down"));
+    when(retry.retryFailedEvents("retry-1", DATE)).thenReturn(new JobResult(2, 0, 2, "retried"));
+
+    assertThat(guard.guard(retry).retryFailedEvents("retry-1", DATE).getMessage()).isEqualTo("retried");
+  }
+
+  @Test
+  void disabledGuardPassesThrough() {
+    DateRunGuard disabled = new DateRunGuard(leasePort, false);
+    when(processing.resumeEventsForDate("job-1", DATE)).thenReturn(new JobResult(1, 0, 1, "resumed"));
+
+    assertThat(disabled.guard(processing).resumeEventsForDate("job-1", DATE).getMessage()).isEqualTo("resumed");
+    verify(leasePort, never()).tryAcquire(any());
+  }
+}
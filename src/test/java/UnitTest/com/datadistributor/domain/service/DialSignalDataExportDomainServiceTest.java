@@ -3,6 +3,9 @@ package com.datadistributor.domain.service;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -13,26 +16,31 @@ import com.datadistributor.domain.SignalEvent;
 import com.datadistributor.domain.inport.SignalEventUseCase;
 import com.datadistributor.domain.inport.SignalUseCase;
 import com.datadistributor.domain.outport.AccountBalanceOverviewPort;
+import com.datadistributor.domain.outport.FileEncodingPort;
 import com.datadistributor.domain.outport.FileStoragePort;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.Answers;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
 class DialSignalDataExportDomainServiceTest {
 
-  @Mock
+  @Mock(answer = Answers.CALLS_REAL_METHODS)
   private SignalEventUseCase signalEventUseCase;
-  @Mock
+  @Mock(answer = Answers.CALLS_REAL_METHODS)
   private SignalUseCase signalQueryUseCase;
-  @Mock
+  @Mock(answer = Answers.CALLS_REAL_METHODS)
   private AccountBalanceOverviewPort accountBalanceOverviewPort;
-  @Mock
+  @Mock(answer = Answers.CALLS_REAL_METHODS)
   private FileStoragePort storageClient;
 
   private DataDistributorProperties properties;
@@ -55,6 +63,76 @@ class DialSignalDataExportDomainServiceTest {
     testDate = LocalDate.of(2024, 12, 3);
   }
 
+  @Test
+  void export_writesEveryPageInOrderWithoutReadingTheWholeDay() {
+    SignalEvent first = createEvent(1L, 100L);
+    SignalEvent second = createEvent(2L, 100L);
+    SignalEvent third = createEvent(3L, 100L);
+    doAnswer(invocation -> {
+      Consumer<List<SignalEvent>> pageConsumer = invocation.getArgument(1);
+      pageConsumer.accept(List.of(first, second));
+      pageConsumer.accept(List.of(third));
+      return null;
+    }).when(signalEventUseCase).forEachSignalEventPageOfThisDate(eq(testDate), any());
+
+    service.export(testDate);
+
+    ArgumentCaptor<String> contentCaptor = ArgumentCaptor.forClass(String.class);
+    verify(storageClient).upload(eq("dial-folder"), eq("dial-prefix-2024-12-03.csv"), contentCaptor.capture());
+    assertThat(contentCaptor.getValue().split("\n"))
+        .hasSize(4)
+        .extracting(line -> line.split(",")[0])
+        .containsExactly("EventId", "1", "2", "3");
+    verify(signalEventUseCase, never()).getAllSignalEventsOfThisDate(any());
+  }
+
+  @Test
+  void export_enrichesEachPageWithOneBulkLookupPerSource() {
+    SignalEvent first = createEvent(1L, 100L);
+    SignalEvent second = createEvent(2L, 200L);
+    SignalEvent third = createEvent(3L, 100L);
+    when(signalEventUseCase.getAllSignalEventsOfThisDate(testDate)).thenReturn(List.of(first, second, third));
+    doReturn(Map.of(100L, createSignal(7L, 100L))).when(signalQueryUseCase).getOpenSignalsOfAgreements(any());
+    doReturn(Map.of(200L, createAccountBalance(200L))).when(accountBalanceOverviewPort).getAccountBalancesOfAgreements(any());
+
+    service.export(testDate);
+
+    verify(signalQueryUseCase).getOpenSignalsOfAgreements(List.of(100L, 200L));
+    verify(accountBalanceOverviewPort).getAccountBalancesOfAgreements(List.of(100L, 200L));
+    verify(signalQueryUseCase, never()).getOpenSignalOfAgreement(any());
+    verify(accountBalanceOverviewPort, never()).getAccountBalanceOfAgreement(any());
+    ArgumentCaptor<String> contentCaptor = ArgumentCaptor.forClass(String.class);
+    verify(storageClient).upload(any(), any(), contentCaptor.capture());
+    assertThat(contentCaptor.getValue().split("\n")).hasSize(4);
+  }
+
+  @Test
+  void export_passesCsvThroughConfiguredEncoding() {
+    FileEncodingPort prefixing = new FileEncodingPort() {
+      @Override
+      public String fileSuffix() {
+        return ".enc";
+      }
+
+      @Override
+      public FileStoragePort.ContentWriter encode(FileStoragePort.ContentWriter writer) {
+        return out -> {
+          out.write("ENC:".getBytes(StandardCharsets.UTF_8));
+          writer.writeTo(out);
+        };
+      }
+    };
+    service = new DialSignalDataExportDomainService(signalEventUseCase, signalQueryUseCase,
+        accountBalanceOverviewPort, storageClient, prefixing, properties);
+    when(signalEventUseCase.getAllSignalEventsOfThisDate(testDate)).thenReturn(List.of());
+
+    service.export(testDate);
+
+    ArgumentCaptor<String> contentCaptor = ArgumentCaptor.forClass(String.class);
+    verify(storageClient).upload(eq("dial-folder"), eq("dial-prefix-2024-12-03.csv.enc"), contentCaptor.capture());
+    assertThat(contentCaptor.getValue()).startsWith("ENC:EventId,");
+  }
+
   // *****************************
   // FRESH TEST CASE
   // *****************************
@@ -120,4 +120,12 @@ class InitialCehMappingServiceTest {
 
     verify(port).saveInitialCehMapping(10L, 99L);
   }
+
+  @Test
+  void flushPendingMappings_delegatesToPortAndSwallowsFailures() {
+    doThrow(new IllegalStateException("db down")).when(port).flushPendingMappings();
+
+    assertThatCode(() -> service.flushPendingMappings()).doesNotThrowAnyException();
+    verify(port).flushPendingMappings();
+  }
 }
@@ -5,6 +5,8 @@ import static org.mockito.Mockito.when;
 
 import com.datadistributor.domain.outport.InitialCehMappingPort;
 import com.datadistributor.domain.service.InitialCehQueryDomainService;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -38,4 +40,12 @@ class InitialCehQueryServiceTest {
 
     assertThat(service.findInitialCehId(7L)).contains("abc");
   }
+
+  @Test
+  void findInitialCehIds_delegatesToBulkPortLookup() {
+    when(port.findInitialCehIds(List.of(7L, 8L))).thenReturn(Map.of(7L, "abc"));
+
+    assertThat(service.findInitialCehIds(List.of(7L, 8L))).containsExactly(Map.entry(7L, "abc"));
+    assertThat(service.findInitialCehIds(List.of())).isEmpty();
+  }
 }
@@ -0,0 +1,120 @@
+package com.datadistributor.domain.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.datadistributor.domain.job.JobResult;
+import com.datadistributor.domain.job.JobState;
+import com.datadistributor.domain.outport.JobStatePort;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+
+class JobStatusDomainServiceTest {
+
+  private static final Instant NOW = Instant.parse("2024-12-03T02:00:00Z");
+  private static final LocalDate DATE = LocalDate.of(2024, 12, 3);
+
+  private final Map<String, JobState> states = new HashMap<>();
+  private final JobStatePort port = new JobStatePort() {
+    @Override
+    public void save(JobState state) {
+      states.put(state.getJobId(), state);
+    }
+
+    @Override
+    public Optional<JobState> findById(String jobId) {
+      return Optional.ofNullable(states.get(jobId));
+    }
+  };
+  private final JobStatusDomainService service =
+      new JobStatusDomainService(port, Clock.fixed(NOW, ZoneOffset.UTC));
+
+  @Test
+  void acceptedRecordsNewJob() {
+    service.accepted("job-1", DATE);
+
+    assertThat(service.find("job-1")).get()
+        .extracting(JobState::getStatus, JobState::getProcessingDate, JobState::getStartedAt)
+        .containsExactly(JobState.Status.ACCEPTED, DATE, NOW);
+  }
+
+  @Test
+  void completedKeepsBatchProgressAndStartTime() {
+    Instant started = NOW.minusSeconds(120);
+    port.save(JobState.builder()
+        .jobId("job-1")
+        .status(JobState.Status.RUNNING)
+        .totalBatches(4)
+        .completedBatches(4)
+        .startedAt(started)
+        .build());
+
+    service.completed("job-1", DATE, new JobResult(90, 10, 100, "done"));
+
+    JobState state = service.find("job-1").orElseThrow();
+    assertThat(state.getStatus()).isEqualTo(JobState.Status.COMPLETED);
+    assertThat(state.getCompletedBatches()).isEqualTo(4);
+    assertThat(state.getStartedAt()).isEqualTo(started);
+    assertThat(state.getFinishedAt()).isEqualTo(NOW);
+    assertThat(state.getTotalEvents()).isEqualTo(100);
+    assertThat(state.eventsPerSecond(NOW.plusSeconds(600))).isEqualTo(100 / 120.0);
+    assertThat(state.estimatedRemaining(NOW)).contains(Duration.ZERO);
+  }
+
+  @Test
+  void failedRecordsJobThatNeverReportedProgress() {
+    service.failed("job-2", DATE, "boom");
+
+    assertThat(service.find("job-2")).get()
+        .extracting(JobState::getStatus, JobState::getMessage)
+        .containsExactly(JobState.Status.FAILED, "boom");
+  }
+
+  @Test
+  void ignoresNullIds() {
+    service.accepted(null, DATE);
+    service.completed(null, DATE, new JobResult(1, 0, 1, "x"));
+    service.failed(null, DATE, "x");
+
+    assertThat(states).isEmpty();
+    assertThat(service.find(null)).isEmpty();
+  }
+
+  @Test
+  void estimatedRemainingIsEmptyBeforeAnyProgress() {
+    JobState state = JobState.builder()
+        .jobId("job-3")
+        .status(JobState.Status.RUNNING)
+        .totalEvents(500)
+        .startedAt(NOW)
+        .build();
+
+    assertThat(state.estimatedRemaining(NOW.plusSeconds(5))).isEmpty();
+    assertThat(state.eventsPerSecond(NOW)).isZero();
+  }
+
+  @Test
+  void resumedKeepsCheckpointAndClearsFinish() {
+    states.put("job-4", JobState.builder()
+        .jobId("job-4")
+        .processingDate(DATE)
+        .status(JobState.Status.FAILED)
+        .checkpointBatch(3)
+        .checkpointUabsEventId(300L)
+        .finishedAt(NOW)
+        .build());
+
+    service.resumed("job-4", null);
+
+    assertThat(service.find("job-4")).get()
+        .extracting(JobState::getStatus, JobState::getCheckpointUabsEventId, JobState::getFinishedAt,
+            JobState::getProcessingDate)
+        .containsExactly(JobState.Status.ACCEPTED, 300L, null, DATE);
+  }
+}
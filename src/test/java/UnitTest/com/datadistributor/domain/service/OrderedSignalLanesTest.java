@@ -0,0 +1,164 @@
+package com.datadistributor.domain.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.datadistributor.domain.SignalEvent;
+import com.datadistributor.domain.job.BatchResult;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class OrderedSignalLanesTest {
+
+  @Test
+  void add_keepsEverySignalInOneLane() {
+    OrderedSignalLanes lanes = new OrderedSignalLanes(4, 100);
+
+    for (long signalId = 1; signalId <= 50; signalId++) {
+      assertThat(lanes.laneOf(event(signalId, signalId)))
+          .isEqualTo(lanes.laneOf(event(signalId + 1000, signalId)))
+          .isBetween(0, 3);
+    }
+    assertThat(lanes.laneOf(event(1L, null))).isZero();
+  }
+
+  @Test
+  void add_cutsFullBatchesAndDrainsTheRest() {
+    OrderedSignalLanes lanes = new OrderedSignalLanes(2, 2);
+    SignalEvent a1 = event(1L, 2L);
+    SignalEvent a2 = event(2L, 2L);
+    SignalEvent a3 = event(3L, 2L);
+    SignalEvent b1 = event(4L, 3L);
+
+    List<OrderedSignalLanes.LaneBatch> full = lanes.add(List.of(a1, b1, a2, a3));
+    List<OrderedSignalLanes.LaneBatch> rest = lanes.drain();
+
+    assertThat(full).extracting(OrderedSignalLanes.LaneBatch::events).containsExactly(List.of(a1, a2));
+    assertThat(rest).extracting(OrderedSignalLanes.LaneBatch::events)
+        .containsExactlyInAnyOrder(List.of(a3), List.of(b1));
+    assertThat(lanes.drain()).isEmpty();
+  }
+
+  @Test
+  void cut_returnsFullBatchesFollowedByThePartialOnes() {
+    OrderedSignalLanes lanes = new OrderedSignalLanes(2, 2);
+    SignalEvent a1 = event(1L, 2L);
+    SignalEvent a2 = event(2L, 2L);
+    SignalEvent a3 = event(3L, 2L);
+    SignalEvent b1 = event(4L, 3L);
+
+    assertThat(lanes.cut(List.of(a1, b1, a2, a3))).extracting(OrderedSignalLanes.LaneBatch::events)
+        .hasSize(3)
+        .startsWith(List.of(a1, a2))
+        .contains(List.of(a3), List.of(b1));
+    assertThat(lanes.drain()).isEmpty();
+  }
+
+  @Test
+  void submitAfterPrevious_waitsForTheSameLaneOnly() {
+    OrderedSignalLanes lanes = new OrderedSignalLanes(2, 10);
+    CompletableFuture<BatchResult> first = new CompletableFuture<>();
+    AtomicInteger submitted = new AtomicInteger();
+
+    lanes.submitAfterPrevious(0, () -> {
+      submitted.incrementAndGet();
+      return first;
+    });
+    CompletableFuture<BatchResult> queued = lanes.submitAfterPrevious(0, () -> {
+      submitted.incrementAndGet();
+      return CompletableFuture.completedFuture(new BatchResult(1, 0));
+    });
+    CompletableFuture<BatchResult> otherLane = lanes.submitAfterPrevious(1, () -> {
+      submitted.incrementAndGet();
+      return CompletableFuture.completedFuture(new BatchResult(1, 0));
+    });
+
+    assertThat(otherLane).isCompleted();
+    assertThat(queued).isNotDone();
+    assertThat(submitted).hasValue(2);
+
+    first.completeExceptionally(new IllegalStateException("boom"));
+
+    assertThat(queued.join().successCount()).isEqualTo(1);
+    assertThat(submitted).hasValue(3);
+  }
+
+  @Test
+  void submitAfterPrevious_takesAWindowSlotOnlyWhenTheBatchStarts() {
+    OrderedSignalLanes lanes = new OrderedSignalLanes(3, 10, new SendWindow(2));
+    CompletableFuture<BatchResult> first = new CompletableFuture<>();
+    CompletableFuture<BatchResult> second = new CompletableFuture<>();
+    AtomicInteger submitted = new AtomicInteger();
+
+    lanes.submitAfterPrevious(0, () -> {
+      submitted.incrementAndGet();
+      return first;
+    });
+    CompletableFuture<BatchResult> waitingForLane = lanes.submitAfterPrevious(0, () -> {
+      submitted.incrementAndGet();
+      return CompletableFuture.completedFuture(new BatchResult(1, 0));
+    });
+    lanes.submitAfterPrevious(1, () -> {
+      submitted.incrementAndGet();
+      return second;
+    });
+    CompletableFuture<BatchResult> waitingForSlot = lanes.submitAfterPrevious(2, () -> {
+      submitted.incrementAndGet();
+      return CompletableFuture.completedFuture(new BatchResult(1, 0));
+    });
+
+    assertThat(submitted).hasValue(2);
+    assertThat(waitingForLane).isNotDone();
+    assertThat(waitingForSlot).isNotDone();
+
+    second.complete(new BatchResult(1, 0));
+
+    assertThat(waitingForSlot).isCompleted();
+    assertThat(waitingForLane).isNotDone();
+
+    first.complete(new BatchResult(1, 0));
+
+    assertThat(waitingForLane).isCompleted();
+    assertThat(submitted).hasValue(4);
+  }
+
+  @Test
+  void submitAfterPrevious_freesTheSlotWhenSubmittingFails() {
+    OrderedSignalLanes lanes = new OrderedSignalLanes(2, 10, new SendWindow(1));
+
+    CompletableFuture<BatchResult> failed = lanes.submitAfterPrevious(0, () -> {
+      throw new IllegalStateException("boom");
+    });
+    CompletableFuture<BatchResult> next = lanes.submitAfterPrevious(1, () ->
+        CompletableFuture.completedFuture(new BatchResult(1, 0)));
+
+    assertThat(failed).isCompletedExceptionally();
+    assertThat(next).isCompleted();
+  }
+
+  @Test
+  void sendOrder_sortsByRecordTimeThenEventId() {
+    SignalEvent late = event(1L, 1L);
+    late.setEventRecordDateTime(LocalDateTime.of(2024, 12, 3, 12, 0));
+    SignalEvent early = event(3L, 1L);
+    SignalEvent sameTime = event(2L, 1L);
+    SignalEvent undated = event(4L, 1L);
+    undated.setEventRecordDateTime(null);
+
+    List<SignalEvent> sorted = List.of(late, undated, early, sameTime).stream()
+        .sorted(OrderedSignalLanes.SEND_ORDER)
+        .toList();
+
+    assertThat(sorted).containsExactly(sameTime, early, late, undated);
+  }
+
+  private SignalEvent event(Long uabsEventId, Long signalId) {
+    SignalEvent event = new SignalEvent();
+    event.setUabsEventId(uabsEventId);
+    event.setSignalId(signalId);
+    event.setEventRecordDateTime(LocalDateTime.of(2024, 12, 3, 8, 0));
+    return event;
+  }
+}
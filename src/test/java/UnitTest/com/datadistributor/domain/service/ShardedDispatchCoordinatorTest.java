@@ -0,0 +1,191 @@
+package com.datadistributor.domain.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.datadistributor.domain.SignalShard;
+import com.datadistributor.domain.job.JobResult;
+import com.datadistributor.domain.job.JobState;
+import com.datadistributor.domain.outport.JobStatePort;
+import com.datadistributor.domain.outport.RunLeasePort;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+/**
+ * Unit tests for {@link ShardedDispatchCoordinator}.
+ */
+class ShardedDispatchCoordinatorTest {
+
+  private static final Instant NOW = Instant.parse("2024-12-03T02:00:00Z");
+  private static final LocalDate DATE = LocalDate.of(2024, 12, 3);
+
+  private final Map<String, JobState> states = new HashMap<>();
+  private final JobStatePort port = new JobStatePort() {
+    @Override
+    public void save(JobState state) {
+      states.put(state.getJobId(), state);
+    }
+
+    @Override
+    public Optional<JobState> findById(String jobId) {
+      return Optional.ofNullable(states.get(jobId));
+    }
+  };
+
+  private SignalEventProcessingDomainService delegate;
+  private RunLeasePort leasePort;
+  private ShardedDispatchCoordinator coordinator;
+
+  @BeforeEach
+  void setup() {
+    delegate = mock(SignalEventProcessingDomainService.class);
+    leasePort = mock(RunLeasePort.class);
+    when(leasePort.tryAcquire(any())).thenReturn(true);
+    when(delegate.processShard(any(), eq(DATE), any()))
+        .thenAnswer(invocation -> new JobResult(2, 1, 3, "shard " + invocation.getArgument(2)));
+    coordinator = new ShardedDispatchCoordinator(delegate, leasePort, port,
+        Clock.fixed(NOW, ZoneOffset.UTC), 3, Duration.ofHours(6));
+  }
+
+  @Test
+  void processesEveryFreeShardAndPublishesOneReport() {
+    JobResult result = coordinator.processEventsForDate("job-1", DATE);
+
+    verify(delegate).processShard("job-1:shard-0", DATE, new SignalShard(0, 3));
+    verify(delegate).processShard("job-1:shard-1", DATE, new SignalShard(1, 3));
+    verify(delegate).processShard("job-1:shard-2", DATE, new SignalShard(2, 3));
+    verify(leasePort).release("signal-events:2024-12-03:shard:1/3");
+    assertThat(result.getSuccessCount()).isEqualTo(6);
+    assertThat(result.getFailureCount()).isEqualTo(3);
+    assertThat(result.getMessage()).contains("delivery report published");
+
+    ArgumentCaptor<JobResult> report = ArgumentCaptor.forClass(JobResult.class);
+    verify(delegate).publishReport(eq(DATE), report.capture());
+    assertThat(report.getValue().getTotalCount()).isEqualTo(9);
+    assertThat(states).containsKeys("shard:2024-12-03:0/3", "shard:2024-12-03:report");
+  }
+
+  @Test
+  void marksOneJobStartForAllShardsOfTheRun() {
+    coordinator.processEventsForDate("job-1", DATE);
+
+    verify(delegate, times(1)).markJobStart();
+  }
+
+  @Test
+  void skipsShardLeasedElsewhereAndHoldsTheReport() {
+    when(leasePort.tryAcquire("signal-events:2024-12-03:shard:1/3")).thenReturn(false);
+
+    JobResult result = coordinator.processEventsForDate("job-1", DATE);
+
+    verify(delegate, never()).processShard(any(), any(), eq(new SignalShard(1, 3)));
+    verify(delegate, never()).publishReport(any(), any());
+    assertThat(result.getMessage()).startsWith("Processed shards [0, 2] of 3");
+  }
+
+  @Test
+  void lastShardToFinishPublishesTheReport() {
+    completed("shard:2024-12-03:0/3", NOW.minusSeconds(60));
+    completed("shard:2024-12-03:1/3", NOW.minusSeconds(30));
+
+    coordinator.processEventsForDate("job-2", DATE);
+
+    verify(delegate, never()).processShard(any(), any(), eq(new SignalShard(0, 3)));
+    verify(delegate, never()).processShard(any(), any(), eq(new SignalShard(1, 3)));
+    verify(delegate).processShard("job-2:shard-2", DATE, new SignalShard(2, 3));
+    verify(delegate).publishReport(eq(DATE), any());
+  }
+
+  @Test
+  void doesNotPublishTheSameRunTwice() {
+    coordinator.processEventsForDate("job-1", DATE);
+    coordinator.processEventsForDate("job-2", DATE);
+
+    verify(delegate).processShard(any(), any(), eq(new SignalShard(0, 3)));
+    verify(delegate).publishReport(eq(DATE), any());
+  }
+
+  @Test
+  void completionsOutsideTheWindowAreProcessedAgain() {
+    completed("shard:2024-12-03:0/3", NOW.minus(Duration.ofHours(7)));
+
+    coordinator.processEventsForDate("job-3", DATE);
+
+    verify(delegate).processShard("job-3:shard-0", DATE, new SignalShard(0, 3));
+  }
+
+  @Test
+  void blockedShardIsProcessedAgainAndHoldsTheReport() {
+    when(delegate.processShard(any(), eq(DATE), eq(new SignalShard(1, 3))))
+        .thenReturn(JobResult.blocked("Prerequisite check failed"))
+        .thenReturn(new JobResult(2, 1, 3, "unblocked"));
+
+    JobResult first = coordinator.processEventsForDate("job-1", DATE);
+
+    assertThat(states.get("shard:2024-12-03:1/3").getStatus()).isEqualTo(JobState.Status.FAILED);
+    assertThat(first.getMessage()).startsWith("Processed shards [0, 2] of 3")
+        .contains("blocked by prerequisites [1]")
+        .doesNotContain("report published");
+    verify(delegate, never()).publishReport(any(), any());
+
+    JobResult rerun = coordinator.processEventsForDate("job-2", DATE);
+
+    verify(delegate).processShard("job-2:shard-1", DATE, new SignalShard(1, 3));
+    verify(delegate, never()).processShard("job-2:shard-0", DATE, new SignalShard(0, 3));
+    assertThat(rerun.getMessage()).contains("delivery report published");
+    ArgumentCaptor<JobResult> report = ArgumentCaptor.forClass(JobResult.class);
+    verify(delegate).publishReport(eq(DATE), report.capture());
+    assertThat(report.getValue().getTotalCount()).isEqualTo(9);
+  }
+
+  @Test
+  void failingShardDoesNotStopTheOtherShards() {
+    when(delegate.processShard(any(), eq(DATE), eq(new SignalShard(0, 3))))
+        .thenThrow(new IllegalStateException("db down"));
+
+    JobResult result = coordinator.processEventsForDate("job-1", DATE);
+
+    verify(delegate).processShard("job-1:shard-1", DATE, new SignalShard(1, 3));
+    verify(delegate).processShard("job-1:shard-2", DATE, new SignalShard(2, 3));
+    verify(leasePort).release("signal-events:2024-12-03:shard:0/3");
+    verify(delegate, never()).publishReport(any(), any());
+    assertThat(states).doesNotContainKey("shard:2024-12-03:0/3");
+    assertThat(result.getMessage()).startsWith("Processed shards [1, 2] of 3").contains("failed [0]");
+    assertThat(result.getSuccessCount()).isEqualTo(4);
+  }
+
+  @Test
+  void resumeRunsOverTheWholeDate() {
+    when(delegate.resumeEventsForDate("job-1", DATE)).thenReturn(new JobResult(1, 0, 1, "resumed"));
+
+    assertThat(coordinator.resumeEventsForDate("job-1", DATE).getMessage()).isEqualTo("resumed");
+    verify(delegate, never()).processShard(any(), any(), any());
+  }
+
+  private void completed(String stateId, Instant finishedAt) {
+    states.put(stateId, JobState.builder()
+        .jobId(stateId)
+        .processingDate(DATE)
+        .status(JobState.Status.COMPLETED)
+        .totalEvents(3)
+        .successCount(3)
+        .failureCount(0)
+        .finishedAt(finishedAt)
+        .build());
+  }
+}
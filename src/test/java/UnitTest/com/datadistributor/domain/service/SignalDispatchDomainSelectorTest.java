@@ -4,6 +4,8 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.datadistributor.domain.Signal;
@@ -20,6 +22,7 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -237,6 +240,10 @@ class SignalDispatchDomainSelectorTest {
       LocalDate day = invocation.getArgument(0);
       return eventsByDate.getOrDefault(day, List.of());
     });
+    when(signalEventPort.streamSignalEventsOfThisDate(any())).thenAnswer(invocation -> {
+      LocalDate day = invocation.getArgument(0);
+      return eventsByDate.getOrDefault(day, List.of()).stream();
+    });
   }
 
   private void stubInitialState(AtomicBoolean openSent, Long openEventId) {
@@ -274,6 +281,21 @@ class SignalDispatchDomainSelectorTest {
     assertThat(result).isEmpty();
   }
 
+  @Test
+  void selectEventsToSend_skipsSignalsOutsideTheFilterBeforeAnyLookup() {
+    SignalEvent openEvent = buildEvent(31L, startDate, 3, "OVERLIMIT_SIGNAL");
+    SignalEvent breach = buildEvent(32L, startDate.plusDays(1), 250, "FINANCIAL_UPDATE");
+    stubEvents(Map.of(startDate, List.of(openEvent), startDate.plusDays(1), List.of(breach)));
+    when(signalEventPort.getEarliestOverlimitEvent(signalId)).thenReturn(Optional.of(openEvent));
+    stubInitialState(new AtomicBoolean(false), openEvent.getUabsEventId());
+
+    assertThat(selector.selectEventsToSend(startDate.plusDays(1), id -> id != signalId)).isEmpty();
+    verify(signalPort, never()).findBySignalId(signalId);
+    verify(signalEventPort, never()).getEarliestOverlimitEvent(signalId);
+
+    assertThat(selector.selectEventsToSend(startDate.plusDays(1), id -> id == signalId)).containsExactly(openEvent);
+  }
+
   @Test
   void selectEventsToSend_handlesEmptyEventsList() {
     stubEvents(Map.of(startDate, List.of()));
@@ -857,4 +879,45 @@ class SignalDispatchDomainSelectorTest {
 
     assertThat(result).isEmpty();
   }
+
+  @Test
+  void bulkPrefetch_usesSetBasedLookupsOnly() {
+    SignalDispatchDomainSelector bulkSelector = new SignalDispatchDomainSelector(
+        signalEventPort, signalPort, auditQueryPort, initialCehMappingPort,
+        250L, 5L, 1L, true);
+    SignalEvent openEvent = buildEvent(1L, startDate, 10, "OVERLIMIT_SIGNAL");
+    SignalEvent breach = buildEvent(2L, startDate.plusDays(1), 300, "FINANCIAL_UPDATE");
+    stubEvents(Map.of(startDate.plusDays(1), List.of(breach)));
+    when(signalPort.findBySignalIdIn(any())).thenReturn(List.of(signal));
+    when(signalEventPort.getEarliestOverlimitEvents(any())).thenReturn(Map.of(signalId, openEvent));
+    when(initialCehMappingPort.findInitialCehIds(any())).thenReturn(Map.of());
+    when(auditQueryPort.findSuccessfulEventIds(any(), eq(1L))).thenReturn(Set.of());
+
+    List<SignalEvent> result = bulkSelector.selectEventsToSend(startDate.plusDays(1));
+
+    assertThat(result).containsExactly(openEvent);
+    verify(signalPort, never()).findBySignalId(any());
+    verify(signalEventPort, never()).getEarliestOverlimitEvent(any());
+    verify(initialCehMappingPort, never()).findInitialCehId(any());
+    verify(auditQueryPort, never()).isEventSuccessful(any(), anyLong());
+    verify(auditQueryPort).findSuccessfulEventIds(Set.of(1L), 1L);
+  }
+
+  @Test
+  void bulkPrefetch_skipsAuditLookupWhenInitialMappingExists() {
+    SignalDispatchDomainSelector bulkSelector = new SignalDispatchDomainSelector(
+        signalEventPort, signalPort, auditQueryPort, initialCehMappingPort,
+        250L, 5L, 1L, true);
+    SignalEvent openEvent = buildEvent(1L, startDate, 10, "OVERLIMIT_SIGNAL");
+    SignalEvent followUp = buildEvent(2L, startDate.plusDays(1), 20, "FINANCIAL_UPDATE");
+    stubEvents(Map.of(startDate.plusDays(1), List.of(followUp)));
+    when(signalPort.findBySignalIdIn(any())).thenReturn(List.of(signal));
+    when(signalEventPort.getEarliestOverlimitEvents(any())).thenReturn(Map.of(signalId, openEvent));
+    when(initialCehMappingPort.findInitialCehIds(any())).thenReturn(Map.of(signalId, "ceh-1"));
+
+    List<SignalEvent> result = bulkSelector.selectEventsToSend(startDate.plusDays(1));
+
+    assertThat(result).containsExactly(followUp);
+    verify(auditQueryPort).findSuccessfulEventIds(Set.of(), 1L);
+  }
 }
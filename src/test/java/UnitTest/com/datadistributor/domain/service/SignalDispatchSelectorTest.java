@@ -373,6 +373,49 @@ class SignalDispatchSelectorTest {
     }
   }
 
+  @Test
+  void bulkPrefetchSelectsSameEventsAsPerSignalLookups() {
+    InMemoryEventRepo repo = new InMemoryEventRepo();
+    InMemorySignalPort signals = new InMemorySignalPort();
+    InMemoryAuditPort audit = new InMemoryAuditPort();
+    InMemoryInitialCehPort ceh = new InMemoryInitialCehPort();
+    SignalDispatchDomainSelector perSignal = new SignalDispatchDomainSelector(repo, signals, audit, ceh, 250, 5, 1);
+    SignalDispatchDomainSelector bulk = new SignalDispatchDomainSelector(repo, signals, audit, ceh, 250, 5, 1, true);
+    LocalDate start = LocalDate.of(2025, 1, 1);
+
+    // breach on DPD2, follow-ups afterwards
+    signals.save(signal(201L, start, null));
+    repo.save(event(1L, 201L, start.atTime(8, 0), "OVERLIMIT_SIGNAL", 10L));
+    repo.save(event(2L, 201L, start.plusDays(1).atTime(8, 0), "FINANCIAL_UPDATE", 260L));
+    repo.save(event(3L, 201L, start.plusDays(2).atTime(8, 0), "FINANCIAL_UPDATE", 20L));
+    // never breaches, overdue without events
+    signals.save(signal(202L, start, null));
+    repo.save(event(4L, 202L, start.atTime(9, 0), "OVERLIMIT_SIGNAL", 10L));
+    // closed quickly without breach
+    signals.save(signal(203L, start, start.plusDays(2)));
+    repo.save(event(5L, 203L, start.atTime(8, 0), "OVERLIMIT_SIGNAL", 10L));
+    repo.save(event(6L, 203L, start.plusDays(2).atTime(8, 0), "OUT_OF_OVERLIMIT", 0L));
+    // initial already mapped, closure later
+    signals.save(signal(204L, start, start.plusDays(6)));
+    repo.save(event(7L, 204L, start.atTime(8, 0), "OVERLIMIT_SIGNAL", 300L));
+    repo.save(event(8L, 204L, start.plusDays(6).atTime(8, 0), "OUT_OF_OVERLIMIT", 0L));
+    ceh.save(204L);
+    // starts in the future relative to early processing dates
+    signals.save(signal(205L, start.plusDays(3), null));
+    repo.save(event(9L, 205L, start.plusDays(3).atTime(8, 0), "OVERLIMIT_SIGNAL", 400L));
+    // events for a signal without a signal row
+    repo.save(event(10L, 299L, start.plusDays(1).atTime(8, 0), "OVERLIMIT_SIGNAL", 400L));
+
+    for (int day = 0; day < 10; day++) {
+      LocalDate processingDate = start.plusDays(day);
+      List<SignalEvent> expected = perSignal.selectEventsToSend(processingDate);
+      assertThat(bulk.selectEventsToSend(processingDate))
+          .withFailMessage("Bulk selection differs on %s", processingDate)
+          .containsExactlyElementsOf(expected);
+      expected.forEach(e -> audit.markSuccess(e.getUabsEventId()));
+    }
+  }
+
   private record DayEvent(int dpd, String status, Long balance) {
   }
 
@@ -419,6 +462,9 @@ class SignalDispatchSelectorTest {
     @Override
     public List<SignalEvent> getSignalEventsForCEH(LocalDate date, int page, int size) { return List.of(); }
 
+    @Override
+    public List<SignalEvent> getSignalEventsForCEHAfter(LocalDate date, Long afterUabsEventId, int size) { return List.of(); }
+
     @Override
     public long countSignalEventsForCEH(LocalDate date) { return 0; }
 
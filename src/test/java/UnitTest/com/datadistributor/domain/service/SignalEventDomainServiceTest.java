@@ -3,11 +3,14 @@ package com.datadistributor.domain.service;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.datadistributor.domain.SignalEvent;
 import com.datadistributor.domain.outport.SignalEventPort;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -51,4 +54,37 @@ class SignalEventDomainServiceTest {
 
     assertThat(result).containsExactly(first, second);
   }
+
+  @Test
+  void forEachSignalEventPageOfThisDate_continuesAfterLastIdUntilShortPage() {
+    LocalDate date = LocalDate.of(2024, 12, 3);
+    SignalEvent first = event(5L);
+    SignalEvent second = event(9L);
+    SignalEvent third = event(12L);
+    when(repository.getSignalEventsOfThisDateAfter(date, null, 2)).thenReturn(List.of(first, second));
+    when(repository.getSignalEventsOfThisDateAfter(date, 9L, 2)).thenReturn(List.of(third));
+    List<List<SignalEvent>> pages = new ArrayList<>();
+
+    service.forEachSignalEventPageOfThisDate(date, pages::add);
+
+    assertThat(pages).containsExactly(List.of(first, second), List.of(third));
+    verify(repository, never()).getAllSignalEventsOfThisDate(any());
+  }
+
+  @Test
+  void forEachSignalEventPageOfThisDate_skipsEmptyDay() {
+    LocalDate date = LocalDate.of(2024, 12, 3);
+    when(repository.getSignalEventsOfThisDateAfter(date, null, 2)).thenReturn(List.of());
+    List<List<SignalEvent>> pages = new ArrayList<>();
+
+    service.forEachSignalEventPageOfThisDate(date, pages::add);
+
+    assertThat(pages).isEmpty();
+  }
+
+  private static SignalEvent event(Long id) {
+    SignalEvent event = new SignalEvent();
+    event.setUabsEventId(id);
+    return event;
+  }
 }
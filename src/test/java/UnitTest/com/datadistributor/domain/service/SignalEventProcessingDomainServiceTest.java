@@ -4,30 +4,45 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.datadistributor.domain.SignalEvent;
+import com.datadistributor.domain.SignalShard;
 import com.datadistributor.domain.inport.SignalDispatchSelectorUseCase;
 import com.datadistributor.domain.job.BatchResult;
 import com.datadistributor.domain.job.JobProgressTracker;
 import com.datadistributor.domain.job.JobResult;
+import com.datadistributor.domain.job.JobState;
+import com.datadistributor.domain.outport.DeliveryMetricsPort;
 import com.datadistributor.domain.outport.DeliveryReportPublisher;
+import com.datadistributor.domain.outport.InitialCehMappingPort;
+import com.datadistributor.domain.outport.JobStatePort;
 import com.datadistributor.domain.outport.SignalEventBatchPort;
 import com.datadistributor.domain.outport.SignalEventPort;
 import com.datadistributor.domain.outport.SignalAuditQueryPort;
 import com.datadistributor.domain.report.DeliveryReport;
+import java.time.Clock;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
@@ -54,6 +69,9 @@ class SignalEventProcessingDomainServiceTest {
   @BeforeEach
   void setup() {
     MockitoAnnotations.openMocks(this);
+    // the day is streamed from whatever the list query of a test is stubbed with
+    when(signalEventRepository.streamSignalEventsOfThisDate(any()))
+        .thenAnswer(inv -> signalEventRepository.getAllSignalEventsOfThisDate(inv.getArgument(0)).stream());
     testDate = LocalDate.of(2024, 12, 3);
     jobProgressTracker = new JobProgressTracker();
     service = new SignalEventProcessingDomainService(
@@ -207,11 +225,11 @@ class SignalEventProcessingDomainServiceTest {
         .thenReturn(List.of());
     when(signalEventRepository.countSignalEventsForCEH(testDate))
         .thenReturn(2L);
-    when(signalEventRepository.getSignalEventsForCEH(testDate, 0, 10))
+    when(signalEventRepository.getSignalEventsForCEHAfter(testDate, null, 10))
         .thenReturn(List.of(event1));
-    when(signalEventRepository.getSignalEventsForCEH(testDate, 1, 10))
+    when(signalEventRepository.getSignalEventsForCEHAfter(testDate, 1L, 10))
         .thenReturn(List.of(event2));
-    when(signalEventRepository.getSignalEventsForCEH(testDate, 2, 10))
+    when(signalEventRepository.getSignalEventsForCEHAfter(testDate, 2L, 10))
         .thenReturn(List.of());
     when(signalEventBatchPort.submitBatch(anyList()))
         .thenReturn(CompletableFuture.completedFuture(new BatchResult(1, 0)));
@@ -220,7 +238,8 @@ class SignalEventProcessingDomainServiceTest {
 
     assertThat(result.getSuccessCount()).isEqualTo(2);
     assertThat(result.getTotalCount()).isEqualTo(2);
-    verify(signalEventRepository, times(3)).getSignalEventsForCEH(eq(testDate), anyInt(), eq(10));
+    verify(signalEventRepository, times(3)).getSignalEventsForCEHAfter(eq(testDate), any(), eq(10));
+    verify(signalEventRepository, never()).getSignalEventsForCEH(any(), anyInt(), anyInt());
   }
 
   @Test
@@ -654,9 +673,9 @@ class SignalEventProcessingDomainServiceTest {
         .thenReturn(List.of());
     when(signalEventRepository.countSignalEventsForCEH(testDate))
         .thenReturn(5L);
-    when(signalEventRepository.getSignalEventsForCEH(testDate, 0, 10))
+    when(signalEventRepository.getSignalEventsForCEHAfter(testDate, null, 10))
         .thenReturn(List.of(createEvent(1L, 1L, testDate.atTime(10, 0))));
-    when(signalEventRepository.getSignalEventsForCEH(testDate, 1, 10))
+    when(signalEventRepository.getSignalEventsForCEHAfter(testDate, 1L, 10))
         .thenReturn(List.of());
     when(signalEventBatchPort.submitBatch(anyList()))
         .thenReturn(CompletableFuture.completedFuture(new BatchResult(1, 0)));
@@ -664,7 +683,7 @@ class SignalEventProcessingDomainServiceTest {
     JobResult result = service.processEventsForDate("job-1", testDate);
 
     assertThat(result.getSuccessCount()).isEqualTo(1);
-    verify(signalEventRepository).getSignalEventsForCEH(testDate, 0, 10);
+    verify(signalEventRepository).getSignalEventsForCEHAfter(testDate, null, 10);
   }
 
   @Test
@@ -710,13 +729,13 @@ class SignalEventProcessingDomainServiceTest {
         .thenReturn(List.of());
     when(signalEventRepository.countSignalEventsForCEH(testDate))
         .thenReturn(25L);
-    when(signalEventRepository.getSignalEventsForCEH(testDate, 0, 10))
+    when(signalEventRepository.getSignalEventsForCEHAfter(testDate, null, 10))
         .thenReturn(createEvents(1, 10));
-    when(signalEventRepository.getSignalEventsForCEH(testDate, 1, 10))
+    when(signalEventRepository.getSignalEventsForCEHAfter(testDate, 10L, 10))
         .thenReturn(createEvents(11, 10));
-    when(signalEventRepository.getSignalEventsForCEH(testDate, 2, 10))
+    when(signalEventRepository.getSignalEventsForCEHAfter(testDate, 20L, 10))
         .thenReturn(createEvents(21, 5));
-    when(signalEventRepository.getSignalEventsForCEH(testDate, 3, 10))
+    when(signalEventRepository.getSignalEventsForCEHAfter(testDate, 25L, 10))
         .thenReturn(List.of());
     when(signalEventBatchPort.submitBatch(anyList()))
         .thenReturn(CompletableFuture.completedFuture(new BatchResult(10, 0)));
@@ -1140,6 +1159,683 @@ class SignalEventProcessingDomainServiceTest {
     return events;
   }
 
+  @Test
+  void bulkPrerequisiteCheck_blocksWhenLatestAuditOfPreviousDayEventFailed() {
+    SignalEventProcessingDomainService bulkService = bulkService();
+    SignalEvent event = createEvent(1L, 1L, testDate.atTime(10, 0));
+    SignalEvent prevEvent = createEvent(2L, 1L, testDate.minusDays(1).atTime(10, 0));
+
+    when(signalEventRepository.getAllSignalEventsOfThisDate(testDate))
+        .thenReturn(List.of(event));
+    when(signalEventRepository.getPreviousEvents(Set.of(1L), testDate.atStartOfDay()))
+        .thenReturn(Map.of(1L, prevEvent));
+    when(signalAuditQueryPort.getLatestAuditStatusesForEvents(Set.of(2L), 1L))
+        .thenReturn(Map.of(2L, "FAIL"));
+
+    JobResult result = bulkService.processEventsForDate("job-1", testDate);
+
+    assertThat(result.getMessage()).contains("Prerequisite check failed").contains("uabsEventIds=[1]");
+    verify(signalEventRepository, never()).getPreviousEvent(any(), any());
+    verify(signalAuditQueryPort, never()).getLatestAuditStatusForEvent(any(), anyLong());
+    verify(signalDispatchSelector, never()).selectEventsToSend(any());
+  }
+
+  @Test
+  void bulkPrerequisiteCheck_readsTheAuditsOfTheConfiguredConsumer() {
+    SignalEventProcessingDomainService consumerService = new SignalEventProcessingDomainService(
+        signalEventRepository,
+        signalEventBatchPort,
+        signalAuditQueryPort,
+        signalDispatchSelector,
+        10,
+        jobProgressTracker,
+        deliveryReportPublisher,
+        true,
+        20,
+        DeliveryMetricsPort.noop(),
+        0,
+        7L,
+        null);
+    SignalEvent event = createEvent(1L, 1L, testDate.atTime(10, 0));
+    SignalEvent prevEvent = createEvent(2L, 1L, testDate.minusDays(1).atTime(10, 0));
+
+    when(signalEventRepository.getAllSignalEventsOfThisDate(testDate))
+        .thenReturn(List.of(event));
+    when(signalEventRepository.getPreviousEvents(Set.of(1L), testDate.atStartOfDay()))
+        .thenReturn(Map.of(1L, prevEvent));
+    when(signalAuditQueryPort.getLatestAuditStatusesForEvents(Set.of(2L), 7L))
+        .thenReturn(Map.of(2L, "FAIL"));
+
+    JobResult result = consumerService.processEventsForDate("job-1", testDate);
+
+    assertThat(result.isBlocked()).isTrue();
+    verify(signalAuditQueryPort, never()).getLatestAuditStatusesForEvents(any(), eq(1L));
+  }
+
+  @Test
+  void bulkPrerequisiteCheck_usesEarlierSameDayEventAsPrevious() {
+    SignalEventProcessingDomainService bulkService = bulkService();
+    SignalEvent morning = createEvent(1L, 1L, testDate.atTime(9, 0));
+    SignalEvent sameTime = createEvent(2L, 1L, testDate.atTime(9, 0));
+    SignalEvent afternoon = createEvent(3L, 1L, testDate.atTime(15, 0));
+    SignalEvent prevDay = createEvent(5L, 1L, testDate.minusDays(1).atTime(10, 0));
+
+    when(signalEventRepository.getAllSignalEventsOfThisDate(testDate))
+        .thenReturn(List.of(afternoon, sameTime, morning));
+    when(signalEventRepository.getPreviousEvents(Set.of(1L), testDate.atStartOfDay()))
+        .thenReturn(Map.of(1L, prevDay));
+    // both 09:00 events fall back to the previous-day event, the 15:00 event to the later 09:00 one
+    when(signalAuditQueryPort.getLatestAuditStatusesForEvents(Set.of(5L, 2L), 1L))
+        .thenReturn(Map.of(5L, "PASS", 2L, "FAIL"));
+
+    JobResult result = bulkService.processEventsForDate("job-1", testDate);
+
+    assertThat(result.getMessage()).contains("uabsEventIds=[3]");
+  }
+
+  @Test
+  void bulkPrerequisiteCheck_continuesWhenPreviousEventHasNoAudit() {
+    SignalEventProcessingDomainService bulkService = bulkService();
+    SignalEvent event = createEvent(1L, 1L, testDate.atTime(10, 0));
+    SignalEvent prevEvent = createEvent(2L, 1L, testDate.minusDays(1).atTime(10, 0));
+
+    when(signalEventRepository.getAllSignalEventsOfThisDate(testDate))
+        .thenReturn(List.of(event));
+    when(signalEventRepository.getPreviousEvents(Set.of(1L), testDate.atStartOfDay()))
+        .thenReturn(Map.of(1L, prevEvent));
+    when(signalAuditQueryPort.getLatestAuditStatusesForEvents(Set.of(2L), 1L))
+        .thenReturn(Map.of());
+    when(signalDispatchSelector.selectEventsToSend(testDate))
+        .thenReturn(List.of(event));
+    when(signalEventBatchPort.submitBatch(anyList()))
+        .thenReturn(CompletableFuture.completedFuture(new BatchResult(1, 0)));
+
+    JobResult result = bulkService.processEventsForDate("job-1", testDate);
+
+    assertThat(result.getSuccessCount()).isEqualTo(1);
+  }
+
+  @Test
+  void legacyPaging_readsNextPageOnlyOnceInFlightSlotFrees() throws Exception {
+    SignalEventProcessingDomainService windowedService = new SignalEventProcessingDomainService(
+        signalEventRepository,
+        signalEventBatchPort,
+        signalAuditQueryPort,
+        signalDispatchSelector,
+        10,
+        jobProgressTracker,
+        deliveryReportPublisher,
+        false,
+        1,
+        DeliveryMetricsPort.noop());
+    CompletableFuture<BatchResult> firstBatch = new CompletableFuture<>();
+
+    when(signalEventRepository.getAllSignalEventsOfThisDate(testDate))
+        .thenReturn(List.of());
+    when(signalDispatchSelector.selectEventsToSend(testDate))
+        .thenReturn(List.of());
+    when(signalEventRepository.countSignalEventsForCEH(testDate))
+        .thenReturn(20L);
+    when(signalEventRepository.getSignalEventsForCEHAfter(testDate, null, 10))
+        .thenReturn(createEvents(1, 10));
+    when(signalEventRepository.getSignalEventsForCEHAfter(testDate, 10L, 10))
+        .thenReturn(createEvents(11, 10));
+    when(signalEventRepository.getSignalEventsForCEHAfter(testDate, 20L, 10))
+        .thenReturn(List.of());
+    when(signalEventBatchPort.submitBatch(anyList()))
+        .thenReturn(firstBatch, CompletableFuture.completedFuture(new BatchResult(10, 0)));
+
+    CompletableFuture<JobResult> run =
+        CompletableFuture.supplyAsync(() -> windowedService.processEventsForDate("job-1", testDate));
+
+    verify(signalEventRepository, after(200).never()).getSignalEventsForCEHAfter(testDate, 10L, 10);
+    firstBatch.complete(new BatchResult(10, 0));
+
+    JobResult result = run.get(5, TimeUnit.SECONDS);
+    assertThat(result.getSuccessCount()).isEqualTo(20);
+    verify(signalEventBatchPort, times(2)).submitBatch(anyList());
+  }
+
+  @Test
+  void processEventsForDate_recordsPrerequisiteAndSelectionTimings() {
+    DeliveryMetricsPort metrics = mock(DeliveryMetricsPort.class);
+    SignalEventProcessingDomainService instrumented = new SignalEventProcessingDomainService(
+        signalEventRepository,
+        signalEventBatchPort,
+        signalAuditQueryPort,
+        signalDispatchSelector,
+        10,
+        jobProgressTracker,
+        deliveryReportPublisher,
+        true,
+        20,
+        metrics);
+    SignalEvent event = createEvent(1L, 1L, testDate.atTime(10, 0));
+    when(signalEventRepository.getAllSignalEventsOfThisDate(testDate))
+        .thenReturn(List.of());
+    when(signalDispatchSelector.selectEventsToSend(testDate))
+        .thenReturn(List.of(event));
+    when(signalEventBatchPort.submitBatch(anyList()))
+        .thenReturn(CompletableFuture.completedFuture(new BatchResult(1, 0)));
+
+    instrumented.processEventsForDate("job-1", testDate);
+
+    verify(metrics).recordPrerequisiteCheck(any(Duration.class), eq(true));
+    verify(metrics).recordSelection(any(Duration.class), eq(1));
+  }
+
+  @Test
+  void processEventsForDate_orderedLanesKeepSignalEventsInRecordOrder() {
+    SignalEventProcessingDomainService laneService = laneService(2);
+    SignalEvent late = createEvent(1L, 7L, testDate.atTime(15, 0));
+    SignalEvent other = createEvent(2L, 8L, testDate.atTime(9, 0));
+    SignalEvent early = createEvent(3L, 7L, testDate.atTime(8, 0));
+    when(signalEventRepository.getAllSignalEventsOfThisDate(testDate))
+        .thenReturn(List.of());
+    when(signalDispatchSelector.selectEventsToSend(testDate))
+        .thenReturn(List.of(late, other, early));
+    ArgumentCaptor<List<SignalEvent>> batches = ArgumentCaptor.forClass(List.class);
+    when(signalEventBatchPort.submitBatch(batches.capture()))
+        .thenAnswer(invocation -> CompletableFuture.completedFuture(
+            new BatchResult(invocation.<List<SignalEvent>>getArgument(0).size(), 0)));
+
+    JobResult result = laneService.processEventsForDate("job-1", testDate);
+
+    assertThat(result.getSuccessCount()).isEqualTo(3);
+    assertThat(batches.getAllValues())
+        .anySatisfy(batch -> assertThat(batch).containsExactly(early, late))
+        .anySatisfy(batch -> assertThat(batch).containsExactly(other));
+  }
+
+  @Test
+  void processEventsForDate_orderedLaneWaitsForItsPreviousBatch() throws Exception {
+    SignalEventProcessingDomainService laneService = laneService(1);
+    List<SignalEvent> events = new ArrayList<>();
+    for (int i = 1; i <= 15; i++) {
+      events.add(createEvent((long) i, 1L, testDate.atTime(10, i)));
+    }
+    CompletableFuture<BatchResult> firstBatch = new CompletableFuture<>();
+    when(signalEventRepository.getAllSignalEventsOfThisDate(testDate))
+        .thenReturn(List.of());
+    when(signalDispatchSelector.selectEventsToSend(testDate))
+        .thenReturn(events);
+    when(signalEventBatchPort.submitBatch(anyList()))
+        .thenReturn(firstBatch, CompletableFuture.completedFuture(new BatchResult(5, 0)));
+
+    CompletableFuture<JobResult> run =
+        CompletableFuture.supplyAsync(() -> laneService.processEventsForDate("job-1", testDate));
+
+    verify(signalEventBatchPort, after(200).times(1)).submitBatch(anyList());
+    firstBatch.complete(new BatchResult(10, 0));
+
+    JobResult result = run.get(5, TimeUnit.SECONDS);
+    assertThat(result.getSuccessCount()).isEqualTo(15);
+    verify(signalEventBatchPort, times(2)).submitBatch(anyList());
+  }
+
+  @Test
+  void processEventsForDate_orderedLanesDrainLegacyPages() {
+    SignalEventProcessingDomainService laneService = laneService(4);
+    when(signalEventRepository.getAllSignalEventsOfThisDate(testDate))
+        .thenReturn(List.of());
+    when(signalDispatchSelector.selectEventsToSend(testDate))
+        .thenReturn(List.of());
+    when(signalEventRepository.countSignalEventsForCEH(testDate))
+        .thenReturn(20L);
+    when(signalEventRepository.getSignalEventsForCEHAfter(testDate, null, 10))
+        .thenReturn(createEvents(1, 10));
+    when(signalEventRepository.getSignalEventsForCEHAfter(testDate, 10L, 10))
+        .thenReturn(createEvents(11, 10));
+    when(signalEventRepository.getSignalEventsForCEHAfter(testDate, 20L, 10))
+        .thenReturn(List.of());
+    when(signalEventBatchPort.submitBatch(anyList()))
+        .thenAnswer(invocation -> CompletableFuture.completedFuture(
+            new BatchResult(invocation.<List<SignalEvent>>getArgument(0).size(), 0)));
+
+    JobResult result = laneService.processEventsForDate("job-1", testDate);
+
+    assertThat(result.getSuccessCount()).isEqualTo(20);
+    assertThat(result.getTotalCount()).isEqualTo(20);
+  }
+
+  @Test
+  void processEventsForDate_batchesWaitingForTheirLaneLeaveTheWindowToOtherLanes() throws Exception {
+    SignalEventProcessingDomainService laneService = laneService(2, 2);
+    List<SignalEvent> events = new ArrayList<>();
+    for (int i = 1; i <= 20; i++) {
+      events.add(createEvent((long) i, 2L, testDate.atTime(10, i)));
+    }
+    SignalEvent otherLane = createEvent(21L, 3L, testDate.atTime(11, 0));
+    events.add(otherLane);
+    CompletableFuture<BatchResult> firstBatch = new CompletableFuture<>();
+    when(signalEventRepository.getAllSignalEventsOfThisDate(testDate))
+        .thenReturn(List.of());
+    when(signalDispatchSelector.selectEventsToSend(testDate))
+        .thenReturn(events);
+    when(signalEventBatchPort.submitBatch(anyList()))
+        .thenAnswer(invocation -> {
+          List<SignalEvent> batch = invocation.getArgument(0);
+          return batch.get(0).getUabsEventId() == 1L
+              ? firstBatch
+              : CompletableFuture.completedFuture(new BatchResult(batch.size(), 0));
+        });
+
+    CompletableFuture<JobResult> run =
+        CompletableFuture.supplyAsync(() -> laneService.processEventsForDate("job-1", testDate));
+
+    verify(signalEventBatchPort, after(200).times(2)).submitBatch(anyList());
+    verify(signalEventBatchPort).submitBatch(List.of(otherLane));
+    firstBatch.complete(new BatchResult(10, 0));
+
+    JobResult result = run.get(5, TimeUnit.SECONDS);
+    assertThat(result.getSuccessCount()).isEqualTo(21);
+    verify(signalEventBatchPort, times(3)).submitBatch(anyList());
+  }
+
+  @Test
+  void processEventsForDate_batchFailingAsAWholeCountsAsFailuresAndCompletesTheProgress() {
+    JobStatePort jobStatePort = mock(JobStatePort.class);
+    jobProgressTracker = new JobProgressTracker(jobStatePort, Clock.systemUTC());
+    SignalEventProcessingDomainService laneService = laneService(0);
+    when(signalEventRepository.getAllSignalEventsOfThisDate(testDate))
+        .thenReturn(List.of());
+    when(signalDispatchSelector.selectEventsToSend(testDate))
+        .thenReturn(createEvents(1, 15));
+    when(signalEventBatchPort.submitBatch(anyList()))
+        .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("rejected")),
+            CompletableFuture.completedFuture(new BatchResult(5, 0)));
+
+    JobResult result = laneService.processEventsForDate("job-1", testDate);
+
+    assertThat(result.getSuccessCount()).isEqualTo(5);
+    assertThat(result.getFailureCount()).isEqualTo(10);
+    ArgumentCaptor<JobState> states = ArgumentCaptor.forClass(JobState.class);
+    verify(jobStatePort, atLeastOnce()).save(states.capture());
+    assertThat(states.getAllValues())
+        .filteredOn(state -> state.getStatus() == JobState.Status.RUNNING)
+        .last()
+        .extracting(JobState::getCompletedBatches, JobState::getTotalBatches, JobState::getFailureCount)
+        .containsExactly(2, 2, 10L);
+  }
+
+  @Test
+  void processEventsForDate_orderedLanesTrackTheBatchesTheyCut() {
+    JobStatePort jobStatePort = mock(JobStatePort.class);
+    jobProgressTracker = new JobProgressTracker(jobStatePort, Clock.systemUTC());
+    SignalEventProcessingDomainService laneService = laneService(4);
+    List<SignalEvent> events = new ArrayList<>();
+    for (int i = 1; i <= 8; i++) {
+      events.add(createEvent((long) i, (long) i, testDate.atTime(10, i)));
+    }
+    when(signalEventRepository.getAllSignalEventsOfThisDate(testDate))
+        .thenReturn(List.of());
+    when(signalDispatchSelector.selectEventsToSend(testDate))
+        .thenReturn(events);
+    when(signalEventBatchPort.submitBatch(anyList()))
+        .thenAnswer(invocation -> CompletableFuture.completedFuture(
+            new BatchResult(invocation.<List<SignalEvent>>getArgument(0).size(), 0)));
+
+    laneService.processEventsForDate("job-1", testDate);
+
+    ArgumentCaptor<JobState> states = ArgumentCaptor.forClass(JobState.class);
+    verify(jobStatePort, atLeastOnce()).save(states.capture());
+    verify(signalEventBatchPort, times(4)).submitBatch(anyList());
+    assertThat(states.getAllValues()).allSatisfy(state -> {
+      assertThat(state.getTotalBatches()).isEqualTo(4);
+      assertThat(state.getCompletedBatches()).isLessThanOrEqualTo(4);
+    });
+  }
+
+  @Test
+  void processEventsForDate_orderedLanesRaiseTheEstimateOfLegacyPages() {
+    JobStatePort jobStatePort = mock(JobStatePort.class);
+    jobProgressTracker = new JobProgressTracker(jobStatePort, Clock.systemUTC());
+    SignalEventProcessingDomainService laneService = laneService(4);
+    List<SignalEvent> page = new ArrayList<>();
+    for (int i = 1; i <= 10; i++) {
+      page.add(createEvent((long) i, (long) (i % 4), testDate.atTime(10, i)));
+    }
+    when(signalEventRepository.getAllSignalEventsOfThisDate(testDate))
+        .thenReturn(List.of());
+    when(signalDispatchSelector.selectEventsToSend(testDate))
+        .thenReturn(List.of());
+    when(signalEventRepository.countSignalEventsForCEH(testDate))
+        .thenReturn(10L);
+    when(signalEventRepository.getSignalEventsForCEHAfter(testDate, null, 10))
+        .thenReturn(page);
+    when(signalEventRepository.getSignalEventsForCEHAfter(testDate, 10L, 10))
+        .thenReturn(List.of());
+    when(signalEventBatchPort.submitBatch(anyList()))
+        .thenAnswer(invocation -> CompletableFuture.completedFuture(
+            new BatchResult(invocation.<List<SignalEvent>>getArgument(0).size(), 0)));
+
+    laneService.processEventsForDate("job-1", testDate);
+
+    ArgumentCaptor<JobState> states = ArgumentCaptor.forClass(JobState.class);
+    verify(jobStatePort, atLeastOnce()).save(states.capture());
+    verify(signalEventBatchPort, times(4)).submitBatch(anyList());
+    assertThat(states.getAllValues()).allSatisfy(state ->
+        assertThat(state.getCompletedBatches()).isLessThanOrEqualTo(state.getTotalBatches()));
+    assertThat(states.getAllValues().get(states.getAllValues().size() - 1))
+        .extracting(JobState::getStatus, JobState::getTotalBatches, JobState::getCompletedBatches)
+        .containsExactly(JobState.Status.COMPLETED, 4, 4);
+  }
+
+  @Test
+  void resumeEventsForDate_skipsEventsAlreadyDeliveredWithOneAuditLookup() {
+    List<SignalEvent> selected = createEvents(1, 3);
+    when(signalEventRepository.getAllSignalEventsOfThisDate(testDate))
+        .thenReturn(List.of());
+    when(signalDispatchSelector.selectEventsToSend(testDate))
+        .thenReturn(selected);
+    when(signalAuditQueryPort.findSuccessfulEventIds(Set.of(1L, 2L, 3L), 1L))
+        .thenReturn(Set.of(1L, 2L));
+    ArgumentCaptor<List<SignalEvent>> batches = ArgumentCaptor.forClass(List.class);
+    when(signalEventBatchPort.submitBatch(batches.capture()))
+        .thenReturn(CompletableFuture.completedFuture(new BatchResult(1, 0)));
+
+    JobResult result = service.resumeEventsForDate("job-1", testDate);
+
+    assertThat(batches.getAllValues()).singleElement()
+        .satisfies(batch -> assertThat(batch).extracting(SignalEvent::getUabsEventId).containsExactly(3L));
+    assertThat(result.getSuccessCount()).isEqualTo(3);
+    assertThat(result.getTotalCount()).isEqualTo(3);
+    assertThat(result.getMessage()).contains("alreadyDelivered=2");
+    verify(signalAuditQueryPort, times(1)).findSuccessfulEventIds(any(), anyLong());
+  }
+
+  @Test
+  void resumeEventsForDate_sendsNothingWhenEverythingWasDelivered() {
+    when(signalEventRepository.getAllSignalEventsOfThisDate(testDate))
+        .thenReturn(List.of());
+    when(signalDispatchSelector.selectEventsToSend(testDate))
+        .thenReturn(createEvents(1, 2));
+    when(signalAuditQueryPort.findSuccessfulEventIds(any(), eq(1L)))
+        .thenReturn(Set.of(1L, 2L));
+
+    JobResult result = service.resumeEventsForDate("job-1", testDate);
+
+    assertThat(result.getSuccessCount()).isEqualTo(2);
+    assertThat(result.getFailureCount()).isZero();
+    verify(signalEventBatchPort, never()).submitBatch(anyList());
+    verify(deliveryReportPublisher).publish(any(DeliveryReport.class));
+  }
+
+  @Test
+  void resumeEventsForDate_restartsLegacyPagingAfterCheckpoint() {
+    JobStatePort jobStatePort = mock(JobStatePort.class);
+    when(jobStatePort.findById("job-1")).thenReturn(Optional.of(JobState.builder()
+        .jobId("job-1")
+        .processingDate(testDate)
+        .status(JobState.Status.RUNNING)
+        .checkpointBatch(1)
+        .checkpointUabsEventId(10L)
+        .build()));
+    SignalEventProcessingDomainService resumable = new SignalEventProcessingDomainService(
+        signalEventRepository,
+        signalEventBatchPort,
+        signalAuditQueryPort,
+        signalDispatchSelector,
+        10,
+        new JobProgressTracker(jobStatePort, Clock.systemUTC()),
+        deliveryReportPublisher);
+    when(signalEventRepository.getAllSignalEventsOfThisDate(testDate))
+        .thenReturn(List.of());
+    when(signalDispatchSelector.selectEventsToSend(testDate))
+        .thenReturn(List.of());
+    when(signalEventRepository.countSignalEventsForCEH(testDate))
+        .thenReturn(20L);
+    when(signalEventRepository.getSignalEventsForCEHAfter(testDate, 10L, 10))
+        .thenReturn(createEvents(11, 10));
+    when(signalEventRepository.getSignalEventsForCEHAfter(testDate, 20L, 10))
+        .thenReturn(List.of());
+    when(signalAuditQueryPort.findSuccessfulEventIds(any(), eq(1L)))
+        .thenReturn(Set.of(11L));
+    when(signalEventBatchPort.submitBatch(anyList()))
+        .thenAnswer(invocation -> CompletableFuture.completedFuture(
+            new BatchResult(invocation.<List<SignalEvent>>getArgument(0).size(), 0)));
+
+    JobResult result = resumable.resumeEventsForDate("job-1", null);
+
+    verify(signalEventRepository, never()).getSignalEventsForCEHAfter(testDate, null, 10);
+    verify(signalEventBatchPort).submitBatch(argThat(batch -> batch.size() == 9));
+    assertThat(result.getSuccessCount()).isEqualTo(10);
+    assertThat(result.getMessage()).contains("resumedAfterUabsEventId=10");
+    ArgumentCaptor<JobState> states = ArgumentCaptor.forClass(JobState.class);
+    verify(jobStatePort, atLeastOnce()).save(states.capture());
+    assertThat(states.getAllValues().get(states.getAllValues().size() - 1).getCheckpointUabsEventId())
+        .isEqualTo(20L);
+  }
+
+  @Test
+  void processEventsForDate_orderedLanesCheckpointTheirLowWaterMark() {
+    JobStatePort jobStatePort = mock(JobStatePort.class);
+    jobProgressTracker = new JobProgressTracker(jobStatePort, Clock.systemUTC());
+    SignalEventProcessingDomainService laneService = laneService(4);
+    List<SignalEvent> page = new ArrayList<>();
+    for (int i = 1; i <= 10; i++) {
+      page.add(createEvent((long) i, (long) (i % 4), testDate.atTime(10, i)));
+    }
+    when(signalEventRepository.getAllSignalEventsOfThisDate(testDate))
+        .thenReturn(List.of());
+    when(signalDispatchSelector.selectEventsToSend(testDate))
+        .thenReturn(List.of());
+    when(signalEventRepository.countSignalEventsForCEH(testDate))
+        .thenReturn(10L);
+    when(signalEventRepository.getSignalEventsForCEHAfter(testDate, null, 10))
+        .thenReturn(page);
+    when(signalEventRepository.getSignalEventsForCEHAfter(testDate, 10L, 10))
+        .thenReturn(List.of());
+    when(signalEventBatchPort.submitBatch(anyList()))
+        .thenAnswer(invocation -> CompletableFuture.completedFuture(
+            new BatchResult(invocation.<List<SignalEvent>>getArgument(0).size(), 0)));
+
+    laneService.processEventsForDate("job-1", testDate);
+
+    ArgumentCaptor<JobState> states = ArgumentCaptor.forClass(JobState.class);
+    verify(jobStatePort, atLeastOnce()).save(states.capture());
+    assertThat(states.getAllValues().get(states.getAllValues().size() - 1).getCheckpointUabsEventId())
+        .isEqualTo(10L);
+  }
+
+  @Test
+  void resumeEventsForDate_resumesAnOrderedLaneRunFromItsCheckpoint() {
+    JobStatePort jobStatePort = mock(JobStatePort.class);
+    when(jobStatePort.findById("job-1")).thenReturn(Optional.of(JobState.builder()
+        .jobId("job-1")
+        .processingDate(testDate)
+        .status(JobState.Status.RUNNING)
+        .checkpointUabsEventId(10L)
+        .build()));
+    jobProgressTracker = new JobProgressTracker(jobStatePort, Clock.systemUTC());
+    SignalEventProcessingDomainService laneService = laneService(4);
+    List<SignalEvent> page = new ArrayList<>();
+    for (int i = 11; i <= 20; i++) {
+      page.add(createEvent((long) i, (long) (i % 4), testDate.atTime(10, i)));
+    }
+    when(signalDispatchSelector.selectEventsToSend(testDate))
+        .thenReturn(List.of());
+    when(signalEventRepository.countSignalEventsForCEH(testDate))
+        .thenReturn(20L);
+    when(signalEventRepository.getSignalEventsForCEHAfter(testDate, 10L, 10))
+        .thenReturn(page);
+    when(signalEventRepository.getSignalEventsForCEHAfter(testDate, 20L, 10))
+        .thenReturn(List.of());
+    when(signalAuditQueryPort.findSuccessfulEventIds(any(), eq(1L)))
+        .thenReturn(Set.of(11L));
+    when(signalEventBatchPort.submitBatch(anyList()))
+        .thenAnswer(invocation -> CompletableFuture.completedFuture(
+            new BatchResult(invocation.<List<SignalEvent>>getArgument(0).size(), 0)));
+
+    JobResult result = laneService.resumeEventsForDate("job-1", null);
+
+    verify(signalEventRepository, never()).streamSignalEventsOfThisDate(any());
+    verify(signalEventRepository, never()).getSignalEventsForCEHAfter(testDate, null, 10);
+    ArgumentCaptor<DeliveryReport> report = ArgumentCaptor.forClass(DeliveryReport.class);
+    verify(deliveryReportPublisher).publish(report.capture());
+    assertThat(report.getValue())
+        .extracting(DeliveryReport::getTotalEvents, DeliveryReport::getSuccessEvents, DeliveryReport::getFailedEvents)
+        .containsExactly(10L, 10L, 0L);
+    assertThat(result.getMessage()).contains("alreadyDelivered=1", "resumedAfterUabsEventId=10");
+    ArgumentCaptor<JobState> states = ArgumentCaptor.forClass(JobState.class);
+    verify(jobStatePort, atLeastOnce()).save(states.capture());
+    assertThat(states.getAllValues().get(states.getAllValues().size() - 1).getCheckpointUabsEventId())
+        .isEqualTo(20L);
+  }
+
+  @Test
+  void resumeEventsForDate_reportsSelectedEventsAtOrBelowTheCheckpointWithoutResendingThem() {
+    JobStatePort jobStatePort = mock(JobStatePort.class);
+    when(jobStatePort.findById("job-1")).thenReturn(Optional.of(JobState.builder()
+        .jobId("job-1")
+        .processingDate(testDate)
+        .status(JobState.Status.RUNNING)
+        .checkpointUabsEventId(2L)
+        .build()));
+    SignalEventProcessingDomainService resumable = new SignalEventProcessingDomainService(
+        signalEventRepository,
+        signalEventBatchPort,
+        signalAuditQueryPort,
+        signalDispatchSelector,
+        10,
+        new JobProgressTracker(jobStatePort, Clock.systemUTC()),
+        deliveryReportPublisher);
+    when(signalDispatchSelector.selectEventsToSend(testDate))
+        .thenReturn(createEvents(1, 4));
+    when(signalAuditQueryPort.findSuccessfulEventIds(any(), eq(1L)))
+        .thenReturn(Set.of(1L));
+    ArgumentCaptor<List<SignalEvent>> batches = ArgumentCaptor.forClass(List.class);
+    when(signalEventBatchPort.submitBatch(batches.capture()))
+        .thenAnswer(invocation -> CompletableFuture.completedFuture(
+            new BatchResult(invocation.<List<SignalEvent>>getArgument(0).size(), 0)));
+
+    JobResult result = resumable.resumeEventsForDate("job-1", null);
+
+    assertThat(batches.getAllValues()).singleElement()
+        .satisfies(batch -> assertThat(batch).extracting(SignalEvent::getUabsEventId).containsExactly(3L, 4L));
+    ArgumentCaptor<DeliveryReport> report = ArgumentCaptor.forClass(DeliveryReport.class);
+    verify(deliveryReportPublisher).publish(report.capture());
+    assertThat(report.getValue())
+        .extracting(DeliveryReport::getTotalEvents, DeliveryReport::getSuccessEvents, DeliveryReport::getFailedEvents)
+        .containsExactly(4L, 3L, 1L);
+    assertThat(result.getMessage()).contains("notDeliveredBeforeCheckpoint=1");
+  }
+
+  @Test
+  void processShard_sendsOnlyTheSignalsOfTheShardAndPublishesNoReport() {
+    SignalShard shard = new SignalShard(0, 2);
+    List<SignalEvent> events = new ArrayList<>();
+    for (long signalId = 1; signalId <= 20; signalId++) {
+      events.add(createEvent(signalId, signalId, testDate.atTime(10, 0)));
+    }
+    List<SignalEvent> inShard = events.stream().filter(shard::contains).toList();
+    when(signalEventRepository.getAllSignalEventsOfThisDate(testDate)).thenReturn(List.of());
+    when(signalDispatchSelector.selectEventsToSend(eq(testDate), any()))
+        .thenAnswer(invocation -> {
+          java.util.function.Predicate<Long> filter = invocation.getArgument(1);
+          return events.stream().filter(event -> filter.test(event.getSignalId())).toList();
+        });
+    when(signalEventBatchPort.submitBatch(anyList()))
+        .thenAnswer(invocation -> CompletableFuture.completedFuture(
+            new BatchResult(invocation.<List<SignalEvent>>getArgument(0).size(), 0)));
+
+    JobResult result = service.processShard("job-1:shard-0", testDate, shard);
+
+    assertThat(inShard).isNotEmpty().hasSizeLessThan(events.size());
+    assertThat(result.getTotalCount()).isEqualTo(inShard.size());
+    assertThat(result.getSuccessCount()).isEqualTo(inShard.size());
+    assertThat(result.getMessage()).contains("shard 0/2");
+    verify(signalDispatchSelector, never()).selectEventsToSend(testDate);
+    verify(deliveryReportPublisher, never()).publish(any());
+  }
+
+  @Test
+  void processShard_ignoresBlockedPrerequisitesOfOtherShards() {
+    SignalShard shard = new SignalShard(0, 2);
+    long otherSignal = java.util.stream.LongStream.rangeClosed(1, 100)
+        .filter(id -> !shard.contains(id)).findFirst().orElseThrow();
+    SignalEvent blocked = createEvent(5L, otherSignal, testDate.atTime(10, 0));
+    when(signalEventRepository.getAllSignalEventsOfThisDate(testDate)).thenReturn(List.of(blocked));
+    when(signalDispatchSelector.selectEventsToSend(eq(testDate), any())).thenReturn(List.of());
+    when(signalDispatchSelector.selectEventsToSend(testDate)).thenReturn(List.of());
+    when(signalEventRepository.getSignalEventsForCEHAfter(eq(testDate), any(), eq(10))).thenReturn(List.of());
+    when(signalEventRepository.getPreviousEvent(eq(otherSignal), any()))
+        .thenReturn(Optional.of(createEvent(4L, otherSignal, testDate.minusDays(1).atTime(10, 0))));
+    when(signalAuditQueryPort.getLatestAuditStatusForEvent(4L, 1L)).thenReturn(Optional.of("FAIL"));
+
+    JobResult shardResult = service.processShard("job-1:shard-0", testDate, shard);
+    JobResult wholeResult = service.processEventsForDate("job-1", testDate);
+
+    assertThat(shardResult.getMessage()).doesNotContain("Prerequisite check failed");
+    assertThat(shardResult.isBlocked()).isFalse();
+    assertThat(wholeResult.getMessage()).contains("Prerequisite check failed");
+    assertThat(wholeResult.isBlocked()).isTrue();
+  }
+
+  @Test
+  void processEventsForDate_marksOneJobStartPerRunButNoneForAShard() {
+    InitialCehMappingPort mappingPort = mock(InitialCehMappingPort.class);
+    SignalEventProcessingDomainService mappingService = new SignalEventProcessingDomainService(
+        signalEventRepository,
+        signalEventBatchPort,
+        signalAuditQueryPort,
+        signalDispatchSelector,
+        10,
+        jobProgressTracker,
+        deliveryReportPublisher,
+        true,
+        20,
+        DeliveryMetricsPort.noop(),
+        0,
+        1L,
+        mappingPort);
+    when(signalEventRepository.getAllSignalEventsOfThisDate(testDate))
+        .thenReturn(List.of());
+    when(signalDispatchSelector.selectEventsToSend(eq(testDate)))
+        .thenReturn(List.of());
+    when(signalDispatchSelector.selectEventsToSend(eq(testDate), any()))
+        .thenReturn(List.of());
+
+    mappingService.processShard("job-1", testDate, new SignalShard(0, 2));
+    verify(mappingPort, never()).startJob();
+
+    mappingService.processEventsForDate("job-1", testDate);
+    verify(mappingPort, times(1)).startJob();
+  }
+
+  private SignalEventProcessingDomainService laneService(int lanes) {
+    return laneService(lanes, 20);
+  }
+
+  private SignalEventProcessingDomainService laneService(int lanes, int maxInFlightBatches) {
+    return new SignalEventProcessingDomainService(
+        signalEventRepository,
+        signalEventBatchPort,
+        signalAuditQueryPort,
+        signalDispatchSelector,
+        10,
+        jobProgressTracker,
+        deliveryReportPublisher,
+        true,
+        maxInFlightBatches,
+        DeliveryMetricsPort.noop(),
+        lanes);
+  }
+
+  private SignalEventProcessingDomainService bulkService() {
+    return new SignalEventProcessingDomainService(
+        signalEventRepository,
+        signalEventBatchPort,
+        signalAuditQueryPort,
+        signalDispatchSelector,
+        10,
+        jobProgressTracker,
+        deliveryReportPublisher,
+        true,
+        20,
+        DeliveryMetricsPort.noop());
+  }
+
   private SignalEvent createEvent(Long uabsEventId, Long signalId, LocalDateTime eventRecordDateTime) {
     SignalEvent event = new SignalEvent();
     event.setUabsEventId(uabsEventId);
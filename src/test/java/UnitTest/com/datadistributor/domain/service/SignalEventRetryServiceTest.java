@@ -1,10 +1,17 @@
 package com.datadistributor.domain.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 
 import com.datadistributor.domain.SignalEvent;
+import com.datadistributor.domain.job.BatchResult;
+import com.datadistributor.domain.job.JobProgressTracker;
 import com.datadistributor.domain.job.JobResult;
+import com.datadistributor.domain.outport.InitialCehMappingPort;
 import com.datadistributor.domain.outport.SignalAuditQueryPort;
+import com.datadistributor.domain.outport.SignalEventBatchPort;
 import com.datadistributor.domain.outport.SignalEventPort;
 import com.datadistributor.domain.outport.SignalEventSenderPort;
 import com.datadistributor.domain.service.SignalEventRetryDomainService;
@@ -17,6 +24,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -62,6 +70,28 @@ class SignalEventRetryServiceTest {
     assertThat(senderPort.sent).containsExactly(1L, 2L, 3L);
   }
 
+  @Test
+  void retryMarksAJobStartForTheInitialCehMappings() {
+    InitialCehMappingPort mappingPort = mock(InitialCehMappingPort.class);
+    service = new SignalEventRetryDomainService(auditPort, eventRepository, senderPort, mappingPort);
+    auditPort.failedIds = List.of(1L);
+    eventRepository.save(event(1L, LocalDateTime.of(2024, 12, 3, 10, 0)));
+
+    service.retryFailedEvents("job-2", LocalDate.of(2024, 12, 3));
+
+    verify(mappingPort).startJob();
+  }
+
+  @Test
+  void retryWithNothingToSendKeepsTheMappingsOfTheLastJob() {
+    InitialCehMappingPort mappingPort = mock(InitialCehMappingPort.class);
+    service = new SignalEventRetryDomainService(auditPort, eventRepository, senderPort, mappingPort);
+
+    service.retryFailedEvents("job-1", LocalDate.of(2024, 12, 3));
+
+    verify(mappingPort, never()).startJob();
+  }
+
   @Test
   void countsMissingEventsAsFailure() {
     auditPort.failedIds = List.of(1L, 2L);
@@ -74,6 +104,78 @@ class SignalEventRetryServiceTest {
     assertThat(result.getTotalCount()).isEqualTo(2);
   }
 
+  @Test
+  void batchedRetrySendsEachSignalsEventsInLaterWaves() {
+    FakeBatchPort batchPort = new FakeBatchPort();
+    service = new SignalEventRetryDomainService(auditPort, eventRepository, senderPort, batchPort, 2, 2,
+        new JobProgressTracker());
+    auditPort.failedIds = List.of(1L, 2L, 3L, 4L);
+    eventRepository.save(event(1L, 10L, LocalDateTime.of(2024, 12, 3, 10, 0)));
+    eventRepository.save(event(2L, 20L, LocalDateTime.of(2024, 12, 3, 11, 0)));
+    eventRepository.save(event(3L, 10L, LocalDateTime.of(2024, 12, 3, 12, 0)));
+    eventRepository.save(event(4L, 30L, LocalDateTime.of(2024, 12, 3, 13, 0)));
+    batchPort.failingIds.add(4L);
+
+    JobResult result = service.retryFailedEvents("job-batched", LocalDate.of(2024, 12, 3));
+
+    assertThat(batchPort.batches).containsExactly(List.of(1L, 2L), List.of(4L), List.of(3L));
+    assertThat(result.getSuccessCount()).isEqualTo(3);
+    assertThat(result.getFailureCount()).isEqualTo(1);
+    assertThat(senderPort.sent).isEmpty();
+  }
+
+  @Test
+  void batchedRetryCountsFailedBatchesAsFailures() {
+    FakeBatchPort batchPort = new FakeBatchPort();
+    batchPort.failWith = new IllegalStateException("executor rejected");
+    service = new SignalEventRetryDomainService(auditPort, eventRepository, senderPort, batchPort, 10, 1,
+        new JobProgressTracker());
+    auditPort.failedIds = List.of(1L, 2L);
+    eventRepository.save(event(1L, 10L, LocalDateTime.of(2024, 12, 3, 10, 0)));
+    eventRepository.save(event(2L, 20L, LocalDateTime.of(2024, 12, 3, 11, 0)));
+
+    JobResult result = service.retryFailedEvents("job-failed", LocalDate.of(2024, 12, 3));
+
+    assertThat(result.getSuccessCount()).isZero();
+    assertThat(result.getFailureCount()).isEqualTo(2);
+  }
+
+  @Test
+  void signalOrderedWavesKeepsChronologicalOrderPerSignal() {
+    SignalEvent a1 = event(1L, 10L, LocalDateTime.of(2024, 12, 3, 10, 0));
+    SignalEvent b1 = event(2L, 20L, LocalDateTime.of(2024, 12, 3, 11, 0));
+    SignalEvent a2 = event(3L, 10L, LocalDateTime.of(2024, 12, 3, 12, 0));
+    SignalEvent a3 = event(4L, 10L, LocalDateTime.of(2024, 12, 3, 13, 0));
+    SignalEvent noSignal = event(5L, null, LocalDateTime.of(2024, 12, 3, 14, 0));
+
+    List<List<SignalEvent>> waves = SignalEventRetryDomainService.signalOrderedWaves(
+        List.of(a1, b1, a2, a3, noSignal));
+
+    assertThat(waves).containsExactly(List.of(a1, b1, noSignal), List.of(a2), List.of(a3));
+  }
+
+  private SignalEvent event(long id, Long signalId, LocalDateTime timestamp) {
+    SignalEvent event = event(id, timestamp);
+    event.setSignalId(signalId);
+    return event;
+  }
+
+  private static class FakeBatchPort implements SignalEventBatchPort {
+    final List<List<Long>> batches = new ArrayList<>();
+    final List<Long> failingIds = new ArrayList<>();
+    RuntimeException failWith;
+
+    @Override
+    public synchronized CompletableFuture<BatchResult> submitBatch(List<SignalEvent> events) {
+      batches.add(events.stream().map(SignalEvent::getUabsEventId).toList());
+      if (failWith != null) {
+        return CompletableFuture.failedFuture(failWith);
+      }
+      int failures = (int) events.stream().filter(e -> failingIds.contains(e.getUabsEventId())).count();
+      return CompletableFuture.completedFuture(new BatchResult(events.size() - failures, failures));
+    }
+  }
+
   private SignalEvent event(long id, LocalDateTime timestamp) {
     SignalEvent event = new SignalEvent();
     event.setUabsEventId(id);
@@ -115,6 +217,8 @@ class SignalEventRetryServiceTest {
     @Override
     public List<SignalEvent> getSignalEventsForCEH(LocalDate date, int page, int size) { return List.of(); }
     @Override
+    public List<SignalEvent> getSignalEventsForCEHAfter(LocalDate date, Long afterUabsEventId, int size) { return List.of(); }
+    @Override
     public long countSignalEventsForCEH(LocalDate date) { return 0; }
     @Override
     public java.util.Optional<SignalEvent> getPreviousEvent(Long signalId, LocalDateTime before) { return java.util.Optional.empty(); }
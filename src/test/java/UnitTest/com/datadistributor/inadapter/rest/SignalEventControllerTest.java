@@ -5,11 +5,20 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 
+import com.datadistributor.domain.inport.JobStatusUseCase;
 import com.datadistributor.domain.inport.SignalEventProcessingUseCase;
 import com.datadistributor.domain.job.JobResult;
+import com.datadistributor.domain.job.JobState;
+import com.datadistributor.domain.outport.JobStatePort;
+import com.datadistributor.domain.service.JobStatusDomainService;
+import java.time.Clock;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
@@ -25,11 +34,13 @@ import org.springframework.web.context.request.ServletRequestAttributes;
  */
 class SignalEventControllerTest {
 
+  private static final Clock CLOCK = Clock.fixed(Instant.parse("2024-12-03T02:00:00Z"), ZoneOffset.UTC);
+
   @Mock
   private SignalEventProcessingUseCase processingUseCase;
 
   private ThreadPoolTaskExecutor executor;
-  private JobStatusStore store;
+  private JobStatusUseCase store;
   private SignalEventController controller;
 
   @BeforeEach
@@ -44,8 +55,8 @@ class SignalEventControllerTest {
     };
     executor.afterPropertiesSet();
 
-    store = new JobStatusStore();
-    controller = new SignalEventController(processingUseCase, executor, store);
+    store = new JobStatusDomainService(new InMemoryJobStatePort(), CLOCK);
+    controller = new SignalEventController(processingUseCase, executor, store, CLOCK);
   }
 
   @Test
@@ -63,11 +74,34 @@ class SignalEventControllerTest {
 
     assertThat(store.find(jobId))
         .get()
-        .extracting(JobResult::getSuccessCount, JobResult::getFailureCount)
-        .containsExactly(1, 0);
+        .extracting(JobState::getSuccessCount, JobState::getFailureCount, JobState::getStatus)
+        .containsExactly(1L, 0L, JobState.Status.COMPLETED);
     RequestContextHolder.resetRequestAttributes();
   }
 
+  @Test
+  void resumeRunsJobUnderSameIdWithRecordedDate() {
+    LocalDate date = LocalDate.of(2024, 12, 3);
+    store.failed("job-9", date, "pod restarted");
+    when(processingUseCase.resumeEventsForDate("job-9", date))
+        .thenReturn(new JobResult(7, 0, 7, "resumed"));
+
+    RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+    ResponseEntity<JobResult> response = controller.resume("job-9", null);
+
+    assertThat(response.getStatusCode().value()).isEqualTo(202);
+    assertThat(response.getHeaders().getLocation().getPath()).endsWith("/jobs/job-9");
+    assertThat(store.find("job-9")).get()
+        .extracting(JobState::getStatus, JobState::getSuccessCount)
+        .containsExactly(JobState.Status.COMPLETED, 7L);
+    RequestContextHolder.resetRequestAttributes();
+  }
+
+  @Test
+  void resumeReturnsNotFoundForUnknownJobWithoutDate() {
+    assertThat(controller.resume("missing", null).getStatusCode().value()).isEqualTo(404);
+  }
+
   @Test
   void jobStatusReturnsNotFoundWhenMissing() {
     assertThat(controller.jobStatus("missing").getStatusCode().value()).isEqualTo(404);
@@ -76,11 +110,13 @@ class SignalEventControllerTest {
   @Test
   void jobStatusReturnsStoredResult() {
     JobResult result = new JobResult(2, 1, 0, "ok");
-    store.record("job-123", result);
+    store.completed("job-123", null, result);
 
-    ResponseEntity<JobResult> response = controller.jobStatus("job-123");
+    ResponseEntity<JobStatusResponse> response = controller.jobStatus("job-123");
     assertThat(response.getStatusCode().is2xxSuccessful()).isTrue();
-    assertThat(response.getBody()).isSameAs(result);
+    assertThat(response.getBody().getSuccessCount()).isEqualTo(2);
+    assertThat(response.getBody().getFailureCount()).isEqualTo(1);
+    assertThat(response.getBody().getMessage()).isEqualTo("ok");
   }
 
   // ************************************************************************************************
@@ -91,9 +127,11 @@ class SignalEventControllerTest {
   void processAsync_handlesNullDate() {
     RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
 
-    org.assertj.core.api.Assertions.assertThatThrownBy(() -> controller.processAsync(null))
-        .isInstanceOf(Exception.class);
+    ResponseEntity<JobResult> response = controller.processAsync(null);
 
+    // the job cannot produce a result without a date; the failure is kept with the job status
+    String jobId = response.getBody().getMessage().replace("Job accepted with id ", "");
+    assertThat(store.find(jobId)).get().extracting(JobState::getStatus).isEqualTo(JobState.Status.FAILED);
     RequestContextHolder.resetRequestAttributes();
   }
 
@@ -153,7 +191,7 @@ class SignalEventControllerTest {
     assertThat(response.getBody().getMessage()).contains("Job accepted");
     String jobId = response.getBody().getMessage().replace("Job accepted with id ", "");
     // After async execution, the stored result will be updated
-    Optional<JobResult> stored = store.find(jobId);
+    Optional<JobState> stored = store.find(jobId);
     assertThat(stored).isPresent();
     assertThat(stored.get().getSuccessCount()).isEqualTo(1);
     RequestContextHolder.resetRequestAttributes();
@@ -176,7 +214,7 @@ class SignalEventControllerTest {
     } catch (InterruptedException e) {
       Thread.currentThread().interrupt();
     }
-    Optional<JobResult> stored = store.find(jobId);
+    Optional<JobState> stored = store.find(jobId);
     assertThat(stored).isPresent();
     assertThat(stored.get().getSuccessCount()).isEqualTo(5);
     assertThat(stored.get().getFailureCount()).isEqualTo(2);
@@ -185,7 +223,7 @@ class SignalEventControllerTest {
 
   @Test
   void jobStatus_returnsNotFoundForUnknownJob() {
-    ResponseEntity<JobResult> response = controller.jobStatus("unknown-job-id");
+    ResponseEntity<JobStatusResponse> response = controller.jobStatus("unknown-job-id");
 
     assertThat(response.getStatusCode().value()).isEqualTo(404);
     assertThat(response.getBody()).isNull();
@@ -194,25 +232,82 @@ class SignalEventControllerTest {
   @Test
   void jobStatus_returnsStoredResultForKnownJob() {
     JobResult result = new JobResult(10, 5, 15, "Done");
-    store.record("known-job", result);
+    store.completed("known-job", null, result);
 
-    ResponseEntity<JobResult> response = controller.jobStatus("known-job");
+    ResponseEntity<JobStatusResponse> response = controller.jobStatus("known-job");
 
     assertThat(response.getStatusCode().is2xxSuccessful()).isTrue();
-    assertThat(response.getBody()).isSameAs(result);
+    assertThat(response.getBody())
+        .extracting(JobStatusResponse::getSuccessCount, JobStatusResponse::getFailureCount,
+            JobStatusResponse::getTotalCount, JobStatusResponse::getStatus)
+        .containsExactly(10, 5, 15L, "COMPLETED");
   }
 
   @Test
   void jobStatus_handlesEmptyJobId() {
-    ResponseEntity<JobResult> response = controller.jobStatus("");
+    ResponseEntity<JobStatusResponse> response = controller.jobStatus("");
 
     assertThat(response.getStatusCode().value()).isEqualTo(404);
   }
 
   @Test
   void jobStatus_handlesNullJobId() {
-    ResponseEntity<JobResult> response = controller.jobStatus(null);
+    ResponseEntity<JobStatusResponse> response = controller.jobStatus(null);
 
     assertThat(response.getStatusCode().value()).isEqualTo(404);
   }
+
+  @Test
+  void processAsync_recordsFailedJob() {
+    LocalDate date = LocalDate.of(2024, 12, 3);
+    when(processingUseCase.processEventsForDate(any(), eq(date)))
+        .thenThrow(new IllegalStateException("database down"));
+
+    RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+    ResponseEntity<JobResult> response = controller.processAsync(date);
+    String jobId = response.getBody().getMessage().replace("Job accepted with id ", "");
+
+    ResponseEntity<JobStatusResponse> status = controller.jobStatus(jobId);
+    assertThat(status.getBody().getStatus()).isEqualTo("FAILED");
+    assertThat(status.getBody().getMessage()).contains("database down");
+    RequestContextHolder.resetRequestAttributes();
+  }
+
+  @Test
+  void jobStatus_reportsLiveProgressOfRunningJob() {
+    InMemoryJobStatePort port = new InMemoryJobStatePort();
+    SignalEventController liveController =
+        new SignalEventController(processingUseCase, executor, new JobStatusDomainService(port, CLOCK), CLOCK);
+    port.save(JobState.builder()
+        .jobId("running")
+        .status(JobState.Status.RUNNING)
+        .totalBatches(10)
+        .completedBatches(4)
+        .totalEvents(1000)
+        .successCount(380)
+        .failureCount(20)
+        .startedAt(CLOCK.instant().minusSeconds(40))
+        .build());
+
+    JobStatusResponse body = liveController.jobStatus("running").getBody();
+
+    assertThat(body.getCompletedBatches()).isEqualTo(4);
+    assertThat(body.getTotalBatches()).isEqualTo(10);
+    assertThat(body.getEventsPerSecond()).isEqualTo(10.0);
+    assertThat(body.getEtaSeconds()).isEqualTo(60L);
+  }
+
+  private static final class InMemoryJobStatePort implements JobStatePort {
+    private final Map<String, JobState> states = new ConcurrentHashMap<>();
+
+    @Override
+    public void save(JobState state) {
+      states.put(state.getJobId(), state);
+    }
+
+    @Override
+    public Optional<JobState> findById(String jobId) {
+      return Optional.ofNullable(states.get(jobId));
+    }
+  }
 }
@@ -0,0 +1,61 @@
+package com.datadistributor.outadapter.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class DeliveryMetricsTest {
+
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+  private final DeliveryMetrics metrics = new DeliveryMetrics(registry);
+
+  @Test
+  void inFlightGaugeTracksStartedAndFinishedSends() {
+    long first = metrics.sendStarted();
+    metrics.sendStarted();
+    assertThat(registry.get(DeliveryMetrics.SEND_IN_FLIGHT).gauge().value()).isEqualTo(2.0);
+
+    metrics.recordSend(first, true, "PASS");
+    metrics.sendFinished();
+
+    assertThat(registry.get(DeliveryMetrics.SEND_IN_FLIGHT).gauge().value()).isEqualTo(1.0);
+    assertThat(registry.get(DeliveryMetrics.SEND).tags("outcome", "success", "status", "PASS").timer().count())
+        .isEqualTo(1);
+  }
+
+  @Test
+  void recordSendTagsMissingStatusAsUnknown() {
+    metrics.recordSend(System.nanoTime(), false, null);
+
+    assertThat(registry.get(DeliveryMetrics.SEND).tags("outcome", "failure", "status", "UNKNOWN").timer().count())
+        .isEqualTo(1);
+  }
+
+  @Test
+  void domainStageTimingsAreRecorded() {
+    metrics.recordPrerequisiteCheck(Duration.ofMillis(5), false);
+    metrics.recordSelection(Duration.ofMillis(20), 42);
+
+    assertThat(registry.get(DeliveryMetrics.PREREQUISITE_CHECK).tag("outcome", "blocked").timer().count())
+        .isEqualTo(1);
+    assertThat(registry.get(DeliveryMetrics.SELECTION).timer().totalTime(TimeUnit.MILLISECONDS))
+        .isEqualTo(20.0);
+    assertThat(registry.get(DeliveryMetrics.SELECTION_EVENTS).summary().totalAmount()).isEqualTo(42.0);
+  }
+
+  @Test
+  void sendPathDbTimeIsTaggedByEventLoopThread() throws Exception {
+    Thread eventLoop = new Thread(() -> metrics.recordSendPathDb("audit", System.nanoTime()), "reactor-http-nio-1");
+    eventLoop.start();
+    eventLoop.join();
+    metrics.recordSendPathDb("audit", System.nanoTime());
+
+    assertThat(registry.get(DeliveryMetrics.SEND_DB).tags("stage", "audit", "event.loop", "true").timer().count())
+        .isEqualTo(1);
+    assertThat(registry.get(DeliveryMetrics.SEND_DB).tags("stage", "audit", "event.loop", "false").timer().count())
+        .isEqualTo(1);
+  }
+}
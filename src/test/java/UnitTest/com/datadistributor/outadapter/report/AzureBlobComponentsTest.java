@@ -1,15 +1,23 @@
 package com.datadistributor.outadapter.report;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 
 import com.datadistributor.application.config.DataDistributorProperties;
 import com.datadistributor.domain.outport.FileStoragePort;
 import com.datadistributor.domain.report.DeliveryReport;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.util.zip.GZIPInputStream;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 
 class AzureBlobComponentsTest {
@@ -42,4 +50,28 @@ class AzureBlobComponentsTest {
 
     verify(storage).upload(eq("reports"), anyString(), eq("hello"));
   }
+
+  @Test
+  void azureBlobReportPublisher_streamsCompressedReportWithSuffix() throws Exception {
+    FileStoragePort storage = Mockito.mock(FileStoragePort.class);
+    DataDistributorProperties properties = new DataDistributorProperties();
+    properties.getStorage().setFolder("reports");
+    AzureBlobReportPublisher publisher = new AzureBlobReportPublisher(properties, storage,
+        new CompressingFileEncoding(DataDistributorProperties.FileCompression.GZIP, 3));
+
+    publisher.publish(DeliveryReport.builder()
+        .date(LocalDate.of(2024, 1, 1))
+        .content("hello")
+        .build());
+
+    ArgumentCaptor<String> name = ArgumentCaptor.forClass(String.class);
+    ArgumentCaptor<FileStoragePort.ContentWriter> writer = ArgumentCaptor.forClass(FileStoragePort.ContentWriter.class);
+    verify(storage).uploadStreaming(eq("reports"), name.capture(), writer.capture());
+    verify(storage, never()).upload(any(), any(), any());
+    assertThat(name.getValue()).startsWith("reports/ceh-report-2024-01-01-").endsWith(".txt.gz");
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    writer.getValue().writeTo(out);
+    byte[] decoded = new GZIPInputStream(new ByteArrayInputStream(out.toByteArray())).readAllBytes();
+    assertThat(new String(decoded, StandardCharsets.UTF_8)).isEqualTo("hello");
+  }
 }
@@ -7,6 +7,9 @@ import com.datadistributor.application.config.DataDistributorProperties;
 import com.datadistributor.outadapter.report.AzureBlobStorageClient.BlobClientAdapter;
 import com.datadistributor.outadapter.report.AzureBlobStorageClient.BlobContainerClientAdapter;
 import com.datadistributor.outadapter.report.AzureBlobStorageClient.BlobServiceClientAdapter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -23,6 +26,8 @@ class AzureBlobStorageClientTest {
     DataDistributorProperties properties = new DataDistributorProperties();
     properties.getStorage().setEnabled(true);
     properties.getStorage().setContainer("my-container");
+    properties.getStorage().setUploadBlockSizeBytes(1024);
+    properties.getStorage().setUploadMaxConcurrency(3);
     container = new RecordingContainer(false);
     client = new AzureBlobStorageClient(properties, new RecordingService(container));
   }
@@ -36,6 +41,41 @@ class AzureBlobStorageClientTest {
     assertThat(container.lastContent).isEqualTo("content");
   }
 
+  @Test
+  void uploadStreamingCommitsWriterOutputWithConfiguredBlocks() {
+    client.uploadStreaming("folder", "file.csv",
+        out -> out.write("a,b\n1,2".getBytes(StandardCharsets.UTF_8)));
+
+    assertThat(container.created).isTrue();
+    assertThat(container.lastPath).isEqualTo("folder/file.csv");
+    assertThat(container.lastContent).isEqualTo("a,b\n1,2");
+    assertThat(container.lastBlockSize).isEqualTo(1024);
+    assertThat(container.lastMaxConcurrency).isEqualTo(3);
+  }
+
+  @Test
+  void uploadStreamingLeavesNoBlobWhenWriterFails() {
+    assertThatCode(() -> client.uploadStreaming("folder", "file.csv", out -> {
+      out.write("partial".getBytes(StandardCharsets.UTF_8));
+      throw new IOException("db gone");
+    })).doesNotThrowAnyException();
+
+    assertThat(container.lastPath).isEqualTo("folder/file.csv");
+    assertThat(container.lastContent).isNull();
+  }
+
+  @Test
+  void uploadStreamingSkipsWriterWhenStorageDisabled() {
+    DataDistributorProperties properties = new DataDistributorProperties();
+    AzureBlobStorageClient disabledClient = new AzureBlobStorageClient(properties, new RecordingService(container));
+    boolean[] written = {false};
+
+    disabledClient.uploadStreaming("folder", "file.csv", out -> written[0] = true);
+
+    assertThat(written[0]).isFalse();
+    assertThat(container.lastPath).isNull();
+  }
+
   @Test
   void uploadHandlesEmptyFolder() {
     container.exists = true; // already present
@@ -64,6 +104,8 @@ class AzureBlobStorageClientTest {
     private boolean created;
     private String lastPath;
     private String lastContent;
+    private long lastBlockSize;
+    private int lastMaxConcurrency;
 
     RecordingContainer(boolean exists) {
       this.exists = exists;
@@ -83,7 +125,19 @@ class AzureBlobStorageClientTest {
     @Override
     public BlobClientAdapter getBlobClient(String path) {
       this.lastPath = path;
-      return content -> this.lastContent = content;
+      return new BlobClientAdapter() {
+        @Override
+        public void upload(String content) {
+          lastContent = content;
+        }
+
+        @Override
+        public OutputStream openOutputStream(long blockSizeBytes, int maxConcurrency) {
+          lastBlockSize = blockSizeBytes;
+          lastMaxConcurrency = maxConcurrency;
+          return BlobClientAdapter.super.openOutputStream(blockSizeBytes, maxConcurrency);
+        }
+      };
     }
   }
 
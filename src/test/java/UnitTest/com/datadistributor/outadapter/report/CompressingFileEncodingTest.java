@@ -0,0 +1,75 @@
+package com.datadistributor.outadapter.report;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.datadistributor.application.config.DataDistributorProperties.FileCompression;
+import com.datadistributor.domain.outport.FileStoragePort.ContentWriter;
+import com.github.luben.zstd.ZstdInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link CompressingFileEncoding}.
+ */
+class CompressingFileEncodingTest {
+
+  private static final String CSV = "EventId,AccountNumber\n" + "1,100\n".repeat(1_000);
+
+  @Test
+  void gzipRoundTripsAndShrinksRepetitiveCsv() throws IOException {
+    CompressingFileEncoding encoding = new CompressingFileEncoding(FileCompression.GZIP, 3);
+    TrackingOutputStream target = new TrackingOutputStream();
+
+    encoding.encode(writeCsv()).writeTo(target);
+
+    assertThat(encoding.fileSuffix()).isEqualTo(".gz");
+    assertThat(target.closed).isFalse();
+    assertThat(target.size()).isLessThan(CSV.length() / 10);
+    byte[] decoded = new GZIPInputStream(new ByteArrayInputStream(target.toByteArray())).readAllBytes();
+    assertThat(new String(decoded, StandardCharsets.UTF_8)).isEqualTo(CSV);
+  }
+
+  @Test
+  void zstdRoundTripsAndShrinksRepetitiveCsv() throws IOException {
+    CompressingFileEncoding encoding = new CompressingFileEncoding(FileCompression.ZSTD, 3);
+    TrackingOutputStream target = new TrackingOutputStream();
+
+    encoding.encode(writeCsv()).writeTo(target);
+
+    assertThat(encoding.fileSuffix()).isEqualTo(".zst");
+    assertThat(target.closed).isFalse();
+    assertThat(target.size()).isLessThan(CSV.length() / 10);
+    byte[] decoded = new ZstdInputStream(new ByteArrayInputStream(target.toByteArray())).readAllBytes();
+    assertThat(new String(decoded, StandardCharsets.UTF_8)).isEqualTo(CSV);
+  }
+
+  @Test
+  void noneWritesContentUnchanged() throws IOException {
+    CompressingFileEncoding encoding = new CompressingFileEncoding(null, 3);
+    ContentWriter writer = writeCsv();
+    ByteArrayOutputStream target = new ByteArrayOutputStream();
+
+    encoding.encode(writer).writeTo(target);
+
+    assertThat(encoding.fileSuffix()).isEmpty();
+    assertThat(encoding.encode(writer)).isSameAs(writer);
+    assertThat(target.toString(StandardCharsets.UTF_8)).isEqualTo(CSV);
+  }
+
+  private static ContentWriter writeCsv() {
+    return out -> out.write(CSV.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static class TrackingOutputStream extends ByteArrayOutputStream {
+    private boolean closed;
+
+    @Override
+    public void close() {
+      closed = true;
+    }
+  }
+}
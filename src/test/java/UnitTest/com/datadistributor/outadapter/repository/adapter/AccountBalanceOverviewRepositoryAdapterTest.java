@@ -1,11 +1,17 @@
 package com.datadistributor.outadapter.repository.adapter;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.datadistributor.outadapter.entity.AccountBalanceJpaEntity;
 import com.datadistributor.outadapter.entity.ProductRiskMonitoringJpaEntity;
 import com.datadistributor.outadapter.repository.springjpa.AccountBalanceJpaRepository;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 import org.mapstruct.factory.Mappers;
 import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
@@ -40,6 +46,51 @@ class AccountBalanceOverviewRepositoryAdapterTest {
     assertThat(adapter.findBcNumberByAgreementId(10L)).contains(55L);
   }
 
+  @Test
+  void findBcNumbersByAgreementIds_queriesDistinctIdsOnce() {
+    when(jpaRepository.findBcNumbersByAgreementIdIn(List.of(10L, 11L)))
+        .thenReturn(List.of(bcNumber(10L, 55L)));
+
+    Map<Long, Long> result = adapter.findBcNumbersByAgreementIds(Arrays.asList(10L, null, 11L, 10L));
+
+    assertThat(result).containsExactly(Map.entry(10L, 55L));
+  }
+
+  @Test
+  void findBcNumbersByAgreementIds_skipsQueryForEmptyInput() {
+    assertThat(adapter.findBcNumbersByAgreementIds(List.of())).isEmpty();
+    verify(jpaRepository, never()).findBcNumbersByAgreementIdIn(any());
+  }
+
+  @Test
+  void getAccountBalancesOfAgreements_loadsDistinctIdsInOneQuery() {
+    AccountBalanceJpaEntity entity = new AccountBalanceJpaEntity();
+    entity.setAgreementId(10L);
+    entity.setIban("NL01");
+    when(jpaRepository.findAllById(List.of(10L, 11L))).thenReturn(List.of(entity));
+
+    Map<Long, com.datadistributor.domain.AccountBalance> result =
+        adapter.getAccountBalancesOfAgreements(Arrays.asList(10L, null, 11L, 10L));
+
+    assertThat(result).containsOnlyKeys(10L);
+    assertThat(result.get(10L).getIban()).isEqualTo("NL01");
+    verify(jpaRepository, never()).findById(any());
+  }
+
+  private AccountBalanceJpaRepository.AgreementBcNumber bcNumber(Long agreementId, Long bcNumber) {
+    return new AccountBalanceJpaRepository.AgreementBcNumber() {
+      @Override
+      public Long getAgreementId() {
+        return agreementId;
+      }
+
+      @Override
+      public Long getBcNumber() {
+        return bcNumber;
+      }
+    };
+  }
+
   @Test
   void getAccountBalanceOfAgreement_mapsAllFields() {
     AccountBalanceJpaEntity entity = new AccountBalanceJpaEntity();
@@ -2,14 +2,21 @@ package com.datadistributor.outadapter.repository.adapter;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
+import com.datadistributor.application.config.DataDistributorProperties;
 import com.datadistributor.outadapter.entity.CehResponseInitialEventEntity;
 import com.datadistributor.outadapter.entity.CehResponseInitialEventId;
 import com.datadistributor.outadapter.repository.springjpa.CehResponseInitialEventRepository;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -23,11 +30,15 @@ class InitialCehMappingRepositoryAdapterTest {
   private CehResponseInitialEventRepository repository;
 
   private InitialCehMappingRepositoryAdapter adapter;
+  private InitialCehMappingRepositoryAdapter batchedAdapter;
 
   @BeforeEach
   void setup() {
     MockitoAnnotations.openMocks(this);
-    adapter = new InitialCehMappingRepositoryAdapter(repository);
+    DataDistributorProperties writeThrough = new DataDistributorProperties();
+    writeThrough.getProcessing().setBatchedInitialCehMappingEnabled(false);
+    adapter = new InitialCehMappingRepositoryAdapter(repository, writeThrough);
+    batchedAdapter = new InitialCehMappingRepositoryAdapter(repository, new DataDistributorProperties());
   }
 
   @Test
@@ -104,4 +115,112 @@ class InitialCehMappingRepositoryAdapterTest {
     assertThat(captor.getValue().getId().getSignalId()).isEqualTo(5L);
     assertThat(captor.getValue().getId().getCehInitialEventId()).isEqualTo("123");
   }
+
+  @Test
+  void findInitialCehIds_keepsFirstMappingPerSignal() {
+    CehResponseInitialEventEntity first = new CehResponseInitialEventEntity(new CehResponseInitialEventId("100", 1L));
+    CehResponseInitialEventEntity second = new CehResponseInitialEventEntity(new CehResponseInitialEventId("200", 1L));
+    CehResponseInitialEventEntity other = new CehResponseInitialEventEntity(new CehResponseInitialEventId("300", 2L));
+    when(repository.findByIdSignalIdIn(List.of(1L, 2L, 3L))).thenReturn(List.of(first, second, other));
+
+    Map<Long, String> result = adapter.findInitialCehIds(List.of(1L, 2L, 3L));
+
+    assertThat(result).containsExactly(Map.entry(1L, "100"), Map.entry(2L, "300"));
+  }
+
+  @Test
+  void batched_buffersMappingsUntilFlushAndServesLookupsFromMemory() {
+    batchedAdapter.saveInitialCehMapping(5L, 123L);
+    batchedAdapter.saveInitialCehMapping(6L, 456L);
+    batchedAdapter.saveInitialCehMapping(5L, 999L);
+
+    assertThat(batchedAdapter.findInitialCehId(5L)).contains("123");
+    verifyNoInteractions(repository);
+
+    batchedAdapter.flushPendingMappings();
+    batchedAdapter.flushPendingMappings();
+
+    verify(repository).mergeAll(Map.of(5L, "123", 6L, "456"));
+    assertThat(batchedAdapter.findInitialCehId(6L)).contains("456");
+    verify(repository, never()).findFirstByIdSignalId(anyLong());
+    verify(repository, never()).save(any());
+  }
+
+  @Test
+  void batched_retriesOneByOneAndKeepsMappingsThatFailForTheNextFlush() {
+    batchedAdapter.saveInitialCehMapping(5L, 123L);
+    batchedAdapter.saveInitialCehMapping(6L, 456L);
+    doThrow(new IllegalStateException("batch")).when(repository).mergeAll(Map.of(5L, "123", 6L, "456"));
+    doThrow(new IllegalStateException("row")).doNothing().when(repository).mergeAll(Map.of(6L, "456"));
+
+    batchedAdapter.flushPendingMappings();
+
+    verify(repository).mergeAll(Map.of(5L, "123"));
+    assertThat(batchedAdapter.findInitialCehId(5L)).contains("123");
+    assertThat(batchedAdapter.findInitialCehId(6L)).contains("456");
+
+    batchedAdapter.flushPendingMappings();
+    batchedAdapter.flushPendingMappings();
+
+    verify(repository, times(2)).mergeAll(Map.of(6L, "456"));
+    verify(repository, times(4)).mergeAll(any());
+    assertThat(batchedAdapter.findInitialCehId(6L)).contains("456");
+    verify(repository, never()).findFirstByIdSignalId(anyLong());
+  }
+
+  @Test
+  void batched_dropsAMappingThatKeepsFailingAfterTheLastAttempt() {
+    batchedAdapter.saveInitialCehMapping(6L, 456L);
+    doThrow(new IllegalStateException("row")).when(repository).mergeAll(Map.of(6L, "456"));
+    when(repository.findFirstByIdSignalId(6L)).thenReturn(Optional.empty());
+
+    for (int attempt = 1; attempt < InitialCehMappingRepositoryAdapter.MAX_FLUSH_ATTEMPTS; attempt++) {
+      batchedAdapter.flushPendingMappings();
+      assertThat(batchedAdapter.findInitialCehId(6L)).contains("456");
+    }
+    batchedAdapter.flushPendingMappings();
+    batchedAdapter.flushPendingMappings();
+
+    assertThat(batchedAdapter.findInitialCehId(6L)).isEmpty();
+    verify(repository, times(2 * InitialCehMappingRepositoryAdapter.MAX_FLUSH_ATTEMPTS))
+        .mergeAll(Map.of(6L, "456"));
+  }
+
+  @Test
+  void batched_findInitialCehIdsOnlyQueriesSignalsNotInMemory() {
+    batchedAdapter.saveInitialCehMapping(1L, 100L);
+    CehResponseInitialEventEntity stored = new CehResponseInitialEventEntity(new CehResponseInitialEventId("200", 2L));
+    when(repository.findByIdSignalIdIn(List.of(2L, 3L))).thenReturn(List.of(stored));
+
+    Map<Long, String> result = batchedAdapter.findInitialCehIds(List.of(1L, 2L, 3L));
+
+    assertThat(result).containsExactly(Map.entry(1L, "100"), Map.entry(2L, "200"));
+  }
+
+  @Test
+  void batched_remembersWrittenMappingsOfThePreviousJobOnly() {
+    when(repository.findFirstByIdSignalId(5L)).thenReturn(Optional.empty());
+    when(repository.findByIdSignalIdIn(anyCollection())).thenReturn(List.of());
+    batchedAdapter.saveInitialCehMapping(5L, 123L);
+    batchedAdapter.flushPendingMappings();
+
+    batchedAdapter.startJob();
+    assertThat(batchedAdapter.findInitialCehId(5L)).contains("123");
+    assertThat(batchedAdapter.findInitialCehIds(List.of(5L))).containsEntry(5L, "123");
+
+    batchedAdapter.startJob();
+    assertThat(batchedAdapter.findInitialCehId(5L)).isEmpty();
+    assertThat(batchedAdapter.findInitialCehIds(List.of(5L))).isEmpty();
+  }
+
+  @Test
+  void batched_keepsUnflushedMappingsAcrossJobs() {
+    batchedAdapter.saveInitialCehMapping(5L, 123L);
+    batchedAdapter.startJob();
+    batchedAdapter.startJob();
+
+    assertThat(batchedAdapter.findInitialCehId(5L)).contains("123");
+    batchedAdapter.flushPendingMappings();
+    verify(repository).mergeAll(Map.of(5L, "123"));
+  }
 }
@@ -0,0 +1,114 @@
+package com.datadistributor.outadapter.repository.adapter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.datadistributor.application.config.DataDistributorProperties;
+import com.datadistributor.domain.job.JobState;
+import com.datadistributor.outadapter.entity.JobStateJpaEntity;
+import com.datadistributor.outadapter.repository.springjpa.JobStateJpaRepository;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+class JobStateRepositoryAdapterTest {
+
+  @Mock
+  private JobStateJpaRepository repository;
+
+  private JobStateRepositoryAdapter adapter;
+
+  @BeforeEach
+  void setup() {
+    MockitoAnnotations.openMocks(this);
+    DataDistributorProperties properties = new DataDistributorProperties();
+    // keep the background writer out of the way; tests flush explicitly
+    properties.getJobState().setFlushIntervalMs(3_600_000);
+    adapter = new JobStateRepositoryAdapter(repository, properties);
+  }
+
+  @AfterEach
+  void tearDown() {
+    adapter.shutdown();
+  }
+
+  @Test
+  void runningSnapshotsAreCoalescedUntilFlush() {
+    adapter.save(running("job-1", 1));
+    adapter.save(running("job-1", 2));
+    adapter.save(running("job-2", 1));
+
+    verify(repository, never()).save(any());
+    verify(repository, never()).saveAll(anyList());
+    assertThat(adapter.findById("job-1")).get().extracting(JobState::getCompletedBatches).isEqualTo(2);
+
+    assertThat(adapter.flush()).isEqualTo(2);
+
+    ArgumentCaptor<List<JobStateJpaEntity>> written = ArgumentCaptor.forClass(List.class);
+    verify(repository).saveAll(written.capture());
+    assertThat(written.getValue())
+        .extracting(JobStateJpaEntity::getJobId, JobStateJpaEntity::getCompletedBatches)
+        .containsExactlyInAnyOrder(org.assertj.core.groups.Tuple.tuple("job-1", 2),
+            org.assertj.core.groups.Tuple.tuple("job-2", 1));
+    assertThat(adapter.flush()).isZero();
+  }
+
+  @Test
+  void finishedStateIsWrittenThroughAndLateProgressIsDropped() {
+    adapter.save(running("job-1", 1));
+    adapter.save(running("job-1", 3).toBuilder()
+        .status(JobState.Status.COMPLETED)
+        .finishedAt(Instant.parse("2024-12-03T02:10:00Z"))
+        .build());
+    adapter.save(running("job-1", 2));
+
+    ArgumentCaptor<JobStateJpaEntity> written = ArgumentCaptor.forClass(JobStateJpaEntity.class);
+    verify(repository).save(written.capture());
+    assertThat(written.getValue().getStatus()).isEqualTo("COMPLETED");
+    assertThat(adapter.flush()).isZero();
+  }
+
+  @Test
+  void findByIdReadsStoredRowWhenNothingIsPending() {
+    JobStateJpaEntity entity = new JobStateJpaEntity();
+    entity.setJobId("job-9");
+    entity.setStatus("COMPLETED");
+    entity.setProcessingDate(LocalDate.of(2024, 12, 3));
+    entity.setSuccessCount(7);
+    when(repository.findById("job-9")).thenReturn(Optional.of(entity));
+
+    assertThat(adapter.findById("job-9")).get()
+        .extracting(JobState::getStatus, JobState::getSuccessCount, JobState::getProcessingDate)
+        .containsExactly(JobState.Status.COMPLETED, 7L, LocalDate.of(2024, 12, 3));
+    assertThat(adapter.findById(null)).isEmpty();
+  }
+
+  @Test
+  void saveIgnoresStatesWithoutJobId() {
+    adapter.save(null);
+    adapter.save(JobState.builder().status(JobState.Status.ACCEPTED).build());
+
+    verify(repository, never()).save(any());
+  }
+
+  private JobState running(String jobId, int completedBatches) {
+    return JobState.builder()
+        .jobId(jobId)
+        .status(JobState.Status.RUNNING)
+        .totalBatches(5)
+        .completedBatches(completedBatches)
+        .startedAt(Instant.parse("2024-12-03T02:00:00Z"))
+        .build();
+  }
+}
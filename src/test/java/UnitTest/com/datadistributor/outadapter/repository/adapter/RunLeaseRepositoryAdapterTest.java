@@ -0,0 +1,84 @@
+package com.datadistributor.outadapter.repository.adapter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.datadistributor.application.config.DataDistributorProperties;
+import com.datadistributor.outadapter.repository.springjpa.RunLeaseJpaRepository;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataIntegrityViolationException;
+
+class RunLeaseRepositoryAdapterTest {
+
+  private static final Instant NOW = Instant.parse("2024-12-03T02:00:00Z");
+
+  @Mock
+  private RunLeaseJpaRepository repository;
+
+  private RunLeaseRepositoryAdapter adapter;
+
+  @BeforeEach
+  void setup() {
+    MockitoAnnotations.openMocks(this);
+    DataDistributorProperties properties = new DataDistributorProperties();
+    // keep the background renewer out of the way; tests renew explicitly
+    properties.getRunLock().setLeaseTtlSeconds(3_600);
+    adapter = new RunLeaseRepositoryAdapter(repository, properties, Clock.fixed(NOW, ZoneOffset.UTC));
+  }
+
+  @AfterEach
+  void tearDown() {
+    adapter.shutdown();
+  }
+
+  @Test
+  void takesOverAnExpiredOrOwnLease() {
+    when(repository.takeOver("k", adapter.owner(), NOW, NOW.plusSeconds(3_600))).thenReturn(1);
+
+    assertThat(adapter.tryAcquire("k")).isTrue();
+    verify(repository, never()).insert(anyString(), anyString(), any(), any());
+  }
+
+  @Test
+  void insertsLeaseThatDoesNotExistYet() {
+    when(repository.insert(eq("k"), eq(adapter.owner()), eq(NOW), any())).thenReturn(1);
+
+    assertThat(adapter.tryAcquire("k")).isTrue();
+  }
+
+  @Test
+  void leaseHeldElsewhereIsNotAcquired() {
+    when(repository.insert(anyString(), anyString(), any(), any()))
+        .thenThrow(new DataIntegrityViolationException("PK_run_lease"));
+
+    assertThat(adapter.tryAcquire("k")).isFalse();
+  }
+
+  @Test
+  void renewsHeldLeasesUntilReleased() {
+    when(repository.takeOver(eq("k"), anyString(), any(), any())).thenReturn(1);
+    when(repository.renew(eq("k"), anyString(), any())).thenReturn(1);
+    adapter.tryAcquire("k");
+
+    adapter.renewHeld();
+    verify(repository).renew("k", adapter.owner(), NOW.plusSeconds(3_600));
+
+    adapter.release("k");
+    adapter.renewHeld();
+    verify(repository).release("k", adapter.owner());
+    verify(repository, times(1)).renew(anyString(), anyString(), any());
+  }
+}
@@ -12,6 +12,7 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -291,4 +292,38 @@ class SignalAuditQueryRepositoryAdapterTest {
 
     assertThat(adapter.findFailedEventIdsForDate(LocalDate.now())).containsExactly(5L, 3L);
   }
+
+  @Test
+  void findSuccessfulEventIds_returnsEventsWhoseLatestAuditPassed() {
+    SignalAuditJpaEntity passed = new SignalAuditJpaEntity();
+    passed.setUabsEventId(1L);
+    passed.setStatus(" success ");
+    SignalAuditJpaEntity failed = new SignalAuditJpaEntity();
+    failed.setUabsEventId(2L);
+    failed.setStatus("FAIL");
+    when(repository.findLatestByUabsEventIdInAndConsumerId(List.of(1L, 2L, 3L), 1L))
+        .thenReturn(List.of(passed, failed));
+
+    assertThat(adapter.findSuccessfulEventIds(List.of(1L, 2L, 3L), 1L)).containsExactly(1L);
+  }
+
+  @Test
+  void findSuccessfulEventIds_returnsEmptyWithoutIds() {
+    assertThat(adapter.findSuccessfulEventIds(List.of(), 1L)).isEmpty();
+  }
+
+  @Test
+  void getLatestAuditStatusesForEvents_returnsStatusPerAuditedEvent() {
+    SignalAuditJpaEntity passed = new SignalAuditJpaEntity();
+    passed.setUabsEventId(1L);
+    passed.setStatus("PASS");
+    SignalAuditJpaEntity failed = new SignalAuditJpaEntity();
+    failed.setUabsEventId(2L);
+    failed.setStatus("FAIL");
+    when(repository.findLatestByRecordTimeForUabsEventIdIn(List.of(1L, 2L, 3L), 1L))
+        .thenReturn(List.of(passed, failed));
+
+    assertThat(adapter.getLatestAuditStatusesForEvents(List.of(1L, 2L, 3L), 1L))
+        .containsExactly(Map.entry(1L, "PASS"), Map.entry(2L, "FAIL"));
+  }
 }
@@ -3,18 +3,33 @@ package com.datadistributor.outadapter.repository.adapter;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.RETURNS_SELF;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import com.datadistributor.application.config.DataDistributorProperties;
 import com.datadistributor.domain.SignalEvent;
 import com.datadistributor.outadapter.entity.SignalEventJpaEntity;
 import com.datadistributor.outadapter.repository.springjpa.SignalEventJpaRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.EntityTransaction;
+import jakarta.persistence.TypedQuery;
+import java.sql.Connection;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.Session;
+import org.hibernate.jdbc.Work;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
@@ -30,6 +45,9 @@ class SignalEventRepositoryAdapterTest {
   @Mock
   private SignalEventMapper mapper;
 
+  @Mock
+  private EntityManagerFactory entityManagerFactory;
+
   private SignalEventRepositoryAdapter adapter;
 
   private final DataDistributorProperties properties = new DataDistributorProperties();
@@ -38,36 +56,33 @@ class SignalEventRepositoryAdapterTest {
   void setup() {
     MockitoAnnotations.openMocks(this);
     properties.getProcessing().setMinUnauthorizedDebitBalance(250);
-    adapter = new SignalEventRepositoryAdapter(jpaRepository, mapper, properties);
+    adapter = new SignalEventRepositoryAdapter(jpaRepository, mapper, entityManagerFactory, properties);
   }
 
   @Test
   void getAllSignalEventsOfThisDate_queriesDayRange() {
     LocalDate date = LocalDate.of(2024, 12, 3);
-    SignalEventJpaEntity entity = new SignalEventJpaEntity();
-    when(jpaRepository.findByEventRecordDateTimeBetween(any(), any())).thenReturn(List.of(entity));
     SignalEvent mapped = new SignalEvent();
     mapped.setUabsEventId(1L);
-    when(mapper.toDomainList(List.of(entity))).thenReturn(List.of(mapped));
+    when(jpaRepository.findEventsOfDay(any(), any())).thenReturn(List.of(mapped));
 
     List<SignalEvent> result = adapter.getAllSignalEventsOfThisDate(date);
 
     ArgumentCaptor<LocalDateTime> start = ArgumentCaptor.forClass(LocalDateTime.class);
     ArgumentCaptor<LocalDateTime> end = ArgumentCaptor.forClass(LocalDateTime.class);
-    verify(jpaRepository).findByEventRecordDateTimeBetween(start.capture(), end.capture());
+    verify(jpaRepository).findEventsOfDay(start.capture(), end.capture());
     assertThat(start.getValue()).isEqualTo(date.atStartOfDay());
     assertThat(end.getValue()).isEqualTo(date.atTime(LocalTime.MAX));
     assertThat(result).containsExactly(mapped);
+    verifyNoInteractions(mapper);
   }
 
   @Test
   void getSignalEventsForCEH_appliesFilters() {
     LocalDate date = LocalDate.of(2024, 12, 3);
-    SignalEventJpaEntity entity = new SignalEventJpaEntity();
-    when(jpaRepository.findPageForCEH(any(), any(), eq(250L), eq(PageRequest.of(1, 10))))
-        .thenReturn(List.of(entity));
     SignalEvent mapped = new SignalEvent();
-    when(mapper.toDomainList(List.of(entity))).thenReturn(List.of(mapped));
+    when(jpaRepository.findPageForCEH(any(), any(), eq(250L), eq(PageRequest.of(1, 10))))
+        .thenReturn(List.of(mapped));
 
     List<SignalEvent> result = adapter.getSignalEventsForCEH(date, 1, 10);
 
@@ -261,4 +276,131 @@ class SignalEventRepositoryAdapterTest {
 
     assertThat(adapter.getEarliestOverlimitEvent(10L)).isEmpty();
   }
+
+  @Test
+  void getEarliestOverlimitEvents_keepsFirstEventPerSignal() {
+    SignalEventJpaEntity firstOfSignal1 = new SignalEventJpaEntity();
+    SignalEventJpaEntity laterOfSignal1 = new SignalEventJpaEntity();
+    SignalEventJpaEntity firstOfSignal2 = new SignalEventJpaEntity();
+    firstOfSignal1.setUabsEventId(10L);
+    laterOfSignal1.setUabsEventId(11L);
+    firstOfSignal2.setUabsEventId(20L);
+    when(jpaRepository.findBySignalIdInAndEventStatusOrderByEventRecordDateTimeAsc(List.of(1L, 2L), "OVERLIMIT_SIGNAL"))
+        .thenReturn(List.of(firstOfSignal1, laterOfSignal1, firstOfSignal2));
+    SignalEvent e1 = new SignalEvent();
+    e1.setUabsEventId(10L);
+    e1.setSignalId(1L);
+    SignalEvent e2 = new SignalEvent();
+    e2.setUabsEventId(11L);
+    e2.setSignalId(1L);
+    SignalEvent e3 = new SignalEvent();
+    e3.setUabsEventId(20L);
+    e3.setSignalId(2L);
+    when(mapper.toDomain(firstOfSignal1)).thenReturn(e1);
+    when(mapper.toDomain(laterOfSignal1)).thenReturn(e2);
+    when(mapper.toDomain(firstOfSignal2)).thenReturn(e3);
+
+    Map<Long, SignalEvent> result = adapter.getEarliestOverlimitEvents(Arrays.asList(1L, null, 2L, 1L));
+
+    assertThat(result).containsExactly(Map.entry(1L, e1), Map.entry(2L, e3));
+  }
+
+  @Test
+  void getEarliestOverlimitEvents_returnsEmptyWithoutIds() {
+    assertThat(adapter.getEarliestOverlimitEvents(List.of())).isEmpty();
+    assertThat(adapter.getEarliestOverlimitEvents(null)).isEmpty();
+  }
+
+  @Test
+  void getPreviousEvents_mapsLatestEventPerSignal() {
+    LocalDateTime before = LocalDate.of(2024, 12, 3).atStartOfDay();
+    SignalEventJpaEntity prevOfSignal1 = new SignalEventJpaEntity();
+    SignalEventJpaEntity prevOfSignal2 = new SignalEventJpaEntity();
+    prevOfSignal1.setUabsEventId(10L);
+    prevOfSignal2.setUabsEventId(20L);
+    when(jpaRepository.findPreviousEventsBySignalIdIn(List.of(1L, 2L), before))
+        .thenReturn(List.of(prevOfSignal1, prevOfSignal2));
+    SignalEvent e1 = new SignalEvent();
+    e1.setUabsEventId(10L);
+    e1.setSignalId(1L);
+    SignalEvent e2 = new SignalEvent();
+    e2.setUabsEventId(20L);
+    e2.setSignalId(2L);
+    when(mapper.toDomain(prevOfSignal1)).thenReturn(e1);
+    when(mapper.toDomain(prevOfSignal2)).thenReturn(e2);
+
+    Map<Long, SignalEvent> result = adapter.getPreviousEvents(List.of(1L, 2L, 1L), before);
+
+    assertThat(result).containsExactly(Map.entry(1L, e1), Map.entry(2L, e2));
+  }
+
+  @Test
+  void getPreviousEvents_returnsEmptyWithoutIdsOrCutoff() {
+    assertThat(adapter.getPreviousEvents(List.of(), LocalDateTime.now())).isEmpty();
+    assertThat(adapter.getPreviousEvents(List.of(1L), null)).isEmpty();
+  }
+
+  @Test
+  void getSignalEventsForCEHAfter_continuesFromLastSeenId() {
+    LocalDate date = LocalDate.of(2024, 12, 3);
+    SignalEvent event = new SignalEvent();
+    when(jpaRepository.findNextPageForCEH(date.atStartOfDay(), date.atTime(LocalTime.MAX), 250L, 42L, PageRequest.of(0, 10)))
+        .thenReturn(List.of(event));
+
+    assertThat(adapter.getSignalEventsForCEHAfter(date, 42L, 10)).containsExactly(event);
+  }
+
+  @Test
+  void getSignalEventsForCEHAfter_startsFromLowestIdOnFirstPage() {
+    LocalDate date = LocalDate.of(2024, 12, 3);
+    when(jpaRepository.findNextPageForCEH(any(), any(), eq(250L), eq(Long.MIN_VALUE), eq(PageRequest.of(0, 5))))
+        .thenReturn(List.of());
+
+    assertThat(adapter.getSignalEventsForCEHAfter(date, null, 5)).isEmpty();
+  }
+
+  @Test
+  void getSignalEventsOfThisDateAfter_readsNextPageOfTheDay() {
+    LocalDate date = LocalDate.of(2024, 12, 3);
+    SignalEvent event = new SignalEvent();
+    when(jpaRepository.findNextPageOfDay(date.atStartOfDay(), date.atTime(LocalTime.MAX), 42L, PageRequest.of(0, 10)))
+        .thenReturn(List.of(event));
+
+    assertThat(adapter.getSignalEventsOfThisDateAfter(date, 42L, 10)).containsExactly(event);
+    assertThat(adapter.getSignalEventsOfThisDateAfter(date, null, 10)).isEmpty();
+    verify(jpaRepository).findNextPageOfDay(any(), any(), eq(Long.MIN_VALUE), eq(PageRequest.of(0, 10)));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void streamSignalEventsOfThisDate_projectsRowsOnAReadOnlyConnectionAndReleasesTheCursorOnClose() throws Exception {
+    LocalDate date = LocalDate.of(2024, 12, 3);
+    EntityManager entityManager = mock(EntityManager.class);
+    EntityTransaction transaction = mock(EntityTransaction.class);
+    TypedQuery<SignalEvent> query = mock(TypedQuery.class, RETURNS_SELF);
+    Session session = mock(Session.class);
+    Connection connection = mock(Connection.class);
+    SignalEvent event = new SignalEvent();
+    when(entityManagerFactory.createEntityManager()).thenReturn(entityManager);
+    when(entityManager.getTransaction()).thenReturn(transaction);
+    when(transaction.isActive()).thenReturn(true);
+    when(entityManager.unwrap(Session.class)).thenReturn(session);
+    doAnswer(invocation -> {
+      invocation.<Work>getArgument(0).execute(connection);
+      return null;
+    }).when(session).doWork(any());
+    when(entityManager.createQuery(anyString(), eq(SignalEvent.class))).thenReturn(query);
+    when(query.getResultStream()).thenReturn(Stream.of(event));
+
+    try (Stream<SignalEvent> events = adapter.streamSignalEventsOfThisDate(date)) {
+      assertThat(events).containsExactly(event);
+    }
+
+    verify(connection).setReadOnly(true);
+    verify(query).setParameter("start", date.atStartOfDay());
+    verify(query).setHint("org.hibernate.fetchSize", 500);
+    verify(query).setHint("org.hibernate.readOnly", true);
+    verify(transaction).rollback();
+    verify(entityManager).close();
+  }
 }
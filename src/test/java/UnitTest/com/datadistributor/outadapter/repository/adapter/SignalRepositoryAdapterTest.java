@@ -1,6 +1,7 @@
 package com.datadistributor.outadapter.repository.adapter;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.datadistributor.outadapter.entity.SignalJpaEntity;
@@ -8,6 +9,7 @@ import com.datadistributor.outadapter.repository.springjpa.SignalJpaRepository;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.LongStream;
 import org.mapstruct.factory.Mappers;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -73,4 +75,31 @@ class SignalRepositoryAdapterTest {
         .extracting("signalId")
         .isEqualTo(8L);
   }
+
+  @Test
+  void findBySignalIdIn_queriesInChunks() {
+    List<Long> ids = LongStream.rangeClosed(1, InClauseBatches.MAX_IN_CLAUSE_SIZE + 1).boxed().toList();
+    SignalJpaEntity entity = new SignalJpaEntity();
+    entity.setSignalId(1L);
+    when(repository.findAllById(ids.subList(0, InClauseBatches.MAX_IN_CLAUSE_SIZE))).thenReturn(List.of(entity));
+
+    assertThat(adapter.findBySignalIdIn(ids))
+        .singleElement()
+        .extracting("signalId")
+        .isEqualTo(1L);
+    verify(repository).findAllById(List.of((long) InClauseBatches.MAX_IN_CLAUSE_SIZE + 1));
+  }
+
+  @Test
+  void getOpenSignalsOfAgreements_keysOpenSignalsByAgreementInOneQuery() {
+    SignalJpaEntity open = new SignalJpaEntity();
+    open.setSignalId(1L);
+    open.setAgreementId(10L);
+    when(repository.findByAgreementIdInAndSignalEndDate(List.of(10L, 11L), LocalDate.of(9999, 12, 31)))
+        .thenReturn(List.of(open));
+
+    assertThat(adapter.getOpenSignalsOfAgreements(java.util.Arrays.asList(10L, 11L, null, 10L)))
+        .containsOnlyKeys(10L)
+        .extractingByKey(10L).extracting("signalId").isEqualTo(1L);
+  }
 }
@@ -0,0 +1,117 @@
+package com.datadistributor.outadapter.web;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.datadistributor.application.config.DataDistributorProperties;
+import com.datadistributor.outadapter.metrics.DeliveryMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+
+class AdaptiveConcurrencyLimiterTest {
+
+  private DataDistributorProperties properties;
+  private SimpleMeterRegistry meterRegistry;
+
+  @BeforeEach
+  void setup() {
+    properties = new DataDistributorProperties();
+    DataDistributorProperties.AdaptiveConcurrency config = properties.getProcessing().getAdaptiveConcurrency();
+    config.setInitialLimit(2);
+    config.setMinLimit(1);
+    config.setMaxLimit(4);
+    config.setBackoffRatio(0.5);
+    meterRegistry = new SimpleMeterRegistry();
+  }
+
+  private AdaptiveConcurrencyLimiter limiter() {
+    return new AdaptiveConcurrencyLimiter(properties, new DeliveryMetrics(meterRegistry));
+  }
+
+  @Test
+  void startsAtRateLimitWhenNoInitialLimitConfigured() {
+    properties.getProcessing().getAdaptiveConcurrency().setInitialLimit(0);
+    properties.getProcessing().setRateLimit(3);
+
+    assertThat(limiter().currentLimit()).isEqualTo(3);
+  }
+
+  @Test
+  void callersAboveTheLimitWaitUntilAPermitIsReleased() {
+    AdaptiveConcurrencyLimiter limiter = limiter();
+    AdaptiveConcurrencyLimiter.Permit first = limiter.acquire().block();
+    limiter.acquire().block();
+
+    AtomicReference<AdaptiveConcurrencyLimiter.Permit> third = new AtomicReference<>();
+    limiter.acquire().subscribe(third::set);
+    assertThat(third.get()).isNull();
+    assertThat(limiter.waiting()).isEqualTo(1);
+    assertThat(meterRegistry.get(DeliveryMetrics.SEND_CONCURRENCY_WAITING).gauge().value()).isEqualTo(1.0);
+
+    first.release();
+
+    assertThat(third.get()).isNotNull();
+    assertThat(limiter.inUse()).isEqualTo(2);
+  }
+
+  @Test
+  void successesWithStableLatencyGrowTheLimitUpToMax() {
+    AdaptiveConcurrencyLimiter limiter = limiter();
+
+    for (int i = 0; i < 50; i++) {
+      AdaptiveConcurrencyLimiter.Permit permit = limiter.acquire().block();
+      permit.succeeded();
+      permit.release();
+    }
+
+    assertThat(limiter.currentLimit()).isEqualTo(4);
+    assertThat(meterRegistry.get(DeliveryMetrics.SEND_CONCURRENCY_LIMIT).gauge().value()).isEqualTo(4.0);
+  }
+
+  @Test
+  void overloadSignalsShrinkTheLimitDownToMin() {
+    properties.getProcessing().getAdaptiveConcurrency().setInitialLimit(4);
+    AdaptiveConcurrencyLimiter limiter = limiter();
+
+    AdaptiveConcurrencyLimiter.Permit permit = limiter.acquire().block();
+    permit.overloaded();
+    permit.release();
+    assertThat(limiter.currentLimit()).isEqualTo(2);
+
+    limiter.onRetry();
+    limiter.onRetry();
+    assertThat(limiter.currentLimit()).isEqualTo(1);
+  }
+
+  @Test
+  void releaseIsIdempotent() {
+    AdaptiveConcurrencyLimiter limiter = limiter();
+    AdaptiveConcurrencyLimiter.Permit permit = limiter.acquire().block();
+
+    permit.release();
+    permit.release();
+
+    assertThat(limiter.inUse()).isZero();
+  }
+
+  @Test
+  void cancelledWaitersAreSkipped() {
+    properties.getProcessing().getAdaptiveConcurrency().setInitialLimit(1);
+    AdaptiveConcurrencyLimiter limiter = limiter();
+    AdaptiveConcurrencyLimiter.Permit held = limiter.acquire().block();
+    List<AdaptiveConcurrencyLimiter.Permit> granted = new ArrayList<>();
+    Disposable cancelled = limiter.acquire().subscribe(granted::add);
+    limiter.acquire().subscribe(granted::add);
+
+    cancelled.dispose();
+    held.release();
+
+    assertThat(granted).hasSize(1);
+    assertThat(limiter.inUse()).isEqualTo(1);
+    assertThat(limiter.waiting()).isZero();
+  }
+}
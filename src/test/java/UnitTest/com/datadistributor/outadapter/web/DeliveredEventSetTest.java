@@ -0,0 +1,112 @@
+package com.datadistributor.outadapter.web;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.datadistributor.application.config.DataDistributorProperties;
+import com.datadistributor.domain.SignalEvent;
+import com.datadistributor.outadapter.metrics.DeliveryMetrics;
+import com.datadistributor.outadapter.repository.springjpa.SignalAuditRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Unit tests for {@link DeliveredEventSet}.
+ */
+class DeliveredEventSetTest {
+
+  private SignalAuditRepository repository;
+  private DataDistributorProperties properties;
+  private SimpleMeterRegistry registry;
+  private DeliveredEventSet set;
+
+  @BeforeEach
+  void setup() {
+    repository = mock(SignalAuditRepository.class);
+    properties = new DataDistributorProperties();
+    registry = new SimpleMeterRegistry();
+    set = new DeliveredEventSet(repository, properties, new DeliveryMetrics(registry));
+  }
+
+  @Test
+  void remembersIdsAcrossChunkAndWordBoundaries() {
+    List<Long> ids = List.of(0L, 63L, 64L, 65_535L, 65_536L, 9_876_543_210L);
+    ids.forEach(set::markDelivered);
+
+    assertThat(ids).allSatisfy(id -> assertThat(set.contains(id)).isTrue());
+    assertThat(set.contains(1L)).isFalse();
+    assertThat(set.contains(65_537L)).isFalse();
+    assertThat(set.contains(null)).isFalse();
+    assertThat(set.size()).isEqualTo(6);
+    assertThat(registry.get(DeliveryMetrics.DELIVERED_SET_SIZE).gauge().value()).isEqualTo(6);
+  }
+
+  @Test
+  void markDeliveredReportsOnlyNewIds() {
+    assertThat(set.markDelivered(42L)).isTrue();
+    assertThat(set.markDelivered(42L)).isFalse();
+    assertThat(set.markDelivered(-1L)).isFalse();
+    assertThat(set.size()).isEqualTo(1);
+  }
+
+  @Test
+  void withoutDeliveredKeepsOrderOfPendingEvents() {
+    set.markDelivered(2L);
+    List<SignalEvent> events = List.of(event(3L), event(2L), event(1L), event(null));
+
+    assertThat(set.withoutDelivered(events))
+        .extracting(SignalEvent::getUabsEventId)
+        .containsExactly(3L, 1L, null);
+  }
+
+  @Test
+  void warmUpReadsDeliveredIdsInKeysetPages() {
+    properties.getDeliveredSet().setWarmUpPageSize(2);
+    when(repository.findDeliveredEventIdsAfter(eq(-1L), eq(1L), any(Pageable.class))).thenReturn(List.of(5L, 7L));
+    when(repository.findDeliveredEventIdsAfter(eq(7L), eq(1L), any(Pageable.class))).thenReturn(List.of(70_000L));
+
+    long loaded = set.warmUp();
+
+    assertThat(loaded).isEqualTo(3);
+    assertThat(set.contains(5L)).isTrue();
+    assertThat(set.contains(70_000L)).isTrue();
+    verify(repository).findDeliveredEventIdsAfter(eq(7L), eq(1L), any(Pageable.class));
+  }
+
+  @Test
+  void warmUpFailureKeepsIdsLoadedSoFar() {
+    properties.getDeliveredSet().setWarmUpPageSize(1);
+    when(repository.findDeliveredEventIdsAfter(eq(-1L), eq(1L), any(Pageable.class))).thenReturn(List.of(5L));
+    when(repository.findDeliveredEventIdsAfter(eq(5L), eq(1L), any(Pageable.class)))
+        .thenThrow(new IllegalStateException("db down"));
+
+    assertThat(set.warmUp()).isEqualTo(1);
+    assertThat(set.contains(5L)).isTrue();
+  }
+
+  @Test
+  void disabledSetKnowsNothing() {
+    properties.getDeliveredSet().setEnabled(false);
+    DeliveredEventSet disabled = new DeliveredEventSet(repository, properties, new DeliveryMetrics(registry));
+
+    disabled.markDelivered(1L);
+
+    assertThat(disabled.contains(1L)).isFalse();
+    assertThat(disabled.warmUp()).isZero();
+    verifyNoInteractions(repository);
+  }
+
+  private SignalEvent event(Long id) {
+    SignalEvent event = new SignalEvent();
+    event.setUabsEventId(id);
+    return event;
+  }
+}
@@ -53,4 +53,13 @@ class ErrorClassifierTest {
     assertThat(result.status()).isEqualTo("FAIL_TRANSIENT");
     assertThat(result.reason()).contains("IOException");
   }
+
+  @Test
+  void classifiesAMissingErrorAsUnknown() {
+    FailureClassification result = classifier.classify(null);
+
+    assertThat(result).isNotNull();
+    assertThat(result.status()).isEqualTo("FAIL_UNKNOWN");
+    assertThat(result.responseCode()).isEqualTo("N/A");
+  }
 }
@@ -0,0 +1,231 @@
+package com.datadistributor.outadapter.web;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.datadistributor.application.config.DataDistributorProperties;
+import com.datadistributor.domain.SignalEvent;
+import com.datadistributor.domain.inport.AccountBalanceUseCase;
+import com.datadistributor.domain.inport.InitialCehQueryUseCase;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+class PayloadEnrichmentCacheTest {
+
+  @Mock
+  private InitialCehQueryUseCase initialCehQueryUseCase;
+  @Mock
+  private AccountBalanceUseCase accountBalanceQueryUseCase;
+
+  private DataDistributorProperties properties;
+  private MutableClock clock;
+  private PayloadEnrichmentCache cache;
+
+  @BeforeEach
+  void setup() {
+    MockitoAnnotations.openMocks(this);
+    properties = new DataDistributorProperties();
+    properties.getPayloadCache().setTtlSeconds(60);
+    clock = new MutableClock(Instant.parse("2024-01-01T00:00:00Z"));
+    cache = new PayloadEnrichmentCache(initialCehQueryUseCase, accountBalanceQueryUseCase, properties, clock);
+  }
+
+  @Test
+  void findBcNumber_readsThroughOnceAndCachesMisses() {
+    when(accountBalanceQueryUseCase.findBcNumberByAgreementId(10L)).thenReturn(Optional.of(555L));
+    when(accountBalanceQueryUseCase.findBcNumberByAgreementId(11L)).thenReturn(Optional.empty());
+
+    assertThat(cache.findBcNumber(10L)).contains(555L);
+    assertThat(cache.findBcNumber(10L)).contains(555L);
+    assertThat(cache.findBcNumber(11L)).isEmpty();
+    assertThat(cache.findBcNumber(11L)).isEmpty();
+
+    verify(accountBalanceQueryUseCase, times(1)).findBcNumberByAgreementId(10L);
+    verify(accountBalanceQueryUseCase, times(1)).findBcNumberByAgreementId(11L);
+  }
+
+  @Test
+  void entriesExpireAfterTtl() {
+    when(initialCehQueryUseCase.findInitialCehId(7L)).thenReturn(Optional.empty(), Optional.of("INIT"));
+
+    assertThat(cache.findInitialCehId(7L)).isEmpty();
+    clock.advance(Duration.ofSeconds(61));
+
+    assertThat(cache.findInitialCehId(7L)).contains("INIT");
+    verify(initialCehQueryUseCase, times(2)).findInitialCehId(7L);
+  }
+
+  @Test
+  void evictInitialCehId_forcesReloadOfMappedSignal() {
+    when(initialCehQueryUseCase.findInitialCehId(7L)).thenReturn(Optional.empty(), Optional.of("INIT"));
+
+    assertThat(cache.findInitialCehId(7L)).isEmpty();
+    cache.evictInitialCehId(7L);
+
+    assertThat(cache.findInitialCehId(7L)).contains("INIT");
+  }
+
+  @Test
+  void evictionDuringLoad_keepsTheStaleMissOutOfTheCache() {
+    when(initialCehQueryUseCase.findInitialCehId(7L))
+        .thenAnswer(invocation -> {
+          // the OVERLIMIT of the signal is mapped while this lookup is still running
+          cache.evictInitialCehId(7L);
+          return Optional.empty();
+        })
+        .thenReturn(Optional.of("INIT"));
+
+    assertThat(cache.findInitialCehId(7L)).isEmpty();
+
+    assertThat(cache.findInitialCehId(7L)).contains("INIT");
+    assertThat(cache.findInitialCehId(7L)).contains("INIT");
+    verify(initialCehQueryUseCase, times(2)).findInitialCehId(7L);
+  }
+
+  @Test
+  void evictionDuringWarmUp_skipsTheEvictedSignalOnly() {
+    when(initialCehQueryUseCase.findInitialCehIds(List.of(1L, 2L))).thenAnswer(invocation -> {
+      cache.evictInitialCehId(1L);
+      return Map.of(2L, "CEH-2");
+    });
+    when(accountBalanceQueryUseCase.findBcNumbersByAgreementIds(any())).thenReturn(Map.of());
+    when(initialCehQueryUseCase.findInitialCehId(1L)).thenReturn(Optional.of("CEH-1"));
+
+    cache.warmUp(List.of(event(1L, 10L), event(2L, 20L)));
+
+    assertThat(cache.findInitialCehId(1L)).contains("CEH-1");
+    assertThat(cache.findInitialCehId(2L)).contains("CEH-2");
+    verify(initialCehQueryUseCase, never()).findInitialCehId(2L);
+  }
+
+  @Test
+  void evictionsBeyondMaxEntries_stillKeepLoadsStartedBeforeThemOutOfTheCache() {
+    properties.getPayloadCache().setMaxEntries(1);
+    cache = new PayloadEnrichmentCache(initialCehQueryUseCase, accountBalanceQueryUseCase, properties, clock);
+    when(initialCehQueryUseCase.findInitialCehId(7L))
+        .thenAnswer(invocation -> {
+          cache.evictInitialCehId(7L);
+          cache.evictInitialCehId(8L);
+          return Optional.empty();
+        })
+        .thenReturn(Optional.of("INIT"));
+
+    assertThat(cache.findInitialCehId(7L)).isEmpty();
+
+    assertThat(cache.findInitialCehId(7L)).contains("INIT");
+  }
+
+  @Test
+  void warmUp_bulkLoadsMissingIdsAndServesPayloadLookupsFromCache() {
+    when(initialCehQueryUseCase.findInitialCehIds(List.of(1L, 2L))).thenReturn(Map.of(1L, "CEH-1"));
+    when(accountBalanceQueryUseCase.findBcNumbersByAgreementIds(List.of(10L, 20L))).thenReturn(Map.of(20L, 200L));
+
+    cache.warmUp(List.of(event(1L, 10L), event(2L, 20L), event(1L, 10L)));
+
+    assertThat(cache.findInitialCehId(1L)).contains("CEH-1");
+    assertThat(cache.findInitialCehId(2L)).isEmpty();
+    assertThat(cache.findBcNumber(10L)).isEmpty();
+    assertThat(cache.findBcNumber(20L)).contains(200L);
+    verify(initialCehQueryUseCase, never()).findInitialCehId(anyLong());
+    verify(accountBalanceQueryUseCase, never()).findBcNumberByAgreementId(anyLong());
+  }
+
+  @Test
+  void warmUp_skipsIdsAlreadyCached() {
+    when(initialCehQueryUseCase.findInitialCehIds(List.of(1L))).thenReturn(Map.of(1L, "CEH-1"));
+    when(accountBalanceQueryUseCase.findBcNumbersByAgreementIds(List.of(10L))).thenReturn(Map.of(10L, 100L));
+    cache.warmUp(List.of(event(1L, 10L)));
+
+    cache.warmUp(List.of(event(1L, 10L)));
+
+    verify(initialCehQueryUseCase, times(1)).findInitialCehIds(any());
+    verify(accountBalanceQueryUseCase, times(1)).findBcNumbersByAgreementIds(any());
+  }
+
+  @Test
+  void warmUp_failureFallsBackToReadThrough() {
+    when(initialCehQueryUseCase.findInitialCehIds(any())).thenThrow(new IllegalStateException("db down"));
+    when(initialCehQueryUseCase.findInitialCehId(1L)).thenReturn(Optional.of("CEH-1"));
+
+    cache.warmUp(List.of(event(1L, 10L)));
+
+    assertThat(cache.findInitialCehId(1L)).contains("CEH-1");
+  }
+
+  @Test
+  void maxEntries_dropsLeastRecentlyUsed() {
+    properties.getPayloadCache().setMaxEntries(1);
+    cache = new PayloadEnrichmentCache(initialCehQueryUseCase, accountBalanceQueryUseCase, properties, clock);
+    when(accountBalanceQueryUseCase.findBcNumberByAgreementId(anyLong())).thenReturn(Optional.of(1L));
+
+    cache.findBcNumber(10L);
+    cache.findBcNumber(20L);
+    cache.findBcNumber(10L);
+
+    verify(accountBalanceQueryUseCase, times(2)).findBcNumberByAgreementId(10L);
+  }
+
+  @Test
+  void disabledCacheDelegatesEveryLookup() {
+    properties.getPayloadCache().setEnabled(false);
+    cache = new PayloadEnrichmentCache(initialCehQueryUseCase, accountBalanceQueryUseCase, properties, clock);
+    when(accountBalanceQueryUseCase.findBcNumberByAgreementId(10L)).thenReturn(Optional.of(555L));
+
+    cache.warmUp(List.of(event(1L, 10L)));
+    cache.findBcNumber(10L);
+    cache.findBcNumber(10L);
+
+    verify(accountBalanceQueryUseCase, never()).findBcNumbersByAgreementIds(any());
+    verify(accountBalanceQueryUseCase, times(2)).findBcNumberByAgreementId(10L);
+  }
+
+  private SignalEvent event(Long signalId, Long agreementId) {
+    SignalEvent event = new SignalEvent();
+    event.setSignalId(signalId);
+    event.setAgreementId(agreementId);
+    return event;
+  }
+
+  private static final class MutableClock extends Clock {
+
+    private Instant now;
+
+    private MutableClock(Instant now) {
+      this.now = now;
+    }
+
+    void advance(Duration duration) {
+      now = now.plus(duration);
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public Instant instant() {
+      return now;
+    }
+  }
+}
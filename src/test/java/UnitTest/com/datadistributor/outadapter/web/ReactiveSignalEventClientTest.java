@@ -5,7 +5,9 @@ import static org.mockito.Mockito.when;
 
 import com.datadistributor.application.config.DataDistributorProperties;
 import com.datadistributor.domain.SignalEvent;
+import com.datadistributor.outadapter.metrics.DeliveryMetrics;
 import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.util.Map;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -16,6 +18,8 @@ import org.springframework.web.reactive.function.client.ClientResponse;
 import org.springframework.web.reactive.function.client.ExchangeFunction;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 
 class ReactiveSignalEventClientTest {
 
@@ -25,10 +29,14 @@ class ReactiveSignalEventClientTest {
   private SignalEventRequestFactory requestFactory;
 
   private DataDistributorProperties properties;
+  private SimpleMeterRegistry meterRegistry;
+  private DeliveryMetrics deliveryMetrics;
 
   @BeforeEach
   void setup() {
     MockitoAnnotations.openMocks(this);
+    meterRegistry = new SimpleMeterRegistry();
+    deliveryMetrics = new DeliveryMetrics(meterRegistry);
     properties = new DataDistributorProperties();
     properties.getExternalApi().setRequestTimeoutSeconds(5);
     properties.getExternalApi().getRetry().setAttempts(0);
@@ -50,7 +58,9 @@ class ReactiveSignalEventClientTest {
     WebClient webClient = WebClient.builder().exchangeFunction(exchange).build();
 
     ReactiveSignalEventClient client = new ReactiveSignalEventClient(
-        webClient, requestFactory, properties, CircuitBreakerRegistry.ofDefaults());
+        webClient, requestFactory, properties, CircuitBreakerRegistry.ofDefaults(), deliveryMetrics,
+        Schedulers.immediate(), new AdaptiveConcurrencyLimiter(properties, deliveryMetrics),
+        new TokenBucketRateLimiter(properties, deliveryMetrics));
 
     ApiResponse apiResponse = client.send(event).block();
     assertThat(apiResponse.statusCode()).isEqualTo(202);
@@ -77,7 +87,9 @@ class ReactiveSignalEventClientTest {
     WebClient webClient = WebClient.builder().exchangeFunction(exchange).build();
 
     ReactiveSignalEventClient client = new ReactiveSignalEventClient(
-        webClient, requestFactory, properties, CircuitBreakerRegistry.ofDefaults());
+        webClient, requestFactory, properties, CircuitBreakerRegistry.ofDefaults(), deliveryMetrics,
+        Schedulers.immediate(), new AdaptiveConcurrencyLimiter(properties, deliveryMetrics),
+        new TokenBucketRateLimiter(properties, deliveryMetrics));
 
     ApiResponse apiResponse = client.send(event).block();
     assertThat(apiResponse.statusCode()).isEqualTo(200);
@@ -97,7 +109,9 @@ class ReactiveSignalEventClientTest {
     WebClient webClient = WebClient.builder().exchangeFunction(exchange).build();
 
     ReactiveSignalEventClient client = new ReactiveSignalEventClient(
-        webClient, requestFactory, properties, CircuitBreakerRegistry.ofDefaults());
+        webClient, requestFactory, properties, CircuitBreakerRegistry.ofDefaults(), deliveryMetrics,
+        Schedulers.immediate(), new AdaptiveConcurrencyLimiter(properties, deliveryMetrics),
+        new TokenBucketRateLimiter(properties, deliveryMetrics));
 
     org.assertj.core.api.Assertions.assertThatThrownBy(() -> client.send(event).block())
         .isInstanceOf(Exception.class);
@@ -118,10 +132,13 @@ class ReactiveSignalEventClientTest {
     WebClient webClient = WebClient.builder().exchangeFunction(exchange).build();
 
     ReactiveSignalEventClient client = new ReactiveSignalEventClient(
-        webClient, requestFactory, properties, CircuitBreakerRegistry.ofDefaults());
+        webClient, requestFactory, properties, CircuitBreakerRegistry.ofDefaults(), deliveryMetrics,
+        Schedulers.immediate(), new AdaptiveConcurrencyLimiter(properties, deliveryMetrics),
+        new TokenBucketRateLimiter(properties, deliveryMetrics));
 
     org.assertj.core.api.Assertions.assertThatThrownBy(() -> client.send(event).block())
         .isInstanceOf(Exception.class);
+    assertThat(meterRegistry.counter(DeliveryMetrics.SEND_RETRIES).count()).isEqualTo(2.0);
   }
 
   @Test
@@ -138,7 +155,9 @@ class ReactiveSignalEventClientTest {
     WebClient webClient = WebClient.builder().exchangeFunction(exchange).build();
 
     ReactiveSignalEventClient client = new ReactiveSignalEventClient(
-        webClient, requestFactory, properties, CircuitBreakerRegistry.ofDefaults());
+        webClient, requestFactory, properties, CircuitBreakerRegistry.ofDefaults(), deliveryMetrics,
+        Schedulers.immediate(), new AdaptiveConcurrencyLimiter(properties, deliveryMetrics),
+        new TokenBucketRateLimiter(properties, deliveryMetrics));
 
     org.assertj.core.api.Assertions.assertThatThrownBy(() -> client.send(event).block())
         .isInstanceOf(Exception.class);
@@ -160,7 +179,9 @@ class ReactiveSignalEventClientTest {
     WebClient webClient = WebClient.builder().exchangeFunction(exchange).build();
 
     ReactiveSignalEventClient client = new ReactiveSignalEventClient(
-        webClient, requestFactory, properties, CircuitBreakerRegistry.ofDefaults());
+        webClient, requestFactory, properties, CircuitBreakerRegistry.ofDefaults(), deliveryMetrics,
+        Schedulers.immediate(), new AdaptiveConcurrencyLimiter(properties, deliveryMetrics),
+        new TokenBucketRateLimiter(properties, deliveryMetrics));
 
     org.assertj.core.api.Assertions.assertThatThrownBy(() -> client.send(event).block())
         .isInstanceOf(Exception.class);
@@ -182,7 +203,9 @@ class ReactiveSignalEventClientTest {
     WebClient webClient = WebClient.builder().exchangeFunction(exchange).build();
 
     ReactiveSignalEventClient client = new ReactiveSignalEventClient(
-        webClient, requestFactory, properties, CircuitBreakerRegistry.ofDefaults());
+        webClient, requestFactory, properties, CircuitBreakerRegistry.ofDefaults(), deliveryMetrics,
+        Schedulers.immediate(), new AdaptiveConcurrencyLimiter(properties, deliveryMetrics),
+        new TokenBucketRateLimiter(properties, deliveryMetrics));
 
     org.assertj.core.api.Assertions.assertThatThrownBy(() -> client.send(event).block())
         .isInstanceOf(Exception.class);
@@ -202,7 +225,9 @@ class ReactiveSignalEventClientTest {
     WebClient webClient = WebClient.builder().exchangeFunction(exchange).build();
 
     ReactiveSignalEventClient client = new ReactiveSignalEventClient(
-        webClient, requestFactory, properties, CircuitBreakerRegistry.ofDefaults());
+        webClient, requestFactory, properties, CircuitBreakerRegistry.ofDefaults(), deliveryMetrics,
+        Schedulers.immediate(), new AdaptiveConcurrencyLimiter(properties, deliveryMetrics),
+        new TokenBucketRateLimiter(properties, deliveryMetrics));
 
     org.assertj.core.api.Assertions.assertThatThrownBy(() -> client.send(event).block())
         .isInstanceOf(Exception.class);
@@ -223,7 +248,9 @@ class ReactiveSignalEventClientTest {
     WebClient webClient = WebClient.builder().exchangeFunction(exchange).build();
 
     ReactiveSignalEventClient client = new ReactiveSignalEventClient(
-        webClient, requestFactory, properties, CircuitBreakerRegistry.ofDefaults());
+        webClient, requestFactory, properties, CircuitBreakerRegistry.ofDefaults(), deliveryMetrics,
+        Schedulers.immediate(), new AdaptiveConcurrencyLimiter(properties, deliveryMetrics),
+        new TokenBucketRateLimiter(properties, deliveryMetrics));
 
     org.assertj.core.api.Assertions.assertThatThrownBy(() -> client.send(event).block())
         .isInstanceOf(Exception.class);
@@ -241,12 +268,45 @@ class ReactiveSignalEventClientTest {
     WebClient webClient = WebClient.builder().exchangeFunction(exchange).build();
 
     ReactiveSignalEventClient client = new ReactiveSignalEventClient(
-        webClient, requestFactory, properties, CircuitBreakerRegistry.ofDefaults());
+        webClient, requestFactory, properties, CircuitBreakerRegistry.ofDefaults(), deliveryMetrics,
+        Schedulers.immediate(), new AdaptiveConcurrencyLimiter(properties, deliveryMetrics),
+        new TokenBucketRateLimiter(properties, deliveryMetrics));
 
     org.assertj.core.api.Assertions.assertThatThrownBy(() -> client.send(event).block())
         .isInstanceOf(Exception.class);
   }
 
+  @Test
+  void send_buildsRequestOnJdbcScheduler() {
+    SignalEvent event = new SignalEvent();
+    event.setUabsEventId(5L);
+    java.util.concurrent.atomic.AtomicReference<String> buildThread = new java.util.concurrent.atomic.AtomicReference<>();
+    when(requestFactory.build(event)).thenAnswer(invocation -> {
+      buildThread.set(Thread.currentThread().getName());
+      return buildRequest(event);
+    });
+    ExchangeFunction exchange = r -> Mono.just(
+        ClientResponse.create(HttpStatus.OK)
+            .header("Content-Type", "application/json")
+            .body("{\"ceh_event_id\":1}")
+            .build());
+    WebClient webClient = WebClient.builder().exchangeFunction(exchange).build();
+    Scheduler jdbcScheduler = Schedulers.newBoundedElastic(1, 10, "test-jdbc");
+    try {
+      ReactiveSignalEventClient client = new ReactiveSignalEventClient(
+          webClient, requestFactory, properties, CircuitBreakerRegistry.ofDefaults(), deliveryMetrics,
+          jdbcScheduler, new AdaptiveConcurrencyLimiter(properties, deliveryMetrics),
+        new TokenBucketRateLimiter(properties, deliveryMetrics));
+
+      assertThat(client.send(event).block().statusCode()).isEqualTo(200);
+      assertThat(buildThread.get()).startsWith("test-jdbc");
+      assertThat(meterRegistry.get(DeliveryMetrics.SEND_DB)
+          .tags("stage", "request-build", "event.loop", "false").timer().count()).isEqualTo(1);
+    } finally {
+      jdbcScheduler.dispose();
+    }
+  }
+
   private SignalEventRequest buildRequest(SignalEvent event) {
     return new SignalEventRequest("http://example.com/endpoint",
         new SignalEventPayload(1L, 2L, "init", "pub", "pubId", "status", EVENT_RECORD_DATE_TIME, "type"));
@@ -1,15 +1,20 @@
 package com.datadistributor.outadapter.web;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 import com.datadistributor.application.config.DataDistributorProperties;
 import com.datadistributor.domain.SignalEvent;
 import com.datadistributor.outadapter.entity.SignalAuditJpaEntity;
+import com.datadistributor.outadapter.metrics.DeliveryMetrics;
 import com.datadistributor.outadapter.repository.springjpa.SignalAuditRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.time.LocalDateTime;
+import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
@@ -22,13 +27,19 @@ class SignalAuditServiceTest {
   private SignalAuditRepository repository;
 
   private SignalAuditService service;
+  private SimpleMeterRegistry meterRegistry;
+  private DataDistributorProperties properties;
 
   @BeforeEach
   void setup() {
     MockitoAnnotations.openMocks(this);
-    DataDistributorProperties properties = new DataDistributorProperties();
+    properties = new DataDistributorProperties();
     properties.getAudit().setConsumerId(42L);
-    service = new SignalAuditService(repository, properties);
+    properties.getAudit().setWriteBehindEnabled(false);
+    meterRegistry = new SimpleMeterRegistry();
+    DeliveryMetrics deliveryMetrics = new DeliveryMetrics(meterRegistry);
+    service = new SignalAuditService(repository, properties, deliveryMetrics,
+        new SignalAuditWriteBehindBuffer(repository, deliveryMetrics, properties));
   }
 
   @Test
@@ -213,4 +224,46 @@ class SignalAuditServiceTest {
     assertThat(captor.getValue().getResponseCode()).isEqualTo(exactCode);
     assertThat(captor.getValue().getResponseMessage()).isEqualTo(exactMessage);
   }
+
+  @Test
+  void persistAudit_recordsWriteLatency() {
+    service.persistAudit(new SignalEvent(), "PASS", "200", "msg");
+
+    assertThat(meterRegistry.get(DeliveryMetrics.AUDIT_WRITE).tag("outcome", "success").timer().count())
+        .isEqualTo(1);
+  }
+
+  @Test
+  void persistAudit_recordsFailedWriteAndRethrows() {
+    when(repository.save(any(SignalAuditJpaEntity.class))).thenThrow(new IllegalStateException("db down"));
+
+    assertThatThrownBy(() -> service.persistAudit(new SignalEvent(), "PASS", "200", "msg"))
+        .isInstanceOf(IllegalStateException.class);
+    assertThat(meterRegistry.get(DeliveryMetrics.AUDIT_WRITE).tag("outcome", "failure").timer().count())
+        .isEqualTo(1);
+  }
+
+  @Test
+  void persistAudit_buffersRowsUntilFlushWhenWriteBehindEnabled() {
+    properties.getAudit().setWriteBehindEnabled(true);
+    SignalEvent event = new SignalEvent();
+    event.setSignalId(1L);
+    event.setUabsEventId(2L);
+
+    service.persistAudit(event, "PASS", "200", "ok");
+    verify(repository, never()).save(any(SignalAuditJpaEntity.class));
+
+    service.flushPendingAudits();
+    ArgumentCaptor<List<SignalAuditJpaEntity>> rows = ArgumentCaptor.forClass(List.class);
+    verify(repository).insertAll(rows.capture());
+    assertThat(rows.getValue()).singleElement()
+        .satisfies(audit -> assertThat(audit.getUabsEventId()).isEqualTo(2L));
+  }
+
+  @Test
+  void flushPendingAudits_isNoOpWhenWriteBehindDisabled() {
+    service.flushPendingAudits();
+
+    verify(repository, never()).insertAll(any());
+  }
 }
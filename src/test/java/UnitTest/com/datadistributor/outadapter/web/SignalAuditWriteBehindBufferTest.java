@@ -0,0 +1,110 @@
+package com.datadistributor.outadapter.web;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.datadistributor.application.config.DataDistributorProperties;
+import com.datadistributor.outadapter.entity.SignalAuditJpaEntity;
+import com.datadistributor.outadapter.metrics.DeliveryMetrics;
+import com.datadistributor.outadapter.repository.springjpa.SignalAuditRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+class SignalAuditWriteBehindBufferTest {
+
+  @Mock
+  private SignalAuditRepository repository;
+
+  private DataDistributorProperties properties;
+  private SimpleMeterRegistry meterRegistry;
+  private SignalAuditWriteBehindBuffer buffer;
+
+  @BeforeEach
+  void setup() {
+    MockitoAnnotations.openMocks(this);
+    properties = new DataDistributorProperties();
+    properties.getAudit().setWriteBehindBatchSize(2);
+    properties.getAudit().setWriteBehindFlushIntervalMs(60_000);
+    meterRegistry = new SimpleMeterRegistry();
+    buffer = new SignalAuditWriteBehindBuffer(repository, new DeliveryMetrics(meterRegistry), properties);
+  }
+
+  @AfterEach
+  void tearDown() {
+    buffer.shutdown();
+  }
+
+  @Test
+  void flush_writesPendingRowsInBatchSizedChunks() {
+    buffer.enqueue(audit(1L));
+    buffer.enqueue(audit(2L));
+    buffer.enqueue(audit(3L));
+
+    buffer.flush();
+
+    ArgumentCaptor<List<SignalAuditJpaEntity>> chunks = ArgumentCaptor.forClass(List.class);
+    verify(repository, timeout(1000).atLeastOnce()).insertAll(chunks.capture());
+    assertThat(chunks.getAllValues()).allSatisfy(chunk -> assertThat(chunk).hasSizeLessThanOrEqualTo(2));
+    assertThat(chunks.getAllValues().stream().mapToInt(List::size).sum()).isEqualTo(3);
+    assertThat(buffer.pendingCount()).isZero();
+  }
+
+  @Test
+  void enqueue_flushesInBackgroundOnceBatchSizeIsReached() {
+    buffer.enqueue(audit(1L));
+    buffer.enqueue(audit(2L));
+
+    verify(repository, timeout(1000)).insertAll(anyList());
+    assertThat(meterRegistry.get(DeliveryMetrics.AUDIT_FLUSH).tag("outcome", "success").timer().count())
+        .isEqualTo(1);
+  }
+
+  @Test
+  void flush_fallsBackToRowByRowSaveWhenBatchInsertFails() {
+    doThrow(new IllegalStateException("batch failed")).when(repository).insertAll(anyList());
+    when(repository.save(any(SignalAuditJpaEntity.class)))
+        .thenThrow(new IllegalStateException("bad row"))
+        .thenReturn(new SignalAuditJpaEntity());
+    properties.getAudit().setWriteBehindBatchSize(10);
+    SignalAuditWriteBehindBuffer largeBatchBuffer =
+        new SignalAuditWriteBehindBuffer(repository, new DeliveryMetrics(meterRegistry), properties);
+
+    largeBatchBuffer.enqueue(audit(1L));
+    largeBatchBuffer.enqueue(audit(2L));
+    int attempted = largeBatchBuffer.flush();
+
+    assertThat(attempted).isEqualTo(2);
+    verify(repository, times(2)).save(any(SignalAuditJpaEntity.class));
+    largeBatchBuffer.shutdown();
+  }
+
+  @Test
+  void shutdown_flushesRemainingRows() {
+    buffer.enqueue(audit(1L));
+
+    buffer.shutdown();
+
+    verify(repository).insertAll(List.of(audit(1L)));
+    verify(repository, never()).save(any(SignalAuditJpaEntity.class));
+  }
+
+  private SignalAuditJpaEntity audit(long uabsEventId) {
+    SignalAuditJpaEntity audit = new SignalAuditJpaEntity();
+    audit.setUabsEventId(uabsEventId);
+    audit.setStatus("PASS");
+    return audit;
+  }
+}
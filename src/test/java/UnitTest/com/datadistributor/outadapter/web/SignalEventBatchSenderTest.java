@@ -5,11 +5,13 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.contains;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.anyLong;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
 
@@ -17,6 +19,10 @@ import com.datadistributor.application.config.DataDistributorProperties;
 import com.datadistributor.domain.SignalEvent;
 import com.datadistributor.domain.inport.InitialCehMappingUseCase;
 import com.datadistributor.domain.job.BatchResult;
+import com.datadistributor.outadapter.metrics.DeliveryMetrics;
+import com.datadistributor.outadapter.repository.springjpa.SignalAuditRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
@@ -26,6 +32,8 @@ import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 
 class SignalEventBatchSenderTest {
 
@@ -39,17 +47,27 @@ class SignalEventBatchSenderTest {
   private SignalAuditService signalAuditService;
   @Mock
   private ErrorClassifier errorClassifier;
+  @Mock
+  private PayloadEnrichmentCache enrichmentCache;
 
   private DataDistributorProperties properties;
   private SignalEventBatchSender sender;
+  private SimpleMeterRegistry meterRegistry;
+  private DeliveryMetrics deliveryMetrics;
+  private DeliveredEventSet deliveredEvents;
 
   @BeforeEach
   void setup() {
     MockitoAnnotations.openMocks(this);
+    meterRegistry = new SimpleMeterRegistry();
+    deliveryMetrics = new DeliveryMetrics(meterRegistry);
     properties = new DataDistributorProperties();
     properties.getExternalApi().setBaseUrl("http://example");
+    deliveredEvents = new DeliveredEventSet(mock(SignalAuditRepository.class), properties, deliveryMetrics);
     sender = new SignalEventBatchSender(blockingClient, reactiveClient, initialCehMappingUseCase,
-        signalAuditService, properties, errorClassifier);
+        signalAuditService, properties, errorClassifier, deliveryMetrics, enrichmentCache, Schedulers.immediate(),
+        new AdaptiveConcurrencyLimiter(properties, deliveryMetrics),
+        new TokenBucketRateLimiter(properties, deliveryMetrics), deliveredEvents);
   }
 
   private SignalEvent event(long id) {
@@ -78,6 +96,136 @@ class SignalEventBatchSenderTest {
     assertThat(result.successCount()).isEqualTo(1);
     verify(signalAuditService).persistAudit(any(SignalEvent.class), eq("PASS"), eq("200"), any());
     verify(initialCehMappingUseCase).handleInitialCehMapping(any(), eq(123L));
+    verify(signalAuditService).flushPendingAudits();
+  }
+
+  @Test
+  void submitBatch_runsAuditAndMappingOnJdbcScheduler() {
+    Scheduler jdbcScheduler = Schedulers.newBoundedElastic(1, 10, "test-jdbc");
+    try {
+      SignalEventBatchSender offloadingSender = new SignalEventBatchSender(blockingClient, reactiveClient,
+          initialCehMappingUseCase, signalAuditService, properties, errorClassifier, deliveryMetrics,
+          enrichmentCache, jdbcScheduler, new AdaptiveConcurrencyLimiter(properties, deliveryMetrics),
+        new TokenBucketRateLimiter(properties, deliveryMetrics), deliveredEvents);
+      List<String> threads = new java.util.concurrent.CopyOnWriteArrayList<>();
+      doAnswer(invocation -> threads.add(Thread.currentThread().getName()))
+          .when(signalAuditService).persistAudit(any(), anyString(), anyString(), anyString());
+      doAnswer(invocation -> threads.add(Thread.currentThread().getName()))
+          .when(initialCehMappingUseCase).handleInitialCehMapping(any(), anyLong());
+      when(reactiveClient.send(any())).thenReturn(Mono.just(createSuccessResponse(123L)));
+
+      offloadingSender.submitBatch(List.of(event(1))).join();
+
+      assertThat(threads).hasSize(2).allSatisfy(name -> assertThat(name).startsWith("test-jdbc"));
+      assertThat(meterRegistry.get(DeliveryMetrics.SEND_DB)
+          .tags("stage", "audit", "event.loop", "false").timer().count()).isEqualTo(1);
+    } finally {
+      jdbcScheduler.dispose();
+    }
+  }
+
+  @Test
+  void submitBatch_postsEventsOfOneSignalInRecordOrder() {
+    SignalEvent later = event(1);
+    later.setEventRecordDateTime(LocalDateTime.of(2024, 12, 3, 15, 0));
+    SignalEvent earlier = event(2);
+    earlier.setEventRecordDateTime(LocalDateTime.of(2024, 12, 3, 8, 0));
+    List<Long> sent = new java.util.concurrent.CopyOnWriteArrayList<>();
+    when(reactiveClient.send(any())).thenAnswer(invocation -> {
+      SignalEvent event = invocation.getArgument(0);
+      sent.add(event.getUabsEventId());
+      // the earlier event answers slowly; the later one must still wait for it
+      Duration delay = event == earlier ? Duration.ofMillis(100) : Duration.ZERO;
+      return Mono.delay(delay).thenReturn(createSuccessResponse(event.getUabsEventId()));
+    });
+
+    BatchResult result = sender.submitBatch(List.of(later, earlier)).join();
+
+    assertThat(result.successCount()).isEqualTo(2);
+    assertThat(sent).containsExactly(2L, 1L);
+  }
+
+  @Test
+  void inSendOrderBySignal_groupsBySignalSortedByRecordTime() {
+    SignalEvent first = event(1);
+    first.setEventRecordDateTime(LocalDateTime.of(2024, 12, 3, 12, 0));
+    SignalEvent other = event(2);
+    other.setSignalId(100L);
+    SignalEvent second = event(3);
+    second.setEventRecordDateTime(LocalDateTime.of(2024, 12, 3, 9, 0));
+
+    List<List<SignalEvent>> groups = SignalEventBatchSender.inSendOrderBySignal(List.of(first, other, second));
+
+    assertThat(groups).containsExactly(List.of(second, first), List.of(other));
+  }
+
+  @Test
+  void submitBatch_serverErrorsShrinkSharedConcurrencyLimit() {
+    properties.getProcessing().getAdaptiveConcurrency().setInitialLimit(10);
+    properties.getProcessing().getAdaptiveConcurrency().setBackoffRatio(0.5);
+    AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties, deliveryMetrics);
+    SignalEventBatchSender limitedSender = new SignalEventBatchSender(blockingClient, reactiveClient,
+        initialCehMappingUseCase, signalAuditService, properties, errorClassifier, deliveryMetrics,
+        enrichmentCache, Schedulers.immediate(), limiter, new TokenBucketRateLimiter(properties, deliveryMetrics), deliveredEvents);
+    when(reactiveClient.send(any())).thenReturn(Mono.just(new ApiResponse(Map.of(), 503)));
+
+    BatchResult result = limitedSender.submitBatch(List.of(event(1))).join();
+
+    assertThat(result.failureCount()).isEqualTo(1);
+    assertThat(limiter.currentLimit()).isEqualTo(5);
+    assertThat(limiter.inUse()).isZero();
+  }
+
+  @Test
+  void batchAndRetrySendsShareTheRateLimiter() {
+    properties.getExternalApi().setRequestsPerSecond(1000);
+    TokenBucketRateLimiter rateLimiter = new TokenBucketRateLimiter(properties, deliveryMetrics);
+    SignalEventBatchSender throttledSender = new SignalEventBatchSender(blockingClient, reactiveClient,
+        initialCehMappingUseCase, signalAuditService, properties, errorClassifier, deliveryMetrics,
+        enrichmentCache, Schedulers.immediate(), new AdaptiveConcurrencyLimiter(properties, deliveryMetrics),
+        rateLimiter, deliveredEvents);
+    when(reactiveClient.send(any())).thenReturn(Mono.just(createSuccessResponse(123L)));
+
+    throttledSender.submitBatch(List.of(event(1), event(2))).join();
+    throttledSender.send(event(3));
+
+    assertThat(meterRegistry.get(DeliveryMetrics.SEND_THROTTLE).timer().count()).isEqualTo(3);
+  }
+
+  @Test
+  void submitBatch_skipsEventsAlreadyAcceptedByCeh() {
+    deliveredEvents.markDelivered(1L);
+    when(reactiveClient.send(any())).thenReturn(Mono.just(createSuccessResponse(123L)));
+
+    BatchResult result = sender.submitBatch(List.of(event(1), event(2))).join();
+
+    assertThat(result.successCount()).isEqualTo(2);
+    verify(reactiveClient, times(1)).send(any());
+    verify(signalAuditService, times(1)).persistAudit(any(), eq("PASS"), anyString(), anyString());
+    assertThat(meterRegistry.get(DeliveryMetrics.SEND_DUPLICATES_SKIPPED).counter().count()).isEqualTo(1);
+  }
+
+  @Test
+  void acceptedEventIsNotPostedAgainByRetry() {
+    when(reactiveClient.send(any())).thenReturn(Mono.just(createSuccessResponse(123L)));
+
+    sender.submitBatch(List.of(event(5))).join();
+    boolean retried = sender.send(event(5));
+
+    assertThat(retried).isTrue();
+    assertThat(deliveredEvents.contains(5L)).isTrue();
+    verify(reactiveClient, times(1)).send(any());
+  }
+
+  @Test
+  void submitBatch_warmsPayloadCacheAndEvictsMappedSignal() {
+    List<SignalEvent> events = List.of(event(1), event(2));
+    when(reactiveClient.send(any())).thenReturn(Mono.just(createSuccessResponse(123L)));
+
+    sender.submitBatch(events).join();
+
+    verify(enrichmentCache).warmUp(events);
+    verify(enrichmentCache, times(2)).evictInitialCehId(99L);
   }
 
   @Test
@@ -340,12 +488,32 @@ class SignalEventBatchSenderTest {
     verify(signalAuditService).logAuditFailure(any(), any());
   }
 
+  @Test
+  void submitBatch_recordsSendLatencyByOutcomeAndStatus() throws Exception {
+    properties.getExternalApi().setUseBlockingClient(false);
+    RuntimeException boom = new RuntimeException("boom");
+    when(reactiveClient.send(any()))
+        .thenReturn(Mono.just(createSuccessResponse(1L)))
+        .thenReturn(Mono.error(boom));
+    when(errorClassifier.classify(boom)).thenReturn(new FailureClassification("TIMEOUT", "reason", "504"));
+
+    sender.submitBatch(List.of(event(1), event(2))).get();
+
+    assertThat(meterRegistry.get(DeliveryMetrics.SEND).tags("outcome", "success", "status", "PASS").timer().count())
+        .isEqualTo(1);
+    assertThat(meterRegistry.get(DeliveryMetrics.SEND).tags("outcome", "failure", "status", "TIMEOUT").timer().count())
+        .isEqualTo(1);
+    assertThat(meterRegistry.get(DeliveryMetrics.SEND_IN_FLIGHT).gauge().value()).isZero();
+  }
+
   @Test
   void constructor_normalizesZeroRateLimit() {
     properties.getProcessing().setRateLimit(0);
     SignalEventBatchSender senderWithZeroRate = new SignalEventBatchSender(
         blockingClient, reactiveClient, initialCehMappingUseCase,
-        signalAuditService, properties, errorClassifier);
+        signalAuditService, properties, errorClassifier, deliveryMetrics, enrichmentCache, Schedulers.immediate(),
+        new AdaptiveConcurrencyLimiter(properties, deliveryMetrics),
+        new TokenBucketRateLimiter(properties, deliveryMetrics), deliveredEvents);
 
     assertThat(senderWithZeroRate).isNotNull();
   }
@@ -355,7 +523,9 @@ class SignalEventBatchSenderTest {
     properties.getProcessing().setRateLimit(-5);
     SignalEventBatchSender senderWithNegativeRate = new SignalEventBatchSender(
         blockingClient, reactiveClient, initialCehMappingUseCase,
-        signalAuditService, properties, errorClassifier);
+        signalAuditService, properties, errorClassifier, deliveryMetrics, enrichmentCache, Schedulers.immediate(),
+        new AdaptiveConcurrencyLimiter(properties, deliveryMetrics),
+        new TokenBucketRateLimiter(properties, deliveryMetrics), deliveredEvents);
 
     assertThat(senderWithNegativeRate).isNotNull();
   }
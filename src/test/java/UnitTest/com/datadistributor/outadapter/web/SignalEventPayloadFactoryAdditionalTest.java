@@ -7,6 +7,7 @@ import com.datadistributor.application.config.DataDistributorProperties;
 import com.datadistributor.domain.SignalEvent;
 import com.datadistributor.domain.inport.AccountBalanceUseCase;
 import com.datadistributor.domain.inport.InitialCehQueryUseCase;
+import java.time.Clock;
 import java.time.LocalDateTime;
 import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
@@ -30,7 +31,9 @@ class SignalEventPayloadFactoryAdditionalTest {
     DataDistributorProperties properties = new DataDistributorProperties();
     properties.getExternalApi().setPublisher("PUB");
     properties.getExternalApi().setPublisherId("PUB_ID");
-    factory = new SignalEventPayloadFactory(initialCehQueryUseCase, accountBalanceQueryUseCase, properties);
+    factory = new SignalEventPayloadFactory(
+        new PayloadEnrichmentCache(initialCehQueryUseCase, accountBalanceQueryUseCase, properties, Clock.systemUTC()),
+        properties);
   }
 
   @Test
@@ -7,6 +7,7 @@ import com.datadistributor.application.config.DataDistributorProperties;
 import com.datadistributor.domain.SignalEvent;
 import com.datadistributor.domain.inport.AccountBalanceUseCase;
 import com.datadistributor.domain.inport.InitialCehQueryUseCase;
+import java.time.Clock;
 import java.time.LocalDateTime;
 import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
@@ -30,7 +31,9 @@ class SignalEventRequestFactoryTest {
     properties.getExternalApi().setBaseUrl("http://api.example");
     properties.getExternalApi().setWriteSignalPath("/create");
 
-    SignalEventPayloadFactory payloadFactory = new SignalEventPayloadFactory(initialCehQueryUseCase, accountBalanceQueryUseCase, properties);
+    SignalEventPayloadFactory payloadFactory = new SignalEventPayloadFactory(
+        new PayloadEnrichmentCache(initialCehQueryUseCase, accountBalanceQueryUseCase, properties, Clock.systemUTC()),
+        properties);
     factory = new SignalEventRequestFactory(properties, payloadFactory);
   }
 
@@ -65,7 +68,9 @@ class SignalEventRequestFactoryTest {
     properties.getExternalApi().setBaseUrl("http://test.example.com");
     properties.getExternalApi().setWriteSignalPath("/api/signals");
 
-    SignalEventPayloadFactory payloadFactory = new SignalEventPayloadFactory(initialCehQueryUseCase, accountBalanceQueryUseCase, properties);
+    SignalEventPayloadFactory payloadFactory = new SignalEventPayloadFactory(
+        new PayloadEnrichmentCache(initialCehQueryUseCase, accountBalanceQueryUseCase, properties, Clock.systemUTC()),
+        properties);
     SignalEventRequestFactory factory = new SignalEventRequestFactory(properties, payloadFactory);
 
     SignalEvent event = new SignalEvent();
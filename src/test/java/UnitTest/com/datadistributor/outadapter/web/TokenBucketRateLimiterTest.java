@@ -0,0 +1,94 @@
+package com.datadistributor.outadapter.web;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.datadistributor.application.config.DataDistributorProperties;
+import com.datadistributor.outadapter.metrics.DeliveryMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class TokenBucketRateLimiterTest {
+
+  private DataDistributorProperties properties;
+  private SimpleMeterRegistry meterRegistry;
+  private AtomicLong nanos;
+
+  @BeforeEach
+  void setup() {
+    properties = new DataDistributorProperties();
+    meterRegistry = new SimpleMeterRegistry();
+    nanos = new AtomicLong(1_000_000_000L);
+  }
+
+  private TokenBucketRateLimiter limiter() {
+    return new TokenBucketRateLimiter(properties, new DeliveryMetrics(meterRegistry));
+  }
+
+  @Test
+  void disabledByDefault() {
+    TokenBucketRateLimiter limiter = limiter();
+
+    assertThat(limiter.isEnabled()).isFalse();
+    assertThat(limiter.acquire().block()).isNull();
+    assertThat(meterRegistry.find(DeliveryMetrics.SEND_THROTTLE).timer()).isNull();
+  }
+
+  @Test
+  void burstIsServedImmediatelyThenCallersWaitForRefill() {
+    properties.getExternalApi().setRequestsPerSecond(10);
+    properties.getExternalApi().setBurst(2);
+    TokenBucketRateLimiter limiter = limiter();
+
+    assertThat(limiter.reserve(nanos.get())).isZero();
+    assertThat(limiter.reserve(nanos.get())).isZero();
+    assertThat(limiter.reserve(nanos.get())).isEqualTo(TimeUnit.MILLISECONDS.toNanos(100));
+    assertThat(limiter.reserve(nanos.get())).isEqualTo(TimeUnit.MILLISECONDS.toNanos(200));
+  }
+
+  @Test
+  void tokensRefillOverTimeUpToBurst() {
+    properties.getExternalApi().setRequestsPerSecond(10);
+    properties.getExternalApi().setBurst(2);
+    TokenBucketRateLimiter limiter = limiter();
+    limiter.reserve(nanos.get());
+    limiter.reserve(nanos.get());
+
+    nanos.addAndGet(TimeUnit.SECONDS.toNanos(5));
+
+    assertThat(limiter.reserve(nanos.get())).isZero();
+    assertThat(limiter.reserve(nanos.get())).isZero();
+    assertThat(limiter.reserve(nanos.get())).isPositive();
+  }
+
+  @Test
+  void burstDefaultsToOneSecondOfRequests() {
+    properties.getExternalApi().setRequestsPerSecond(3);
+    TokenBucketRateLimiter limiter = limiter();
+
+    assertThat(limiter.reserve(nanos.get())).isZero();
+    assertThat(limiter.reserve(nanos.get())).isZero();
+    assertThat(limiter.reserve(nanos.get())).isZero();
+    assertThat(limiter.reserve(nanos.get())).isPositive();
+  }
+
+  @Test
+  void acquireDelaysWhenBucketIsEmptyAndRecordsWait() {
+    properties.getExternalApi().setRequestsPerSecond(20);
+    properties.getExternalApi().setBurst(1);
+    TokenBucketRateLimiter limiter = limiter();
+
+    limiter.acquire().block();
+    long started = System.nanoTime();
+    limiter.acquire().block(Duration.ofSeconds(5));
+
+    assertThat(System.nanoTime() - started).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(40));
+
+    assertThat(meterRegistry.get(DeliveryMetrics.SEND_THROTTLE).timer().count()).isEqualTo(2);
+    assertThat(meterRegistry.get(DeliveryMetrics.SEND_THROTTLE).timer().max(TimeUnit.MILLISECONDS))
+        .isBetween(1.0, 50.0);
+  }
+}